@@ -0,0 +1,153 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.ReadingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк перетворення рядків таблиці {@code books} на {@link Book}; результат - рядків за секунду.
+ * <ul>
+ *     <li>{@code baselineMapper} - початковий спосіб: дати зберігаються як текст і розбираються
+ *     {@link LocalDate#parse} (двічі на рядок), а кожен стовпець шукається за назвою. Читає копію
+ *     {@value #BASELINE_TABLE} з текстовими датами, як у початковій схемі.</li>
+ *     <li>{@code nameBasedMapper} - лише пошук стовпців за назвою: дати вже зберігаються як дні від
+ *     1970-01-01, тож різниця з {@code ordinalMapper} показує вартість самого пошуку.</li>
+ *     <li>{@code ordinalMapper} - поточний спосіб, {@link BookRowMapper}.</li>
+ * </ul>
+ * Усі варіанти читають ті самі {@value #ROWS} книг у порядку {@link SqliteBookDao#SELECT_ALL_BOOKS_SQL}.
+ * <p>
+ * Запуск: {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookRowMapperBenchmark {
+
+    /** Кількість книг у тестовій базі даних. */
+    static final int ROWS = 10_000;
+    /** Копія таблиці {@code books} з датами у текстовому форматі ISO (YYYY-MM-DD), як у початковій схемі. */
+    static final String BASELINE_TABLE = "books_text_dates";
+
+    private static final String SELECT_BASELINE_BOOKS_SQL =
+            "SELECT * FROM " + BASELINE_TABLE + " ORDER BY dateAdded DESC, id DESC";
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        System.setProperty("db.url", "jdbc:sqlite::memory:");
+        connection = DatabaseManager.getConnection();
+        List<Book> books = new ArrayList<>(ROWS);
+        ReadingStatus[] statuses = ReadingStatus.values();
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            ReadingStatus status = statuses[i % statuses.length];
+            LocalDate dateAdded = start.plusDays(i % 3000);
+            books.add(new Book(0, "Книга " + i, "Автор " + (i % 500), "Жанр " + (i % 20), status, dateAdded,
+                    status == ReadingStatus.READ ? dateAdded.plusDays(10) : null, i % 6,
+                    "Коментар до книги " + i, "cover_" + i + ".png", i % 7 == 0));
+        }
+        new SqliteBookDao().addBooks(books);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE " + BASELINE_TABLE + " AS SELECT id, title, author, genre, status, "
+                    + "date(dateAdded * 86400, 'unixepoch') AS dateAdded, "
+                    + "date(dateRead * 86400, 'unixepoch') AS dateRead, "
+                    + "rating, comment, coverImagePath, favorite FROM books");
+        }
+    }
+
+    /**
+     * Початковий спосіб (до {@link BookRowMapper} і цілочисельних дат): кожне значення читається
+     * за назвою стовпця, статус - через {@code valueOf}, дати розбираються з тексту.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void baselineMapper(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(SELECT_BASELINE_BOOKS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String dateReadStr = rs.getString("dateRead");
+                blackhole.consume(new Book(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("author"),
+                        rs.getString("genre"),
+                        ReadingStatus.valueOf(rs.getString("status")),
+                        LocalDate.parse(rs.getString("dateAdded")),
+                        (dateReadStr != null && !dateReadStr.isEmpty()) ? LocalDate.parse(dateReadStr) : null,
+                        rs.getInt("rating"),
+                        rs.getString("comment"),
+                        rs.getString("coverImagePath"),
+                        rs.getInt("favorite") == 1));
+            }
+        }
+    }
+
+    /**
+     * Пошук стовпців за назвою без розбору тексту: кожне значення читається за назвою стовпця,
+     * статус - через {@code valueOf}, дати - як дні від 1970-01-01.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void nameBasedMapper(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(SqliteBookDao.SELECT_ALL_BOOKS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                long dateAdded = rs.getLong("dateAdded");
+                long dateRead = rs.getLong("dateRead");
+                boolean noDateRead = rs.wasNull();
+                blackhole.consume(new Book(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("author"),
+                        rs.getString("genre"),
+                        ReadingStatus.valueOf(rs.getString("status")),
+                        LocalDate.ofEpochDay(dateAdded),
+                        noDateRead ? null : LocalDate.ofEpochDay(dateRead),
+                        rs.getInt("rating"),
+                        rs.getString("comment"),
+                        rs.getString("coverImagePath"),
+                        rs.getInt("favorite") == 1));
+            }
+        }
+    }
+
+    /**
+     * Поточний спосіб: {@link BookRowMapper} читає значення за номерами стовпців.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void ordinalMapper(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(SqliteBookDao.SELECT_ALL_BOOKS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            BookRowMapper mapper = new BookRowMapper(rs);
+            while (rs.next()) {
+                blackhole.consume(mapper.toBook(rs));
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.student.bookdiary.model;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Перелік редагованих полів книги ({@link Book}).
+ * Використовується в подіях змін, щоб підписники могли визначити, чи стосується їх зміна книги
+ * (наприклад, зміна позначки "улюблене" не впливає на статистику читання).
+ */
+public enum BookField {
+    TITLE,
+    AUTHOR,
+    GENRE,
+    STATUS,
+    DATE_ADDED,
+    DATE_READ,
+    RATING,
+    COMMENT,
+    COVER_IMAGE,
+    FAVORITE;
+
+    /**
+     * Визначає поля, значення яких відрізняються у двох станах однієї книги.
+     *
+     * @param before Попередній стан книги.
+     * @param after Новий стан книги.
+     * @return Множина змінених полів (порожня, якщо стани однакові).
+     */
+    public static Set<BookField> changedBetween(Book before, Book after) {
+        Set<BookField> changed = EnumSet.noneOf(BookField.class);
+        if (!Objects.equals(before.getTitle(), after.getTitle())) changed.add(TITLE);
+        if (!Objects.equals(before.getAuthor(), after.getAuthor())) changed.add(AUTHOR);
+        if (!Objects.equals(before.getGenre(), after.getGenre())) changed.add(GENRE);
+        if (before.getStatus() != after.getStatus()) changed.add(STATUS);
+        if (!Objects.equals(before.getDateAdded(), after.getDateAdded())) changed.add(DATE_ADDED);
+        if (!Objects.equals(before.getDateRead(), after.getDateRead())) changed.add(DATE_READ);
+        if (before.getRating() != after.getRating()) changed.add(RATING);
+        if (!Objects.equals(before.getComment(), after.getComment())) changed.add(COMMENT);
+        if (!Objects.equals(before.getCoverImagePath(), after.getCoverImagePath())) changed.add(COVER_IMAGE);
+        if (before.isFavorite() != after.isFavorite()) changed.add(FAVORITE);
+        return changed;
+    }
+
+    /**
+     * Визначає поля, значення яких відрізняються у двох скорочених представленнях однієї книги
+     * (без коментаря, якого {@link BookSummary} не містить).
+     *
+     * @param before Попередній стан книги.
+     * @param after Новий стан книги.
+     * @return Множина змінених полів (порожня, якщо стани однакові).
+     */
+    public static Set<BookField> changedBetween(BookSummary before, BookSummary after) {
+        Set<BookField> changed = EnumSet.noneOf(BookField.class);
+        if (!Objects.equals(before.title(), after.title())) changed.add(TITLE);
+        if (!Objects.equals(before.author(), after.author())) changed.add(AUTHOR);
+        if (!Objects.equals(before.genre(), after.genre())) changed.add(GENRE);
+        if (before.status() != after.status()) changed.add(STATUS);
+        if (!Objects.equals(before.dateAdded(), after.dateAdded())) changed.add(DATE_ADDED);
+        if (!Objects.equals(before.dateRead(), after.dateRead())) changed.add(DATE_READ);
+        if (before.rating() != after.rating()) changed.add(RATING);
+        if (!Objects.equals(before.coverImagePath(), after.coverImagePath())) changed.add(COVER_IMAGE);
+        if (before.favorite() != after.favorite()) changed.add(FAVORITE);
+        return changed;
+    }
+}
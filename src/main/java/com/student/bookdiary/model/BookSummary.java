@@ -0,0 +1,48 @@
+package com.student.bookdiary.model;
+
+import java.time.LocalDate;
+
+/**
+ * Скорочене незмінне представлення книги для списків у вигляді плиток
+ * (прочитані, список бажань, улюблені).
+ * <p>
+ * Містить лише поля, потрібні для відображення, фільтрації та сортування плиток, без коментаря
+ * користувача, який може бути довгим. Повний об'єкт {@link Book} завантажується за {@link #id()}
+ * лише тоді, коли користувач відкриває деталі книги або діалог редагування.
+ *
+ * @param id Унікальний ідентифікатор книги.
+ * @param title Назва книги.
+ * @param author Автор книги (може бути {@code null}).
+ * @param genre Жанр книги (може бути {@code null}).
+ * @param status Статус читання.
+ * @param dateAdded Дата додавання книги.
+ * @param dateRead Дата прочитання (може бути {@code null}).
+ * @param rating Оцінка книги (0 - без оцінки).
+ * @param coverImagePath Ім'я файлу обкладинки (може бути {@code null}).
+ * @param favorite Чи позначена книга як улюблена.
+ */
+public record BookSummary(long id, String title, String author, String genre, ReadingStatus status,
+                          LocalDate dateAdded, LocalDate dateRead, int rating, String coverImagePath,
+                          boolean favorite) {
+
+    /**
+     * Створює скорочене представлення з повного об'єкта книги.
+     *
+     * @param book Книга.
+     * @return {@code BookSummary} з полями книги.
+     */
+    public static BookSummary of(Book book) {
+        return new BookSummary(book.getId(), book.getTitle(), book.getAuthor(), book.getGenre(), book.getStatus(),
+                book.getDateAdded(), book.getDateRead(), book.getRating(), book.getCoverImagePath(), book.isFavorite());
+    }
+
+    /**
+     * Повертає копію представлення зі зміненою позначкою "улюблене".
+     *
+     * @param favorite Нове значення позначки.
+     * @return {@code BookSummary} з тими самими іншими полями.
+     */
+    public BookSummary withFavorite(boolean favorite) {
+        return new BookSummary(id, title, author, genre, status, dateAdded, dateRead, rating, coverImagePath, favorite);
+    }
+}
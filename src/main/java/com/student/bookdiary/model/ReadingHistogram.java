@@ -0,0 +1,45 @@
+package com.student.bookdiary.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Незмінна гістограма прочитаних книг: загальна кількість книг зі статусом
+ * {@link ReadingStatus#READ} та їх кількість за кожен місяць, у якому є хоча б одна прочитана книга.
+ * Книги без дати прочитання враховуються лише в загальній кількості.
+ *
+ * @param totalRead Загальна кількість прочитаних книг.
+ * @param readByMonth Кількість прочитаних книг за місяцями (впорядкована за зростанням місяця).
+ */
+public record ReadingHistogram(int totalRead, Map<YearMonth, Integer> readByMonth) {
+
+    /** Порожня гістограма (немає прочитаних книг). */
+    public static final ReadingHistogram EMPTY = new ReadingHistogram(0, Map.of());
+
+    public ReadingHistogram {
+        readByMonth = Collections.unmodifiableMap(new TreeMap<>(readByMonth));
+    }
+
+    /**
+     * @param year Рік.
+     * @return Кількість книг, прочитаних у вказаному році.
+     */
+    public int countForYear(int year) {
+        int count = 0;
+        for (int month = 1; month <= 12; month++) {
+            count += countForMonth(year, month);
+        }
+        return count;
+    }
+
+    /**
+     * @param year Рік.
+     * @param month Номер місяця (від 1 до 12).
+     * @return Кількість книг, прочитаних у вказаному місяці.
+     */
+    public int countForMonth(int year, int month) {
+        return readByMonth.getOrDefault(YearMonth.of(year, month), 0);
+    }
+}
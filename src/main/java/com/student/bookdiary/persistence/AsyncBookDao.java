@@ -0,0 +1,95 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.model.ReadingStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Асинхронний фасад над {@link BookDao}: операції виконуються у віртуальних потоках,
+ * а результати передаються через виконавець зворотних викликів ({@link AsyncDao}).
+ * Методи для операцій, яких тут немає, доступні через {@link #call} та {@link #run}.
+ */
+public class AsyncBookDao extends AsyncDao<BookDao> {
+
+    /**
+     * Створює фасад, що виконує операції у спільних віртуальних потоках.
+     *
+     * @param delegate DAO книг.
+     * @param callbackExecutor Виконавець, у якому завершуються результати (для інтерфейсу - {@code Platform::runLater}).
+     */
+    public AsyncBookDao(BookDao delegate, Executor callbackExecutor) {
+        this(delegate, virtualThreads(), callbackExecutor);
+    }
+
+    /**
+     * Створює фасад із заданим виконавцем операцій (використовується в тестах).
+     *
+     * @param delegate DAO книг.
+     * @param workers Виконавець операцій.
+     * @param callbackExecutor Виконавець, у якому завершуються результати.
+     */
+    AsyncBookDao(BookDao delegate, ExecutorService workers, Executor callbackExecutor) {
+        super(delegate, workers, callbackExecutor);
+    }
+
+    /**
+     * @param status Статус читання.
+     * @return Майбутній список скорочених представлень книг ({@link BookDao#getBookSummariesByStatus}).
+     */
+    public CompletableFuture<List<BookSummary>> getBookSummariesByStatus(ReadingStatus status) {
+        return call(dao -> dao.getBookSummariesByStatus(status));
+    }
+
+    /**
+     * @return Майбутній список скорочених представлень улюблених книг ({@link BookDao#getFavoriteBookSummaries()}).
+     */
+    public CompletableFuture<List<BookSummary>> getFavoriteBookSummaries() {
+        return call(BookDao::getFavoriteBookSummaries);
+    }
+
+    /**
+     * @param bookId ID книги.
+     * @return Майбутня повна книга ({@link BookDao#getBookById(long)}).
+     */
+    public CompletableFuture<Optional<Book>> getBookById(long bookId) {
+        return call(dao -> dao.getBookById(bookId));
+    }
+
+    /**
+     * @return Майбутній список унікальних жанрів ({@link BookDao#getDistinctGenres()}).
+     */
+    public CompletableFuture<List<String>> getDistinctGenres() {
+        return call(BookDao::getDistinctGenres);
+    }
+
+    /**
+     * @return Майбутня гістограма прочитаних книг ({@link BookDao#getReadingHistogram()}).
+     */
+    public CompletableFuture<ReadingHistogram> getReadingHistogram() {
+        return call(BookDao::getReadingHistogram);
+    }
+
+    /**
+     * @param bookId ID книги.
+     * @param favorite Нове значення позначки ({@link BookDao#setFavorite(long, boolean)}).
+     * @return Майбутній результат зміни: {@code false}, якщо книгу не знайдено.
+     */
+    public CompletableFuture<Boolean> setFavorite(long bookId, boolean favorite) {
+        return call(dao -> dao.setFavorite(bookId, favorite));
+    }
+
+    /**
+     * @param bookId ID книги, яку потрібно видалити ({@link BookDao#deleteBook(long)}).
+     * @return Майбутнє завершення видалення.
+     */
+    public CompletableFuture<Void> deleteBook(long bookId) {
+        return run(dao -> dao.deleteBook(bookId));
+    }
+}
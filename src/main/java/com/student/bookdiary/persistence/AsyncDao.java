@@ -0,0 +1,131 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Базовий клас асинхронних фасадів над DAO ({@link AsyncBookDao}, {@link AsyncGoalDao}).
+ * <p>
+ * Кожна операція виконується в окремому віртуальному потоці, тому блокування на диску чи пулі
+ * з'єднань не затримує потік інтерфейсу. Результат повертається як {@link CompletableFuture},
+ * який завершується через {@code callbackExecutor} (у програмі - {@code Platform::runLater}),
+ * тому залежні дії ({@code thenAccept}, {@code exceptionally}) виконуються в потоці інтерфейсу.
+ * <p>
+ * Скасування ({@link CompletableFuture#cancel(boolean)}) перериває потік операції, а якщо вона
+ * ще не почалася - не дає їй початися. Результат скасованої операції не передається, тому
+ * подання, з якого користувач вже перейшов, не оновлюється застарілими даними.
+ *
+ * @param <D> Тип DAO, до якого делегуються операції.
+ */
+public abstract class AsyncDao<D> {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncDao.class);
+
+    /** Спільний виконавець: новий віртуальний потік для кожної операції. */
+    private static final ExecutorService VIRTUAL_THREADS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dao-", 0).factory());
+
+    private final D delegate;
+    private final ExecutorService workers;
+    private final Executor callbackExecutor;
+
+    /**
+     * @param delegate DAO, що виконує операції синхронно.
+     * @param workers Виконавець операцій.
+     * @param callbackExecutor Виконавець, у якому завершуються повернуті {@link CompletableFuture}.
+     */
+    protected AsyncDao(D delegate, ExecutorService workers, Executor callbackExecutor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.workers = Objects.requireNonNull(workers, "workers");
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor, "callbackExecutor");
+    }
+
+    /**
+     * @return Спільний виконавець операцій на віртуальних потоках.
+     */
+    protected static ExecutorService virtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Виконує довільну операцію DAO асинхронно.
+     *
+     * @param operation Операція над DAO.
+     * @param <T> Тип результату.
+     * @return {@link CompletableFuture} з результатом або винятком операції,
+     *         що завершується через виконавець зворотних викликів.
+     */
+    public <T> CompletableFuture<T> call(Function<? super D, ? extends T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = workers.submit(() -> execute(operation, result));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Виконує операцію DAO без результату асинхронно.
+     *
+     * @param operation Операція над DAO.
+     * @return {@link CompletableFuture}, що завершується після виконання операції.
+     */
+    public CompletableFuture<Void> run(Consumer<? super D> operation) {
+        return call(dao -> {
+            operation.accept(dao);
+            return null;
+        });
+    }
+
+    /**
+     * Перевіряє, чи є помилка, отримана в {@code exceptionally}/{@code whenComplete},
+     * наслідком скасування операції (такі помилки користувачу не показуються).
+     *
+     * @param error Помилка з {@link CompletableFuture}.
+     * @return {@code true}, якщо операцію було скасовано.
+     */
+    public static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+
+    /**
+     * Повертає причину помилки операції без обгортки {@link CompletionException}.
+     *
+     * @param error Помилка з {@link CompletableFuture}.
+     * @return Виняток, кинутий операцією DAO.
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private <T> void execute(Function<? super D, ? extends T> operation, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            // Операцію скасовано до початку виконання.
+            return;
+        }
+        T value;
+        try {
+            value = operation.apply(delegate);
+        } catch (Throwable e) {
+            if (!result.isCancelled()) {
+                log.debug("Асинхронна операція DAO завершилася помилкою: {}", e.toString());
+            }
+            callbackExecutor.execute(() -> result.completeExceptionally(e));
+            return;
+        }
+        callbackExecutor.execute(() -> result.complete(value));
+    }
+}
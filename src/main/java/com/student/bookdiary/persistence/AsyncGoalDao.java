@@ -0,0 +1,51 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Goal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Асинхронний фасад над {@link GoalDao}: операції виконуються у віртуальних потоках,
+ * а результати передаються через виконавець зворотних викликів ({@link AsyncDao}).
+ */
+public class AsyncGoalDao extends AsyncDao<GoalDao> {
+
+    /**
+     * Створює фасад, що виконує операції у спільних віртуальних потоках.
+     *
+     * @param delegate DAO цілей.
+     * @param callbackExecutor Виконавець, у якому завершуються результати (для інтерфейсу - {@code Platform::runLater}).
+     */
+    public AsyncGoalDao(GoalDao delegate, Executor callbackExecutor) {
+        this(delegate, virtualThreads(), callbackExecutor);
+    }
+
+    /**
+     * Створює фасад із заданим виконавцем операцій (використовується в тестах).
+     *
+     * @param delegate DAO цілей.
+     * @param workers Виконавець операцій.
+     * @param callbackExecutor Виконавець, у якому завершуються результати.
+     */
+    AsyncGoalDao(GoalDao delegate, ExecutorService workers, Executor callbackExecutor) {
+        super(delegate, workers, callbackExecutor);
+    }
+
+    /**
+     * @return Майбутній список усіх цілей ({@link GoalDao#getAllGoals()}).
+     */
+    public CompletableFuture<List<Goal>> getAllGoals() {
+        return call(GoalDao::getAllGoals);
+    }
+
+    /**
+     * @param goalId ID цілі, яку потрібно видалити ({@link GoalDao#deleteGoal(long)}).
+     * @return Майбутнє завершення видалення.
+     */
+    public CompletableFuture<Void> deleteGoal(long goalId) {
+        return run(dao -> dao.deleteGoal(goalId));
+    }
+}
@@ -0,0 +1,44 @@
+package com.student.bookdiary.persistence;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Результат пакетної операції запису ({@link BookDao#addBooks(List)}, {@link BookDao#updateBooks(List)},
+ * {@link BookDao#deleteBooks(List)}).
+ * <p>
+ * Пакет виконується в одній транзакції: успішні рядки підтверджуються разом, а рядки,
+ * що завершилися помилкою (наприклад, через порушення обмеження {@code NOT NULL}),
+ * пропускаються і перелічуються у {@link #failures()}. Рядки оновлення або видалення, що не змінили
+ * жодного запису (книги з таким ID немає), не вважаються успішними і перелічуються у {@link #notFound()}.
+ *
+ * @param generatedIds ID, згенеровані базою даних для успішно доданих записів, у порядку вхідного списку
+ *                     (для оновлення та видалення - порожній список).
+ * @param successCount Кількість рядків пакета, виконаних без помилок, що змінили запис.
+ * @param failures Рядки пакета, що завершилися помилкою.
+ * @param notFound Позиції рядків пакета (починаючи з 0), що не змінили жодного запису.
+ */
+public record BatchResult(List<Long> generatedIds, int successCount, List<RowFailure> failures, List<Integer> notFound) {
+
+    /**
+     * Помилка виконання окремого рядка пакета.
+     *
+     * @param index Позиція рядка у вхідному списку (починаючи з 0).
+     * @param cause Помилка SQL, з якою завершився цей рядок.
+     */
+    public record RowFailure(int index, SQLException cause) {
+    }
+
+    public BatchResult {
+        generatedIds = List.copyOf(generatedIds);
+        failures = List.copyOf(failures);
+        notFound = List.copyOf(notFound);
+    }
+
+    /**
+     * @return {@code true}, якщо всі рядки пакета виконано без помилок.
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+}
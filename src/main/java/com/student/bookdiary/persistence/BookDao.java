@@ -1,10 +1,14 @@
 package com.student.bookdiary.persistence;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingHistogram;
 import com.student.bookdiary.model.ReadingStatus;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Інтерфейс Data Access Object (DAO) для операцій з об'єктами {@link Book}.
@@ -37,9 +41,40 @@ public interface BookDao {
      * Видаляє книгу зі сховища за її унікальним ідентифікатором (ID).
      *
      * @param bookId ID книги, яку потрібно видалити.
+     * @return {@code true}, якщо книгу видалено; {@code false}, якщо книги з таким ID немає.
      * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
      */
-    void deleteBook(long bookId);
+    boolean deleteBook(long bookId);
+
+    /**
+     * Додає кілька книг до сховища в одній транзакції.
+     * Після виконання кожна успішно додана книга отримує згенерований ID.
+     * Книги, які не вдалося додати, пропускаються і описуються в результаті, решта зберігається.
+     *
+     * @param books Книги, які потрібно додати.
+     * @return {@link BatchResult} зі згенерованими ID та помилками окремих книг.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію в цілому.
+     */
+    BatchResult addBooks(List<Book> books);
+
+    /**
+     * Оновлює кілька існуючих книг у сховищі в одній транзакції.
+     * Книги, які не вдалося оновити, пропускаються і описуються в результаті.
+     *
+     * @param books Книги з оновленими даними та коректними ID.
+     * @return {@link BatchResult} з кількістю успішних оновлень та помилками окремих книг.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію в цілому.
+     */
+    BatchResult updateBooks(List<Book> books);
+
+    /**
+     * Видаляє кілька книг зі сховища за їх ID в одній транзакції.
+     *
+     * @param bookIds ID книг, які потрібно видалити.
+     * @return {@link BatchResult} з кількістю успішних видалень та помилками окремих записів.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію в цілому.
+     */
+    BatchResult deleteBooks(List<Long> bookIds);
 
     /**
      * Знаходить та повертає книгу зі сховища за її унікальним ідентифікатором (ID).
@@ -78,7 +113,99 @@ public interface BookDao {
     List<Book> getFavoriteBooks();
 
     /**
-     * Здійснює пошук книг у сховищі за частковим збігом у назві або імені автора.
+     * Повертає скорочені представлення книг з вказаним статусом читання (без коментаря),
+     * новіші першими. Призначено для списків у вигляді плиток.
+     *
+     * @param status Статус читання.
+     * @return {@link List} об'єктів {@link BookSummary}.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    List<BookSummary> getBookSummariesByStatus(ReadingStatus status);
+
+    /**
+     * Повертає скорочені представлення улюблених книг (без коментаря), новіші першими.
+     *
+     * @return {@link List} об'єктів {@link BookSummary}.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    List<BookSummary> getFavoriteBookSummaries();
+
+    /**
+     * Змінює лише позначку "улюблене" книги, не перезаписуючи інші поля.
+     *
+     * @param bookId ID книги.
+     * @param favorite Нове значення позначки.
+     * @return {@code true}, якщо позначку змінено; {@code false}, якщо книги з таким ID немає.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    boolean setFavorite(long bookId, boolean favorite);
+
+    /**
+     * Передає кожну книгу сховища вказаній дії, не завантажуючи весь каталог у пам'ять.
+     * Книги читаються курсором лише вперед у порядку ID; курсор закривається після останньої
+     * книги або якщо дія завершилася винятком (він передається викликачу).
+     * Використовує розмір вибірки за замовчуванням.
+     *
+     * @param action Дія для кожної книги.
+     * @return Кількість оброблених книг.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    int forEachBook(Consumer<? super Book> action);
+
+    /**
+     * Передає кожну книгу сховища вказаній дії, читаючи з бази даних по {@code fetchSize} рядків.
+     *
+     * @param fetchSize Рекомендована кількість рядків, що зчитуються драйвером за один раз (більше нуля).
+     * @param action Дія для кожної книги.
+     * @return Кількість оброблених книг.
+     * @throws IllegalArgumentException Якщо {@code fetchSize} не додатний.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     * @see #forEachBook(Consumer)
+     */
+    int forEachBook(int fetchSize, Consumer<? super Book> action);
+
+    // --- Посторінковий доступ до списків книг ---
+
+    /**
+     * Повертає сторінку всіх книг у порядку вказаного ключа сортування.
+     *
+     * @param sortKey Ключ сортування.
+     * @param after Позиція, після якої починається сторінка ({@link BookPage#nextCursor()} попередньої
+     *              сторінки), або {@code null} для першої сторінки.
+     * @param limit Максимальна кількість книг на сторінці (більше нуля).
+     * @return {@link BookPage} з не більш ніж {@code limit} книгами.
+     * @throws IllegalArgumentException Якщо {@code limit} не додатний або позицію отримано для іншого ключа сортування.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    BookPage getAllBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit);
+
+    /**
+     * Повертає сторінку книг з вказаним статусом читання у порядку вказаного ключа сортування.
+     *
+     * @param status Статус читання.
+     * @param sortKey Ключ сортування.
+     * @param after Позиція, після якої починається сторінка, або {@code null} для першої сторінки.
+     * @param limit Максимальна кількість книг на сторінці (більше нуля).
+     * @return {@link BookPage} з не більш ніж {@code limit} книгами.
+     * @throws IllegalArgumentException Якщо {@code limit} не додатний або позицію отримано для іншого ключа сортування.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    BookPage getBooksByStatusPage(ReadingStatus status, BookSortKey sortKey, BookPage.Cursor after, int limit);
+
+    /**
+     * Повертає сторінку улюблених книг у порядку вказаного ключа сортування.
+     *
+     * @param sortKey Ключ сортування.
+     * @param after Позиція, після якої починається сторінка, або {@code null} для першої сторінки.
+     * @param limit Максимальна кількість книг на сторінці (більше нуля).
+     * @return {@link BookPage} з не більш ніж {@code limit} книгами.
+     * @throws IllegalArgumentException Якщо {@code limit} не додатний або позицію отримано для іншого ключа сортування.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    BookPage getFavoriteBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit);
+
+    /**
+     * Здійснює пошук книг у сховищі за словами (префіксами слів) у назві або імені автора.
      * Пошук зазвичай виконується без урахування регістру символів.
      *
      * @param searchTerm Рядок, що містить ключові слова для пошуку.
@@ -126,4 +253,45 @@ public interface BookDao {
      * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
      */
     int getBooksReadCountByMonthAndYear(int year, int month);
+
+    /**
+     * Повертає кількість книг зі статусом {@link ReadingStatus#READ}, дата прочитання яких
+     * належить півінтервалу [{@code from}; {@code to}). Суміжні періоди (наприклад, місяці
+     * {@code [1 березня; 1 квітня)} та {@code [1 квітня; 1 травня)}) не перетинаються.
+     *
+     * @param from Початкова дата (включно).
+     * @param to Кінцева дата (не включно); дорівнює {@code from} для порожнього періоду.
+     * @return Кількість книг, прочитаних у вказаному періоді.
+     * @throws IllegalArgumentException Якщо межа дорівнює {@code null} або {@code to} раніше за {@code from}.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    int countReadBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Повертає повну гістограму прочитаних книг за місяцями, обчислену одним запитом.
+     * Використовується сервісом статистики, який кешує результат і відповідає на запити
+     * про кількість книг за рік чи місяць без звернення до сховища.
+     *
+     * @return {@link ReadingHistogram} для всіх книг зі статусом {@link ReadingStatus#READ}.
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    ReadingHistogram getReadingHistogram();
+
+    /**
+     * Перераховує збережені підсумки прочитаних книг за місяцями з даних книг. Підсумки
+     * підтримуються автоматично під час кожної зміни книг; метод призначений для відновлення
+     * після пошкодження або зміни даних в обхід програми.
+     *
+     * @throws DataAccessException Якщо виникає помилка під час доступу до сховища даних.
+     */
+    void rebuildReadingSummary();
+
+    /**
+     * Повертає лічильник змін книг у сховищі. Значення збільшується після кожної операції
+     * запису (додавання, оновлення, видалення книг), тому його зміна означає, що
+     * закешовані на основі книг дані (наприклад, статистика) могли застаріти.
+     *
+     * @return Поточне значення лічильника змін.
+     */
+    long getModificationCount();
 }
\ No newline at end of file
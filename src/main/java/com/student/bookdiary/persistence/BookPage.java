@@ -0,0 +1,53 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+
+import java.util.List;
+
+/**
+ * Одна сторінка книг, прочитана методами посторінкового доступу {@link BookDao}.
+ * <p>
+ * Сторінки читаються за ключем (keyset pagination): замість {@code OFFSET} наступна сторінка
+ * починається одразу після останньої книги попередньої ({@link #nextCursor()}). Тому вартість
+ * читання сторінки не залежить від її номера, а вставка чи видалення книг між запитами
+ * не призводить до пропусків або повторів.
+ *
+ * @param books Книги сторінки в порядку ключа сортування.
+ * @param nextCursor Позиція для читання наступної сторінки або {@code null}, якщо це остання сторінка.
+ */
+public record BookPage(List<Book> books, Cursor nextCursor) {
+
+    /**
+     * Позиція в упорядкованому списку книг: наступна сторінка містить книги, що йдуть
+     * строго після книги з вказаними значенням ключа та ID.
+     *
+     * @param sortKey Ключ сортування, для якого отримано позицію.
+     * @param sortValue Значення ключа останньої прочитаної книги в тому вигляді, в якому воно
+     *                  зберігається в базі даних ({@link Long} для дати, {@link String} для тексту).
+     * @param id ID останньої прочитаної книги.
+     */
+    public record Cursor(BookSortKey sortKey, Object sortValue, long id) {
+
+        /**
+         * Створює позицію одразу після вказаної книги.
+         *
+         * @param sortKey Ключ сортування.
+         * @param book Остання прочитана книга.
+         * @return Позиція для читання наступної сторінки.
+         */
+        public static Cursor after(BookSortKey sortKey, Book book) {
+            return new Cursor(sortKey, sortKey.sortValue(book), book.getId());
+        }
+    }
+
+    public BookPage {
+        books = List.copyOf(books);
+    }
+
+    /**
+     * @return {@code true}, якщо після цієї сторінки є ще книги.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,487 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.model.ReadingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Спільний для всієї програми кеш книг над {@link BookDao} (read-through).
+ * <p>
+ * Зберігає повні книги за ID (для детального перегляду та діалогів редагування) і, окремо від них,
+ * списки скорочених представлень ({@link BookSummary}) кожного статусу й улюблених книг у порядку,
+ * в якому їх повертає DAO (спочатку новіші за датою додавання, серед доданих того самого дня -
+ * з більшим ID). Списки завантажуються запитами без коментарів, тому повторне відкриття подань
+ * не звертається до бази даних, а промах кешу не читає повних рядків.
+ * Зміни, виконані через репозиторій, оновлюють кеш на місці після підтвердження транзакції
+ * ({@link DatabaseManager#afterCommit(Runnable)}); пакетні операції скидають кеш повністю.
+ * Після кожної зміни публікується подія ({@link ChangeEvent}) на шині {@link ChangeEventBus};
+ * для оновлення книги подія містить поля, що змінилися порівняно із закешованим станом.
+ * <p>
+ * Кількість закешованих повних книг обмежена ({@code maxBooks}): найдавніше використана книга
+ * витісняється. Список, довший за ту саму межу, не кешується, і такі запити виконуються DAO напряму.
+ * Назовні повертаються лише копії книг.
+ * <p>
+ * Решта операцій (повні списки книг, пошук, сторінки, статистика, жанри) передаються DAO без змін.
+ * Якщо дані змінилися в обхід репозиторію (наприклад, після імпорту файлу бази даних),
+ * кеш потрібно скинути через {@link #invalidate()}.
+ */
+public class BookRepository implements BookDao {
+
+    private static final Logger log = LoggerFactory.getLogger(BookRepository.class);
+
+    /** Максимальна кількість закешованих книг за замовчуванням. */
+    static final int DEFAULT_MAX_BOOKS = 1000;
+
+    /** Порядок списків DAO: спочатку новіші за датою додавання, серед доданих того самого дня - більший ID. */
+    private static final Comparator<BookSummary> LIST_ORDER =
+            Comparator.comparing(BookSummary::dateAdded, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                    .thenComparing(BookSummary::id, Comparator.reverseOrder());
+
+    private static final BookRepository INSTANCE =
+            new BookRepository(new SqliteBookDao(), getConfiguredMaxBooks(), ChangeEventBus.getInstance());
+
+    private final BookDao delegate;
+    private final ChangeEventBus events;
+    private final int maxBooks;
+    /** Закешовані повні книги в порядку використання (першою йде найдавніше використана). */
+    private final LinkedHashMap<Long, Book> books;
+    /** Скорочені представлення книг кожного статусу в порядку списків DAO; відсутній ключ - список не закешовано. */
+    private final Map<ReadingStatus, List<BookSummary>> summariesByStatus = new EnumMap<>(ReadingStatus.class);
+    /** Скорочені представлення улюблених книг у порядку списку DAO або {@code null}, якщо список не закешовано. */
+    private List<BookSummary> favoriteSummaries;
+    /**
+     * Версія вмісту кешу; збільшується після кожної зміни та скидання. Результати читань,
+     * під час яких версія змінилася, до кешу не додаються, щоб не повернути застарілі дані.
+     */
+    private long version;
+
+    /**
+     * Створює репозиторій над вказаним DAO з окремою шиною подій (використовується в тестах).
+     *
+     * @param delegate DAO, до якого звертається репозиторій при промахах кешу та змінах.
+     * @param maxBooks Максимальна кількість закешованих книг (більше нуля).
+     */
+    BookRepository(BookDao delegate, int maxBooks) {
+        this(delegate, maxBooks, new ChangeEventBus());
+    }
+
+    /**
+     * @param delegate DAO, до якого звертається репозиторій при промахах кешу та змінах.
+     * @param maxBooks Максимальна кількість закешованих книг (більше нуля).
+     * @param events Шина, на яку публікуються події змін книг.
+     */
+    BookRepository(BookDao delegate, int maxBooks, ChangeEventBus events) {
+        if (maxBooks <= 0) {
+            throw new IllegalArgumentException("Розмір кешу книг повинен бути більшим за нуль: " + maxBooks);
+        }
+        this.delegate = delegate;
+        this.events = events;
+        this.maxBooks = maxBooks;
+        this.books = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Book> eldest) {
+                return size() > BookRepository.this.maxBooks;
+            }
+        };
+    }
+
+    /**
+     * @return Спільний екземпляр репозиторію, яким користуються всі контролери.
+     */
+    public static BookRepository getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Повертає максимальну кількість закешованих книг.
+     * Значення можна перевизначити системною властивістю {@code db.book_cache_size}.
+     */
+    private static int getConfiguredMaxBooks() {
+        String value = System.getProperty("db.book_cache_size");
+        if (value == null) {
+            return DEFAULT_MAX_BOOKS;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Некоректне значення db.book_cache_size='{}', використовується {}.", value, DEFAULT_MAX_BOOKS);
+            return DEFAULT_MAX_BOOKS;
+        }
+    }
+
+    /**
+     * Скидає весь кеш; наступні запити завантажать дані з бази даних.
+     * Потрібен, коли книги змінюються в обхід репозиторію (наприклад, після імпорту резервної копії).
+     */
+    public synchronized void invalidate() {
+        log.debug("Кеш книг скинуто ({} книг(и)).", books.size());
+        books.clear();
+        summariesByStatus.clear();
+        favoriteSummaries = null;
+        version++;
+    }
+
+    /**
+     * @return Кількість закешованих книг.
+     */
+    synchronized int size() {
+        return books.size();
+    }
+
+    // --- Читання через кеш ---
+
+    @Override
+    public Optional<Book> getBookById(long bookId) {
+        long observed;
+        synchronized (this) {
+            Book cached = books.get(bookId);
+            if (cached != null) {
+                return Optional.of(copyOf(cached));
+            }
+            observed = version;
+        }
+        Optional<Book> loaded = delegate.getBookById(bookId);
+        loaded.ifPresent(book -> {
+            synchronized (this) {
+                if (version == observed) {
+                    books.put(book.getId(), copyOf(book));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    @Override
+    public List<BookSummary> getBookSummariesByStatus(ReadingStatus status) {
+        long observed;
+        synchronized (this) {
+            List<BookSummary> cached = summariesByStatus.get(status);
+            if (cached != null) {
+                return List.copyOf(cached);
+            }
+            observed = version;
+        }
+        List<BookSummary> loaded = delegate.getBookSummariesByStatus(status);
+        synchronized (this) {
+            if (version == observed && loaded.size() <= maxBooks) {
+                summariesByStatus.put(status, new ArrayList<>(loaded));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<BookSummary> getFavoriteBookSummaries() {
+        long observed;
+        synchronized (this) {
+            if (favoriteSummaries != null) {
+                return List.copyOf(favoriteSummaries);
+            }
+            observed = version;
+        }
+        List<BookSummary> loaded = delegate.getFavoriteBookSummaries();
+        synchronized (this) {
+            if (version == observed && loaded.size() <= maxBooks) {
+                favoriteSummaries = new ArrayList<>(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // --- Зміни з оновленням кешу після підтвердження ---
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        Book snapshot = copyOf(book);
+        DatabaseManager.afterCommit(() -> cacheChanged(snapshot));
+        events.publishAfterCommit(new ChangeEvent.BookAdded(book.getId()));
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        Book previous = cachedCopy(book.getId());
+        delegate.updateBook(book);
+        Book snapshot = copyOf(book);
+        DatabaseManager.afterCommit(() -> cacheChanged(snapshot));
+        Set<BookField> changed = previous != null
+                ? BookField.changedBetween(previous, snapshot)
+                : EnumSet.allOf(BookField.class);
+        events.publishAfterCommit(new ChangeEvent.BookUpdated(book.getId(), changed));
+    }
+
+    @Override
+    public boolean deleteBook(long bookId) {
+        if (!delegate.deleteBook(bookId)) {
+            return false; // Книги немає: кеш і підписники не змінюються
+        }
+        DatabaseManager.afterCommit(() -> cacheDeleted(bookId));
+        events.publishAfterCommit(new ChangeEvent.BookDeleted(bookId));
+        return true;
+    }
+
+    @Override
+    public boolean setFavorite(long bookId, boolean favorite) {
+        if (!delegate.setFavorite(bookId, favorite)) {
+            return false;
+        }
+        DatabaseManager.afterCommit(() -> cacheFavorite(bookId, favorite));
+        events.publishAfterCommit(new ChangeEvent.BookUpdated(bookId, EnumSet.of(BookField.FAVORITE)));
+        return true;
+    }
+
+    @Override
+    public BatchResult addBooks(List<Book> books) {
+        BatchResult result;
+        try {
+            result = delegate.addBooks(books);
+        } finally {
+            DatabaseManager.afterCommit(this::invalidate);
+        }
+        for (Long id : result.generatedIds()) {
+            events.publishAfterCommit(new ChangeEvent.BookAdded(id));
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult updateBooks(List<Book> books) {
+        BatchResult result;
+        try {
+            result = delegate.updateBooks(books);
+        } finally {
+            DatabaseManager.afterCommit(this::invalidate);
+        }
+        for (int index : succeededIndexes(result, books.size())) {
+            events.publishAfterCommit(new ChangeEvent.BookUpdated(books.get(index).getId(), EnumSet.allOf(BookField.class)));
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteBooks(List<Long> bookIds) {
+        BatchResult result;
+        try {
+            result = delegate.deleteBooks(bookIds);
+        } finally {
+            DatabaseManager.afterCommit(this::invalidate);
+        }
+        for (int index : succeededIndexes(result, bookIds.size())) {
+            events.publishAfterCommit(new ChangeEvent.BookDeleted(bookIds.get(index)));
+        }
+        return result;
+    }
+
+    /**
+     * @return Номери елементів пакета, що виконалися без помилок і змінили запис.
+     */
+    private static List<Integer> succeededIndexes(BatchResult result, int size) {
+        Set<Integer> failed = new HashSet<>(result.notFound());
+        for (BatchResult.RowFailure failure : result.failures()) {
+            failed.add(failure.index());
+        }
+        List<Integer> succeeded = new ArrayList<>(size - failed.size());
+        for (int i = 0; i < size; i++) {
+            if (!failed.contains(i)) {
+                succeeded.add(i);
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * @return Копія закешованої книги або {@code null}, якщо книги немає в кеші.
+     */
+    private synchronized Book cachedCopy(long bookId) {
+        Book cached = books.get(bookId);
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * Записує додану або змінену книгу до кешу та переносить її до списків нового статусу.
+     */
+    private synchronized void cacheChanged(Book book) {
+        version++;
+        books.remove(book.getId());
+        books.put(book.getId(), book);
+        removeFromLists(book.getId());
+        BookSummary summary = BookSummary.of(book);
+        List<BookSummary> statusSummaries = summariesByStatus.get(book.getStatus());
+        if (statusSummaries != null && !insertInListOrder(statusSummaries, summary)) {
+            summariesByStatus.remove(book.getStatus());
+        }
+        if (book.isFavorite() && favoriteSummaries != null && !insertInListOrder(favoriteSummaries, summary)) {
+            favoriteSummaries = null;
+        }
+    }
+
+    private synchronized void cacheDeleted(long bookId) {
+        version++;
+        books.remove(bookId);
+        removeFromLists(bookId);
+    }
+
+    private synchronized void cacheFavorite(long bookId, boolean favorite) {
+        version++;
+        Book cached = books.get(bookId);
+        if (cached != null) {
+            cached.setFavorite(favorite);
+        }
+        BookSummary summary = cached != null ? BookSummary.of(cached) : null;
+        for (List<BookSummary> statusSummaries : summariesByStatus.values()) {
+            for (int i = 0; i < statusSummaries.size(); i++) {
+                if (statusSummaries.get(i).id() == bookId) {
+                    summary = statusSummaries.get(i).withFavorite(favorite);
+                    statusSummaries.set(i, summary);
+                }
+            }
+        }
+        if (favoriteSummaries != null) {
+            favoriteSummaries.removeIf(s -> s.id() == bookId);
+            if (favorite && (summary == null || !insertInListOrder(favoriteSummaries, summary))) {
+                // Без стану книги позицію в списку улюблених визначити неможливо.
+                favoriteSummaries = null;
+            }
+        }
+    }
+
+    /**
+     * Видаляє книгу з усіх закешованих списків.
+     */
+    private void removeFromLists(long bookId) {
+        for (List<BookSummary> statusSummaries : summariesByStatus.values()) {
+            statusSummaries.removeIf(s -> s.id() == bookId);
+        }
+        if (favoriteSummaries != null) {
+            favoriteSummaries.removeIf(s -> s.id() == bookId);
+        }
+    }
+
+    /**
+     * Вставляє книгу в список з урахуванням порядку DAO ({@link #LIST_ORDER}), перед книгами
+     * з тим самим ключем.
+     *
+     * @return {@code false}, якщо список досяг межі розміру і книгу не вставлено (список потрібно скинути).
+     */
+    private boolean insertInListOrder(List<BookSummary> summaries, BookSummary summary) {
+        if (summaries.size() >= maxBooks) {
+            return false;
+        }
+        int index = 0;
+        while (index < summaries.size() && LIST_ORDER.compare(summaries.get(index), summary) < 0) {
+            index++;
+        }
+        summaries.add(index, summary);
+        return true;
+    }
+
+    private static Book copyOf(Book book) {
+        return new Book(book.getId(), book.getTitle(), book.getAuthor(), book.getGenre(), book.getStatus(),
+                book.getDateAdded(), book.getDateRead(), book.getRating(), book.getComment(),
+                book.getCoverImagePath(), book.isFavorite());
+    }
+
+    // --- Операції без кешування ---
+
+    @Override
+    public List<Book> getAllBooks() {
+        return delegate.getAllBooks();
+    }
+
+    @Override
+    public List<Book> getBooksByStatus(ReadingStatus status) {
+        return delegate.getBooksByStatus(status);
+    }
+
+    @Override
+    public List<Book> getFavoriteBooks() {
+        return delegate.getFavoriteBooks();
+    }
+
+    @Override
+    public int forEachBook(Consumer<? super Book> action) {
+        return delegate.forEachBook(action);
+    }
+
+    @Override
+    public int forEachBook(int fetchSize, Consumer<? super Book> action) {
+        return delegate.forEachBook(fetchSize, action);
+    }
+
+    @Override
+    public BookPage getAllBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return delegate.getAllBooksPage(sortKey, after, limit);
+    }
+
+    @Override
+    public BookPage getBooksByStatusPage(ReadingStatus status, BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return delegate.getBooksByStatusPage(status, sortKey, after, limit);
+    }
+
+    @Override
+    public BookPage getFavoriteBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return delegate.getFavoriteBooksPage(sortKey, after, limit);
+    }
+
+    @Override
+    public List<Book> searchBooks(String searchTerm) {
+        return delegate.searchBooks(searchTerm);
+    }
+
+    @Override
+    public List<String> getDistinctGenres() {
+        return delegate.getDistinctGenres();
+    }
+
+    @Override
+    public int getTotalBooksReadCount() {
+        return delegate.getTotalBooksReadCount();
+    }
+
+    @Override
+    public int getBooksReadCountByYear(int year) {
+        return delegate.getBooksReadCountByYear(year);
+    }
+
+    @Override
+    public int getBooksReadCountByMonthAndYear(int year, int month) {
+        return delegate.getBooksReadCountByMonthAndYear(year, month);
+    }
+
+    @Override
+    public int countReadBetween(LocalDate from, LocalDate to) {
+        return delegate.countReadBetween(from, to);
+    }
+
+    @Override
+    public ReadingHistogram getReadingHistogram() {
+        return delegate.getReadingHistogram();
+    }
+
+    @Override
+    public void rebuildReadingSummary() {
+        delegate.rebuildReadingSummary();
+    }
+
+    @Override
+    public long getModificationCount() {
+        return delegate.getModificationCount();
+    }
+}
@@ -0,0 +1,140 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Перетворювач рядків таблиці {@code books} на {@link Book} та {@link BookSummary}.
+ * <p>
+ * Створюється один раз для кожного {@link ResultSet}: номери стовпців визначаються за метаданими
+ * результату під час створення, тому для кожного рядка значення читаються за номером, без пошуку
+ * стовпця за назвою. Статус читання визначається порівнянням із закешованими константами переліку,
+ * а дати зберігаються як цілі числа (кількість днів від 1970-01-01) і не потребують розбору тексту.
+ */
+final class BookRowMapper {
+
+    private static final ReadingStatus[] STATUSES = ReadingStatus.values();
+
+    private int id;
+    private int title;
+    private int author;
+    private int genre;
+    private int status;
+    private int dateAdded;
+    private int dateRead;
+    private int rating;
+    private int comment;
+    private int coverImagePath;
+    private int favorite;
+
+    /**
+     * Визначає номери стовпців книги в результаті запиту.
+     *
+     * @param rs Результат запиту до таблиці {@code books}.
+     * @throws SQLException якщо не вдалося прочитати метадані результату.
+     */
+    BookRowMapper(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            switch (metaData.getColumnLabel(column)) {
+                case "id" -> id = column;
+                case "title" -> title = column;
+                case "author" -> author = column;
+                case "genre" -> genre = column;
+                case "status" -> status = column;
+                case "dateAdded" -> dateAdded = column;
+                case "dateRead" -> dateRead = column;
+                case "rating" -> rating = column;
+                case "comment" -> comment = column;
+                case "coverImagePath" -> coverImagePath = column;
+                case "favorite" -> favorite = column;
+                default -> {
+                    // Інші стовпці (наприклад, з приєднаних таблиць) не використовуються.
+                }
+            }
+        }
+    }
+
+    /**
+     * Перетворює поточний рядок результату на {@link Book}.
+     *
+     * @param rs Результат, курсор якого встановлено на рядок з усіма стовпцями книги.
+     * @return Створений об'єкт {@link Book}.
+     * @throws SQLException якщо результат не містить стовпців книги або виникла помилка читання.
+     */
+    Book toBook(ResultSet rs) throws SQLException {
+        requireColumn(comment, "comment");
+        return new Book(
+                rs.getLong(requireColumn(id, "id")),
+                rs.getString(requireColumn(title, "title")),
+                rs.getString(requireColumn(author, "author")),
+                rs.getString(requireColumn(genre, "genre")),
+                parseStatus(rs.getString(requireColumn(status, "status"))),
+                readEpochDay(rs, requireColumn(dateAdded, "dateAdded")),
+                readEpochDay(rs, requireColumn(dateRead, "dateRead")),
+                rs.getInt(requireColumn(rating, "rating")),
+                rs.getString(comment),
+                rs.getString(requireColumn(coverImagePath, "coverImagePath")),
+                rs.getInt(requireColumn(favorite, "favorite")) == 1);
+    }
+
+    /**
+     * Перетворює поточний рядок результату на {@link BookSummary}. Стовпець {@code comment} не потрібен.
+     *
+     * @param rs Результат, курсор якого встановлено на рядок зі стовпцями скороченого представлення.
+     * @return Створений об'єкт {@link BookSummary}.
+     * @throws SQLException якщо результат не містить потрібних стовпців або виникла помилка читання.
+     */
+    BookSummary toSummary(ResultSet rs) throws SQLException {
+        return new BookSummary(
+                rs.getLong(requireColumn(id, "id")),
+                rs.getString(requireColumn(title, "title")),
+                rs.getString(requireColumn(author, "author")),
+                rs.getString(requireColumn(genre, "genre")),
+                parseStatus(rs.getString(requireColumn(status, "status"))),
+                readEpochDay(rs, requireColumn(dateAdded, "dateAdded")),
+                readEpochDay(rs, requireColumn(dateRead, "dateRead")),
+                rs.getInt(requireColumn(rating, "rating")),
+                rs.getString(requireColumn(coverImagePath, "coverImagePath")),
+                rs.getInt(requireColumn(favorite, "favorite")) == 1);
+    }
+
+    private static int requireColumn(int column, String name) throws SQLException {
+        if (column == 0) {
+            throw new SQLException("Результат запиту не містить стовпця '" + name + "'.");
+        }
+        return column;
+    }
+
+    /**
+     * Повертає статус читання за його назвою, порівнюючи з закешованими константами переліку.
+     *
+     * @param value Назва статусу, збережена в базі даних.
+     * @return Відповідний {@link ReadingStatus}.
+     * @throws IllegalArgumentException якщо назва не відповідає жодному статусу.
+     */
+    static ReadingStatus parseStatus(String value) {
+        for (ReadingStatus readingStatus : STATUSES) {
+            if (readingStatus.name().equals(value)) {
+                return readingStatus;
+            }
+        }
+        throw new IllegalArgumentException("Невідомий статус читання: " + value);
+    }
+
+    /**
+     * Читає дату, збережену як кількість днів від 1970-01-01.
+     *
+     * @return Дата або {@code null}, якщо значення в стовпці відсутнє.
+     */
+    private static LocalDate readEpochDay(ResultSet rs, int column) throws SQLException {
+        long epochDay = rs.getLong(column);
+        return rs.wasNull() ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
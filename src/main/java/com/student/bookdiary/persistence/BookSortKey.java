@@ -0,0 +1,88 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+
+/**
+ * Порядок сортування для посторінкового читання книг ({@link BookDao#getAllBooksPage}
+ * та споріднених методів).
+ * <p>
+ * Кожен ключ доповнюється ID книги, тому порядок є строгим навіть для книг з однаковою датою,
+ * назвою чи автором, і пара (значення ключа, ID) однозначно задає позицію, з якої
+ * продовжується наступна сторінка ({@link BookPage.Cursor}).
+ * <p>
+ * Назва та автор упорядковуються за нормалізованими стовпцями {@code titleSortKey} та
+ * {@code authorSortKey} ({@link #normalize(String)}), які DAO записує разом з книгою
+ * та узгоджує під час запуску ({@link SqliteBookDao#refreshSortKeys}). Індекси
+ * над ними використовують вбудоване двійкове порівняння, тому файл бази даних можна відкривати
+ * та змінювати будь-яким клієнтом SQLite без користувацьких правил порівняння.
+ */
+public enum BookSortKey {
+
+    /** Дата додавання, новіші першими; за однакової дати - більший ID першим. */
+    DATE_ADDED("dateAdded", true),
+
+    /** Назва за абеткою без урахування регістру (зокрема для кирилиці); за однакової назви - менший ID першим. */
+    TITLE("titleSortKey", false),
+
+    /**
+     * Автор за абеткою без урахування регістру; за однакового автора - менший ID першим.
+     * Книги без автора вважаються книгами з порожнім автором і йдуть на початку.
+     */
+    AUTHOR("authorSortKey", false);
+
+    private final String sqlExpression;
+    private final boolean descending;
+
+    BookSortKey(String sqlExpression, boolean descending) {
+        this.sqlExpression = sqlExpression;
+        this.descending = descending;
+    }
+
+    /**
+     * @return SQL-вираз (стовпець) значення ключа; збігається зі стовпцем відповідних індексів у {@link SchemaMigrator}.
+     */
+    String sqlExpression() {
+        return sqlExpression;
+    }
+
+    /**
+     * @return {@code true}, якщо книги впорядковуються за спаданням ключа та ID.
+     */
+    boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Повертає значення ключа для книги в тому вигляді, в якому воно зберігається в базі даних.
+     *
+     * @param book Книга.
+     * @return Значення ключа сортування: {@link Long} (кількість днів від 1970-01-01) для
+     *         {@link #DATE_ADDED}, інакше {@link String}.
+     */
+    Object sortValue(Book book) {
+        return switch (this) {
+            case DATE_ADDED -> book.getDateAdded().toEpochDay();
+            case TITLE -> normalize(book.getTitle());
+            case AUTHOR -> normalize(book.getAuthor());
+        };
+    }
+
+    /**
+     * Перетворює назву чи автора на ключ сортування без урахування регістру: кожен символ
+     * переводиться у верхній, а потім у нижній регістр, як у {@link String#CASE_INSENSITIVE_ORDER}.
+     * Двійкове порівняння ключів дає той самий порядок, що й порівняння рядків у контролерах.
+     *
+     * @param value Назва або автор (може бути {@code null}).
+     * @return Ключ сортування; для {@code null} - порожній рядок.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            key.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.BookField;
+
+import java.util.Set;
+
+/**
+ * Подія зміни даних, яку шар доступу до даних публікує через {@link ChangeEventBus}
+ * після підтвердження транзакції.
+ */
+public sealed interface ChangeEvent {
+
+    /**
+     * Книгу додано.
+     *
+     * @param bookId ID нової книги.
+     */
+    record BookAdded(long bookId) implements ChangeEvent {
+    }
+
+    /**
+     * Книгу змінено.
+     *
+     * @param bookId ID книги.
+     * @param changedFields Змінені поля (усі поля, якщо попередній стан книги невідомий).
+     */
+    record BookUpdated(long bookId, Set<BookField> changedFields) implements ChangeEvent {
+
+        public BookUpdated {
+            changedFields = Set.copyOf(changedFields);
+        }
+
+        /**
+         * @param fields Поля для перевірки.
+         * @return {@code true}, якщо змінилося хоча б одне з полів.
+         */
+        public boolean changedAny(Set<BookField> fields) {
+            for (BookField field : fields) {
+                if (changedFields.contains(field)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Книгу видалено.
+     *
+     * @param bookId ID видаленої книги.
+     */
+    record BookDeleted(long bookId) implements ChangeEvent {
+    }
+
+    /**
+     * Ціль додано, змінено або видалено.
+     *
+     * @param goalId ID цілі.
+     */
+    record GoalChanged(long goalId) implements ChangeEvent {
+    }
+}
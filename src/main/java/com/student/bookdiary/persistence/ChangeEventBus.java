@@ -0,0 +1,124 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Шина подій змін даних у межах процесу.
+ * <p>
+ * Шар доступу до даних публікує події ({@link ChangeEvent}) після підтвердження транзакції
+ * ({@link #publishAfterCommit(ChangeEvent)}), тому підписники ніколи не бачать змін, які буде
+ * відкочено. Кожен підписник отримує події через свій виконавець: подання - у потоці JavaFX
+ * ({@code Platform::runLater}), кеші - одразу в потоці, що підтвердив зміну.
+ * Після {@link Subscription#close()} підписник більше не отримує подій, зокрема вже поставлених
+ * у чергу його виконавця.
+ */
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private static final ChangeEventBus INSTANCE = new ChangeEventBus();
+
+    /**
+     * Підписка на події. Закриття скасовує підписку.
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Створює окрему шину (використовується в тестах).
+     */
+    ChangeEventBus() {
+    }
+
+    /**
+     * @return Спільна шина подій програми.
+     */
+    public static ChangeEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Підписує обробник, що викликається в потоці, який опублікував подію.
+     *
+     * @param handler Обробник подій.
+     * @return Підписка для скасування.
+     */
+    public Subscription subscribe(Consumer<? super ChangeEvent> handler) {
+        return subscribe(Runnable::run, handler);
+    }
+
+    /**
+     * Підписує обробник, що викликається через вказаний виконавець.
+     *
+     * @param executor Виконавець обробника (наприклад, {@code Platform::runLater}).
+     * @param handler Обробник подій.
+     * @return Підписка для скасування.
+     */
+    public Subscription subscribe(Executor executor, Consumer<? super ChangeEvent> handler) {
+        Listener listener = new Listener(executor, handler);
+        listeners.add(listener);
+        return listener;
+    }
+
+    /**
+     * Публікує подію після підтвердження поточної транзакції (або одразу, якщо транзакції немає).
+     * Якщо транзакцію відкочено, подія не публікується.
+     *
+     * @param event Подія зміни.
+     */
+    public void publishAfterCommit(ChangeEvent event) {
+        DatabaseManager.afterCommit(() -> publish(event));
+    }
+
+    /**
+     * Передає подію всім підписникам.
+     *
+     * @param event Подія зміни.
+     */
+    void publish(ChangeEvent event) {
+        log.trace("Публікація події змін: {}", event);
+        for (Listener listener : listeners) {
+            listener.deliver(event);
+        }
+    }
+
+    private final class Listener implements Subscription {
+        private final Executor executor;
+        private final Consumer<? super ChangeEvent> handler;
+        private volatile boolean active = true;
+
+        Listener(Executor executor, Consumer<? super ChangeEvent> handler) {
+            this.executor = executor;
+            this.handler = handler;
+        }
+
+        void deliver(ChangeEvent event) {
+            executor.execute(() -> {
+                if (!active) {
+                    return;
+                }
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    log.error("Помилка обробника події змін {}: {}", event, e.getMessage(), e);
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            active = false;
+            listeners.remove(this);
+        }
+    }
+}
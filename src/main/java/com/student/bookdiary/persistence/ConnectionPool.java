@@ -0,0 +1,363 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Простий пул довгоживучих з'єднань з файловою базою даних SQLite.
+ * <p>
+ * Фізичні з'єднання створюються ліниво (не більше {@code maxSize}) і повторно
+ * використовуються між викликами DAO. Клієнт отримує обгортку над з'єднанням,
+ * метод {@link Connection#close()} якої не закриває фізичне з'єднання,
+ * а повертає його до пулу. Тому код DAO може й надалі використовувати звичний
+ * шаблон "отримати з'єднання - виконати запит - закрити".
+ * <p>
+ * Перевірка з'єднань дешева: при кожному запозиченні перевіряється лише
+ * {@link Connection#isClosed()}, а повна перевірка {@link Connection#isValid(int)}
+ * виконується тільки для з'єднань, що простоювали довше за {@link #VALIDATION_INTERVAL_MILLIS}.
+ * <p>
+ * Кожне фізичне з'єднання має власний {@link StatementCache}: {@code prepareStatement} обгортки
+ * повертає закешований запит того самого SQL, підготовлений під час попередніх запозичень.
+ * Після зміни схеми бази даних кеші скидаються через {@link #invalidateStatementCaches()}.
+ */
+class ConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /** Час простою, після якого з'єднання перевіряється через {@code isValid()} перед видачею. */
+    static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+
+    /** Розмір кешу підготовлених запитів одного з'єднання за замовчуванням. */
+    static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    /** Максимальний час очікування вільного з'єднання. */
+    private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Фабрика фізичних з'єднань. Дозволяє {@link DatabaseManager} налаштовувати
+     * кожне нове з'єднання (наприклад, створювати таблиці або застосовувати PRAGMA).
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    /** Фізичне з'єднання разом з його кешем запитів та часом останнього повернення до пулу. */
+    private static final class IdleConnection {
+        final Connection connection;
+        final StatementCache statements;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, StatementCache statements, long returnedAt) {
+            this.connection = connection;
+            this.statements = statements;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    private final String url;
+    private final ConnectionFactory factory;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger physicalConnections = new AtomicInteger();
+    private final int statementCacheSize;
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+    /** Покоління кешів запитів; збільшується після зміни схеми бази даних. */
+    private final AtomicLong statementCacheGeneration = new AtomicLong();
+    private volatile boolean shutdown;
+
+    /**
+     * Створює пул з'єднань з кешем запитів розміру {@link #DEFAULT_STATEMENT_CACHE_SIZE}.
+     *
+     * @param url JDBC URL бази даних (використовується для логування та порівняння).
+     * @param maxSize Максимальна кількість одночасно виданих з'єднань.
+     * @param factory Фабрика для створення нових фізичних з'єднань.
+     */
+    ConnectionPool(String url, int maxSize, ConnectionFactory factory) {
+        this(url, maxSize, DEFAULT_STATEMENT_CACHE_SIZE, factory);
+    }
+
+    /**
+     * Створює пул з'єднань.
+     *
+     * @param url JDBC URL бази даних (використовується для логування та порівняння).
+     * @param maxSize Максимальна кількість одночасно виданих з'єднань.
+     * @param statementCacheSize Максимальна кількість закешованих запитів на одне з'єднання;
+     *                           0 вимикає кешування.
+     * @param factory Фабрика для створення нових фізичних з'єднань.
+     */
+    ConnectionPool(String url, int maxSize, int statementCacheSize, ConnectionFactory factory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Розмір пулу має бути не менше 1, отримано: " + maxSize);
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Розмір кешу запитів не може бути від'ємним, отримано: " + statementCacheSize);
+        }
+        this.url = url;
+        this.factory = factory;
+        this.permits = new Semaphore(maxSize, true);
+        this.statementCacheSize = statementCacheSize;
+        log.info("Створено пул з'єднань для {} (максимум з'єднань: {}, кеш запитів на з'єднання: {}).",
+                url, maxSize, statementCacheSize);
+    }
+
+    /**
+     * Повертає JDBC URL, для якого створено цей пул.
+     *
+     * @return JDBC URL бази даних.
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * Позичає з'єднання з пулу. Якщо вільних з'єднань немає, але ліміт не вичерпано,
+     * створюється нове фізичне з'єднання.
+     *
+     * @return Обгортка над з'єднанням; її {@code close()} повертає з'єднання до пулу.
+     * @throws DataAccessException якщо пул закрито, час очікування вичерпано
+     *                             або не вдалося створити нове з'єднання.
+     */
+    Connection borrow() {
+        if (shutdown) {
+            throw new DataAccessException("Пул з'єднань для " + url + " вже закрито.");
+        }
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new DataAccessException("Не вдалося отримати з'єднання з пулу за " + BORROW_TIMEOUT_SECONDS + " с.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Очікування з'єднання з пулу перервано.", e);
+        }
+
+        try {
+            IdleConnection entry = takeIdleOrCreate();
+            if (entry.statements != null) {
+                entry.statements.open(statementCacheGeneration.get());
+            }
+            return wrap(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            if (e instanceof DataAccessException dae) {
+                throw dae;
+            }
+            log.error("Не вдалося створити з'єднання з базою даних {}: {}", url, e.getMessage(), e);
+            throw new DataAccessException("Не вдалося підключитися до файлової бази даних: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Бере перевірене вільне з'єднання або створює нове.
+     */
+    private IdleConnection takeIdleOrCreate() throws SQLException {
+        IdleConnection candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (isUsable(candidate)) {
+                return candidate;
+            }
+            log.debug("З'єднання з пулу непридатне до використання, закриваємо його.");
+            closePhysical(candidate);
+        }
+        Connection connection = factory.create();
+        int total = physicalConnections.incrementAndGet();
+        log.debug("Створено нове фізичне з'єднання з {} (усього відкрито: {}).", url, total);
+        StatementCache statements = statementCacheSize > 0
+                ? new StatementCache(connection, statementCacheSize, statementCounters)
+                : null;
+        return new IdleConnection(connection, statements, System.currentTimeMillis());
+    }
+
+    private boolean isUsable(IdleConnection candidate) {
+        try {
+            if (candidate.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - candidate.returnedAt < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            return candidate.connection.isValid(1);
+        } catch (SQLException e) {
+            log.warn("Помилка під час перевірки з'єднання з пулу: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Повертає фізичне з'єднання до пулу. Незавершена транзакція відкочується,
+     * щоб наступний користувач отримав з'єднання у режимі автоматичного підтвердження.
+     */
+    private void release(IdleConnection entry) {
+        Connection physical = entry.connection;
+        if (entry.statements != null) {
+            entry.statements.close();
+        }
+        try {
+            boolean reusable = !shutdown && !physical.isClosed();
+            if (reusable && !physical.getAutoCommit()) {
+                log.warn("З'єднання повернуто до пулу з незавершеною транзакцією; виконується відкат.");
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                idle.offerFirst(new IdleConnection(physical, entry.statements, System.currentTimeMillis()));
+            } else {
+                closePhysical(entry);
+            }
+        } catch (SQLException e) {
+            log.warn("Не вдалося підготувати з'єднання до повторного використання: {}", e.getMessage());
+            closePhysical(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void closePhysical(IdleConnection entry) {
+        Connection physical = entry.connection;
+        if (entry.statements != null) {
+            entry.statements.clear();
+        }
+        try {
+            if (!physical.isClosed()) {
+                physical.close();
+            }
+        } catch (SQLException e) {
+            log.warn("Помилка під час закриття фізичного з'єднання: {}", e.getMessage(), e);
+        } finally {
+            physicalConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Закриває пул: усі вільні з'єднання закриваються негайно, а позичені -
+     * у момент їх повернення. Після виклику нові з'єднання не видаються.
+     */
+    void shutdown() {
+        shutdown = true;
+        IdleConnection candidate;
+        int closed = 0;
+        while ((candidate = idle.pollFirst()) != null) {
+            closePhysical(candidate);
+            closed++;
+        }
+        log.info("Пул з'єднань для {} закрито. Закрито вільних з'єднань: {}.", url, closed);
+    }
+
+    /**
+     * @return Кількість відкритих фізичних з'єднань (вільних та позичених).
+     */
+    int getPhysicalConnectionCount() {
+        return physicalConnections.get();
+    }
+
+    /**
+     * @return Кількість вільних з'єднань, що очікують у пулі.
+     */
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Скидає кеші підготовлених запитів усіх з'єднань пулу. Викликається після зміни схеми
+     * бази даних (міграцій), щоб запити не використовували плани для старої структури таблиць.
+     * Кеш кожного з'єднання очищається під час його наступного запозичення.
+     */
+    void invalidateStatementCaches() {
+        statementCacheGeneration.incrementAndGet();
+        log.debug("Кеші підготовлених запитів пулу {} позначено застарілими.", url);
+    }
+
+    /**
+     * @return Знімок лічильників кешів підготовлених запитів усіх з'єднань пулу.
+     */
+    StatementCacheStats getStatementCacheStats() {
+        return statementCounters.snapshot();
+    }
+
+    /**
+     * Створює обгортку над фізичним з'єднанням, яка перехоплює {@code close()}.
+     */
+    private Connection wrap(IdleConnection entry) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnectionHandler(entry));
+    }
+
+    /**
+     * Обробник викликів для обгортки з'єднання. Метод {@code close()} повертає
+     * з'єднання до пулу (один раз), а будь-який інший виклик після цього
+     * завершується {@link SQLException}. Виклики {@code prepareStatement(sql)} та
+     * {@code prepareStatement(sql, autoGeneratedKeys)} обслуговуються кешем запитів з'єднання.
+     */
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final IdleConnection entry;
+        private final Connection physical;
+        private boolean returned;
+
+        PooledConnectionHandler(IdleConnection entry) {
+            this.entry = entry;
+            this.physical = entry.connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical + "]";
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("З'єднання вже повернуто до пулу.");
+                    }
+                    if (entry.statements != null && isCacheablePrepare(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        return entry.statements.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+                    }
+                }
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private boolean isCacheablePrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] parameters = method.getParameterTypes();
+            return parameters.length == 1 || (parameters.length == 2 && parameters[1] == int.class);
+        }
+    }
+}
@@ -3,15 +3,25 @@ package com.student.bookdiary.persistence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Клас {@code DatabaseManager} відповідає за управління з'єднанням
- * з базою даних SQLite та її початкову ініціалізацію,
- * включаючи створення необхідних таблиць.
+ * з базою даних SQLite та її початкову ініціалізацію.
+ * Структура таблиць створюється та оновлюється {@link SchemaMigrator}
+ * один раз під час запуску програми ({@link #initializeDatabase()}),
+ * а не при кожному отриманні з'єднання.
+ * Для файлової бази даних з'єднання видаються з пулу довгоживучих з'єднань
+ * ({@link ConnectionPool}), який слід закрити при завершенні роботи програми
+ * через {@link #closeConnection()}.
  */
 public class DatabaseManager {
 
@@ -20,9 +30,42 @@ public class DatabaseManager {
     private static final String DEFAULT_DB_URL = "jdbc:sqlite:book_diary.db";
     private static final String IN_MEMORY_DB_URL = "jdbc:sqlite::memory:";
     
+    /** Розмір пулу з'єднань за замовчуванням (SQLite допускає лише одного записувача, тому великий пул не потрібен). */
+    private static final int DEFAULT_POOL_SIZE = 4;
+
     private static volatile Connection dbConnection;
+    private static volatile ConnectionPool pool;
+    /** Профіль продуктивності SQLite, з яким створено поточний пул з'єднань. */
+    private static volatile DatabaseProfile profile;
+    /** URL бази даних, для якої міграції схеми вже виконано в поточному запуску програми. */
+    private static volatile String migratedDbUrl;
     private static final Object lock = new Object();
 
+    /**
+     * З'єднання активної транзакції поточного потоку ({@link #inTransaction(TransactionCallback)}).
+     * Поки воно встановлене, {@link #getConnection()} повертає саме його.
+     */
+    private static final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+
+    /** Дії, які потрібно виконати після підтвердження активної транзакції поточного потоку. */
+    private static final ThreadLocal<List<Runnable>> afterCommitActions = new ThreadLocal<>();
+
+    /**
+     * Робота, що виконується в межах транзакції {@link #inTransaction(TransactionCallback)}.
+     *
+     * @param <T> Тип результату.
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        /**
+         * @param connection З'єднання транзакції. Його не потрібно закривати; керувати транзакцією
+         *                   (commit, rollback, autoCommit) через нього заборонено.
+         * @return Результат роботи.
+         * @throws SQLException у разі помилки SQL; транзакція буде відкочена.
+         */
+        T execute(Connection connection) throws SQLException;
+    }
+
     static {
         // Це гарантує, що для тестів завжди використовується in-memory база даних
         // і з'єднання ініціалізується тільки один раз.
@@ -30,8 +73,9 @@ public class DatabaseManager {
         if (IN_MEMORY_DB_URL.equals(dbUrl)) {
             try {
                 log.debug("Ініціалізація статичного in-memory з'єднання...");
-                dbConnection = DriverManager.getConnection(IN_MEMORY_DB_URL);
-                initializeDatabase(dbConnection);
+                dbConnection = DriverManager.getConnection(IN_MEMORY_DB_URL,
+                        DatabaseProfile.fromSystemProperties().toSqliteConfig().toProperties());
+                new SchemaMigrator().migrate(dbConnection);
                 log.info("Статичне in-memory з'єднання успішно ініціалізовано.");
             } catch (SQLException e) {
                 log.error("Помилка під час статичної ініціалізації in-memory з'єднання: {}", e.getMessage(), e);
@@ -51,68 +95,6 @@ public class DatabaseManager {
         return System.getProperty("db.url", DEFAULT_DB_URL);
     }
 
-    /**
-     * SQL-запит для створення таблиці {@code books}, якщо вона ще не існує.
-     * Таблиця зберігає інформацію про книги в читацькому щоденнику.
-     * <p>
-     * Структура таблиці:
-     * <ul>
-     *     <li>{@code id} - INTEGER, первинний ключ з автоінкрементом, унікальний ідентифікатор книги.</li>
-     *     <li>{@code title} - TEXT, назва книги, не може бути NULL.</li>
-     *     <li>{@code author} - TEXT, автор книги.</li>
-     *     <li>{@code genre} - TEXT, жанр книги.</li>
-     *     <li>{@code status} - TEXT, статус читання (наприклад, "READ", "WANT_TO_READ"), не може бути NULL.</li>
-     *     <li>{@code dateAdded} - TEXT, дата додавання книги у форматі ISO ("YYYY-MM-DD"), не може бути NULL.</li>
-     *     <li>{@code dateRead} - TEXT, дата прочитання книги у форматі ISO ("YYYY-MM-DD"), може бути NULL.</li>
-     *     <li>{@code rating} - INTEGER, оцінка книги (наприклад, 1-5).</li>
-     *     <li>{@code comment} - TEXT, коментар користувача до книги.</li>
-     *     <li>{@code coverImagePath} - TEXT, шлях до файлу обкладинки книги.</li>
-     *     <li>{@code favorite} - INTEGER, прапорець "улюблене" (0 - false, 1 - true), не може бути NULL, за замовчуванням 0.</li>
-     * </ul>
-     */
-    private static final String CREATE_TABLE_BOOKS_SQL = """
-        CREATE TABLE IF NOT EXISTS books (
-            id INTEGER PRIMARY KEY AUTOINCREMENT,
-            title TEXT NOT NULL,
-            author TEXT,
-            genre TEXT,
-            status TEXT NOT NULL,
-            dateAdded TEXT NOT NULL,
-            dateRead TEXT,
-            rating INTEGER,
-            comment TEXT,
-            coverImagePath TEXT,
-            favorite INTEGER NOT NULL DEFAULT 0
-        );
-        """;
-
-    /**
-     * SQL-запит для створення таблиці {@code goals}, якщо вона ще не існує.
-     * Таблиця зберігає інформацію про цілі читання користувача.
-     * <p>
-     * Структура таблиці:
-     * <ul>
-     *     <li>{@code id} - INTEGER, первинний ключ з автоінкрементом, унікальний ідентифікатор цілі.</li>
-     *     <li>{@code description} - TEXT, опис цілі, наданий користувачем.</li>
-     *     <li>{@code type} - TEXT, тип цілі (наприклад, "MONTHLY", "YEARLY", "TOTAL"), не може бути NULL.</li>
-     *     <li>{@code targetValue} - INTEGER, цільова кількість книг для досягнення, не може бути NULL.</li>
-     *     <li>{@code year} - INTEGER, рік, до якого відноситься ціль (може бути NULL для типу TOTAL).</li>
-     *     <li>{@code month} - INTEGER, місяць (1-12), до якого відноситься ціль (може бути NULL для типів YEARLY, TOTAL).</li>
-     *     <li>{@code dateAdded} - TEXT, дата створення цілі у форматі ISO ("YYYY-MM-DD"), не може бути NULL.</li>
-     * </ul>
-     */
-    private static final String CREATE_TABLE_GOALS_SQL = """
-        CREATE TABLE IF NOT EXISTS goals (
-            id INTEGER PRIMARY KEY AUTOINCREMENT,
-            description TEXT,
-            type TEXT NOT NULL,
-            targetValue INTEGER NOT NULL,
-            year INTEGER,
-            month INTEGER,
-            dateAdded TEXT NOT NULL
-        );
-        """;
-
     /**
      * Перевіряє, чи є з'єднання активним та валідним.
      *
@@ -136,13 +118,22 @@ public class DatabaseManager {
 
     /**
      * Встановлює та повертає з'єднання з базою даних SQLite.
+     * Якщо поточний потік виконується всередині {@link #inTransaction(TransactionCallback)},
+     * повертає з'єднання цієї транзакції (його {@code close()} нічого не робить).
      * Для in-memory бази даних повертає єдине статично ініціалізоване з'єднання.
-     * Для файлової бази даних створює нове з'єднання при кожному виклику.
+     * Для файлової бази даних позичає з'єднання з пулу {@link ConnectionPool};
+     * виклик {@link Connection#close()} на отриманому з'єднанні повертає його до пулу,
+     * не закриваючи фізичне з'єднання з файлом.
      *
      * @return Об'єкт {@link Connection}, що представляє з'єднання з БД.
      * @throws DataAccessException якщо сталася помилка під час спроби підключення до бази даних.
      */
     public static Connection getConnection() {
+        Connection boundConnection = transactionConnection.get();
+        if (boundConnection != null) {
+            // Усередині inTransaction усі DAO поточного потоку працюють з одним з'єднанням.
+            return boundConnection;
+        }
         String dbUrl = getDbUrl();
         
         if (IN_MEMORY_DB_URL.equals(dbUrl)) {
@@ -157,70 +148,327 @@ public class DatabaseManager {
                 throw new DataAccessException("Статичне in-memory з'єднання не було ініціалізовано!");
             }
             return dbConnection;
-        } else {
-            // Для файлової бази даних створюємо нове з'єднання
-            synchronized (lock) { // Синхронізація для безпечної ініціалізації файлової БД
-                try {
-                    log.debug("Спроба підключення до файлової бази даних SQLite за адресою: {}", dbUrl);
-                    Connection connection = DriverManager.getConnection(dbUrl);
-                    log.debug("З'єднання з файловою базою даних SQLite успішно встановлено.");
-                    // Ініціалізуємо таблиці, якщо це перше з'єднання з файловою БД
-                    // або якщо це потрібно (наприклад, після видалення файлу БД).
-                    // В даному випадку, для простоти, ініціалізуємо завжди.
-                    // В реальному додатку тут може бути більш складна логіка.
-                    initializeDatabase(connection);
-                    return connection;
-                } catch (SQLException e) {
-                    log.error("Помилка підключення до файлової бази даних SQLite за адресою {}. Деталі: {}", dbUrl, e.getMessage(), e);
-                    throw new DataAccessException("Не вдалося підключитися до файлової бази даних: " + e.getMessage(), e);
-                }
+        }
+        return getPool(dbUrl).borrow();
+    }
+
+    /**
+     * Повертає пул з'єднань для вказаної файлової бази даних, створюючи його за потреби.
+     * Якщо URL бази даних змінився (наприклад, через системну властивість {@code db.url}),
+     * попередній пул закривається і створюється новий.
+     *
+     * @param dbUrl JDBC URL файлової бази даних.
+     * @return Пул з'єднань для цього URL.
+     */
+    private static ConnectionPool getPool(String dbUrl) {
+        ConnectionPool current = pool;
+        if (current != null && current.getUrl().equals(dbUrl)) {
+            return current;
+        }
+        synchronized (lock) {
+            if (pool != null && pool.getUrl().equals(dbUrl)) {
+                return pool;
             }
+            if (pool != null) {
+                log.info("URL бази даних змінився ({} -> {}), закриваємо попередній пул з'єднань.", pool.getUrl(), dbUrl);
+                pool.shutdown();
+            }
+            profile = DatabaseProfile.fromSystemProperties();
+            log.info("Профіль продуктивності SQLite: {}", profile);
+            pool = new ConnectionPool(dbUrl, getPoolSize(), getStatementCacheSize(), () -> createPhysicalConnection(dbUrl));
+            return pool;
         }
     }
 
     /**
-     * Ініціалізує структуру бази даних (створює таблиці).
-     * Цей метод викликається при створенні нового з'єднання.
+     * Повертає профіль продуктивності, з яким відкриваються нові з'єднання.
      *
-     * @param conn З'єднання з базою даних для ініціалізації
-     * @throws SQLException якщо виникає помилка під час ініціалізації бази даних
+     * @return Активний профіль {@link DatabaseProfile}.
      */
-    private static void initializeDatabase(Connection conn) throws SQLException {
-        log.info("Початок ініціалізації таблиць в базі даних (з'єднання: {}) ...", conn);
-        try (Statement stmt = conn.createStatement()) {
-            log.debug("Спроба виконати SQL-запит для створення таблиці 'books':\n{}", CREATE_TABLE_BOOKS_SQL);
-            stmt.execute(CREATE_TABLE_BOOKS_SQL);
-            log.info("Таблиця 'books' успішно створена або вже існувала.");
+    private static DatabaseProfile getProfile() {
+        DatabaseProfile current = profile;
+        return current != null ? current : DatabaseProfile.fromSystemProperties();
+    }
 
-            log.debug("Спроба виконати SQL-запит для створення таблиці 'goals':\n{}", CREATE_TABLE_GOALS_SQL);
-            stmt.execute(CREATE_TABLE_GOALS_SQL);
-            log.info("Таблиця 'goals' успішно створена або вже існувала.");
+    /**
+     * Повертає максимальний розмір пулу з'єднань.
+     * Значення можна перевизначити системною властивістю {@code db.pool.size}.
+     *
+     * @return Максимальна кількість одночасно відкритих з'єднань.
+     */
+    private static int getPoolSize() {
+        String value = System.getProperty("db.pool.size");
+        if (value == null) {
+            return DEFAULT_POOL_SIZE;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Некоректне значення db.pool.size='{}', використовується {}.", value, DEFAULT_POOL_SIZE);
+            return DEFAULT_POOL_SIZE;
+        }
+    }
 
-            log.info("Ініціалізація таблиць в базі даних успішно завершена.");
-        } catch (SQLException e) {
-            log.error("Помилка під час ініціалізації таблиць в базі даних: {}. З'єднання: {}", e.getMessage(), conn, e);
-            throw e; // Перекидаємо виняток, щоб його можна було обробити вище
+    /**
+     * Повертає розмір кешу підготовлених запитів кожного з'єднання пулу.
+     * Значення можна перевизначити системною властивістю {@code db.statement_cache_size}; 0 вимикає кеш.
+     *
+     * @return Максимальна кількість закешованих запитів на одне з'єднання.
+     */
+    private static int getStatementCacheSize() {
+        String value = System.getProperty("db.statement_cache_size");
+        if (value == null) {
+            return ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Некоректне значення db.statement_cache_size='{}', використовується {}.",
+                    value, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+            return ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE;
         }
     }
 
     /**
-     * Публічний метод для ініціалізації бази даних.
-     * В основному використовується для файлових баз даних, щоб гарантувати створення таблиць.
-     * Для in-memory баз даних ініціалізація відбувається автоматично в статичному блоці.
+     * Повертає лічильники кешів підготовлених запитів пулу з'єднань з файловою базою даних.
+     * Для in-memory бази даних (одне з'єднання без пулу) запити не кешуються.
+     *
+     * @return Знімок лічильників або {@link StatementCacheStats#EMPTY}, якщо пул ще не створено.
+     */
+    public static StatementCacheStats getStatementCacheStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatementCacheStats() : StatementCacheStats.EMPTY;
+    }
+
+    /**
+     * Відкриває нове фізичне з'єднання з файловою базою даних з налаштуваннями
+     * активного профілю продуктивності ({@link DatabaseProfile}).
+     * Викликається пулом лише тоді, коли вільних з'єднань немає.
+     *
+     * @param dbUrl JDBC URL файлової бази даних.
+     * @return Нове фізичне з'єднання.
+     * @throws SQLException якщо не вдалося підключитися.
+     */
+    private static Connection createPhysicalConnection(String dbUrl) throws SQLException {
+        log.debug("Спроба підключення до файлової бази даних SQLite за адресою: {}", dbUrl);
+        // PRAGMA профілю продуктивності застосовуються драйвером під час відкриття з'єднання.
+        Connection connection = DriverManager.getConnection(dbUrl, getProfile().toSqliteConfig().toProperties());
+        log.debug("З'єднання з файловою базою даних SQLite успішно встановлено.");
+        return connection;
+    }
+
+    /**
+     * Ініціалізує структуру файлової бази даних: застосовує всі нові кроки міграції
+     * схеми ({@link SchemaMigrator}) та узгоджує ключі сортування книг
+     * ({@link SqliteBookDao#refreshSortKeys(Connection)}). Викликається один раз під час запуску програми
+     * ({@code App.start}), а також після заміни файлу бази даних під час імпорту;
+     * повторні виклики для тієї ж бази даних нічого не роблять.
+     * Для in-memory баз даних міграції виконуються автоматично в статичному блоці.
+     *
+     * @throws DataAccessException якщо не вдалося підключитися до бази даних або застосувати міграції.
      */
     public static void initializeDatabase() {
         String dbUrl = getDbUrl();
-        if (!IN_MEMORY_DB_URL.equals(dbUrl)) {
-            log.info("Примусова ініціалізація файлової бази даних...");
+        if (IN_MEMORY_DB_URL.equals(dbUrl)) {
+            log.debug("Для in-memory бази даних міграції вже виконано в статичному блоці.");
+            return;
+        }
+        synchronized (lock) {
+            if (dbUrl.equals(migratedDbUrl)) {
+                log.debug("Схему бази даних {} вже перевірено в поточному запуску програми.", dbUrl);
+                return;
+            }
+            log.info("Перевірка та оновлення схеми файлової бази даних {}...", dbUrl);
             try (Connection conn = getConnection()) {
-                // getConnection() для файлової БД вже викличе initializeDatabase(conn)
-                log.info("Файлова база даних успішно ініціалізована (або вже була ініціалізована).");
+                int applied = new SchemaMigrator().migrate(conn);
+                if (applied > 0) {
+                    // Структура таблиць змінилася: закешовані запити з'єднань пулу готуються заново.
+                    getPool(dbUrl).invalidateStatementCaches();
+                }
+                // Ключі сортування обчислює програма; книги, змінені іншими клієнтами, отримують їх тут.
+                SqliteBookDao.refreshSortKeys(conn);
+                migratedDbUrl = dbUrl;
+                log.info("Файлова база даних успішно ініціалізована. Активні налаштування SQLite: {}",
+                        DatabaseProfile.readActiveSettings(conn));
             } catch (SQLException e) {
-                log.error("Помилка під час примусової ініціалізації файлової бази даних: {}", e.getMessage(), e);
-                throw new DataAccessException("Не вдалося примусово ініціалізувати файлову базу даних: " + e.getMessage(), e);
+                log.error("Помилка під час ініціалізації файлової бази даних: {}", e.getMessage(), e);
+                throw new DataAccessException("Не вдалося ініціалізувати файлову базу даних: " + e.getMessage(), e);
             }
+        }
+    }
+
+    /**
+     * Виконує роботу в одній транзакції. Усі виклики DAO всередині {@code work} у поточному потоці
+     * отримують те саме з'єднання ({@link #getConnection()}), тому їх зміни підтверджуються разом
+     * одним {@code commit}. Якщо робота завершилася винятком, усі зміни відкочуються.
+     * <p>
+     * Вкладений виклик {@code inTransaction} не починає нову транзакцію, а створює точку
+     * збереження (SAVEPOINT): помилка у вкладеному блоці відкочує лише його зміни, а зовнішній
+     * блок може перехопити виняток і продовжити роботу.
+     *
+     * @param work Робота для виконання.
+     * @param <T> Тип результату.
+     * @return Результат роботи.
+     * @throws DataAccessException якщо робота завершилася помилкою SQL (як причина) або не вдалося
+     *                             підтвердити транзакцію; винятки часу виконання, кинуті роботою,
+     *                             (зокрема {@link DataAccessException}) передаються без змін після відкату.
+     */
+    public static <T> T inTransaction(TransactionCallback<T> work) {
+        Connection bound = transactionConnection.get();
+        try {
+            return bound != null ? runInSavepoint(bound, work) : runInNewTransaction(work);
+        } catch (SQLException e) {
+            log.error("Помилка SQL під час виконання транзакції: {}", e.getMessage(), e);
+            throw new DataAccessException("Помилка при роботі з базою даних: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> T runInNewTransaction(TransactionCallback<T> work) throws SQLException {
+        Connection conn = getConnection();
+        try {
+            conn.setAutoCommit(false);
+            transactionConnection.set(transactionView(conn));
+            afterCommitActions.set(new ArrayList<>());
+            T result;
+            try {
+                result = work.execute(transactionConnection.get());
+                conn.commit();
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackQuietly(conn, e);
+                throw e;
+            }
+            log.debug("Транзакцію успішно підтверджено.");
+            runAfterCommitActions(afterCommitActions.get());
+            return result;
+        } finally {
+            transactionConnection.remove();
+            afterCommitActions.remove();
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.warn("Не вдалося повернути з'єднання в режим autoCommit: {}", e.getMessage(), e);
+            }
+            if (!isInMemoryConnection(conn)) {
+                // Повертає з'єднання до пулу.
+                conn.close();
+            }
+        }
+    }
+
+    private static <T> T runInSavepoint(Connection conn, TransactionCallback<T> work) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        T result;
+        try {
+            result = work.execute(conn);
+        } catch (SQLException | RuntimeException | Error e) {
+            log.debug("Вкладений блок транзакції завершився помилкою, відкат до точки збереження.");
+            try {
+                conn.rollback(savepoint);
+                conn.releaseSavepoint(savepoint);
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw e;
+        }
+        conn.releaseSavepoint(savepoint);
+        return result;
+    }
+
+    /**
+     * Виконує дію після того, як зміни поточного потоку стануть видимими іншим з'єднанням:
+     * одразу, якщо транзакції немає, або після підтвердження зовнішньої транзакції
+     * {@link #inTransaction(TransactionCallback)}. Якщо транзакцію відкочено, дія не виконується.
+     * Дії, зареєстровані у вкладеному блоці, відкоченому до точки збереження, все одно виконуються
+     * після підтвердження, тому вони повинні бути безпечними для зайвого виклику (наприклад, скидання кешу).
+     *
+     * @param action Дія для виконання.
+     */
+    public static void afterCommit(Runnable action) {
+        List<Runnable> actions = afterCommitActions.get();
+        if (actions != null) {
+            actions.add(action);
         } else {
-            log.debug("Для in-memory бази даних примусова ініціалізація через initializeDatabase() не потрібна.");
+            action.run();
+        }
+    }
+
+    private static void runAfterCommitActions(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Помилка під час виконання дії після підтвердження транзакції: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn, Throwable cause) {
+        try {
+            conn.rollback();
+            log.warn("Транзакцію відкочено через помилку: {}", cause.toString());
+        } catch (SQLException rollbackError) {
+            cause.addSuppressed(rollbackError);
+            log.error("Не вдалося відкотити транзакцію: {}", rollbackError.getMessage(), rollbackError);
+        }
+    }
+
+    /**
+     * Створює обгортку над з'єднанням транзакції, яку можна передавати коду DAO:
+     * {@code close()} нічого не робить (з'єднання закривається після завершення транзакції),
+     * а керування транзакцією в обхід {@link #inTransaction(TransactionCallback)} заборонене.
+     */
+    private static Connection transactionView(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            return null;
+                        }
+                        case "commit", "setAutoCommit" ->
+                                throw new SQLException("Транзакцією керує DatabaseManager.inTransaction.");
+                        case "rollback" -> {
+                            if (args == null) {
+                                throw new SQLException("Транзакцією керує DatabaseManager.inTransaction.");
+                            }
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Переносить усі зміни з WAL-журналу в основний файл бази даних і скорочує журнал.
+     * Потрібно викликати перед копіюванням файлу бази даних (наприклад, під час експорту),
+     * інакше останні зміни можуть залишитися лише у файлі {@code -wal}.
+     * Для in-memory бази даних нічого не робить.
+     *
+     * @throws DataAccessException якщо не вдалося виконати контрольну точку.
+     */
+    public static void checkpoint() {
+        if (IN_MEMORY_DB_URL.equals(getDbUrl())) {
+            return;
+        }
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            log.info("Контрольну точку WAL-журналу успішно виконано.");
+        } catch (SQLException e) {
+            log.error("Помилка під час виконання контрольної точки WAL-журналу: {}", e.getMessage(), e);
+            throw new DataAccessException("Не вдалося зберегти зміни з журналу у файл бази даних: " + e.getMessage(), e);
         }
     }
 
@@ -253,26 +501,21 @@ public class DatabaseManager {
     }
     
     /**
-     * Закриває з'єднання з базою даних, якщо воно не є in-memory.
-     * Цей метод слід викликати при завершенні роботи програми для файлових БД.
+     * Закриває пул з'єднань з файловою базою даних, якщо він був створений.
+     * Цей метод слід викликати при завершенні роботи програми, а також перед заміною
+     * файлу бази даних (наприклад, під час імпорту). Наступний виклик {@link #getConnection()}
+     * створить новий пул.
      * Для in-memory з'єднання нічого не робить, оскільки воно закривається автоматично при завершенні JVM.
      */
     public static void closeConnection() {
-        String dbUrl = getDbUrl();
-        if (!IN_MEMORY_DB_URL.equals(dbUrl)) {
-            synchronized (lock) {
-                if (dbConnection != null) {
-                    try {
-                        if (!dbConnection.isClosed()) {
-                            log.info("Закриття файлового з'єднання з БД...");
-                            dbConnection.close();
-                            dbConnection = null; // Важливо скинути, щоб наступний getConnection() створив нове
-                            log.info("Файлове з'єднання з БД успішно закрито.");
-                        }
-                    } catch (SQLException e) {
-                        log.warn("Помилка під час закриття файлового з'єднання з БД: {}", e.getMessage(), e);
-                    }
-                }
+        synchronized (lock) {
+            if (pool != null) {
+                log.info("Закриття пулу з'єднань з файловою БД...");
+                pool.shutdown();
+                pool = null;
+                // Файл бази даних міг бути замінений (імпорт), тому схему потрібно перевірити знову.
+                migratedDbUrl = null;
+                log.info("Пул з'єднань з файловою БД успішно закрито.");
             }
         }
     }
@@ -0,0 +1,174 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Іменований профіль продуктивності SQLite: набір PRAGMA, що застосовуються
+ * до кожного нового з'єднання з базою даних.
+ * <p>
+ * Профіль обирається системною властивістю {@code db.profile} (за замовчуванням
+ * {@link #BALANCED}), а окремі параметри можна перевизначити властивостями
+ * {@code db.journal_mode}, {@code db.synchronous}, {@code db.mmap_size},
+ * {@code db.cache_size}, {@code db.temp_store} та {@code db.busy_timeout}
+ * (аналогічно до {@code db.url}).
+ *
+ * @param name Назва профілю (для журналу).
+ * @param journalMode Режим журналу ({@code PRAGMA journal_mode}).
+ * @param synchronous Режим синхронізації з диском ({@code PRAGMA synchronous}).
+ * @param mmapSize Розмір області пам'яті, відображеної на файл БД, у байтах ({@code PRAGMA mmap_size}); 0 - вимкнено.
+ * @param cacheSize Розмір кешу сторінок ({@code PRAGMA cache_size}); від'ємне значення - розмір у КіБ.
+ * @param tempStore Місце зберігання тимчасових таблиць та індексів ({@code PRAGMA temp_store}).
+ * @param busyTimeoutMillis Час очікування блокування іншим з'єднанням, мс ({@code PRAGMA busy_timeout}).
+ */
+public record DatabaseProfile(String name,
+                              SQLiteConfig.JournalMode journalMode,
+                              SQLiteConfig.SynchronousMode synchronous,
+                              long mmapSize,
+                              int cacheSize,
+                              SQLiteConfig.TempStore tempStore,
+                              int busyTimeoutMillis) {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseProfile.class);
+
+    /** PRAGMA, значення яких звітуються при запуску програми. */
+    private static final List<String> REPORTED_PRAGMAS = List.of(
+            "journal_mode", "synchronous", "mmap_size", "cache_size", "temp_store", "busy_timeout");
+
+    /**
+     * Профіль за замовчуванням: WAL-журнал (читання не блокуються записом),
+     * {@code synchronous=NORMAL} (у режимі WAL без fsync на кожну транзакцію, але без ризику пошкодження БД),
+     * читання через mmap та кеш сторінок у 16 МіБ.
+     */
+    public static final DatabaseProfile BALANCED = new DatabaseProfile("BALANCED",
+            SQLiteConfig.JournalMode.WAL, SQLiteConfig.SynchronousMode.NORMAL,
+            64L * 1024 * 1024, -16_000, SQLiteConfig.TempStore.MEMORY, 5_000);
+
+    /**
+     * Профіль максимальної надійності: WAL-журнал, але з fsync на кожну транзакцію
+     * та без mmap. Підходить для нестабільного живлення або ненадійних дисків.
+     */
+    public static final DatabaseProfile DURABLE = new DatabaseProfile("DURABLE",
+            SQLiteConfig.JournalMode.WAL, SQLiteConfig.SynchronousMode.FULL,
+            0, -8_000, SQLiteConfig.TempStore.DEFAULT, 5_000);
+
+    /**
+     * Профіль сумісності: налаштування SQLite за замовчуванням (rollback-журнал, повна синхронізація).
+     * Потрібен, якщо файл бази даних розташований на мережевому диску, де WAL не підтримується.
+     */
+    public static final DatabaseProfile COMPATIBLE = new DatabaseProfile("COMPATIBLE",
+            SQLiteConfig.JournalMode.DELETE, SQLiteConfig.SynchronousMode.FULL,
+            0, -2_000, SQLiteConfig.TempStore.DEFAULT, 5_000);
+
+    /**
+     * Визначає активний профіль на основі системних властивостей.
+     * Некоректні значення ігноруються з попередженням у журналі.
+     *
+     * @return Профіль з урахуванням усіх перевизначень.
+     */
+    public static DatabaseProfile fromSystemProperties() {
+        DatabaseProfile base = byName(System.getProperty("db.profile"));
+        return new DatabaseProfile(
+                base.name(),
+                enumProperty("db.journal_mode", SQLiteConfig.JournalMode.class, base.journalMode()),
+                enumProperty("db.synchronous", SQLiteConfig.SynchronousMode.class, base.synchronous()),
+                longProperty("db.mmap_size", base.mmapSize()),
+                (int) longProperty("db.cache_size", base.cacheSize()),
+                enumProperty("db.temp_store", SQLiteConfig.TempStore.class, base.tempStore()),
+                (int) longProperty("db.busy_timeout", base.busyTimeoutMillis()));
+    }
+
+    /**
+     * Повертає вбудований профіль за назвою (без урахування регістру).
+     *
+     * @param name Назва профілю або null.
+     * @return Знайдений профіль або {@link #BALANCED}, якщо назва порожня чи невідома.
+     */
+    public static DatabaseProfile byName(String name) {
+        if (name == null || name.isBlank()) {
+            return BALANCED;
+        }
+        return switch (name.trim().toUpperCase(Locale.ROOT)) {
+            case "BALANCED" -> BALANCED;
+            case "DURABLE" -> DURABLE;
+            case "COMPATIBLE" -> COMPATIBLE;
+            default -> {
+                log.warn("Невідомий профіль бази даних db.profile='{}', використовується {}.", name, BALANCED.name());
+                yield BALANCED;
+            }
+        };
+    }
+
+    /**
+     * Створює конфігурацію драйвера SQLite, яка застосовує PRAGMA цього профілю
+     * під час відкриття з'єднання.
+     *
+     * @return Конфігурація для {@code DriverManager.getConnection(url, config.toProperties())}.
+     */
+    public SQLiteConfig toSqliteConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(journalMode);
+        config.setSynchronous(synchronous);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setCacheSize(cacheSize);
+        config.setTempStore(tempStore);
+        config.setBusyTimeout(busyTimeoutMillis);
+        return config;
+    }
+
+    /**
+     * Зчитує фактичні значення PRAGMA, що визначають продуктивність, для вказаного з'єднання.
+     * Використовується для звіту про активні налаштування під час запуску програми.
+     *
+     * @param conn З'єднання з базою даних.
+     * @return Впорядкована карта "назва PRAGMA - значення".
+     * @throws SQLException якщо не вдалося виконати запит PRAGMA.
+     */
+    public static Map<String, String> readActiveSettings(Connection conn) throws SQLException {
+        Map<String, String> settings = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : REPORTED_PRAGMAS) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+                    settings.put(pragma, rs.next() ? rs.getString(1) : null);
+                }
+            }
+        }
+        return settings;
+    }
+
+    private static <E extends Enum<E>> E enumProperty(String key, Class<E> type, E defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Некоректне значення {}='{}', використовується {}.", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static long longProperty(String key, long defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Некоректне значення {}='{}', використовується {}.", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Клас {@code SchemaMigrator} відповідає за версіонування схеми бази даних.
+ * <p>
+ * Поточна версія схеми зберігається у {@code PRAGMA user_version} файлу бази даних.
+ * Під час запуску {@link #migrate(Connection)} по черзі застосовує всі кроки міграції,
+ * версія яких більша за поточну. Кожен крок виконується в окремій транзакції разом
+ * з оновленням {@code user_version}, тому частково застосованих кроків не буває.
+ * <p>
+ * Щоб змінити схему, потрібно додати новий крок з наступним номером версії
+ * у список {@link #MIGRATIONS}; існуючі кроки змінювати не можна, оскільки вони вже
+ * могли бути застосовані до баз даних користувачів.
+ */
+public class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    /**
+     * Один крок міграції схеми.
+     *
+     * @param version Номер версії схеми, до якої переводить цей крок (починаючи з 1).
+     * @param description Короткий опис змін для журналу.
+     * @param statements SQL-інструкції, що виконуються в одній транзакції.
+     */
+    public record Migration(int version, String description, List<String> statements) {
+    }
+
+    /**
+     * SQL-запит для створення таблиці {@code books}, якщо вона ще не існує.
+     * Таблиця зберігає інформацію про книги в читацькому щоденнику.
+     * <p>
+     * Структура таблиці:
+     * <ul>
+     *     <li>{@code id} - INTEGER, первинний ключ з автоінкрементом, унікальний ідентифікатор книги.</li>
+     *     <li>{@code title} - TEXT, назва книги, не може бути NULL.</li>
+     *     <li>{@code author} - TEXT, автор книги.</li>
+     *     <li>{@code genre} - TEXT, жанр книги.</li>
+     *     <li>{@code status} - TEXT, статус читання (наприклад, "READ", "WANT_TO_READ"), не може бути NULL.</li>
+     *     <li>{@code dateAdded} - TEXT, дата додавання книги у форматі ISO ("YYYY-MM-DD"), не може бути NULL.</li>
+     *     <li>{@code dateRead} - TEXT, дата прочитання книги у форматі ISO ("YYYY-MM-DD"), може бути NULL.
+     *         З версії 5 обидві дати зберігаються як INTEGER (див. {@link #CONVERT_BOOK_DATES_TO_EPOCH_DAYS_SQL}).</li>
+     *     <li>{@code rating} - INTEGER, оцінка книги (наприклад, 1-5).</li>
+     *     <li>{@code comment} - TEXT, коментар користувача до книги.</li>
+     *     <li>{@code coverImagePath} - TEXT, шлях до файлу обкладинки книги.</li>
+     *     <li>{@code favorite} - INTEGER, прапорець "улюблене" (0 - false, 1 - true), не може бути NULL, за замовчуванням 0.</li>
+     * </ul>
+     * З версії 4 таблиця також містить ключі сортування {@code titleSortKey} та {@code authorSortKey}
+     * (див. {@link #ADD_SORT_KEY_COLUMNS_SQL}).
+     * {@code IF NOT EXISTS} дозволяє прийняти під версіонування бази даних,
+     * створені до появи міграцій (з {@code user_version = 0}, але з наявними таблицями).
+     */
+    private static final String CREATE_TABLE_BOOKS_SQL = """
+        CREATE TABLE IF NOT EXISTS books (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            title TEXT NOT NULL,
+            author TEXT,
+            genre TEXT,
+            status TEXT NOT NULL,
+            dateAdded TEXT NOT NULL,
+            dateRead TEXT,
+            rating INTEGER,
+            comment TEXT,
+            coverImagePath TEXT,
+            favorite INTEGER NOT NULL DEFAULT 0
+        );
+        """;
+
+    /**
+     * SQL-запит для створення таблиці {@code goals}, якщо вона ще не існує.
+     * Таблиця зберігає інформацію про цілі читання користувача.
+     * <p>
+     * Структура таблиці:
+     * <ul>
+     *     <li>{@code id} - INTEGER, первинний ключ з автоінкрементом, унікальний ідентифікатор цілі.</li>
+     *     <li>{@code description} - TEXT, опис цілі, наданий користувачем.</li>
+     *     <li>{@code type} - TEXT, тип цілі (наприклад, "MONTHLY", "YEARLY", "TOTAL"), не може бути NULL.</li>
+     *     <li>{@code targetValue} - INTEGER, цільова кількість книг для досягнення, не може бути NULL.</li>
+     *     <li>{@code year} - INTEGER, рік, до якого відноситься ціль (може бути NULL для типу TOTAL).</li>
+     *     <li>{@code month} - INTEGER, місяць (1-12), до якого відноситься ціль (може бути NULL для типів YEARLY, TOTAL).</li>
+     *     <li>{@code dateAdded} - TEXT, дата створення цілі у форматі ISO ("YYYY-MM-DD"), не може бути NULL.</li>
+     * </ul>
+     */
+    private static final String CREATE_TABLE_GOALS_SQL = """
+        CREATE TABLE IF NOT EXISTS goals (
+            id INTEGER PRIMARY KEY AUTOINCREMENT,
+            description TEXT,
+            type TEXT NOT NULL,
+            targetValue INTEGER NOT NULL,
+            year INTEGER,
+            month INTEGER,
+            dateAdded TEXT NOT NULL
+        );
+        """;
+
+    /**
+     * Вторинні індекси для запитів списків та статистики в {@link SqliteBookDao} і {@link SqliteGoalDao}.
+     * Кожен індекс закінчується стовпцем сортування, тому SQLite читає рядки вже у потрібному
+     * порядку і не будує тимчасове B-дерево для {@code ORDER BY}:
+     * <ul>
+     *     <li>{@code idx_books_status_dateAdded} - списки книг за статусом ({@code WHERE status = ? ORDER BY dateAdded}).</li>
+     *     <li>{@code idx_books_favorite_dateAdded} - список улюблених книг.</li>
+     *     <li>{@code idx_books_dateAdded} - повний список книг, новіші першими.</li>
+     *     <li>{@code idx_books_status_dateRead} - покриваючий індекс для лічильників статистики за періодом.</li>
+     *     <li>{@code idx_books_genre} - покриваючий індекс для списку унікальних жанрів.</li>
+     *     <li>{@code idx_goals_dateAdded} - список цілей, новіші першими.</li>
+     * </ul>
+     */
+    private static final List<String> CREATE_INDEXES_SQL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_books_status_dateAdded ON books(status, dateAdded)",
+            "CREATE INDEX IF NOT EXISTS idx_books_favorite_dateAdded ON books(favorite, dateAdded)",
+            "CREATE INDEX IF NOT EXISTS idx_books_dateAdded ON books(dateAdded)",
+            "CREATE INDEX IF NOT EXISTS idx_books_status_dateRead ON books(status, dateRead)",
+            "CREATE INDEX IF NOT EXISTS idx_books_genre ON books(genre)",
+            "CREATE INDEX IF NOT EXISTS idx_goals_dateAdded ON goals(dateAdded)"
+    );
+
+    /**
+     * Повнотекстовий індекс FTS5 для пошуку книг ({@link SqliteBookDao#searchBooks(String)}).
+     * <p>
+     * {@code books_fts} - таблиця із зовнішнім вмістом ({@code content='books'}): вона зберігає лише
+     * інвертований індекс по стовпцях {@code title}, {@code author}, {@code genre} та {@code comment},
+     * а самі значення читає з {@code books} за {@code rowid = books.id}. Токенізатор {@code unicode61}
+     * не враховує регістр (зокрема для кирилиці) та діакритику. Індекс синхронізується тригерами
+     * на вставку, видалення та оновлення індексованих стовпців; останній крок заповнює індекс
+     * для книг, що вже є в базі даних.
+     */
+    private static final List<String> CREATE_BOOKS_FTS_SQL = List.of(
+            """
+            CREATE VIRTUAL TABLE IF NOT EXISTS books_fts USING fts5(
+                title, author, genre, comment,
+                content='books', content_rowid='id',
+                tokenize='unicode61 remove_diacritics 2'
+            )
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS books_fts_after_insert AFTER INSERT ON books BEGIN
+                INSERT INTO books_fts(rowid, title, author, genre, comment)
+                VALUES (new.id, new.title, new.author, new.genre, new.comment);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS books_fts_after_delete AFTER DELETE ON books BEGIN
+                INSERT INTO books_fts(books_fts, rowid, title, author, genre, comment)
+                VALUES ('delete', old.id, old.title, old.author, old.genre, old.comment);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS books_fts_after_update AFTER UPDATE OF title, author, genre, comment ON books BEGIN
+                INSERT INTO books_fts(books_fts, rowid, title, author, genre, comment)
+                VALUES ('delete', old.id, old.title, old.author, old.genre, old.comment);
+                INSERT INTO books_fts(rowid, title, author, genre, comment)
+                VALUES (new.id, new.title, new.author, new.genre, new.comment);
+            END
+            """,
+            "INSERT INTO books_fts(books_fts) VALUES ('rebuild')"
+    );
+
+    /**
+     * Нормалізовані ключі сортування {@code titleSortKey} та {@code authorSortKey}
+     * ({@link BookSortKey#normalize(String)}) для посторінкового читання книг за назвою та автором.
+     * Ключі обчислює програма: {@link SqliteBookDao} записує їх разом з книгою, а під час запуску
+     * {@link SqliteBookDao#refreshSortKeys(Connection)} заповнює ключі наявних книг і виправляє ключі
+     * книг, змінених іншими клієнтами SQLite. Схема не посилається на правила порівняння чи функції
+     * програми, тому базу даних може змінювати будь-який клієнт SQLite.
+     */
+    private static final List<String> ADD_SORT_KEY_COLUMNS_SQL = List.of(
+            "ALTER TABLE books ADD COLUMN titleSortKey TEXT NOT NULL DEFAULT ''",
+            "ALTER TABLE books ADD COLUMN authorSortKey TEXT NOT NULL DEFAULT ''"
+    );
+
+    /**
+     * Індекси для посторінкового читання книг за назвою та автором ({@link SqliteBookDao#buildPageSql}).
+     * Стовпці збігаються з {@link BookSortKey#sqlExpression()}, а неявний rowid у кінці кожного індексу
+     * дає порядок (ключ, id), тому і сортування, і позиція продовження сторінки обслуговуються індексом.
+     * Для сортування за датою додавання достатньо індексів з кроку 2.
+     */
+    private static final List<String> CREATE_PAGING_INDEXES_SQL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_books_title_key ON books(titleSortKey)",
+            "CREATE INDEX IF NOT EXISTS idx_books_author_key ON books(authorSortKey)",
+            "CREATE INDEX IF NOT EXISTS idx_books_status_title_key ON books(status, titleSortKey)",
+            "CREATE INDEX IF NOT EXISTS idx_books_status_author_key ON books(status, authorSortKey)",
+            "CREATE INDEX IF NOT EXISTS idx_books_favorite_title_key ON books(favorite, titleSortKey)",
+            "CREATE INDEX IF NOT EXISTS idx_books_favorite_author_key ON books(favorite, authorSortKey)"
+    );
+
+    /**
+     * Перебудова таблиці {@code books} зі збереженням дат як цілих чисел - кількості днів від 1970-01-01
+     * ({@link java.time.LocalDate#toEpochDay()}). Ціле число займає в індексах менше місця, ніж рядок
+     * ISO, порівнюється без розбору тексту, а умови за періодами ({@code dateRead >= ? AND dateRead < ?})
+     * залишаються діапазонним пошуком в індексах {@code idx_books_status_dateRead} та інших.
+     * <p>
+     * SQLite не змінює тип стовпця на місці, тому дані копіюються в нову таблицю з тими самими ID;
+     * лічильник AUTOINCREMENT переноситься, щоб ID видалених книг не використовувалися повторно.
+     * Порожні дати прочитання стають {@code NULL}. Разом зі старою таблицею видаляються її індекси
+     * та тригери FTS, тому вони створюються повторно (інструкції кроків 2-4 ідемпотентні), а
+     * повнотекстовий індекс перебудовується.
+     */
+    private static final List<String> CONVERT_BOOK_DATES_TO_EPOCH_DAYS_SQL = concat(
+            List.of(
+                    """
+                    CREATE TABLE books_new (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        title TEXT NOT NULL,
+                        author TEXT,
+                        genre TEXT,
+                        status TEXT NOT NULL,
+                        dateAdded INTEGER NOT NULL,
+                        dateRead INTEGER,
+                        rating INTEGER,
+                        comment TEXT,
+                        coverImagePath TEXT,
+                        favorite INTEGER NOT NULL DEFAULT 0,
+                        titleSortKey TEXT NOT NULL DEFAULT '',
+                        authorSortKey TEXT NOT NULL DEFAULT ''
+                    )
+                    """,
+                    """
+                    INSERT INTO books_new(id, title, author, genre, status, dateAdded, dateRead, rating, comment, coverImagePath, favorite,
+                                          titleSortKey, authorSortKey)
+                    SELECT id, title, author, genre, status,
+                           unixepoch(dateAdded) / 86400, unixepoch(NULLIF(dateRead, '')) / 86400,
+                           rating, comment, coverImagePath, favorite, titleSortKey, authorSortKey
+                    FROM books
+                    """,
+                    "DELETE FROM sqlite_sequence WHERE name = 'books_new'",
+                    "UPDATE sqlite_sequence SET name = 'books_new' WHERE name = 'books'",
+                    "DROP TABLE books",
+                    "ALTER TABLE books_new RENAME TO books"),
+            CREATE_INDEXES_SQL,
+            CREATE_PAGING_INDEXES_SQL,
+            CREATE_BOOKS_FTS_SQL);
+
+    /**
+     * Повний перерахунок {@code reading_summary} з таблиці {@code books}. Використовується
+     * міграцією 6 та командою відновлення {@link BookDao#rebuildReadingSummary()}.
+     */
+    static final List<String> REBUILD_READING_SUMMARY_SQL = List.of(
+            "DELETE FROM reading_summary",
+            "INSERT INTO reading_summary(year, month, count) " +
+                    "SELECT " + readYear("books") + ", " + readMonth("books") + ", COUNT(*) " +
+                    "FROM books WHERE status = 'READ' GROUP BY 1, 2");
+
+    /**
+     * Таблиця підсумків {@code reading_summary(year, month, count)}: кількість прочитаних книг
+     * (статус {@code READ}) за кожен місяць. Книги без дати прочитання враховуються в рядку
+     * {@code (0, 0)}. Тригери на {@code books} підтримують таблицю в тій самій транзакції, що й зміну
+     * книги, тому лічильники статистики читаються за первинним ключем без перегляду таблиці книг.
+     * Тригери оновлення спрацьовують лише тоді, коли змінився статус або дата прочитання.
+     */
+    private static final List<String> CREATE_READING_SUMMARY_SQL = concat(
+            List.of(
+                    """
+                    CREATE TABLE IF NOT EXISTS reading_summary (
+                        year INTEGER NOT NULL,
+                        month INTEGER NOT NULL,
+                        count INTEGER NOT NULL,
+                        PRIMARY KEY (year, month)
+                    ) WITHOUT ROWID
+                    """,
+                    "CREATE TRIGGER IF NOT EXISTS books_summary_after_insert AFTER INSERT ON books " +
+                            "WHEN new.status = 'READ' BEGIN " + incrementSummary("new") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS books_summary_after_delete AFTER DELETE ON books " +
+                            "WHEN old.status = 'READ' BEGIN " + decrementSummary("old") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS books_summary_after_update_old AFTER UPDATE OF status, dateRead ON books " +
+                            "WHEN old.status = 'READ' AND (new.status IS NOT 'READ' OR new.dateRead IS NOT old.dateRead) " +
+                            "BEGIN " + decrementSummary("old") + " END",
+                    "CREATE TRIGGER IF NOT EXISTS books_summary_after_update_new AFTER UPDATE OF status, dateRead ON books " +
+                            "WHEN new.status = 'READ' AND (old.status IS NOT 'READ' OR old.dateRead IS NOT new.dateRead) " +
+                            "BEGIN " + incrementSummary("new") + " END"),
+            REBUILD_READING_SUMMARY_SQL);
+
+    /**
+     * Упорядкований список усіх кроків міграції схеми програми.
+     */
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Початкова схема: таблиці books та goals",
+                    List.of(CREATE_TABLE_BOOKS_SQL, CREATE_TABLE_GOALS_SQL)),
+            new Migration(2, "Вторинні індекси для списків книг, цілей та статистики", CREATE_INDEXES_SQL),
+            new Migration(3, "Повнотекстовий індекс FTS5 для пошуку книг", CREATE_BOOKS_FTS_SQL),
+            new Migration(4, "Ключі сортування та індекси для посторінкового читання книг за назвою та автором",
+                    concat(ADD_SORT_KEY_COLUMNS_SQL, CREATE_PAGING_INDEXES_SQL)),
+            new Migration(5, "Дати книг як цілі числа (дні від 1970-01-01)", CONVERT_BOOK_DATES_TO_EPOCH_DAYS_SQL),
+            new Migration(6, "Таблиця підсумків прочитаних книг за місяцями", CREATE_READING_SUMMARY_SQL)
+    );
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... parts) {
+        List<String> statements = new ArrayList<>();
+        for (List<String> part : parts) {
+            statements.addAll(part);
+        }
+        return List.copyOf(statements);
+    }
+
+    /**
+     * @return SQL-вираз року прочитання книги {@code row} або 0, якщо дата прочитання відсутня.
+     */
+    private static String readYear(String row) {
+        return "ifnull(CAST(strftime('%Y', " + row + ".dateRead * 86400, 'unixepoch') AS INTEGER), 0)";
+    }
+
+    /**
+     * @return SQL-вираз місяця прочитання книги {@code row} (1-12) або 0, якщо дата прочитання відсутня.
+     */
+    private static String readMonth(String row) {
+        return "ifnull(CAST(strftime('%m', " + row + ".dateRead * 86400, 'unixepoch') AS INTEGER), 0)";
+    }
+
+    private static String incrementSummary(String row) {
+        return "INSERT INTO reading_summary(year, month, count) VALUES (" + readYear(row) + ", " + readMonth(row) + ", 1) " +
+                "ON CONFLICT(year, month) DO UPDATE SET count = count + 1;";
+    }
+
+    private static String decrementSummary(String row) {
+        String key = "year = " + readYear(row) + " AND month = " + readMonth(row);
+        return "UPDATE reading_summary SET count = count - 1 WHERE " + key + "; " +
+                "DELETE FROM reading_summary WHERE " + key + " AND count <= 0;";
+    }
+
+    private final List<Migration> migrations;
+
+    /**
+     * Створює мігратор зі стандартним набором кроків {@link #MIGRATIONS}.
+     */
+    public SchemaMigrator() {
+        this(MIGRATIONS);
+    }
+
+    /**
+     * Створює мігратор із заданим набором кроків (використовується в тестах).
+     *
+     * @param migrations Кроки міграції; номери версій повинні бути унікальними та додатними.
+     * @throws IllegalArgumentException якщо номери версій повторюються або не є додатними.
+     */
+    SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::version));
+        int previous = 0;
+        for (Migration migration : sorted) {
+            if (migration.version() <= previous) {
+                throw new IllegalArgumentException("Некоректна або повторювана версія міграції: " + migration.version());
+            }
+            previous = migration.version();
+        }
+        this.migrations = List.copyOf(sorted);
+    }
+
+    /**
+     * Повертає номер останньої версії схеми, відомої цьому мігратору.
+     *
+     * @return Номер останньої версії або 0, якщо кроків немає.
+     */
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+    }
+
+    /**
+     * Зчитує поточну версію схеми з {@code PRAGMA user_version}.
+     *
+     * @param conn З'єднання з базою даних.
+     * @return Поточна версія схеми (0 для нової або неверсіонованої бази даних).
+     * @throws SQLException якщо не вдалося виконати запит.
+     */
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Застосовує до бази даних усі кроки міграції, версія яких більша за поточну.
+     * Кожен крок виконується в окремій транзакції; у разі помилки крок відкочується,
+     * а версія схеми залишається на останньому успішно застосованому кроці.
+     *
+     * @param conn З'єднання з базою даних у режимі автоматичного підтвердження.
+     * @return Кількість застосованих кроків.
+     * @throws SQLException якщо виконання кроку завершилося помилкою
+     *                      або версія бази даних новіша за відому програмі.
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int currentVersion = getCurrentVersion(conn);
+        int latestVersion = getLatestVersion();
+        if (currentVersion > latestVersion) {
+            throw new SQLException(String.format(
+                    "Версія схеми бази даних (%d) новіша за підтримувану програмою (%d).", currentVersion, latestVersion));
+        }
+        if (currentVersion == latestVersion) {
+            log.info("Схема бази даних актуальна (версія {}).", currentVersion);
+            return 0;
+        }
+
+        log.info("Оновлення схеми бази даних з версії {} до версії {}...", currentVersion, latestVersion);
+        int applied = 0;
+        for (Migration migration : migrations) {
+            if (migration.version() <= currentVersion) {
+                continue;
+            }
+            applyMigration(conn, migration);
+            applied++;
+        }
+        log.info("Схему бази даних оновлено до версії {} (застосовано кроків: {}).", latestVersion, applied);
+        return applied;
+    }
+
+    /**
+     * Виконує один крок міграції в окремій транзакції та оновлює {@code user_version}.
+     */
+    private void applyMigration(Connection conn, Migration migration) throws SQLException {
+        log.info("Застосування міграції {}: {}", migration.version(), migration.description());
+        boolean previousAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements()) {
+                log.debug("Виконання SQL міграції {}:\n{}", migration.version(), sql);
+                stmt.execute(sql);
+            }
+            // PRAGMA не підтримує параметри, але версія - це ціле число з коду програми.
+            stmt.execute("PRAGMA user_version = " + migration.version());
+            conn.commit();
+        } catch (SQLException e) {
+            log.error("Помилка під час застосування міграції {} ({}): {}",
+                    migration.version(), migration.description(), e.getMessage(), e);
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+    }
+}
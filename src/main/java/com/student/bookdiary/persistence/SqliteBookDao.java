@@ -1,16 +1,23 @@
 package com.student.bookdiary.persistence;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingHistogram;
 import com.student.bookdiary.model.ReadingStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Comparator; // Added for sorting
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors; // Added for stream operations
 
 /**
@@ -23,8 +30,129 @@ public class SqliteBookDao implements BookDao {
     private static final Logger log = LoggerFactory.getLogger(SqliteBookDao.class);
 
     /**
-     * Виконує операцію з базою даних, використовуючи надане з'єднання.
-     * Автоматично закриває з'єднання, якщо воно не є in-memory з'єднанням.
+     * Лічильник змін книг, спільний для всіх екземплярів DAO (контролери створюють власні екземпляри).
+     * Див. {@link #getModificationCount()}.
+     */
+    private static final AtomicLong modificationCount = new AtomicLong();
+
+    /** Розмір вибірки за замовчуванням для {@link #forEachBook(Consumer)}. */
+    static final int DEFAULT_FETCH_SIZE = 256;
+
+    // --- SQL-запити ---
+    // Запити винесено в константи, щоб тест плану запитів (QueryPlanTest) перевіряв
+    // саме ті інструкції, які виконує DAO. Індекси, на які вони спираються, створює SchemaMigrator.
+
+    /** Додавання нової книги. */
+    static final String INSERT_BOOK_SQL = "INSERT INTO books(title, author, genre, status, dateAdded, dateRead, rating, comment, coverImagePath, favorite, " +
+            "titleSortKey, authorSortKey) VALUES(?,?,?,?,?,?,?,?,?,?,?,?)";
+    /** Оновлення всіх полів книги за ID. */
+    static final String UPDATE_BOOK_SQL = "UPDATE books SET title = ?, author = ?, genre = ?, status = ?, dateAdded = ?, " +
+            "dateRead = ?, rating = ?, comment = ?, coverImagePath = ?, favorite = ?, titleSortKey = ?, authorSortKey = ? WHERE id = ?";
+    /** Видалення книги за ID. */
+    static final String DELETE_BOOK_SQL = "DELETE FROM books WHERE id = ?";
+    /** Назви, автори та ключі сортування всіх книг для {@link #refreshSortKeys(Connection)}. */
+    static final String SELECT_SORT_KEYS_SQL = "SELECT id, title, author, titleSortKey, authorSortKey FROM books";
+    /** Зміна лише ключів сортування книги. */
+    static final String UPDATE_SORT_KEYS_SQL = "UPDATE books SET titleSortKey = ?, authorSortKey = ? WHERE id = ?";
+    /** Зміна лише позначки "улюблене" книги. */
+    static final String SET_FAVORITE_SQL = "UPDATE books SET favorite = ? WHERE id = ?";
+    /** Пошук книги за ID. */
+    static final String SELECT_BOOK_BY_ID_SQL = "SELECT * FROM books WHERE id = ?";
+    /** Усі книги в порядку первинного ключа, для повного проходу курсором без сортування. */
+    static final String SELECT_ALL_BOOKS_BY_ID_SQL = "SELECT * FROM books ORDER BY id";
+    /**
+     * Усі книги, новіші першими (індекс {@code idx_books_dateAdded}). Дати зберігаються з точністю до дня,
+     * тому книги, додані того самого дня, впорядковуються за ID (спочатку додані пізніше); ID є rowid,
+     * який індекс містить неявно, тож сортування не потрібне. Так само впорядковано списки за статусом
+     * та улюблених книг, а також списки {@link BookRepository}.
+     */
+    static final String SELECT_ALL_BOOKS_SQL = "SELECT * FROM books ORDER BY dateAdded DESC, id DESC";
+    /** Книги з певним статусом, новіші першими (індекс {@code idx_books_status_dateAdded}). */
+    static final String SELECT_BOOKS_BY_STATUS_SQL = "SELECT * FROM books WHERE status = ? ORDER BY dateAdded DESC, id DESC";
+    /** Улюблені книги, новіші першими (індекс {@code idx_books_favorite_dateAdded}). */
+    static final String SELECT_FAVORITE_BOOKS_SQL = "SELECT * FROM books WHERE favorite = 1 ORDER BY dateAdded DESC, id DESC";
+    /** Стовпці {@link BookSummary}: усі, крім коментаря. */
+    private static final String BOOK_SUMMARY_COLUMNS =
+            "id, title, author, genre, status, dateAdded, dateRead, rating, coverImagePath, favorite";
+    /** Скорочені представлення книг з певним статусом, новіші першими (індекс {@code idx_books_status_dateAdded}). */
+    static final String SELECT_BOOK_SUMMARIES_BY_STATUS_SQL =
+            "SELECT " + BOOK_SUMMARY_COLUMNS + " FROM books WHERE status = ? ORDER BY dateAdded DESC, id DESC";
+    /** Скорочені представлення улюблених книг, новіші першими (індекс {@code idx_books_favorite_dateAdded}). */
+    static final String SELECT_FAVORITE_BOOK_SUMMARIES_SQL =
+            "SELECT " + BOOK_SUMMARY_COLUMNS + " FROM books WHERE favorite = 1 ORDER BY dateAdded DESC, id DESC";
+    /**
+     * Повнотекстовий пошук книг через {@code books_fts}. Назва має більшу вагу в bm25, ніж автор;
+     * ваги для {@code genre} та {@code comment} задані, бо bm25 приймає їх за порядком стовпців.
+     */
+    static final String SEARCH_BOOKS_SQL = "SELECT b.* FROM books_fts JOIN books b ON b.id = books_fts.rowid " +
+            "WHERE books_fts MATCH ? ORDER BY bm25(books_fts, 10.0, 5.0, 1.0, 1.0), b.title COLLATE NOCASE";
+    /** Унікальні непорожні жанри (покриваючий індекс {@code idx_books_genre}). */
+    static final String SELECT_DISTINCT_GENRES_SQL = "SELECT DISTINCT genre FROM books WHERE genre IS NOT NULL AND genre != '' ORDER BY genre ASC";
+    /**
+     * Усі рядки таблиці підсумків {@code reading_summary} (кількість прочитаних книг за місяцями;
+     * рядок {@code (0, 0)} - книги без дати прочитання). Кількість рядків не перевищує кількості місяців.
+     */
+    static final String SELECT_READING_SUMMARY_SQL = "SELECT year, month, count FROM reading_summary";
+    /** Загальна кількість прочитаних книг з таблиці підсумків. */
+    static final String SUM_READING_SUMMARY_SQL = "SELECT ifnull(sum(count), 0) FROM reading_summary";
+    /** Кількість книг, прочитаних у певному році (пошук за первинним ключем {@code reading_summary}). */
+    static final String SUM_READING_SUMMARY_BY_YEAR_SQL = "SELECT ifnull(sum(count), 0) FROM reading_summary WHERE year = ?";
+    /** Кількість книг, прочитаних у певному місяці (пошук за первинним ключем {@code reading_summary}). */
+    static final String SELECT_READING_SUMMARY_MONTH_SQL = "SELECT ifnull(sum(count), 0) FROM reading_summary WHERE year = ? AND month = ?";
+    /** Кількість книг з певним статусом, прочитаних у півінтервалі дат [від; до) (індекс {@code idx_books_status_dateRead}). */
+    static final String COUNT_BOOKS_READ_BETWEEN_SQL = "SELECT COUNT(*) FROM books WHERE status = ? AND dateRead >= ? AND dateRead < ?";
+
+    /**
+     * Умова відбору для посторінкових запитів. Для кожної умови та кожного {@link BookSortKey}
+     * існує індекс (умова, вираз ключа), який разом з неявним rowid задає порядок сторінок.
+     */
+    enum PageFilter {
+        ALL(null),
+        STATUS("status = ?"),
+        FAVORITE("favorite = 1");
+
+        private final String condition;
+
+        PageFilter(String condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Формує запит сторінки книг. Позиція продовження (ключ, id) > (значення, ID) записується як
+     * {@code ключ >= ? AND (ключ > ? OR id > ?)} (з протилежними знаками для спадного порядку):
+     * перша умова дає діапазонний пошук в індексі, друга відкидає лише книги з тим самим значенням ключа,
+     * що вже були на попередніх сторінках. Порівняння значень рядка {@code (ключ, id) > (?, ?)} тут
+     * не використовується, щоб умова однаково зіставлялася з індексами для всіх ключів.
+     * Сторінка читається без {@code OFFSET} і без сортування.
+     * Параметри: статус (для {@link PageFilter#STATUS}), значення ключа двічі та ID позиції (якщо {@code seek}), ліміт.
+     *
+     * @param filter Умова відбору книг.
+     * @param sortKey Ключ сортування.
+     * @param seek {@code true}, якщо сторінка продовжує попередню.
+     * @return SQL-запит сторінки.
+     */
+    static String buildPageSql(PageFilter filter, BookSortKey sortKey, boolean seek) {
+        String direction = sortKey.isDescending() ? "DESC" : "ASC";
+        List<String> conditions = new ArrayList<>();
+        if (filter.condition != null) {
+            conditions.add(filter.condition);
+        }
+        if (seek) {
+            String key = sortKey.sqlExpression();
+            String after = sortKey.isDescending() ? "<" : ">";
+            conditions.add(key + " " + after + "= ? AND (" + key + " " + after + " ? OR id " + after + " ?)");
+        }
+        return "SELECT * FROM books"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + sortKey.sqlExpression() + " " + direction + ", id " + direction
+                + " LIMIT ?";
+    }
+
+    /**
+     * Виконує операцію з базою даних, використовуючи з'єднання, отримане від {@link DatabaseManager}.
+     * Після виконання повертає з'єднання до пулу (виклик {@code close()} на пулі не закриває
+     * фізичне з'єднання), якщо воно не є in-memory з'єднанням.
      *
      * @param operation Операція для виконання
      * @param <T> Тип результату
@@ -44,7 +172,7 @@ public class SqliteBookDao implements BookDao {
                 try {
                     conn.close();
                 } catch (SQLException e) {
-                    log.warn("Помилка під час закриття з'єднання: {}", e.getMessage(), e);
+                    log.warn("Помилка під час повернення з'єднання до пулу: {}", e.getMessage(), e);
                 }
             }
         }
@@ -55,9 +183,18 @@ public class SqliteBookDao implements BookDao {
         T execute(Connection conn) throws SQLException;
     }
 
+    /**
+     * Встановлює параметри підготовленої інструкції для одного елемента пакета.
+     */
+    @FunctionalInterface
+    private interface ParameterBinder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
     /**
      * Додає нову книгу до бази даних.
      * Встановлює згенерований ID для об'єкта книги після успішного додавання.
+     * Є обгорткою над {@link #addBooks(List)} для однієї книги.
      *
      * @param book Об'єкт {@link Book} для додавання.
      * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
@@ -65,86 +202,237 @@ public class SqliteBookDao implements BookDao {
     @Override
     public void addBook(Book book) {
         log.debug("Спроба додати нову книгу: '{}', автор: '{}'", book.getTitle(), book.getAuthor());
-        String sql = "INSERT INTO books(title, author, genre, status, dateAdded, dateRead, rating, comment, coverImagePath, favorite) VALUES(?,?,?,?,?,?,?,?,?,?)";
-
-        executeWithConnection(conn -> {
-            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                setBookParameters(pstmt, book);
-                int affectedRows = pstmt.executeUpdate();
-
-                if (affectedRows == 0) {
-                    String errorMessage = String.format("Додавання книги '%s' не змінило жодного рядка в БД.", book.getTitle());
-                    log.error(errorMessage);
-                    throw new DataAccessException(errorMessage);
-                }
-
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        book.setId(generatedKeys.getLong(1));
-                        log.info("Книгу '{}' успішно додано до БД з ID={}", book.getTitle(), book.getId());
-                    } else {
-                        String errorMessage = String.format("Не вдалося отримати згенерований ID для книги '%s' після додавання.", book.getTitle());
-                        log.error(errorMessage);
-                        throw new DataAccessException(errorMessage);
-                    }
-                }
-            }
-            return null;
-        });
+        throwIfFailed(addBooks(List.of(book)));
+        log.info("Книгу '{}' успішно додано до БД з ID={}", book.getTitle(), book.getId());
     }
 
     /**
      * Оновлює дані існуючої книги в базі даних.
+     * Є обгорткою над {@link #updateBooks(List)} для однієї книги.
      *
      * @param book Об'єкт {@link Book} з оновленими даними та існуючим ID.
-     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції
+     *                             або книга з вказаним ID не знайдена.
      */
     @Override
     public void updateBook(Book book) {
         log.debug("Спроба оновити книгу з ID={}", book.getId());
-        String sql = "UPDATE books SET title = ?, author = ?, genre = ?, status = ?, dateAdded = ?, " +
-                "dateRead = ?, rating = ?, comment = ?, coverImagePath = ?, favorite = ? WHERE id = ?";
+        BatchResult result = updateBooks(List.of(book));
+        throwIfFailed(result);
+        if (!result.notFound().isEmpty()) {
+            log.warn("Оновлення книги з ID={} не змінило жодного рядка. Можливо, книга з таким ID не знайдена.", book.getId());
+            throw new DataAccessException(String.format("Книгу з ID=%d не знайдено в базі даних.", book.getId()));
+        }
+        log.info("Книгу з ID={} успішно оновлено в БД. Назва: '{}'", book.getId(), book.getTitle());
+    }
 
-        executeWithConnection(conn -> {
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                setBookParameters(pstmt, book);
-                pstmt.setLong(11, book.getId());
-
-                int affectedRows = pstmt.executeUpdate();
-                if (affectedRows > 0) {
-                    log.info("Книгу з ID={} успішно оновлено в БД. Назва: '{}'", book.getId(), book.getTitle());
-                } else {
-                    log.warn("Оновлення книги з ID={} не змінило жодного рядка. Можливо, книга з таким ID не знайдена.", book.getId());
+    /**
+     * Видаляє книгу з бази даних за її ID.
+     * Є обгорткою над {@link #deleteBooks(List)} для однієї книги.
+     *
+     * @param bookId ID книги для видалення.
+     * @return {@code true}, якщо книгу видалено; {@code false}, якщо книги з таким ID немає.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public boolean deleteBook(long bookId) {
+        log.debug("Спроба видалити книгу з ID={}", bookId);
+        BatchResult result = deleteBooks(List.of(bookId));
+        throwIfFailed(result);
+        if (!result.notFound().isEmpty()) {
+            log.warn("Видалення книги з ID={} не змінило жодного рядка. Можливо, книга з таким ID не знайдена.", bookId);
+            return false;
+        }
+        log.info("Книгу з ID={} успішно видалено з БД.", bookId);
+        return true;
+    }
+
+    /**
+     * Змінює позначку "улюблене" книги одним оновленням стовпця {@code favorite}.
+     * На відміну від {@link #updateBook(Book)}, не потребує повного об'єкта книги.
+     *
+     * @param bookId ID книги.
+     * @param favorite Нове значення позначки.
+     * @return {@code true}, якщо позначку змінено; {@code false}, якщо книги з таким ID немає.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public boolean setFavorite(long bookId, boolean favorite) {
+        log.debug("Спроба змінити позначку 'улюблене' книги ID={} на {}", bookId, favorite);
+        BatchResult result = executeBatch(SET_FAVORITE_SQL, List.of(bookId), (pstmt, id) -> {
+            pstmt.setInt(1, favorite ? 1 : 0);
+            pstmt.setLong(2, id);
+        });
+        throwIfFailed(result);
+        if (!result.notFound().isEmpty()) {
+            log.warn("Зміна позначки 'улюблене' книги з ID={} не змінила жодного рядка. Можливо, книга з таким ID не знайдена.", bookId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Додає кілька книг до бази даних в одній транзакції.
+     * Підготовлений запит створюється один раз і виконується для кожної книги окремо,
+     * оскільки драйвер SQLite повертає згенерований ключ лише для останнього рядка пакета
+     * ({@code executeBatch}). Завдяки спільній транзакції зміни записуються на диск один раз.
+     * Якщо метод викликано всередині {@link DatabaseManager#inTransaction}, пакет стає її частиною.
+     *
+     * @param books Книги для додавання; успішно додані отримують згенерований ID.
+     * @return {@link BatchResult} зі згенерованими ID та помилками окремих книг.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію.
+     */
+    @Override
+    public BatchResult addBooks(List<Book> books) {
+        log.debug("Спроба додати {} книг(и) однією транзакцією.", books.size());
+        String sql = INSERT_BOOK_SQL;
+        List<Long> generatedIds = new ArrayList<>();
+        List<BatchResult.RowFailure> failures = new ArrayList<>();
+
+        DatabaseManager.inTransaction(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < books.size(); i++) {
+                    Book book = books.get(i);
+                    try {
+                        setBookParameters(pstmt, book);
+                        pstmt.executeUpdate();
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException(String.format(
+                                        "Не вдалося отримати згенерований ID для книги '%s' після додавання.", book.getTitle()));
+                            }
+                            book.setId(generatedKeys.getLong(1));
+                            generatedIds.add(book.getId());
+                        }
+                    } catch (SQLException e) {
+                        // SQLite відкочує лише інструкцію, що завершилася помилкою; транзакція продовжується.
+                        log.warn("Не вдалося додати книгу '{}' (позиція {}): {}", book.getTitle(), i, e.getMessage());
+                        failures.add(new BatchResult.RowFailure(i, e));
+                    }
                 }
             }
             return null;
         });
+
+        DatabaseManager.afterCommit(modificationCount::incrementAndGet);
+        log.info("Пакетне додавання книг: додано {}, з помилками {}.", generatedIds.size(), failures.size());
+        return new BatchResult(generatedIds, generatedIds.size(), failures, List.of());
     }
 
     /**
-     * Видаляє книгу з бази даних за її ID.
+     * Оновлює кілька книг в одній транзакції за допомогою пакетного виконання ({@code executeBatch}).
      *
-     * @param bookId ID книги для видалення.
-     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     * @param books Книги з оновленими даними та існуючими ID.
+     * @return {@link BatchResult} з кількістю успішних оновлень та помилками окремих книг.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію.
      */
     @Override
-    public void deleteBook(long bookId) {
-        log.debug("Спроба видалити книгу з ID={}", bookId);
-        String sql = "DELETE FROM books WHERE id = ?";
+    public BatchResult updateBooks(List<Book> books) {
+        log.debug("Спроба оновити {} книг(и) однією транзакцією.", books.size());
+        BatchResult result = executeBatch(UPDATE_BOOK_SQL, books, (pstmt, book) -> {
+            setBookParameters(pstmt, book);
+            pstmt.setLong(13, book.getId());
+        });
+        log.info("Пакетне оновлення книг: оновлено {}, не знайдено {}, з помилками {}.",
+                result.successCount(), result.notFound().size(), result.failures().size());
+        return result;
+    }
 
-        executeWithConnection(conn -> {
+    /**
+     * Видаляє кілька книг в одній транзакції за допомогою пакетного виконання ({@code executeBatch}).
+     *
+     * @param bookIds ID книг для видалення.
+     * @return {@link BatchResult} з кількістю успішних видалень та помилками окремих записів.
+     * @throws DataAccessException Якщо не вдалося виконати або підтвердити транзакцію.
+     */
+    @Override
+    public BatchResult deleteBooks(List<Long> bookIds) {
+        log.debug("Спроба видалити {} книг(и) однією транзакцією.", bookIds.size());
+        BatchResult result = executeBatch(DELETE_BOOK_SQL, bookIds, (pstmt, bookId) -> pstmt.setLong(1, bookId));
+        log.info("Пакетне видалення книг: видалено {}, не знайдено {}, з помилками {}.",
+                result.successCount(), result.notFound().size(), result.failures().size());
+        return result;
+    }
+
+    /**
+     * Виконує інструкцію для кожного елемента списку одним пакетом в одній транзакції.
+     * <p>
+     * Драйвер SQLite перериває пакет на першому рядку з помилкою і не повідомляє його позицію.
+     * Тому пакет виконується всередині точки збереження (SAVEPOINT): якщо він завершився
+     * помилкою, його зміни відкочуються, а рядки виконуються повторно по одному, щоб
+     * зберегти успішні та визначити, які саме рядки завершилися помилкою.
+     *
+     * @param sql Інструкція INSERT/UPDATE/DELETE з параметрами.
+     * @param items Елементи пакета.
+     * @param binder Встановлює параметри інструкції для одного елемента.
+     * @param <T> Тип елемента пакета.
+     * @return {@link BatchResult} без згенерованих ID; рядки, що не змінили жодного запису, перелічені в
+     *         {@link BatchResult#notFound()}.
+     */
+    private <T> BatchResult executeBatch(String sql, List<T> items, ParameterBinder<T> binder) {
+        final Holder<Integer> successCount = new Holder<>(0);
+        List<BatchResult.RowFailure> failures = new ArrayList<>();
+        List<Integer> notFound = new ArrayList<>();
+
+        DatabaseManager.inTransaction(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setLong(1, bookId);
-                int affectedRows = pstmt.executeUpdate();
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    for (T item : items) {
+                        binder.bind(pstmt, item);
+                        pstmt.addBatch();
+                    }
+                    int[] updateCounts = pstmt.executeBatch();
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        // SUCCESS_NO_INFO: драйвер не повідомив кількість рядків, але інструкція виконалася.
+                        if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                            successCount.value++;
+                        } else {
+                            notFound.add(i);
+                        }
+                    }
+                    return null;
+                } catch (SQLException e) {
+                    log.warn("Пакет завершився помилкою ({}); повторне виконання по одному рядку.", e.getMessage());
+                    conn.rollback(savepoint);
+                    pstmt.clearBatch();
+                } finally {
+                    conn.releaseSavepoint(savepoint);
+                }
 
-                if (affectedRows > 0) {
-                    log.info("Книгу з ID={} успішно видалено з БД.", bookId);
-                } else {
-                    log.warn("Видалення книги з ID={} не змінило жодного рядка. Можливо, книга з таким ID не знайдена.", bookId);
+                for (int i = 0; i < items.size(); i++) {
+                    try {
+                        binder.bind(pstmt, items.get(i));
+                        if (pstmt.executeUpdate() > 0) {
+                            successCount.value++;
+                        } else {
+                            notFound.add(i);
+                        }
+                    } catch (SQLException e) {
+                        log.warn("Рядок пакета на позиції {} завершився помилкою: {}", i, e.getMessage());
+                        failures.add(new BatchResult.RowFailure(i, e));
+                    }
                 }
             }
             return null;
         });
+        DatabaseManager.afterCommit(modificationCount::incrementAndGet);
+        return new BatchResult(List.of(), successCount.value, failures, notFound);
+    }
+
+    /**
+     * Перетворює помилку першого рядка пакета на {@link DataAccessException}.
+     * Використовується обгортками над пакетними методами для однієї книги.
+     *
+     * @param result Результат пакетної операції.
+     * @throws DataAccessException якщо пакет містить рядок з помилкою; причиною є {@link SQLException} цього рядка.
+     */
+    private void throwIfFailed(BatchResult result) {
+        if (!result.isSuccessful()) {
+            SQLException cause = result.failures().get(0).cause();
+            log.error("Помилка SQL під час виконання операції: {}", cause.getMessage(), cause);
+            throw new DataAccessException("Помилка при роботі з базою даних: " + cause.getMessage(), cause);
+        }
     }
 
     /**
@@ -157,7 +445,7 @@ public class SqliteBookDao implements BookDao {
     @Override
     public Optional<Book> getBookById(long bookId) {
         log.debug("Спроба знайти книгу за ID={}", bookId);
-        String sql = "SELECT * FROM books WHERE id = ?";
+        String sql = SELECT_BOOK_BY_ID_SQL;
         final Holder<Optional<Book>> bookHolder = new Holder<>(Optional.empty());
 
         executeWithConnection(conn -> {
@@ -165,8 +453,9 @@ public class SqliteBookDao implements BookDao {
                 pstmt.setLong(1, bookId);
 
                 try (ResultSet rs = pstmt.executeQuery()) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
                     if (rs.next()) {
-                        bookHolder.value = Optional.of(mapResultSetToBook(rs));
+                        bookHolder.value = Optional.of(mapper.toBook(rs));
                         log.debug("Книгу з ID={} знайдено: '{}'", bookId, bookHolder.value.get().getTitle());
                     } else {
                         log.debug("Книгу з ID={} не знайдено.", bookId);
@@ -187,15 +476,15 @@ public class SqliteBookDao implements BookDao {
     @Override
     public List<Book> getAllBooks() {
         log.debug("Спроба отримати список всіх книг.");
-        String sql = "SELECT * FROM books ORDER BY dateAdded DESC";
+        String sql = SELECT_ALL_BOOKS_SQL;
         final List<Book> books = new ArrayList<>();
 
         executeWithConnection(conn -> {
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
-
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                BookRowMapper mapper = new BookRowMapper(rs);
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapper.toBook(rs));
                 }
                 log.debug("Отримано {} книг(и) з БД.", books.size());
             }
@@ -214,7 +503,7 @@ public class SqliteBookDao implements BookDao {
     @Override
     public List<Book> getBooksByStatus(ReadingStatus status) {
         log.debug("Спроба отримати книги зі статусом: {}", status);
-        String sql = "SELECT * FROM books WHERE status = ? ORDER BY dateAdded DESC";
+        String sql = SELECT_BOOKS_BY_STATUS_SQL;
         final List<Book> books = new ArrayList<>();
 
         executeWithConnection(conn -> {
@@ -222,8 +511,9 @@ public class SqliteBookDao implements BookDao {
                 pstmt.setString(1, status.name());
 
                 try (ResultSet rs = pstmt.executeQuery()) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
                     while (rs.next()) {
-                        books.add(mapResultSetToBook(rs));
+                        books.add(mapper.toBook(rs));
                     }
                 }
                 log.debug("Отримано {} книг(и) зі статусом {}.", books.size(), status);
@@ -242,15 +532,15 @@ public class SqliteBookDao implements BookDao {
     @Override
     public List<Book> getFavoriteBooks() {
         log.debug("Спроба отримати список улюблених книг.");
-        String sql = "SELECT * FROM books WHERE favorite = 1 ORDER BY dateAdded DESC";
+        String sql = SELECT_FAVORITE_BOOKS_SQL;
         final List<Book> books = new ArrayList<>();
 
         executeWithConnection(conn -> {
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
-
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                BookRowMapper mapper = new BookRowMapper(rs);
                 while (rs.next()) {
-                    books.add(mapResultSetToBook(rs));
+                    books.add(mapper.toBook(rs));
                 }
                 log.debug("Отримано {} улюблених книг(и).", books.size());
             }
@@ -260,75 +550,240 @@ public class SqliteBookDao implements BookDao {
     }
 
     /**
-     * Здійснює пошук книг за частковим збігом у назві або імені автора (фільтрація на боці Java).
+     * Повертає скорочені представлення книг з вказаним статусом. Запит не читає стовпець
+     * {@code comment}, тому довгі коментарі не завантажуються для плиток.
      *
-     * @param searchTerm Рядок для пошуку.
-     * @return {@link List} знайдених книг, відсортованих за назвою (без урахування регістру).
-     * @throws DataAccessException Якщо виникає помилка SQL під час отримання всіх книг.
+     * @param status Статус читання {@link ReadingStatus}.
+     * @return {@link List} скорочених представлень книг.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
      */
     @Override
-    public List<Book> searchBooks(String searchTerm) {
-        log.debug("Спроба пошуку книг за запитом: '{}' (фільтрація на боці Java)", searchTerm);
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            // Якщо пошуковий термін порожній, можна повернути всі книги
-            // або порожній список, залежно від бажаної логіки.
-            // Повернення getAllBooks() може бути логічним, якщо користувач очистив поле пошуку.
-            return getAllBooks();
-        }
+    public List<BookSummary> getBookSummariesByStatus(ReadingStatus status) {
+        log.debug("Спроба отримати скорочені дані книг зі статусом: {}", status);
+        List<BookSummary> summaries = querySummaries(SELECT_BOOK_SUMMARIES_BY_STATUS_SQL, status.name());
+        log.debug("Отримано {} скорочених записів книг зі статусом {}.", summaries.size(), status);
+        return summaries;
+    }
 
-        String lowerCaseSearchTerm = searchTerm.toLowerCase();
+    /**
+     * Повертає скорочені представлення улюблених книг без стовпця {@code comment}.
+     *
+     * @return {@link List} скорочених представлень улюблених книг.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public List<BookSummary> getFavoriteBookSummaries() {
+        log.debug("Спроба отримати скорочені дані улюблених книг.");
+        List<BookSummary> summaries = querySummaries(SELECT_FAVORITE_BOOK_SUMMARIES_SQL, null);
+        log.debug("Отримано {} скорочених записів улюблених книг.", summaries.size());
+        return summaries;
+    }
 
-        // Отримуємо всі книги, а потім фільтруємо та сортуємо в Java
-        List<Book> allBooks = getAllBooks(); // Цей метод вже сортує за dateAdded DESC
+    /**
+     * Виконує запит скорочених представлень книг.
+     *
+     * @param sql Запит, що вибирає стовпці {@link #BOOK_SUMMARY_COLUMNS}.
+     * @param parameter Значення єдиного параметра запиту або {@code null}, якщо параметрів немає.
+     * @return Список скорочених представлень.
+     */
+    private List<BookSummary> querySummaries(String sql, String parameter) {
+        final List<BookSummary> summaries = new ArrayList<>();
 
-        List<Book> foundBooks = allBooks.stream()
-                .filter(book -> {
-                    boolean titleMatches = false;
-                    if (book.getTitle() != null) {
-                        titleMatches = book.getTitle().toLowerCase().contains(lowerCaseSearchTerm);
+        executeWithConnection(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                if (parameter != null) {
+                    pstmt.setString(1, parameter);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
+                    while (rs.next()) {
+                        summaries.add(mapper.toSummary(rs));
                     }
-                    boolean authorMatches = false;
-                    if (book.getAuthor() != null) {
-                        authorMatches = book.getAuthor().toLowerCase().contains(lowerCaseSearchTerm);
+                }
+            }
+            return null;
+        });
+        return summaries;
+    }
+
+    @Override
+    public int forEachBook(Consumer<? super Book> action) {
+        return forEachBook(DEFAULT_FETCH_SIZE, action);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Запит читає таблицю в порядку первинного ключа, тому SQLite повертає рядки по мірі
+     * проходу B-дерева, не формуючи весь результат заздалегідь; у пам'яті одночасно
+     * перебуває лише поточна книга. З'єднання зайняте до завершення проходу.
+     */
+    @Override
+    public int forEachBook(int fetchSize, Consumer<? super Book> action) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Розмір вибірки повинен бути більшим за нуль: " + fetchSize);
+        }
+        log.debug("Початок проходу по всіх книгах (розмір вибірки {}).", fetchSize);
+        String sql = SELECT_ALL_BOOKS_BY_ID_SQL;
+        final Holder<Integer> count = new Holder<>(0);
+
+        executeWithConnection(conn -> {
+            try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(fetchSize);
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
+                    while (rs.next()) {
+                        action.accept(mapper.toBook(rs));
+                        count.value++;
                     }
-                    return titleMatches || authorMatches;
-                })
-                // Сортуємо результат за назвою, без урахування регістру, для відповідності попередній логіці SQL ORDER BY title ASC
-                .sorted(Comparator.comparing(
-                        book -> book.getTitle() == null ? "" : book.getTitle(), // Обробка null назв
-                        String.CASE_INSENSITIVE_ORDER
-                ))
-                .collect(Collectors.toList());
+                }
+            }
+            return null;
+        });
+        log.debug("Прохід по всіх книгах завершено: оброблено {} книг(и).", count.value);
+        return count.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Сторінка читається в порядку індексу {@code idx_books_dateAdded}, {@code idx_books_title_key} або {@code idx_books_author_key} без сортування в пам'яті.
+     */
+    @Override
+    public BookPage getAllBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return readPage(PageFilter.ALL, null, sortKey, after, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Сторінка читається в порядку індексу {@code idx_books_status_*} без сортування в пам'яті.
+     */
+    @Override
+    public BookPage getBooksByStatusPage(ReadingStatus status, BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return readPage(PageFilter.STATUS, status, sortKey, after, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Сторінка читається в порядку індексу {@code idx_books_favorite_*} без сортування в пам'яті.
+     */
+    @Override
+    public BookPage getFavoriteBooksPage(BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        return readPage(PageFilter.FAVORITE, null, sortKey, after, limit);
+    }
+
+    /**
+     * Читає одну сторінку книг запитом {@link #buildPageSql}. Запитується на один рядок більше
+     * за {@code limit}: якщо він є, сторінка не остання і отримує позицію продовження.
+     *
+     * @param filter Умова відбору книг.
+     * @param status Статус для {@link PageFilter#STATUS}, інакше не використовується.
+     * @param sortKey Ключ сортування.
+     * @param after Позиція продовження або {@code null} для першої сторінки.
+     * @param limit Максимальна кількість книг на сторінці.
+     * @return Прочитана сторінка.
+     */
+    private BookPage readPage(PageFilter filter, ReadingStatus status, BookSortKey sortKey, BookPage.Cursor after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки повинен бути більшим за нуль: " + limit);
+        }
+        if (after != null && after.sortKey() != sortKey) {
+            throw new IllegalArgumentException(String.format(
+                    "Позицію отримано для сортування %s, а запитано сортування %s.", after.sortKey(), sortKey));
+        }
+        log.debug("Спроба отримати сторінку книг: відбір {}, сортування {}, після {}, розмір {}.",
+                filter, sortKey, after, limit);
+        String sql = buildPageSql(filter, sortKey, after != null);
+        final List<Book> books = new ArrayList<>();
+
+        executeWithConnection(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (filter == PageFilter.STATUS) {
+                    pstmt.setString(index++, status.name());
+                }
+                if (after != null) {
+                    pstmt.setObject(index++, after.sortValue());
+                    pstmt.setObject(index++, after.sortValue());
+                    pstmt.setLong(index++, after.id());
+                }
+                pstmt.setInt(index, limit + 1);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
+                    while (rs.next()) {
+                        books.add(mapper.toBook(rs));
+                    }
+                }
+            }
+            return null;
+        });
 
-        log.debug("Знайдено {} книг(и) за запитом '{}' (фільтрація на боці Java).", foundBooks.size(), searchTerm);
-        return foundBooks;
+        BookPage.Cursor next = null;
+        if (books.size() > limit) {
+            books.remove(limit);
+            next = BookPage.Cursor.after(sortKey, books.get(limit - 1));
+        }
+        log.debug("Отримано сторінку з {} книг(и), наступна сторінка: {}.", books.size(), next != null);
+        return new BookPage(books, next);
     }
 
     /**
-     * Допоміжний приватний метод для перетворення поточного рядка {@link ResultSet} на об'єкт {@link Book}.
-     * Інкапсулює логіку мапінгу даних з ResultSet на поля об'єкта Book.
+     * Здійснює пошук книг за назвою або іменем автора через повнотекстовий індекс {@code books_fts}.
+     * Кожне слово запиту шукається як префікс слова в назві чи імені автора (без урахування регістру),
+     * усі слова запиту повинні знайтися. Результати впорядковуються за релевантністю (bm25),
+     * а за однакової релевантності - за назвою.
      *
-     * @param rs {@link ResultSet}, курсор якого встановлено на рядок з даними книги.
-     * @return Створений об'єкт {@link Book}.
-     * @throws SQLException Якщо виникає помилка доступу до даних у {@link ResultSet}.
+     * @param searchTerm Рядок для пошуку.
+     * @return {@link List} знайдених книг; для порожнього запиту - усі книги ({@link #getAllBooks()}).
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
      */
-    private Book mapResultSetToBook(ResultSet rs) throws SQLException {
-        long id = rs.getLong("id");
-        String title = rs.getString("title");
-        String author = rs.getString("author");
-        String genre = rs.getString("genre");
-        ReadingStatus status = ReadingStatus.valueOf(rs.getString("status"));
+    @Override
+    public List<Book> searchBooks(String searchTerm) {
+        log.debug("Спроба пошуку книг за запитом: '{}'", searchTerm);
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            // Якщо користувач очистив поле пошуку, повертаємо всі книги.
+            return getAllBooks();
+        }
 
-        LocalDate dateAdded = LocalDate.parse(rs.getString("dateAdded"));
-        String dateReadStr = rs.getString("dateRead");
-        LocalDate dateRead = (dateReadStr != null && !dateReadStr.isEmpty()) ? LocalDate.parse(dateReadStr) : null;
+        String matchExpression = toFtsMatchExpression(searchTerm);
+        if (matchExpression.isEmpty()) {
+            log.debug("Запит '{}' не містить слів для пошуку.", searchTerm);
+            return new ArrayList<>();
+        }
 
-        int rating = rs.getInt("rating");
-        String comment = rs.getString("comment");
-        String coverImagePath = rs.getString("coverImagePath");
-        boolean favorite = rs.getInt("favorite") == 1;
+        String sql = SEARCH_BOOKS_SQL;
+        final List<Book> books = new ArrayList<>();
 
-        return new Book(id, title, author, genre, status, dateAdded, dateRead, rating, comment, coverImagePath, favorite);
+        executeWithConnection(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, matchExpression);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    BookRowMapper mapper = new BookRowMapper(rs);
+                    while (rs.next()) {
+                        books.add(mapper.toBook(rs));
+                    }
+                }
+                log.debug("Знайдено {} книг(и) за запитом '{}'.", books.size(), searchTerm);
+            }
+            return null;
+        });
+        return books;
+    }
+
+    /**
+     * Перетворює введений користувачем текст на вираз {@code MATCH} для FTS5.
+     * Розділові знаки та лапки вважаються роздільниками (так само їх трактує токенізатор),
+     * тому користувацький текст ніколи не інтерпретується як синтаксис FTS5.
+     * Кожне слово стає префіксним запитом у стовпцях {@code title} та {@code author}.
+     *
+     * @param searchTerm Рядок для пошуку.
+     * @return Вираз для {@code MATCH} або порожній рядок, якщо запит не містить слів.
+     */
+    static String toFtsMatchExpression(String searchTerm) {
+        String terms = Arrays.stream(searchTerm.split("[^\\p{L}\\p{M}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> "\"" + token + "\"*")
+                .collect(Collectors.joining(" "));
+        return terms.isEmpty() ? "" : "{title author} : (" + terms + ")";
     }
 
     /**
@@ -344,16 +799,18 @@ public class SqliteBookDao implements BookDao {
         pstmt.setString(2, book.getAuthor());
         pstmt.setString(3, book.getGenre());
         pstmt.setString(4, book.getStatus().name());
-        pstmt.setString(5, book.getDateAdded().toString());
+        pstmt.setLong(5, book.getDateAdded().toEpochDay());
         if (book.getDateRead() != null) {
-            pstmt.setString(6, book.getDateRead().toString());
+            pstmt.setLong(6, book.getDateRead().toEpochDay());
         } else {
-            pstmt.setNull(6, Types.VARCHAR);
+            pstmt.setNull(6, Types.INTEGER);
         }
         pstmt.setInt(7, book.getRating());
         pstmt.setString(8, book.getComment());
         pstmt.setString(9, book.getCoverImagePath());
         pstmt.setInt(10, book.isFavorite() ? 1 : 0);
+        pstmt.setString(11, BookSortKey.normalize(book.getTitle()));
+        pstmt.setString(12, BookSortKey.normalize(book.getAuthor()));
     }
 
     /**
@@ -365,12 +822,12 @@ public class SqliteBookDao implements BookDao {
     @Override
     public List<String> getDistinctGenres() {
         log.debug("Спроба отримати список унікальних жанрів.");
-        String sql = "SELECT DISTINCT genre FROM books WHERE genre IS NOT NULL AND genre != '' ORDER BY genre ASC";
+        String sql = SELECT_DISTINCT_GENRES_SQL;
         final List<String> genres = new ArrayList<>();
 
         executeWithConnection(conn -> {
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
 
                 while (rs.next()) {
                     genres.add(rs.getString("genre"));
@@ -385,53 +842,172 @@ public class SqliteBookDao implements BookDao {
     // --- Реалізація методів для статистики ---
 
     /**
-     * Повертає загальну кількість прочитаних книг.
+     * Повертає загальну кількість прочитаних книг з таблиці підсумків {@code reading_summary}.
      *
      * @return Загальна кількість книг зі статусом {@link ReadingStatus#READ}.
-     *         Повертає 0 у разі помилки SQL, щоб уникнути переривання роботи статистики.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
      */
     @Override
     public int getTotalBooksReadCount() {
-        String sql = "SELECT COUNT(*) FROM books WHERE status = ?";
-        final Holder<Integer> count = new Holder<>(0);
+        int count = querySummaryCount(SUM_READING_SUMMARY_SQL);
+        log.debug("Загальна кількість прочитаних книг: {}.", count);
+        return count;
+    }
+
+    /**
+     * Повертає кількість книг, прочитаних у вказаному році, з таблиці підсумків {@code reading_summary}.
+     *
+     * @param year Рік для підрахунку.
+     * @return Кількість книг зі статусом {@link ReadingStatus#READ}, прочитаних у вказаному році.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public int getBooksReadCountByYear(int year) {
+        int count = querySummaryCount(SUM_READING_SUMMARY_BY_YEAR_SQL, year);
+        log.debug("Кількість книг, прочитаних у {} році: {}.", year, count);
+        return count;
+    }
+
+    /**
+     * Повертає кількість книг, прочитаних у вказаному місяці та році, з таблиці підсумків {@code reading_summary}.
+     *
+     * @param year Рік.
+     * @param month Місяць (1-12).
+     * @return Кількість книг зі статусом {@link ReadingStatus#READ}, прочитаних у вказаному місяці та році
+     *         (0 для номера місяця поза межами 1-12).
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public int getBooksReadCountByMonthAndYear(int year, int month) {
+        int count = querySummaryCount(SELECT_READING_SUMMARY_MONTH_SQL, year, month);
+        log.debug("Кількість книг, прочитаних у {}-{}: {}.", year, String.format("%02d", month), count);
+        return count;
+    }
+
+    /**
+     * Повертає гістограму прочитаних книг за місяцями, прочитавши всю таблицю підсумків
+     * {@code reading_summary} (не більше одного рядка на місяць).
+     *
+     * @return {@link ReadingHistogram} для всіх прочитаних книг.
+     * @throws DataAccessException Якщо виникає помилка SQL під час виконання операції.
+     */
+    @Override
+    public ReadingHistogram getReadingHistogram() {
+        String sql = SELECT_READING_SUMMARY_SQL;
+        final Holder<Integer> total = new Holder<>(0);
+        final Map<YearMonth, Integer> readByMonth = new HashMap<>();
 
         executeWithConnection(conn -> {
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, ReadingStatus.READ.name());
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        count.value = rs.getInt(1);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int year = rs.getInt(1);
+                    int month = rs.getInt(2);
+                    int count = rs.getInt(3);
+                    total.value += count;
+                    if (month != 0) {
+                        readByMonth.put(YearMonth.of(year, month), count);
                     }
                 }
-                log.debug("Загальна кількість прочитаних книг: {}.", count.value);
             }
             return null;
         });
-        return count.value;
+        log.debug("Гістограма прочитаних книг: усього {}, місяців з прочитаними книгами {}.", total.value, readByMonth.size());
+        return new ReadingHistogram(total.value, readByMonth);
     }
 
     /**
-     * Повертає кількість книг, прочитаних у вказаному році.
-     *
-     * @param year Рік для підрахунку.
-     * @return Кількість книг зі статусом {@link ReadingStatus#READ}, прочитаних у вказаному році.
-     *         Повертає 0 у разі помилки SQL.
+     * {@inheritDoc}
+     * Таблиця очищається і заповнюється агрегуючим запитом по {@code books} в одній транзакції.
      */
     @Override
-    public int getBooksReadCountByYear(int year) {
-        String sql = "SELECT COUNT(*) FROM books WHERE status = ? AND strftime('%Y', dateRead) = ?";
+    public void rebuildReadingSummary() {
+        log.info("Перерахунок таблиці підсумків прочитаних книг...");
+        DatabaseManager.inTransaction(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : SchemaMigrator.REBUILD_READING_SUMMARY_SQL) {
+                    stmt.executeUpdate(sql);
+                }
+            }
+            return null;
+        });
+        // Закешована на основі підсумків статистика могла бути обчислена з пошкоджених даних.
+        DatabaseManager.afterCommit(modificationCount::incrementAndGet);
+        log.info("Таблицю підсумків прочитаних книг перераховано.");
+    }
+
+    /**
+     * Узгоджує ключі сортування {@code titleSortKey} та {@code authorSortKey} з назвою та автором
+     * кожної книги ({@link BookSortKey#normalize(String)}). Програма записує ключі разом з книгою,
+     * тому розбіжності бувають лише в книгах, що були в базі даних до появи ключів, або в книгах,
+     * доданих чи змінених іншими клієнтами SQLite (вони отримують порожні ключі або зберігають
+     * старі). Викликається під час запуску програми після міграції схеми
+     * ({@link DatabaseManager#initializeDatabase()}); читає лише назви, авторів і ключі, а змінені
+     * ключі записує однією транзакцією.
+     *
+     * @param conn З'єднання з базою даних у режимі автоматичного підтвердження.
+     * @return Кількість книг, ключі яких було виправлено.
+     * @throws SQLException якщо виникає помилка SQL; зміни відкочуються.
+     */
+    static int refreshSortKeys(Connection conn) throws SQLException {
+
+        List<SortKeys> stale = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_SORT_KEYS_SQL)) {
+            while (rs.next()) {
+                String titleKey = BookSortKey.normalize(rs.getString("title"));
+                String authorKey = BookSortKey.normalize(rs.getString("author"));
+                if (!titleKey.equals(rs.getString("titleSortKey")) || !authorKey.equals(rs.getString("authorSortKey"))) {
+                    stale.add(new SortKeys(rs.getLong("id"), titleKey, authorKey));
+                }
+            }
+        }
+        if (stale.isEmpty()) {
+            log.debug("Ключі сортування всіх книг актуальні.");
+            return 0;
+        }
+
+        boolean previousAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SORT_KEYS_SQL)) {
+            for (SortKeys keys : stale) {
+                pstmt.setString(1, keys.titleKey());
+                pstmt.setString(2, keys.authorKey());
+                pstmt.setLong(3, keys.id());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+        }
+        log.info("Оновлено ключі сортування {} книг.", stale.size());
+        return stale.size();
+    }
+
+    /**
+     * Виконує запит до таблиці підсумків, що повертає одне число.
+     *
+     * @param sql Запит з цілими параметрами.
+     * @param params Значення параметрів по порядку.
+     * @return Результат запиту.
+     */
+    private int querySummaryCount(String sql, int... params) {
         final Holder<Integer> count = new Holder<>(0);
 
         executeWithConnection(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, ReadingStatus.READ.name());
-                pstmt.setString(2, String.valueOf(year));
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setInt(i + 1, params[i]);
+                }
                 try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
                         count.value = rs.getInt(1);
                     }
                 }
-                log.debug("Кількість книг, прочитаних у {} році: {}.", year, count.value);
             }
             return null;
         });
@@ -439,36 +1015,54 @@ public class SqliteBookDao implements BookDao {
     }
 
     /**
-     * Повертає кількість книг, прочитаних у вказаному місяці та році.
-     *
-     * @param year Рік.
-     * @param month Місяць (1-12).
-     * @return Кількість книг зі статусом {@link ReadingStatus#READ}, прочитаних у вказаному місяці та році.
-     *         Повертає 0 у разі помилки SQL.
+     * {@inheritDoc}
+     * Лічильник спільний для всіх екземплярів {@code SqliteBookDao} і збільшується після підтвердження
+     * транзакції кожного пакетного (а отже й одиночного) запису, навіть якщо частина рядків завершилася помилкою.
      */
     @Override
-    public int getBooksReadCountByMonthAndYear(int year, int month) {
-        String sql = "SELECT COUNT(*) FROM books WHERE status = ? AND strftime('%Y', dateRead) = ? AND strftime('%m', dateRead) = ?";
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Дати зберігаються як кількість днів від 1970-01-01, тому умова по діапазону (на відміну від
+     * {@code strftime(dateRead)}) є пошуком діапазону в індексі {@code idx_books_status_dateRead}.
+     */
+    @Override
+    public int countReadBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Межі періоду не можуть бути null.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException(String.format(
+                    "Кінець періоду %s раніше за його початок %s.", to, from));
+        }
+        String sql = COUNT_BOOKS_READ_BETWEEN_SQL;
         final Holder<Integer> count = new Holder<>(0);
-        String monthFormatted = String.format("%02d", month);
 
         executeWithConnection(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setString(1, ReadingStatus.READ.name());
-                pstmt.setString(2, String.valueOf(year));
-                pstmt.setString(3, monthFormatted);
+                pstmt.setLong(2, from.toEpochDay());
+                pstmt.setLong(3, to.toEpochDay());
                 try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
                         count.value = rs.getInt(1);
                     }
                 }
-                log.debug("Кількість книг, прочитаних у {}-{}: {}.", year, monthFormatted, count.value);
             }
             return null;
         });
         return count.value;
     }
 
+    /**
+     * Нові ключі сортування книги для {@link #refreshSortKeys(Connection)}.
+     */
+    private record SortKeys(long id, String titleKey, String authorKey) {
+    }
+
     /**
      * Допоміжний клас для зберігання змінюваних значень у лямбда-виразах.
      */
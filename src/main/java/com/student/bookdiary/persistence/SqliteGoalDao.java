@@ -15,14 +15,29 @@ import java.util.Optional;
  * Клас {@code SqliteGoalDao} є реалізацією інтерфейсу {@link GoalDao}
  * для роботи з базою даних SQLite. Він відповідає за виконання операцій
  * CRUD (Create, Read, Update, Delete) та інших запитів до таблиці цілей.
+ * Після кожної зміни публікує подію {@link ChangeEvent.GoalChanged} на шині {@link ChangeEventBus}.
  */
 public class SqliteGoalDao implements GoalDao {
 
     private static final Logger log = LoggerFactory.getLogger(SqliteGoalDao.class);
 
+    // --- SQL-запити (перевіряються тестом плану запитів QueryPlanTest) ---
+
+    /** Додавання нової цілі. */
+    static final String INSERT_GOAL_SQL = "INSERT INTO goals(description, type, targetValue, year, month, dateAdded) VALUES(?,?,?,?,?,?)";
+    /** Оновлення всіх полів цілі за ID. */
+    static final String UPDATE_GOAL_SQL = "UPDATE goals SET description = ?, type = ?, targetValue = ?, year = ?, month = ?, dateAdded = ? WHERE id = ?";
+    /** Видалення цілі за ID. */
+    static final String DELETE_GOAL_SQL = "DELETE FROM goals WHERE id = ?";
+    /** Пошук цілі за ID. */
+    static final String SELECT_GOAL_BY_ID_SQL = "SELECT * FROM goals WHERE id = ?";
+    /** Усі цілі, новіші першими (індекс {@code idx_goals_dateAdded}). */
+    static final String SELECT_ALL_GOALS_SQL = "SELECT * FROM goals ORDER BY dateAdded DESC";
+
     /**
-     * Виконує операцію з базою даних, використовуючи надане з'єднання.
-     * Автоматично закриває з'єднання, якщо воно не є in-memory з'єднанням.
+     * Виконує операцію з базою даних, використовуючи з'єднання, отримане від {@link DatabaseManager}.
+     * Після виконання повертає з'єднання до пулу (виклик {@code close()} на пулі не закриває
+     * фізичне з'єднання), якщо воно не є in-memory з'єднанням.
      *
      * @param operation Операція для виконання
      * @param <T> Тип результату
@@ -42,7 +57,7 @@ public class SqliteGoalDao implements GoalDao {
                 try {
                     conn.close();
                 } catch (SQLException e) {
-                    log.warn("Помилка під час закриття з'єднання: {}", e.getMessage(), e);
+                    log.warn("Помилка під час повернення з'єднання до пулу: {}", e.getMessage(), e);
                 }
             }
         }
@@ -64,7 +79,7 @@ public class SqliteGoalDao implements GoalDao {
     public void addGoal(Goal goal) {
         log.debug("Спроба додати нову ціль. Опис: '{}', тип: {}, значення: {}, рік: {}, місяць: {}",
                 goal.getDescription(), goal.getType(), goal.getTargetValue(), goal.getYear(), goal.getMonth());
-        String sql = "INSERT INTO goals(description, type, targetValue, year, month, dateAdded) VALUES(?,?,?,?,?,?)";
+        String sql = INSERT_GOAL_SQL;
 
         executeWithConnection(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -90,6 +105,7 @@ public class SqliteGoalDao implements GoalDao {
             }
             return null;
         });
+        ChangeEventBus.getInstance().publishAfterCommit(new ChangeEvent.GoalChanged(goal.getId()));
     }
 
     /**
@@ -101,7 +117,7 @@ public class SqliteGoalDao implements GoalDao {
     @Override
     public void updateGoal(Goal goal) {
         log.debug("Спроба оновити ціль з ID={}. Новий опис: '{}'", goal.getId(), goal.getDescription());
-        String sql = "UPDATE goals SET description = ?, type = ?, targetValue = ?, year = ?, month = ?, dateAdded = ? WHERE id = ?";
+        String sql = UPDATE_GOAL_SQL;
 
         executeWithConnection(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -118,6 +134,7 @@ public class SqliteGoalDao implements GoalDao {
             }
             return null;
         });
+        ChangeEventBus.getInstance().publishAfterCommit(new ChangeEvent.GoalChanged(goal.getId()));
     }
 
     /**
@@ -129,7 +146,7 @@ public class SqliteGoalDao implements GoalDao {
     @Override
     public void deleteGoal(long goalId) {
         log.debug("Спроба видалити ціль з ID={}", goalId);
-        String sql = "DELETE FROM goals WHERE id = ?";
+        String sql = DELETE_GOAL_SQL;
 
         executeWithConnection(conn -> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -144,6 +161,7 @@ public class SqliteGoalDao implements GoalDao {
             }
             return null;
         });
+        ChangeEventBus.getInstance().publishAfterCommit(new ChangeEvent.GoalChanged(goalId));
     }
 
     /**
@@ -156,7 +174,7 @@ public class SqliteGoalDao implements GoalDao {
     @Override
     public Optional<Goal> getGoalById(long goalId) {
         log.debug("Спроба знайти ціль за ID={}", goalId);
-        String sql = "SELECT * FROM goals WHERE id = ?";
+        String sql = SELECT_GOAL_BY_ID_SQL;
         final Holder<Optional<Goal>> goalHolder = new Holder<>(Optional.empty());
 
         executeWithConnection(conn -> {
@@ -185,12 +203,12 @@ public class SqliteGoalDao implements GoalDao {
     @Override
     public List<Goal> getAllGoals() {
         log.debug("Спроба отримати список всіх цілей.");
-        String sql = "SELECT * FROM goals ORDER BY dateAdded DESC";
+        String sql = SELECT_ALL_GOALS_SQL;
         final List<Goal> goals = new ArrayList<>();
 
         executeWithConnection(conn -> {
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     goals.add(mapResultSetToGoal(rs));
                 }
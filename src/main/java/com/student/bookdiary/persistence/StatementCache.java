@@ -0,0 +1,268 @@
+package com.student.bookdiary.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кеш підготовлених запитів одного фізичного з'єднання з пулу ({@link ConnectionPool}).
+ * <p>
+ * SQLite розбирає та планує SQL під час {@code prepareStatement}, тому DAO, які щоразу готують
+ * той самий запит, повторюють цю роботу. Кеш зберігає вільні {@link PreparedStatement} за текстом
+ * запиту: {@link #prepare} повертає обгортку над збереженим запитом (або готує новий), а її
+ * {@code close()} не закриває запит, а очищає його параметри і повертає до кешу. Тому код DAO
+ * не змінюється і використовує звичний шаблон try-with-resources.
+ * <p>
+ * Розмір кешу обмежений: коли вільних запитів більше за {@code maxSize}, найдавніше
+ * використаний закривається. Запит, який зараз використовується, у кеші не зберігається,
+ * тому повторне (вкладене) приготування того самого SQL отримує окремий запит.
+ * Після зміни схеми бази даних кеш очищається ({@link #clear()}).
+ */
+final class StatementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCache.class);
+
+    /** Ключ запиту: текст SQL і режим повернення згенерованих ключів. */
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * Лічильники звернень до кешів запитів, спільні для всіх з'єднань пулу.
+     */
+    static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        StatementCacheStats snapshot() {
+            return new StatementCacheStats(hits.sum(), misses.sum(), evictions.sum());
+        }
+    }
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Counters counters;
+    /** Вільні запити в порядку використання: першим іде найдавніше використаний. */
+    private final LinkedHashMap<Key, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+    /** Номер поточного запозичення з'єднання; запити попередніх запозичень до кешу не повертаються. */
+    private long lease;
+    private boolean leased;
+    private long generation;
+
+    /**
+     * @param physical Фізичне з'єднання, для якого готуються запити.
+     * @param maxSize Максимальна кількість вільних запитів у кеші (більше нуля).
+     * @param counters Лічильники звернень пулу.
+     */
+    StatementCache(Connection physical, int maxSize, Counters counters) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.counters = counters;
+    }
+
+    /**
+     * Позначає початок запозичення з'єднання. Якщо з моменту попереднього запозичення
+     * схема бази даних змінилася ({@code generation} пулу збільшився), кеш очищається.
+     *
+     * @param currentGeneration Поточне покоління кешів запитів пулу.
+     */
+    synchronized void open(long currentGeneration) {
+        if (generation != currentGeneration) {
+            clearIdle();
+            generation = currentGeneration;
+        }
+        lease++;
+        leased = true;
+    }
+
+    /**
+     * Позначає повернення з'єднання до пулу. Запити, закриті після цього, не повертаються до кешу.
+     */
+    synchronized void close() {
+        leased = false;
+    }
+
+    /**
+     * Повертає підготовлений запит з кешу або готує новий.
+     *
+     * @param owner Обгортка з'єднання, яку повертає {@link PreparedStatement#getConnection()}.
+     * @param sql Текст запиту.
+     * @param autoGeneratedKeys {@link java.sql.Statement#RETURN_GENERATED_KEYS} або
+     *                          {@link java.sql.Statement#NO_GENERATED_KEYS}.
+     * @return Обгортка над запитом; її {@code close()} повертає запит до кешу.
+     * @throws SQLException якщо не вдалося підготувати запит.
+     */
+    synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement statement = idle.remove(key);
+        if (statement != null) {
+            counters.hits.increment();
+        } else {
+            counters.misses.increment();
+            statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(owner, key, statement, lease));
+    }
+
+    /**
+     * Повертає запит до кешу після використання. Якщо з'єднання вже повернуто до пулу
+     * або запит не вдалося підготувати до повторного використання, запит закривається.
+     */
+    private synchronized void giveBack(Key key, PreparedStatement statement, long statementLease) {
+        if (!leased || statementLease != lease) {
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            statement.clearParameters();
+        } catch (SQLException e) {
+            log.debug("Не вдалося очистити параметри запиту, запит не кешується: {}", e.getMessage());
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement previous = idle.put(key, statement);
+        if (previous != null) {
+            // Той самий SQL готувався двічі одночасно; зберігається лише один екземпляр.
+            closeQuietly(previous);
+        }
+        if (idle.size() > maxSize) {
+            Iterator<PreparedStatement> eldest = idle.values().iterator();
+            closeQuietly(eldest.next());
+            eldest.remove();
+            counters.evictions.increment();
+        }
+    }
+
+    /**
+     * Закриває всі вільні запити. Викликається після зміни схеми бази даних
+     * та перед закриттям фізичного з'єднання.
+     */
+    synchronized void clear() {
+        clearIdle();
+    }
+
+    private void clearIdle() {
+        if (idle.isEmpty()) {
+            return;
+        }
+        log.debug("Очищення кешу підготовлених запитів ({} запит(ів)).", idle.size());
+        for (PreparedStatement statement : idle.values()) {
+            closeQuietly(statement);
+        }
+        idle.clear();
+    }
+
+    /**
+     * @return Кількість вільних запитів у кеші.
+     */
+    synchronized int size() {
+        return idle.size();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Помилка під час закриття підготовленого запиту: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Обробник викликів для обгортки кешованого запиту. Метод {@code close()} закриває
+     * відкриті результати запиту (щоб SQLite скинув запит і звільнив знімок читання)
+     * і повертає запит до кешу; інші виклики після цього завершуються {@link SQLException}.
+     */
+    private final class CachedStatementHandler implements InvocationHandler {
+        private final Connection owner;
+        private final Key key;
+        private final PreparedStatement statement;
+        private final long statementLease;
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private boolean closed;
+
+        CachedStatementHandler(Connection owner, Key key, PreparedStatement statement, long statementLease) {
+            this.owner = owner;
+            this.key = key;
+            this.statement = statement;
+            this.statementLease = statementLease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        closeResultSets();
+                        giveBack(key, statement, statementLease);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + key.sql() + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Запит вже закрито.");
+                    }
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet rs) {
+                resultSets.add(rs);
+            }
+            return result;
+        }
+
+        private void closeResultSets() {
+            for (ResultSet rs : resultSets) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    log.debug("Помилка під час закриття результату кешованого запиту: {}", e.getMessage());
+                }
+            }
+            resultSets.clear();
+        }
+    }
+
+    /**
+     * @return Тексти SQL вільних запитів від найдавніше до найнещодавніше використаного.
+     */
+    synchronized List<String> cachedSql() {
+        return idle.keySet().stream().map(Key::sql).toList();
+    }
+}
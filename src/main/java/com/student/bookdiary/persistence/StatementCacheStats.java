@@ -0,0 +1,23 @@
+package com.student.bookdiary.persistence;
+
+/**
+ * Знімок лічильників кешів підготовлених запитів пулу з'єднань
+ * ({@link DatabaseManager#getStatementCacheStats()}).
+ *
+ * @param hits Кількість запитів, узятих з кешу без повторного розбору SQL.
+ * @param misses Кількість запитів, які довелося підготувати заново.
+ * @param evictions Кількість запитів, закритих через перевищення розміру кешу.
+ */
+public record StatementCacheStats(long hits, long misses, long evictions) {
+
+    /** Лічильники без жодного звернення (наприклад, для in-memory бази даних без пулу). */
+    public static final StatementCacheStats EMPTY = new StatementCacheStats(0, 0, 0);
+
+    /**
+     * @return Частка звернень, обслужених кешем (від 0 до 1), або 0, якщо звернень не було.
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
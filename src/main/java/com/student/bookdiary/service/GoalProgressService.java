@@ -0,0 +1,131 @@
+package com.student.bookdiary.service;
+
+import com.student.bookdiary.model.Goal;
+import com.student.bookdiary.model.GoalType;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.persistence.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сервіс розрахунку прогресу цілей читання.
+ * <p>
+ * Для набору цілей спочатку збираються всі різні періоди (тип цілі, рік, місяць),
+ * кожен період обчислюється один раз з гістограми прочитаних книг {@link ReadingStatsService}
+ * (один згрупований запит, результат якого кешується), а потім прогрес роздається цілям.
+ * Тому відображення та сортування будь-якої кількості цілей не звертається до бази даних повторно.
+ */
+public class GoalProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(GoalProgressService.class);
+
+    private static final GoalProgressService INSTANCE = new GoalProgressService(ReadingStatsService.getInstance());
+
+    /**
+     * Прогрес однієї цілі.
+     *
+     * @param current Кількість прочитаних книг, що зараховуються цілі.
+     * @param target Цільова кількість книг.
+     */
+    public record Progress(int current, int target) {
+
+        /**
+         * @return {@code true}, якщо ціль має додатне цільове значення і його досягнуто.
+         */
+        public boolean isAchieved() {
+            return target > 0 && current >= target;
+        }
+
+        /**
+         * @return Частка виконання від 0.0 до 1.0 (для індикатора прогресу).
+         */
+        public double fraction() {
+            return target > 0 ? Math.min((double) current / target, 1.0) : 0;
+        }
+    }
+
+    /**
+     * Період, за який рахується прогрес цілі. Цілі з однаковим періодом мають однаковий прогрес.
+     * Для {@link GoalType#TOTAL} рік і місяць не використовуються, для {@link GoalType#YEARLY} - місяць.
+     */
+    private record Period(GoalType type, Integer year, Integer month) {
+
+        static Period of(Goal goal) {
+            return switch (goal.getType()) {
+                case MONTHLY -> new Period(GoalType.MONTHLY, goal.getYear(), goal.getMonth());
+                case YEARLY -> new Period(GoalType.YEARLY, goal.getYear(), null);
+                case TOTAL -> new Period(GoalType.TOTAL, null, null);
+            };
+        }
+    }
+
+    private final ReadingStatsService statsService;
+
+    /**
+     * Створює сервіс, що бере дані з вказаного сервісу статистики (використовується в тестах).
+     *
+     * @param statsService Джерело гістограми прочитаних книг.
+     */
+    GoalProgressService(ReadingStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    /**
+     * @return Спільний екземпляр сервісу.
+     */
+    public static GoalProgressService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Розраховує прогрес для всіх вказаних цілей.
+     *
+     * @param goals Цілі, для яких потрібен прогрес.
+     * @return Прогрес кожної цілі; порядок ітерації відповідає порядку вхідної колекції.
+     * @throws DataAccessException Якщо не вдалося завантажити статистику читання.
+     */
+    public Map<Goal, Progress> evaluate(Collection<Goal> goals) {
+        ReadingHistogram histogram = statsService.getHistogram();
+        Map<Period, Integer> progressByPeriod = new HashMap<>();
+        Map<Goal, Progress> result = new LinkedHashMap<>();
+
+        for (Goal goal : goals) {
+            int current = 0;
+            if (goal.getType() == null) {
+                log.warn("Спроба розрахувати прогрес для цілі без типу: ID {}", goal.getId());
+            } else {
+                current = progressByPeriod.computeIfAbsent(Period.of(goal), period -> resolve(period, histogram));
+            }
+            result.put(goal, new Progress(current, goal.getTargetValue()));
+        }
+        log.debug("Розраховано прогрес для {} цілей ({} різних періодів).", result.size(), progressByPeriod.size());
+        return result;
+    }
+
+    private int resolve(Period period, ReadingHistogram histogram) {
+        switch (period.type()) {
+            case MONTHLY -> {
+                if (period.year() != null && period.month() != null) {
+                    return histogram.countForMonth(period.year(), period.month());
+                }
+                log.warn("Для місячної цілі не вказано рік або місяць.");
+                return 0;
+            }
+            case YEARLY -> {
+                if (period.year() != null) {
+                    return histogram.countForYear(period.year());
+                }
+                log.warn("Для річної цілі не вказано рік.");
+                return 0;
+            }
+            default -> {
+                return histogram.totalRead();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.student.bookdiary.service;
+
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.persistence.BookDao;
+import com.student.bookdiary.persistence.ChangeEvent;
+import com.student.bookdiary.persistence.ChangeEventBus;
+import com.student.bookdiary.persistence.DataAccessException;
+import com.student.bookdiary.persistence.SqliteBookDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Сервіс статистики читання. Завантажує повну гістограму прочитаних книг за місяцями
+ * одним запитом ({@link BookDao#getReadingHistogram()}), кешує її та відповідає на запити
+ * про загальну кількість книг, кількість за рік і за місяць з пам'яті.
+ * <p>
+ * Кеш вважається актуальним, доки не змінився лічильник змін книг
+ * ({@link BookDao#getModificationCount()}); тому перемикання року чи місяця на екрані
+ * статистики не звертається до бази даних. Після заміни файлу бази даних (імпорт)
+ * кеш слід скинути явно через {@link #invalidate()}.
+ * <p>
+ * Спільний екземпляр також підписаний на події змін книг ({@link ChangeEventBus}) і скидає кеш
+ * лише тоді, коли зміна впливає на статистику ({@link #affectsStatistics(ChangeEvent)}).
+ */
+public class ReadingStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingStatsService.class);
+
+    private static final ReadingStatsService INSTANCE = new ReadingStatsService(new SqliteBookDao());
+
+    /** Поля книги, від яких залежить гістограма прочитаних книг. */
+    private static final Set<BookField> STATISTICS_FIELDS = EnumSet.of(BookField.STATUS, BookField.DATE_READ);
+
+    static {
+        ChangeEventBus.getInstance().subscribe(event -> {
+            if (affectsStatistics(event)) {
+                INSTANCE.invalidate();
+            }
+        });
+    }
+
+    /** Закешована гістограма разом зі значенням лічильника змін, для якого вона обчислена. */
+    private record Snapshot(long modificationCount, ReadingHistogram histogram) {
+    }
+
+    private final BookDao bookDao;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Створює сервіс для вказаного DAO (використовується в тестах).
+     *
+     * @param bookDao Джерело даних про книги.
+     */
+    ReadingStatsService(BookDao bookDao) {
+        this.bookDao = bookDao;
+    }
+
+    /**
+     * @return Спільний екземпляр сервісу, яким користуються всі контролери.
+     */
+    public static ReadingStatsService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Повертає гістограму прочитаних книг, за потреби перезавантажуючи її з бази даних.
+     *
+     * @return Актуальна {@link ReadingHistogram}.
+     * @throws DataAccessException Якщо не вдалося завантажити статистику.
+     */
+    public ReadingHistogram getHistogram() {
+        // Лічильник зчитується до запиту: якщо книги зміняться під час завантаження,
+        // наступний виклик побачить нове значення і перезавантажить гістограму.
+        long modificationCount = bookDao.getModificationCount();
+        Snapshot current = snapshot;
+        if (current != null && current.modificationCount() == modificationCount) {
+            return current.histogram();
+        }
+        log.debug("Завантаження гістограми прочитаних книг (лічильник змін: {}).", modificationCount);
+        ReadingHistogram histogram = bookDao.getReadingHistogram();
+        snapshot = new Snapshot(modificationCount, histogram);
+        return histogram;
+    }
+
+    /**
+     * @return Загальна кількість прочитаних книг.
+     */
+    public int getTotalBooksRead() {
+        return getHistogram().totalRead();
+    }
+
+    /**
+     * @param year Рік.
+     * @return Кількість книг, прочитаних у вказаному році.
+     */
+    public int getBooksReadInYear(int year) {
+        return getHistogram().countForYear(year);
+    }
+
+    /**
+     * @param year Рік.
+     * @param month Номер місяця (від 1 до 12).
+     * @return Кількість книг, прочитаних у вказаному місяці.
+     */
+    public int getBooksReadInMonth(int year, int month) {
+        return getHistogram().countForMonth(year, month);
+    }
+
+    /**
+     * Визначає, чи може зміна даних вплинути на статистику читання і прогрес цілей:
+     * додавання та видалення книг або зміна статусу чи дати прочитання.
+     *
+     * @param event Подія зміни.
+     * @return {@code true}, якщо статистику потрібно перерахувати.
+     */
+    public static boolean affectsStatistics(ChangeEvent event) {
+        return switch (event) {
+            case ChangeEvent.BookAdded _, ChangeEvent.BookDeleted _ -> true;
+            case ChangeEvent.BookUpdated updated -> updated.changedAny(STATISTICS_FIELDS);
+            case ChangeEvent.GoalChanged _ -> false;
+        };
+    }
+
+    /**
+     * Скидає закешовану гістограму; наступний запит завантажить її з бази даних.
+     * Потрібен, коли дані змінюються в обхід DAO (наприклад, після імпорту резервної копії).
+     */
+    public void invalidate() {
+        log.debug("Кеш статистики читання скинуто.");
+        snapshot = null;
+    }
+}
@@ -18,7 +18,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream; // Потрібно для getResourceAsStream
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -255,6 +254,7 @@ public class AddEditBookController {
                 Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
                 log.info("Файл обкладинки '{}' скопійовано до '{}'", originalCoverSourcePath, target);
                 finalCoverImageNameToSaveInDb = targetCoverFilename;
+                createCoverThumbnails(targetCoverFilename);
 
                 if (oldCoverFilenameInDb != null && !oldCoverFilenameInDb.equals(targetCoverFilename)) {
                     deleteCoverFile(oldCoverFilenameInDb); // Видаляємо стару обкладинку, якщо вона змінилася
@@ -395,21 +395,11 @@ public class AddEditBookController {
     }
 
     /**
-     * Завантажує зображення-заглушку для обкладинки з ресурсів.
+     * Повертає спільне зображення-заглушку для обкладинки ({@link CoverImageCache#placeholder()}).
      * @return Об'єкт {@link Image} заглушки або null, якщо не вдалося завантажити.
      */
     private Image loadDefaultImage() {
-        String defaultCoverPath = "/com/student/bookdiary/ui/icons/default_book_cover.png";
-        try (InputStream is = getClass().getResourceAsStream(defaultCoverPath)) {
-            if (is == null) {
-                log.error("Не вдалося знайти ресурс зображення-заглушки: {}", defaultCoverPath);
-                return null;
-            }
-            return new Image(is);
-        } catch (IOException | NullPointerException e) {
-            log.error("Помилка завантаження зображення-заглушки з ресурсів: {}", defaultCoverPath, e);
-            return null;
-        }
+        return CoverImageCache.getInstance().placeholder();
     }
 
     /**
@@ -438,10 +428,10 @@ public class AddEditBookController {
             imageFile = path.toFile();
             log.debug("Спроба завантажити обкладинку з вказаного шляху: {}", imagePathOrFilename);
         } else {
-            // Припускаємо, що це ім'я файлу в директорії App.COVERS_DIRECTORY_NAME
-            Path coverPath = Paths.get(App.COVERS_DIRECTORY_NAME, imagePathOrFilename);
-            imageFile = coverPath.toFile();
-            log.debug("Спроба завантажити обкладинку з директорії додатку: {}", coverPath);
+            // Ім'я файлу в директорії App.COVERS_DIRECTORY_NAME: показуємо зі спільного кешу обкладинок
+            log.debug("Завантаження обкладинки '{}' з директорії додатку.", imagePathOrFilename);
+            CoverImageCache.getInstance().show(coverImageView, imagePathOrFilename, CoverThumbnailStore.Variant.DETAIL);
+            return;
         }
 
         if (imageFile.exists() && imageFile.isFile()) {
@@ -531,6 +521,19 @@ public class AddEditBookController {
         }
     }
 
+    /**
+     * Створює мініатюри щойно збереженої обкладинки, щоб подання не декодували оригінал.
+     * Помилка не перериває збереження книги: мініатюри буде створено пізніше у фоновому потоці.
+     * @param filename Ім'я файлу обкладинки в директорії 'covers'.
+     */
+    private void createCoverThumbnails(String filename) {
+        try {
+            CoverThumbnailStore.getInstance().createThumbnails(filename);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Не вдалося створити мініатюри обкладинки '{}': {}", filename, e.getMessage());
+        }
+    }
+
     /**
      * Видаляє файл обкладинки з директорії 'covers'.
      * @param filename Ім'я файлу для видалення.
@@ -542,6 +545,8 @@ public class AddEditBookController {
         }
         try {
             Path coverPath = Paths.get(App.COVERS_DIRECTORY_NAME, filename); // Використовуємо константу з App
+            CoverThumbnailStore.getInstance().deleteThumbnails(filename);
+            CoverImageCache.getInstance().invalidate(filename);
             if (Files.deleteIfExists(coverPath)) {
                 log.info("Файл обкладинки '{}' успішно видалено.", coverPath);
             } else {
@@ -72,7 +72,7 @@ public class App extends Application {
             ensureCoversDirectoryExists(); // Перевірка та створення папки для обкладинок
 
             log.info("Ініціалізація бази даних...");
-            DatabaseManager.initializeDatabase(); // Ініціалізація БД (створення таблиць)
+            DatabaseManager.initializeDatabase(); // Ініціалізація БД (міграції схеми виконуються один раз при старті)
             log.info("Базу даних успішно ініціалізовано.");
 
             log.info("Завантаження основного інтерфейсу користувача (primary.fxml)...");
@@ -127,6 +127,17 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Метод життєвого циклу JavaFX, що викликається під час завершення роботи програми.
+     * Закриває пул з'єднань з базою даних, щоб усі зміни були коректно збережені у файл.
+     */
+    @Override
+    public void stop() {
+        log.info("Завершення роботи застосунку Book Diary...");
+        DatabaseManager.closeConnection();
+        log.info("Ресурси бази даних звільнено.");
+    }
+
     /**
      * Перевіряє наявність директорії для зберігання файлів обкладинок книг.
      * Якщо директорія відсутня, метод намагається її створити.
@@ -1,13 +1,25 @@
 package com.student.bookdiary.ui;
 
+import com.student.bookdiary.persistence.ChangeEvent;
+import com.student.bookdiary.persistence.ChangeEventBus;
+import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * Абстрактний базовий клас для всіх контролерів подань (view) у додатку.
  * Надає загальну функціональність, таку як зберігання посилання на головний контролер
  * {@link PrimaryController} та визначення абстрактного методу {@link #refreshData()}
  * для оновлення даних у конкретному поданні.
+ * Також відстежує асинхронні читання подання ({@link #track(CompletableFuture)}) та підписки
+ * на події змін даних ({@link #subscribeToChanges(Consumer)}), які скасовуються, коли користувач
+ * переходить до іншого подання ({@link #dispose()}). Асинхронні записи не скасовуються: їх обробники
+ * перевіряють {@link #isDisposed()}, перш ніж оновлювати подання.
  */
 public abstract class BaseController {
     private static final Logger log = LoggerFactory.getLogger(BaseController.class);
@@ -19,6 +31,15 @@ public abstract class BaseController {
      */
     protected PrimaryController primaryController;
 
+    /** Незавершені асинхронні операції подання (доступ лише з потоку JavaFX). */
+    private final List<CompletableFuture<?>> pendingOperations = new ArrayList<>();
+
+    /** Підписки подання на події змін даних. */
+    private final List<ChangeEventBus.Subscription> subscriptions = new ArrayList<>();
+
+    /** Чи звільнено подання (доступ лише з потоку JavaFX). */
+    private boolean disposed;
+
     /**
      * Встановлює посилання на головний контролер програми {@link PrimaryController}.
      * Цей метод зазвичай викликається головним контролером під час завантаження
@@ -42,4 +63,56 @@ public abstract class BaseController {
      * видалення елементів).
      */
     public abstract void refreshData();
-}
\ No newline at end of file
+
+    /**
+     * Реєструє асинхронне читання подання, щоб скасувати його в {@link #dispose()}.
+     * Викликається з потоку JavaFX; завершена операція автоматично знімається з обліку.
+     * Записи (зміна чи видалення книги) не реєструються: скасування могло б пропустити запис
+     * або перервати його посередині, і користувач не дізнався б, чи збережено зміну.
+     *
+     * @param operation Операція (наприклад, результат {@link com.student.bookdiary.persistence.AsyncBookDao}).
+     * @param <T> Тип результату.
+     * @return Та сама операція.
+     */
+    protected <T> CompletableFuture<T> track(CompletableFuture<T> operation) {
+        pendingOperations.add(operation);
+        operation.whenComplete((result, error) -> pendingOperations.remove(operation));
+        return operation;
+    }
+
+    /**
+     * @return {@code true}, якщо подання вже замінено іншим ({@link #dispose()}) і його не потрібно оновлювати.
+     */
+    protected boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Підписує подання на події змін даних ({@link ChangeEventBus}). Обробник викликається
+     * в потоці JavaFX, доки подання не буде звільнено ({@link #dispose()}).
+     *
+     * @param handler Обробник подій змін.
+     */
+    protected void subscribeToChanges(Consumer<ChangeEvent> handler) {
+        subscriptions.add(ChangeEventBus.getInstance().subscribe(Platform::runLater, handler));
+    }
+
+    /**
+     * Звільняє ресурси подання, коли воно замінюється іншим у головному вікні:
+     * скасовує підписки на події змін та незавершені асинхронні операції, щоб вони не оновлювали
+     * приховане подання. Нащадки, що перевизначають метод, повинні викликати {@code super.dispose()}.
+     */
+    public void dispose() {
+        disposed = true;
+        subscriptions.forEach(ChangeEventBus.Subscription::close);
+        subscriptions.clear();
+        if (!pendingOperations.isEmpty()) {
+            log.debug("Скасування {} незавершених операцій контролера {}.",
+                    pendingOperations.size(), getClass().getSimpleName());
+            for (CompletableFuture<?> operation : List.copyOf(pendingOperations)) {
+                operation.cancel(true);
+            }
+            pendingOperations.clear();
+        }
+    }
+}
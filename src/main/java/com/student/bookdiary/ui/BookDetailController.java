@@ -2,12 +2,13 @@ package com.student.bookdiary.ui;
 
 import com.student.bookdiary.model.Book;
 import com.student.bookdiary.model.ReadingStatus;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
 import com.student.bookdiary.persistence.BookDao;
-import com.student.bookdiary.persistence.DataAccessException; // Припускаємо, що цей виняток існує
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.persistence.BookRepository;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
@@ -15,9 +16,7 @@ import javafx.stage.Window;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream; // Потрібно для getResourceAsStream
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,9 +32,6 @@ public class BookDetailController {
 
     private static final Logger log = LoggerFactory.getLogger(BookDetailController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    private static final String DEFAULT_COVER_IMAGE_PATH = "/com/student/bookdiary/ui/icons/default_book_cover.png";
-    private static final int COVER_DISPLAY_WIDTH = 400;  // Бажана ширина обкладинки для відображення
-    private static final int COVER_DISPLAY_HEIGHT = 600; // Бажана висота обкладинки для відображення
 
 
     // --- Поля, ін'єктовані з FXML ---
@@ -58,6 +54,7 @@ public class BookDetailController {
     private PrimaryController primaryController; // Посилання на головний контролер для навігації
     private String returnViewFxml; // Шлях до FXML-файлу попереднього вигляду для кнопки "Назад"
     private BookDao bookDao; // Об'єкт доступу до даних для книг
+    private AsyncBookDao asyncBookDao; // Виконує запити до БД поза потоком JavaFX
 
     /**
      * Метод ініціалізації контролера. Викликається JavaFX після завантаження FXML.
@@ -66,7 +63,8 @@ public class BookDetailController {
     @FXML
     private void initialize() {
         log.debug("Ініціалізація BookDetailController...");
-        this.bookDao = new SqliteBookDao(); // Створення екземпляра DAO
+        this.bookDao = BookRepository.getInstance(); // Спільний кеш книг над DAO
+        this.asyncBookDao = new AsyncBookDao(bookDao, Platform::runLater);
         commentArea.setWrapText(true); // Ввімкнення автоматичного перенесення тексту в полі коментаря
         log.debug("BookDetailController успішно ініціалізовано.");
     }
@@ -122,62 +120,15 @@ public class BookDetailController {
     }
 
     /**
-     * Завантажує зображення обкладинки книги.
-     * Якщо файл обкладинки вказано та існує, він завантажується.
-     * В іншому випадку встановлюється зображення-заглушка.
+     * Показує обкладинку книги зі спільного кешу обкладинок ({@link CoverImageCache}).
+     * Якщо файл обкладинки не вказано або не знайдено, встановлюється зображення-заглушка.
      */
     private void loadCoverImage() {
-        coverImageView.setImage(null); // Попереднє очищення
         String filename = (currentBook != null) ? currentBook.getCoverImagePath() : null;
-
         if (filename == null || filename.isBlank()) {
             log.warn("Файл обкладинки не вказано для книги ID={}. Встановлення зображення-заглушки.", (currentBook != null ? currentBook.getId() : "N/A"));
-            coverImageView.setImage(loadDefaultImage());
-            return;
-        }
-
-        try {
-            Path coverFilePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
-            File imageFile = coverFilePath.toFile();
-
-            if (imageFile.exists() && imageFile.isFile()) {
-                log.debug("Завантаження обкладинки з файлу: {}", coverFilePath.toAbsolutePath());
-                Image image = new Image(imageFile.toURI().toString(), COVER_DISPLAY_WIDTH, COVER_DISPLAY_HEIGHT, true, true); // Збереження пропорцій, плавне масштабування
-                if (image.isError()) {
-                    log.error("Помилка під час завантаження об'єкта Image з файлу '{}': {}", coverFilePath, image.getException().getMessage());
-                    coverImageView.setImage(loadDefaultImage());
-                } else {
-                    coverImageView.setImage(image);
-                    log.debug("Обкладинку '{}' успішно завантажено та відображено.", filename);
-                }
-            } else {
-                log.warn("Файл обкладинки '{}' не знайдено за шляхом {}. Встановлення зображення-заглушки.", filename, coverFilePath.toAbsolutePath());
-                coverImageView.setImage(loadDefaultImage());
-            }
-        } catch (Exception e) {
-            log.error("Непередбачена помилка під час завантаження обкладинки '{}': {}", filename, e.getMessage(), e);
-            coverImageView.setImage(loadDefaultImage());
-        }
-    }
-
-    /**
-     * Завантажує зображення-заглушку з ресурсів програми.
-     * Використовується, якщо основний файл обкладинки відсутній або пошкоджений.
-     *
-     * @return Об'єкт {@link Image} із зображенням-заглушкою, або {@code null} у разі помилки завантаження.
-     */
-    private Image loadDefaultImage() {
-        try (InputStream is = getClass().getResourceAsStream(DEFAULT_COVER_IMAGE_PATH)) {
-            if (is == null) {
-                log.error("Ресурс зображення-заглушки не знайдено за шляхом: {}", DEFAULT_COVER_IMAGE_PATH);
-                return null;
-            }
-            // Завантажуємо заглушку з фіксованими розмірами, що відповідають бажаним розмірам відображення
-            return new Image(is, COVER_DISPLAY_WIDTH, COVER_DISPLAY_HEIGHT, true, true);
-        } catch (Exception e) {
-            log.error("Помилка під час завантаження зображення-заглушки з ресурсів: {}", DEFAULT_COVER_IMAGE_PATH, e);
-            return null;
         }
+        CoverImageCache.getInstance().show(coverImageView, filename, CoverThumbnailStore.Variant.DETAIL);
     }
 
     /**
@@ -247,7 +198,8 @@ public class BookDetailController {
     /**
      * Обробляє натискання кнопки "Редагувати".
      * Відкриває діалогове вікно для редагування поточної книги.
-     * Після закриття діалогу оновлює дані на поточній сторінці деталей.
+     * Після закриття діалогу перечитує книгу у фоновому потоці та оновлює дані на сторінці деталей,
+     * якщо користувач ще не перейшов до іншого подання.
      */
     @FXML
     private void handleEditButton() {
@@ -260,21 +212,36 @@ public class BookDetailController {
 
         // Оновлення даних на цій сторінці після закриття діалогу редагування
         // Завантажуємо оновлену книгу з БД, щоб відобразити можливі зміни
-        bookDao.getBookById(currentBook.getId()).ifPresentOrElse(
-                updatedBook -> {
-                    log.debug("Оновлення даних на сторінці деталей після редагування книги ID={}", updatedBook.getId());
-                    setData(updatedBook, primaryController, returnViewFxml);
-                },
-                () -> {
-                    log.warn("Не вдалося знайти книгу ID={} після спроби редагування. Можливо, її було видалено.", currentBook.getId());
-                    handleBackButton(); // Якщо книгу не знайдено, повертаємося назад
-                }
-        );
+        long bookId = currentBook.getId();
+        asyncBookDao.getBookById(bookId).whenComplete((updated, error) -> {
+            if (!isShowing()) {
+                log.debug("Сторінку деталей книги ID={} уже закрито; оновлення пропущено.", bookId);
+                return;
+            }
+            if (error != null) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка повторного завантаження книги ID={} після редагування.", bookId, cause);
+                showErrorAlertHelper("Помилка Завантаження", "Не вдалося оновити дані книги.", cause.getMessage());
+                return;
+            }
+            updated.ifPresentOrElse(
+                    updatedBook -> {
+                        log.debug("Оновлення даних на сторінці деталей після редагування книги ID={}", updatedBook.getId());
+                        setData(updatedBook, primaryController, returnViewFxml);
+                    },
+                    () -> {
+                        log.warn("Не вдалося знайти книгу ID={} після спроби редагування. Можливо, її було видалено.", bookId);
+                        handleBackButton(); // Якщо книгу не знайдено, повертаємося назад
+                    }
+            );
+        });
     }
 
     /**
      * Обробляє натискання кнопки "Видалити".
-     * Показує діалог підтвердження та, у разі згоди користувача, видаляє книгу з БД та її обкладинку.
+     * Показує діалог підтвердження та, у разі згоди користувача, видаляє книгу з БД у фоновому потоці,
+     * а після успішного видалення - її обкладинку. Видалення не скасовується, якщо користувач тим часом
+     * перейде до іншого подання; тоді повідомлення про успіх і повернення назад пропускаються.
      */
     @FXML
     private void handleDeleteButton() {
@@ -292,24 +259,29 @@ public class BookDetailController {
 
         Optional<ButtonType> result = confirmationAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            log.info("Користувач підтвердив видалення книги ID={}", currentBook.getId());
-            try {
-                deleteCoverFile(currentBook.getCoverImagePath()); // Спочатку видаляємо файл обкладинки
-                bookDao.deleteBook(currentBook.getId()); // Потім видаляємо запис з БД
-                log.info("Книгу ID={} та її обкладинку (якщо була) успішно видалено.", currentBook.getId());
+            Book book = currentBook;
+            log.info("Користувач підтвердив видалення книги ID={}", book.getId());
+            deleteButton.setDisable(true); // Захист від повторного видалення, поки запит виконується
+            asyncBookDao.deleteBook(book.getId()).whenComplete((ignored, error) -> { // Спочатку видаляємо запис з БД
+                if (error != null) {
+                    Throwable cause = AsyncDao.unwrap(error);
+                    log.error("Помилка під час видалення книги ID={} з БД.", book.getId(), cause);
+                    deleteButton.setDisable(false);
+                    showErrorAlertHelper("Помилка Видалення", "Не вдалося видалити книгу з бази даних.", cause.getMessage());
+                    return;
+                }
+                deleteCoverFile(book.getCoverImagePath()); // Потім видаляємо файл обкладинки
+                log.info("Книгу ID={} та її обкладинку (якщо була) успішно видалено.", book.getId());
+                if (!isShowing()) {
+                    return; // Користувач уже перейшов до іншого подання
+                }
                 Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                 successAlert.initOwner(getOwnerWindow());
                 successAlert.setTitle("Видалення успішне");
-                successAlert.setHeaderText("Книгу \"" + currentBook.getTitle() + "\" було успішно видалено.");
+                successAlert.setHeaderText("Книгу \"" + book.getTitle() + "\" було успішно видалено.");
                 successAlert.showAndWait();
                 handleBackButton(); // Повернення до попереднього списку
-            } catch (DataAccessException e) { // Обробка власного винятку
-                log.error("Помилка під час видалення книги ID={} з БД.", currentBook.getId(), e);
-                showErrorAlertHelper("Помилка Видалення", "Не вдалося видалити книгу з бази даних.", e.getMessage());
-            } catch (Exception e) { // Обробка інших можливих помилок (наприклад, при видаленні файлу)
-                log.error("Непередбачена помилка під час повного видалення книги ID={}", currentBook.getId(), e);
-                showErrorAlertHelper("Помилка Видалення", "Сталася непередбачена помилка під час видалення книги.", e.getMessage());
-            }
+            });
         } else {
             log.debug("Видалення книги ID={} скасовано користувачем.", currentBook.getId());
         }
@@ -317,8 +289,8 @@ public class BookDetailController {
 
     /**
      * Обробляє натискання кнопки "Улюблене".
-     * Змінює статус "favorite" для поточної книги та оновлює запис у БД та вигляд кнопки.
-     * Доступно тільки для прочитаних книг.
+     * Змінює статус "favorite" для поточної книги у БД (у фоновому потоці), а після успішного запису -
+     * в об'єкті книги та вигляді кнопки. Доступно тільки для прочитаних книг.
      */
     @FXML
     private void handleFavoriteButton() {
@@ -332,22 +304,44 @@ public class BookDetailController {
             return;
         }
 
-        boolean newFavoriteStatus = !currentBook.isFavorite();
-        log.info("Зміна статусу 'Улюблене' для книги ID={} на: {}", currentBook.getId(), newFavoriteStatus);
-        try {
-            currentBook.setFavorite(newFavoriteStatus);
-            bookDao.updateBook(currentBook);
-            log.info("Статус 'Улюбленe' для книги ID={} успішно оновлено в БД на {}.", currentBook.getId(), newFavoriteStatus);
-            updateFavoriteButtonState(); // Оновлення тексту/стилю кнопки
-        } catch (DataAccessException e) {
-            log.error("Помилка оновлення статусу 'Улюблене' для книги ID={} в БД. Відкат зміни в об'єкті.", currentBook.getId(), e);
-            currentBook.setFavorite(!newFavoriteStatus); // Відкат зміни в об'єкті, якщо БД не оновилася
-            showErrorAlertHelper("Помилка Оновлення", "Не вдалося змінити статус 'Улюблене'.", e.getMessage());
-        }
+        Book book = currentBook;
+        boolean newFavoriteStatus = !book.isFavorite();
+        log.info("Зміна статусу 'Улюблене' для книги ID={} на: {}", book.getId(), newFavoriteStatus);
+        favoriteButton.setDisable(true); // Захист від повторних натискань, поки запит виконується
+        asyncBookDao.setFavorite(book.getId(), newFavoriteStatus).whenComplete((changed, error) -> {
+            favoriteButton.setDisable(false);
+            if (error != null) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка оновлення статусу 'Улюблене' для книги ID={} в БД.", book.getId(), cause);
+                showErrorAlertHelper("Помилка Оновлення", "Не вдалося змінити статус 'Улюблене'.", cause.getMessage());
+                return;
+            }
+            if (!changed) {
+                log.warn("Книгу ID={} не знайдено в БД під час зміни статусу 'Улюблене'. Можливо, її було видалено.", book.getId());
+                if (isShowing()) {
+                    handleBackButton();
+                }
+                return;
+            }
+            log.info("Статус 'Улюбленe' для книги ID={} успішно оновлено в БД на {}.", book.getId(), newFavoriteStatus);
+            book.setFavorite(newFavoriteStatus);
+            if (book == currentBook) {
+                updateFavoriteButtonState(); // Оновлення тексту/стилю кнопки
+            }
+        });
     }
 
     // --- Допоміжні приватні методи ---
 
+    /**
+     * Перевіряє, чи сторінка деталей ще відображається. Після переходу до іншого подання
+     * {@link PrimaryController} замінює її вміст, і вузли цього контролера втрачають сцену.
+     * @return {@code true}, якщо результати фонових запитів ще можна показувати на цій сторінці.
+     */
+    private boolean isShowing() {
+        return titleLabel.getScene() != null;
+    }
+
     /**
      * Видаляє файл обкладинки з директорії, визначеної в {@link App#COVERS_DIRECTORY_NAME}.
      * @param filename Ім'я файлу для видалення. Якщо null або порожнє, нічого не робить.
@@ -359,6 +353,8 @@ public class BookDetailController {
         }
         try {
             Path filePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
+            CoverThumbnailStore.getInstance().deleteThumbnails(filename);
+            CoverImageCache.getInstance().invalidate(filename);
             if (Files.deleteIfExists(filePath)) {
                 log.info("Файл обкладинки '{}' успішно видалено.", filePath.toAbsolutePath());
             } else {
@@ -0,0 +1,276 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Віртуалізована сітка плиток книг для подань зі списками книг
+ * ({@link ReadBooksController}, {@link WishlistController}, {@link FavoritesController}).
+ * <p>
+ * Книги розбиваються на рядки за кількістю плиток, що вміщуються в ширину, а рядки показуються
+ * через {@link ListView} (на основі {@code VirtualFlow}): вузли створюються лише для рядків
+ * у видимій області та повторно використовуються під час прокручування, тому кількість вузлів
+ * не залежить від розміру каталогу. Плитки створюються на вимогу фабрикою подання і кешуються
+ * за ID книги (не більше {@link #MAX_CACHED_TILES}, {@link TileCache}), доки стан книги не зміниться,
+ * тому фільтрація, сортування та прокручування назад не створюють плиток (і не декодують обкладинок)
+ * повторно: плитка, яку ще містить інша комірка, переноситься в комірку, що її запитала.
+ * Плитка зі змінами, які подання вміє показати на місці ({@link #setTilePatch}), не перебудовується.
+ * Використовується лише в потоці JavaFX.
+ */
+public class BookGridView extends ListView<List<BookSummary>> {
+
+    /** Ширина плитки, за якою розраховується кількість стовпців. */
+    private static final double TILE_WIDTH = 200;
+    /** Запас ширини під вертикальну смугу прокручування. */
+    private static final double SCROLL_BAR_ALLOWANCE = 18;
+    /** Найбільша кількість плиток у кеші (з запасом на кілька екранів). */
+    static final int MAX_CACHED_TILES = 300;
+    /** Ключ {@link Node#getProperties()}, під яким плитка зберігає своє оновлення на місці. */
+    private static final String TILE_PATCH_KEY = BookGridView.class.getName() + ".tilePatch";
+
+    /**
+     * Оновлення плитки на місці, яке подання реєструє під час створення плитки ({@link #setTilePatch}).
+     */
+    @FunctionalInterface
+    public interface TilePatch {
+        /**
+         * @param book Новий стан книги.
+         * @param changed Поля, що змінилися.
+         * @return {@code true}, якщо плитку оновлено; {@code false}, якщо її потрібно створити заново.
+         */
+        boolean apply(BookSummary book, Set<BookField> changed);
+    }
+
+    private Function<BookSummary, Node> tileFactory = _ -> new Region();
+    private List<BookSummary> books = List.of();
+    private int columns = 1;
+    private double hgap = 24;
+    private double vgap = 24;
+    private final Region emptyPlaceholder = new Region();
+
+    /** Кеш плиток за ID книги; плитки належать рядкам комірок. */
+    private final TileCache<HBox, Node> tiles = new TileCache<>(MAX_CACHED_TILES,
+            book -> tileFactory.apply(book),
+            (tile, book, changed) -> tile.getProperties().get(TILE_PATCH_KEY) instanceof TilePatch patch
+                    && patch.apply(book, changed),
+            (row, tile) -> row.getChildren().remove(tile));
+
+    /**
+     * Створює порожню сітку (використовується в FXML).
+     */
+    public BookGridView() {
+        getStyleClass().add("book-grid");
+        setFocusTraversable(false);
+        setPlaceholder(emptyPlaceholder);
+        setCellFactory(_ -> new RowCell());
+        widthProperty().addListener((_, _, _) -> updateColumns());
+    }
+
+    /**
+     * @param tileFactory Створює плитку книги ({@code null}, якщо плитку створити не вдалося).
+     */
+    public void setTileFactory(Function<BookSummary, Node> tileFactory) {
+        this.tileFactory = tileFactory;
+        clearTiles();
+    }
+
+    /**
+     * Реєструє оновлення плитки на місці. Без нього будь-яка зміна книги перебудовує плитку.
+     *
+     * @param tile Плитка, створена фабрикою подання.
+     * @param patch Оновлення плитки.
+     */
+    public static void setTilePatch(Node tile, TilePatch patch) {
+        tile.getProperties().put(TILE_PATCH_KEY, patch);
+    }
+
+    /** @param hgap Горизонтальний відступ між плитками. */
+    public void setHgap(double hgap) {
+        this.hgap = hgap;
+        updateColumns();
+    }
+
+    /** @return Горизонтальний відступ між плитками. */
+    public double getHgap() {
+        return hgap;
+    }
+
+    /** @param vgap Вертикальний відступ між рядками плиток. */
+    public void setVgap(double vgap) {
+        this.vgap = vgap;
+        refresh();
+    }
+
+    /** @return Вертикальний відступ між рядками плиток. */
+    public double getVgap() {
+        return vgap;
+    }
+
+    /**
+     * Показує список книг. Закешовані плитки незмінених книг використовуються повторно.
+     *
+     * @param books Книги в порядку відображення.
+     */
+    public void setBooks(List<BookSummary> books) {
+        this.books = new ArrayList<>(books);
+        setPlaceholder(emptyPlaceholder);
+        rebuildRows();
+    }
+
+    /**
+     * @return Книги, що зараз показуються (без змін).
+     */
+    public List<BookSummary> getBooks() {
+        return List.copyOf(books);
+    }
+
+    /**
+     * Прибирає книги з сітки та показує замість них повідомлення
+     * (напис про завантаження, порожній список або помилку).
+     *
+     * @param message Вузол повідомлення.
+     */
+    public void showMessage(Node message) {
+        books = new ArrayList<>();
+        getItems().clear();
+        setPlaceholder(message);
+    }
+
+    /**
+     * @param bookId ID книги.
+     * @return {@code true}, якщо книга зараз показується в сітці.
+     */
+    public boolean contains(long bookId) {
+        return indexOf(bookId) >= 0;
+    }
+
+    /**
+     * Замінює стан книги, що показується, і оновлює лише її плитку (на місці, якщо можливо).
+     *
+     * @param book Актуальний стан книги.
+     * @return {@code true}, якщо книга показується і її стан змінився.
+     */
+    public boolean update(BookSummary book) {
+        int index = indexOf(book.id());
+        if (index < 0 || books.get(index).equals(book)) {
+            return false;
+        }
+        books.set(index, book);
+        int row = index / columns;
+        getItems().set(row, rowOf(row));
+        return true;
+    }
+
+    /**
+     * Прибирає книгу з сітки.
+     *
+     * @param bookId ID книги.
+     * @return {@code true}, якщо книгу прибрано; {@code false}, якщо вона не показувалася.
+     */
+    public boolean remove(long bookId) {
+        int index = indexOf(bookId);
+        if (index < 0) {
+            return false;
+        }
+        books.remove(index);
+        tiles.remove(bookId);
+        rebuildRows();
+        return true;
+    }
+
+    /**
+     * Забуває всі закешовані плитки, щоб вони були створені заново
+     * (наприклад, після зміни теми, від якої залежать іконки плиток).
+     */
+    public void clearTiles() {
+        tiles.clear();
+        refresh();
+    }
+
+    /**
+     * @return Кількість закешованих плиток.
+     */
+    int cachedTileCount() {
+        return tiles.size();
+    }
+
+    private int indexOf(long bookId) {
+        for (int i = 0; i < books.size(); i++) {
+            if (books.get(i).id() == bookId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Перераховує кількість стовпців за поточною шириною і перебудовує рядки, якщо вона змінилася.
+     */
+    private void updateColumns() {
+        double available = getWidth() - snappedLeftInset() - snappedRightInset() - SCROLL_BAR_ALLOWANCE;
+        int fitting = Math.max(1, (int) ((available + hgap) / (TILE_WIDTH + hgap)));
+        if (fitting != columns) {
+            columns = fitting;
+            rebuildRows();
+        }
+    }
+
+    private void rebuildRows() {
+        int rowCount = (books.size() + columns - 1) / columns;
+        List<List<BookSummary>> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(rowOf(row));
+        }
+        getItems().setAll(rows);
+    }
+
+    private List<BookSummary> rowOf(int row) {
+        int from = row * columns;
+        return List.copyOf(books.subList(from, Math.min(from + columns, books.size())));
+    }
+
+    /**
+     * Комірка одного рядка сітки. Під час прокручування комірки повторно використовуються
+     * для інших рядків: комірка звільняє плитки попереднього рядка й отримує плитки нового з кешу.
+     */
+    private final class RowCell extends ListCell<List<BookSummary>> {
+        private final HBox row = new HBox();
+
+        RowCell() {
+            getStyleClass().add("book-grid-row");
+        }
+
+        @Override
+        protected void updateItem(List<BookSummary> item, boolean empty) {
+            super.updateItem(item, empty);
+            tiles.release(row);
+            if (empty || item == null) {
+                row.getChildren().clear();
+                setGraphic(null);
+                return;
+            }
+            List<Node> nodes = new ArrayList<>(item.size());
+            for (BookSummary book : item) {
+                Node tile = tiles.acquire(book, row);
+                if (tile != null) {
+                    nodes.add(tile);
+                }
+            }
+            row.setSpacing(hgap);
+            row.setPadding(new Insets(0, 0, vgap, 0));
+            row.getChildren().setAll(nodes);
+            setGraphic(row);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
+import com.student.bookdiary.persistence.BookDao;
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Label;
+import javafx.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Спільний конвеєр завантаження списків книг для подань з плитками
+ * ({@link ReadBooksController}, {@link WishlistController}, {@link FavoritesController}).
+ * <p>
+ * Запит до бази даних, фільтрація та сортування ({@link BookListQuery}) виконуються у фоновому
+ * потоці, а подання отримує готовий до відображення список у потоці JavaFX. Кожен новий запит
+ * замінює попередній: незавершене завантаження скасовується, а результат, що надійшов для
+ * застарілого запиту, відкидається (за номером запиту). Тому введення тексту в полі пошуку
+ * не блокує інтерфейс і не показує проміжних результатів.
+ * <p>
+ * Поки список готується, у сітці показується напис "Завантаження...": одразу, якщо сітка
+ * порожня, або після короткої затримки, якщо в ній уже є книги (щоб швидкі оновлення не блимали).
+ * Усі методи викликаються з потоку JavaFX.
+ */
+final class BookListLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BookListLoader.class);
+
+    /** Затримка перед заміною вже показаних плиток написом про завантаження. */
+    private static final Duration PLACEHOLDER_DELAY = Duration.millis(200);
+
+    private final AsyncBookDao asyncBookDao;
+    private final Function<BookDao, List<BookSummary>> source;
+    private final BookGridView grid;
+    private final PauseTransition placeholderDelay = new PauseTransition(PLACEHOLDER_DELAY);
+
+    /** Номер останнього запиту; результати попередніх запитів не відображаються. */
+    private long generation;
+    private CompletableFuture<List<BookSummary>> pending;
+
+    /**
+     * @param asyncBookDao Асинхронний доступ до книг.
+     * @param source Запит книг подання (виконується у фоновому потоці).
+     * @param grid Сітка плиток, у якій показується напис про завантаження.
+     */
+    BookListLoader(AsyncBookDao asyncBookDao, Function<BookDao, List<BookSummary>> source, BookGridView grid) {
+        this.asyncBookDao = asyncBookDao;
+        this.source = source;
+        this.grid = grid;
+        placeholderDelay.setOnFinished(_ -> showPlaceholder());
+    }
+
+    /**
+     * Запускає завантаження списку, скасовуючи попереднє незавершене.
+     *
+     * @param query Критерії фільтрації та сортування.
+     * @param onReady Відображення готового списку (у потоці JavaFX).
+     * @param onError Обробка помилки завантаження (у потоці JavaFX; скасування не передаються).
+     * @return Операція завантаження (для обліку в {@link BaseController#track}).
+     */
+    CompletableFuture<List<BookSummary>> load(BookListQuery query, Consumer<List<BookSummary>> onReady,
+                                              Consumer<Throwable> onError) {
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        long requested = ++generation;
+        if (grid.getItems().isEmpty()) {
+            showPlaceholder();
+        } else {
+            placeholderDelay.playFromStart();
+        }
+
+        CompletableFuture<List<BookSummary>> operation = asyncBookDao.call(dao -> query.apply(source.apply(dao)));
+        pending = operation;
+        operation.whenComplete((books, error) -> {
+            if (requested != generation) {
+                log.trace("Результат застарілого запиту списку книг #{} відкинуто.", requested);
+                return;
+            }
+            placeholderDelay.stop();
+            pending = null;
+            if (error == null) {
+                onReady.accept(books);
+            } else if (!AsyncDao.isCancellation(error)) {
+                onError.accept(AsyncDao.unwrap(error));
+            }
+        });
+        return operation;
+    }
+
+    private void showPlaceholder() {
+        Label placeholder = new Label("Завантаження...");
+        placeholder.getStyleClass().add("book-list-placeholder");
+        grid.showMessage(placeholder);
+    }
+}
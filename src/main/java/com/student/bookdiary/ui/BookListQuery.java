@@ -0,0 +1,94 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Критерії відображення списку книг на панелі плиток: пошуковий запит, жанр та порядок сортування.
+ * <p>
+ * Створюється в потоці JavaFX зі значень елементів керування подання ({@link #of}), після чого
+ * не залежить від них, тому фільтрація та сортування ({@link #apply}) виконуються у фоновому потоці
+ * разом із запитом до бази даних ({@link BookListLoader}).
+ *
+ * @param searchTerm Пошуковий запит у нижньому регістрі (порожній - без фільтра).
+ * @param genre Жанр для фільтрації ({@code null} - всі жанри).
+ * @param order Порядок сортування ({@code null} - порядок запиту до бази даних).
+ */
+record BookListQuery(String searchTerm, String genre, Comparator<BookSummary> order) {
+
+    /**
+     * Створює критерії зі значень елементів керування подання.
+     *
+     * @param searchText Текст поля пошуку (може бути {@code null}).
+     * @param selectedGenre Вибраний жанр (може бути {@code null}).
+     * @param allGenresOption Значення списку жанрів, що означає відсутність фільтра.
+     * @param order Порядок сортування або {@code null}.
+     * @return Критерії відображення.
+     */
+    static BookListQuery of(String searchText, String selectedGenre, String allGenresOption,
+                            Comparator<BookSummary> order) {
+        String searchTerm = searchText == null ? "" : searchText.trim().toLowerCase(Locale.ROOT);
+        String genre = selectedGenre == null || selectedGenre.isBlank() || selectedGenre.equals(allGenresOption)
+                ? null : selectedGenre;
+        return new BookListQuery(searchTerm, genre, order);
+    }
+
+    /**
+     * Формує варіанти списку жанрів: опція "всі жанри", а за нею непорожні жанри без повторів
+     * за абеткою без урахування регістру.
+     *
+     * @param genres Унікальні жанри з бази даних ({@link com.student.bookdiary.persistence.BookDao#getDistinctGenres()}).
+     * @param allGenresOption Значення, що означає відсутність фільтра.
+     * @return Новий список варіантів.
+     */
+    static List<String> genreOptions(List<String> genres, String allGenresOption) {
+        List<String> options = new ArrayList<>(genres.size() + 1);
+        options.add(allGenresOption);
+        genres.stream()
+                .filter(genre -> genre != null && !genre.isBlank())
+                .distinct()
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .forEach(options::add);
+        return options;
+    }
+
+    /**
+     * Перевіряє, чи відповідає книга пошуковому запиту (за назвою або автором) та жанру.
+     *
+     * @param book Книга для перевірки.
+     * @return {@code true}, якщо книгу потрібно показати.
+     */
+    boolean matches(BookSummary book) {
+        if (!searchTerm.isEmpty()) {
+            boolean titleMatches = book.title().toLowerCase(Locale.ROOT).contains(searchTerm);
+            boolean authorMatches = book.author() != null && book.author().toLowerCase(Locale.ROOT).contains(searchTerm);
+            if (!titleMatches && !authorMatches) {
+                return false;
+            }
+        }
+        return genre == null || genre.equalsIgnoreCase(book.genre());
+    }
+
+    /**
+     * Відбирає книги, що відповідають критеріям, і сортує їх.
+     *
+     * @param books Книги з бази даних (список не змінюється).
+     * @return Новий список книг у порядку відображення.
+     */
+    List<BookSummary> apply(List<BookSummary> books) {
+        List<BookSummary> result = new ArrayList<>(books.size());
+        for (BookSummary book : books) {
+            if (matches(book)) {
+                result.add(book);
+            }
+        }
+        if (order != null) {
+            result.sort(order);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,194 @@
+package com.student.bookdiary.ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Планувальник фонового декодування обкладинок з обмеженою кількістю одночасних декодувань.
+ * <p>
+ * Запити чекають у черзі з пріоритетами ({@link Priority}); запити однакового пріоритету виконуються
+ * в порядку надходження (для плиток - у порядку читання видимих рядків).
+ * Повторні запити того самого ключа (наприклад, та сама обкладинка в кількох поданнях) об'єднуються
+ * в одне декодування. Скасований запит ({@link Ticket#cancel()}), на який більше ніхто не чекає,
+ * прибирається з черги, не займаючи потоку; результат уже розпочатого декодування
+ * скасованим запитам не передається.
+ *
+ * @param <K> Ключ зображення (ім'я файлу та розмір).
+ * @param <V> Декодоване зображення.
+ */
+final class CoverDecodeScheduler<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverDecodeScheduler.class);
+
+    /**
+     * Пріоритет запиту (у порядку спадання важливості).
+     */
+    enum Priority {
+        /** Зображення, на яке користувач дивиться зараз (детальний вигляд). */
+        FOREGROUND,
+        /** Плитка у видимій частині списку. */
+        VISIBLE
+    }
+
+    /**
+     * Запит на декодування, який можна скасувати.
+     */
+    interface Ticket {
+        void cancel();
+    }
+
+    private final class Job {
+        final K key;
+        Priority priority;
+        long sequence;
+        boolean started;
+        final List<Waiter> waiters = new ArrayList<>();
+
+        Job(K key) {
+            this.key = key;
+        }
+    }
+
+    private final class Waiter implements Ticket {
+        final Job job;
+        final Consumer<V> onLoaded;
+        final Consumer<Throwable> onError;
+        volatile boolean cancelled;
+
+        Waiter(Job job, Consumer<V> onLoaded, Consumer<Throwable> onError) {
+            this.job = job;
+            this.onLoaded = onLoaded;
+            this.onError = onError;
+        }
+
+        @Override
+        public void cancel() {
+            CoverDecodeScheduler.this.cancel(this);
+        }
+    }
+
+    private final int maxConcurrent;
+    private final Executor workers;
+    private final Function<K, V> decoder;
+    private final Executor callbackExecutor;
+
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(
+            Comparator.<Job, Priority>comparing(job -> job.priority)
+                    .thenComparingLong(job -> job.sequence));
+    private final Map<K, Job> jobs = new HashMap<>();
+    private long nextSequence;
+    private int running;
+
+    /**
+     * @param maxConcurrent Найбільша кількість одночасних декодувань.
+     * @param workers Виконавець декодувань (не менше {@code maxConcurrent} потоків).
+     * @param decoder Декодує зображення за ключем (викликається у фоновому потоці).
+     * @param callbackExecutor Виконавець, у якому викликаються обробники результату ({@code Platform::runLater}).
+     */
+    CoverDecodeScheduler(int maxConcurrent, Executor workers, Function<K, V> decoder, Executor callbackExecutor) {
+        this.maxConcurrent = maxConcurrent;
+        this.workers = workers;
+        this.decoder = decoder;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Ставить зображення в чергу на декодування або приєднується до вже запланованого
+     * декодування того самого ключа (підвищуючи його пріоритет, якщо потрібно).
+     *
+     * @param key Ключ зображення.
+     * @param priority Пріоритет запиту.
+     * @param onLoaded Обробник декодованого зображення.
+     * @param onError Обробник помилки декодування.
+     * @return Запит для скасування.
+     */
+    synchronized Ticket submit(K key, Priority priority, Consumer<V> onLoaded, Consumer<Throwable> onError) {
+        Job job = jobs.get(key);
+        if (job == null) {
+            job = new Job(key);
+            job.priority = priority;
+            job.sequence = nextSequence++;
+            jobs.put(key, job);
+            queue.add(job);
+        } else if (!job.started && priority.compareTo(job.priority) < 0) {
+            queue.remove(job); // Переставляємо з вищим пріоритетом
+            job.priority = priority;
+            queue.add(job);
+        }
+        Waiter waiter = new Waiter(job, onLoaded, onError);
+        job.waiters.add(waiter);
+        dispatch();
+        return waiter;
+    }
+
+    /**
+     * @return Кількість запитів, що чекають у черзі (без тих, що вже декодуються).
+     */
+    synchronized int queuedCount() {
+        return queue.size();
+    }
+
+    private synchronized void cancel(Waiter waiter) {
+        waiter.cancelled = true;
+        Job job = waiter.job;
+        job.waiters.remove(waiter);
+        if (!job.started && job.waiters.isEmpty()) {
+            queue.remove(job);
+            jobs.remove(job.key);
+            log.trace("Декодування обкладинки {} скасовано до початку.", job.key);
+        }
+    }
+
+    private void dispatch() {
+        while (running < maxConcurrent && !queue.isEmpty()) {
+            Job job = queue.poll();
+            job.started = true;
+            running++;
+            workers.execute(() -> run(job));
+        }
+    }
+
+    private void run(Job job) {
+        V result = null;
+        Throwable error = null;
+        try {
+            result = decoder.apply(job.key);
+        } catch (Throwable e) {
+            // Також Error (наприклад, OutOfMemoryError на завеликому фото): інакше місце декодування
+            // залишилося б зайнятим назавжди, а подання так і не отримали б ні зображення, ні заглушки.
+            error = e;
+        }
+
+        List<Waiter> waiters;
+        synchronized (this) {
+            jobs.remove(job.key);
+            running--;
+            waiters = List.copyOf(job.waiters);
+            dispatch();
+        }
+        for (Waiter waiter : waiters) {
+            V loaded = result;
+            Throwable failure = error;
+            callbackExecutor.execute(() -> {
+                if (waiter.cancelled) {
+                    return;
+                }
+                if (failure == null) {
+                    waiter.onLoaded.accept(loaded);
+                } else {
+                    waiter.onError.accept(failure);
+                }
+            });
+        }
+    }
+}
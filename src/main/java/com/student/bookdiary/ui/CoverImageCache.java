@@ -0,0 +1,306 @@
+package com.student.bookdiary.ui;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Спільний кеш декодованих обкладинок для всіх подань (списки книг, детальний вигляд, діалог книги).
+ * <p>
+ * Зображення кешуються за ключем (ім'я файлу, розмір {@link CoverThumbnailStore.Variant}) у порядку
+ * останнього використання. Розмір кешу обмежено кількістю байтів декодованих пікселів
+ * (ширина x висота x 4), а не кількістю зображень: найдавніше використані обкладинки витісняються,
+ * коли сума перевищує бюджет. Тому перехід між поданнями не декодує ті самі обкладинки повторно.
+ * Відсутні в кеші обкладинки декодуються обмеженим пулом потоків через {@link CoverDecodeScheduler}:
+ * спершу детальний вигляд, далі видимі плитки; повторні запити тієї самої обкладинки об'єднуються.
+ * Зображення-заглушка завантажується один раз і спільне для всіх подань.
+ * Використовується в потоці JavaFX.
+ */
+final class CoverImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverImageCache.class);
+
+    /** Бюджет кешу за замовчуванням: 64 МБ декодованих пікселів. */
+    static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private static final String PLACEHOLDER_PATH = "/com/student/bookdiary/ui/icons/default_book_cover.png";
+
+    /** Кількість потоків декодування: частина ядер, щоб не заважати потоку інтерфейсу. */
+    private static final int DECODE_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /** Ключі властивостей {@link ImageView}: очікувана обкладинка та її запит на декодування. */
+    private static final String REQUESTED_KEY = "cover.requested";
+    private static final String TICKET_KEY = "cover.ticket";
+    private static final String WATCHED_KEY = "cover.watched";
+
+    private static final CoverImageCache INSTANCE = new CoverImageCache(getConfiguredBudgetBytes(), CoverThumbnailStore.getInstance(),
+            Executors.newFixedThreadPool(DECODE_THREADS, Thread.ofPlatform().name("cover-decoder-", 0).daemon().factory()),
+            DECODE_THREADS);
+
+    /**
+     * Знімок лічильників кешу.
+     *
+     * @param hits Кількість звернень, обслужених кешем.
+     * @param misses Кількість звернень, для яких зображення довелося декодувати.
+     * @param evictions Кількість зображень, витіснених через перевищення бюджету.
+     * @param bytes Поточний обсяг закешованих пікселів у байтах.
+     */
+    record Stats(long hits, long misses, long evictions, long bytes) {
+
+        /**
+         * @return Частка звернень, обслужених кешем (від 0 до 1), або 0, якщо звернень не було.
+         */
+        double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record Key(String filename, CoverThumbnailStore.Variant variant) {
+    }
+
+    private record Entry(Image image, long bytes) {
+    }
+
+    private final long budgetBytes;
+    private final CoverThumbnailStore thumbnails;
+    private final CoverDecodeScheduler<Key, Image> decoder;
+    private final Map<Key, Entry> images = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private Image placeholder;
+
+    /**
+     * @param budgetBytes Найбільший обсяг декодованих пікселів у кеші.
+     * @param thumbnails Сховище мініатюр, з якого завантажуються обкладинки.
+     * @param decodeExecutor Пул потоків декодування.
+     * @param decodeThreads Найбільша кількість одночасних декодувань.
+     */
+    CoverImageCache(long budgetBytes, CoverThumbnailStore thumbnails, Executor decodeExecutor, int decodeThreads) {
+        this.budgetBytes = budgetBytes;
+        this.thumbnails = thumbnails;
+        this.decoder = new CoverDecodeScheduler<>(decodeThreads, decodeExecutor, this::decode, Platform::runLater);
+    }
+
+    /**
+     * @return Спільний кеш обкладинок програми.
+     */
+    static CoverImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Повертає бюджет кешу. Значення в мегабайтах можна перевизначити
+     * системною властивістю {@code ui.cover_cache_mb}.
+     */
+    private static long getConfiguredBudgetBytes() {
+        String value = System.getProperty("ui.cover_cache_mb");
+        if (value == null) {
+            return DEFAULT_BUDGET_BYTES;
+        }
+        try {
+            return Math.max(1, Long.parseLong(value.trim())) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            log.warn("Некоректне значення ui.cover_cache_mb='{}', використовується {} МБ.", value, DEFAULT_BUDGET_BYTES / (1024 * 1024));
+            return DEFAULT_BUDGET_BYTES;
+        }
+    }
+
+    /**
+     * Показує обкладинку в {@link ImageView}: з кешу одразу, а якщо її там немає - після фонового
+     * декодування ({@link CoverDecodeScheduler}). Декодування запитується лише тоді, коли компонент
+     * перебуває у сцені (плитка у видимому рядку сітки, відкритий детальний вигляд), і скасовується,
+     * коли компонент прибрано зі сцени (рядок прокручено, плитки перебудовано, подання закрито)
+     * або для нього запитано іншу обкладинку. Якщо обкладинку не вказано, файлу немає або його
+     * не вдалося декодувати, показується заглушка.
+     *
+     * @param view Компонент для відображення.
+     * @param filename Ім'я файлу обкладинки (може бути {@code null}).
+     * @param variant Розмір, у якому потрібна обкладинка.
+     */
+    void show(ImageView view, String filename, CoverThumbnailStore.Variant variant) {
+        cancelRequest(view);
+        view.getProperties().remove(REQUESTED_KEY);
+        if (filename == null || filename.isBlank()) {
+            view.setImage(placeholder());
+            return;
+        }
+        Key key = new Key(filename, variant);
+        Image cached = lookup(key, true);
+        if (cached != null) {
+            view.setImage(cached);
+            return;
+        }
+        view.setImage(null);
+        view.getProperties().put(REQUESTED_KEY, key);
+        if (view.getProperties().putIfAbsent(WATCHED_KEY, Boolean.TRUE) == null) {
+            view.sceneProperty().addListener((_, _, scene) -> {
+                if (scene == null) {
+                    cancelRequest(view);
+                } else {
+                    request(view);
+                }
+            });
+        }
+        if (view.getScene() != null) {
+            request(view);
+        }
+    }
+
+    /**
+     * Запитує декодування обкладинки, яку очікує компонент, якщо запит ще не надіслано.
+     */
+    private void request(ImageView view) {
+        if (!(view.getProperties().get(REQUESTED_KEY) instanceof Key key) || view.getProperties().containsKey(TICKET_KEY)) {
+            return;
+        }
+        Image cached = lookup(key, false); // Могла бути декодована для іншого компонента
+        if (cached != null) {
+            view.getProperties().remove(REQUESTED_KEY);
+            view.setImage(cached);
+            return;
+        }
+        CoverDecodeScheduler.Priority priority = key.variant() == CoverThumbnailStore.Variant.TILE
+                ? CoverDecodeScheduler.Priority.VISIBLE
+                : CoverDecodeScheduler.Priority.FOREGROUND;
+        CoverDecodeScheduler.Ticket ticket = decoder.submit(key, priority,
+                image -> {
+                    view.getProperties().remove(TICKET_KEY);
+                    view.getProperties().remove(REQUESTED_KEY);
+                    view.setImage(image != null ? image : placeholder());
+                },
+                error -> {
+                    log.error("Помилка декодування обкладинки [{}]: {}", key.filename(), error.getMessage(), error);
+                    view.getProperties().remove(TICKET_KEY);
+                    view.getProperties().remove(REQUESTED_KEY);
+                    view.setImage(placeholder());
+                });
+        view.getProperties().put(TICKET_KEY, ticket);
+    }
+
+    private static void cancelRequest(ImageView view) {
+        if (view.getProperties().remove(TICKET_KEY) instanceof CoverDecodeScheduler.Ticket ticket) {
+            ticket.cancel();
+        }
+    }
+
+    /**
+     * Декодує обкладинку (з мініатюри відповідного розміру, якщо вона є, інакше з оригіналу
+     * зі зменшенням під час декодування) і додає її в кеш. Викликається у фоновому потоці.
+     *
+     * @return Зображення або {@code null}, якщо файлу немає чи його не вдалося декодувати.
+     */
+    private Image decode(Key key) {
+        Path source = thumbnails.resolve(key.filename(), key.variant());
+        if (!Files.isRegularFile(source)) {
+            log.warn("Файл обкладинки не знайдено: {}. Використовується заглушка.", source);
+            return null;
+        }
+        Image image = new Image(source.toUri().toString(), key.variant().width, key.variant().height, true, true, false);
+        if (image.isError()) {
+            log.error("Помилка декодування обкладинки [{}]: {}", source,
+                    image.getException() != null ? image.getException().getMessage() : "невідома помилка");
+            return null;
+        }
+        synchronized (this) {
+            put(key, new Entry(image, (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4));
+        }
+        return image;
+    }
+
+    /**
+     * @param countStats Чи враховувати звернення в лічильниках влучань і промахів.
+     * @return Закешована обкладинка або {@code null}.
+     */
+    private synchronized Image lookup(Key key, boolean countStats) {
+        Entry cached = images.get(key);
+        if (countStats) {
+            if (cached != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        return cached != null ? cached.image() : null;
+    }
+
+    /**
+     * Повертає спільне зображення-заглушку (завантажується один раз).
+     *
+     * @return Заглушка обкладинки або {@code null}, якщо ресурс недоступний.
+     */
+    synchronized Image placeholder() {
+        if (placeholder == null) {
+            try (InputStream is = CoverImageCache.class.getResourceAsStream(PLACEHOLDER_PATH)) {
+                if (is == null) {
+                    log.error("Ресурс зображення-заглушки не знайдено за шляхом: {}", PLACEHOLDER_PATH);
+                    return null;
+                }
+                placeholder = new Image(is);
+            } catch (Exception e) {
+                log.error("Помилка під час завантаження зображення-заглушки: {}", e.getMessage(), e);
+                return null;
+            }
+        }
+        return placeholder;
+    }
+
+    /**
+     * Забуває всі розміри обкладинки (після її видалення або заміни).
+     *
+     * @param filename Ім'я файлу обкладинки.
+     */
+    synchronized void invalidate(String filename) {
+        Iterator<Map.Entry<Key, Entry>> iterator = images.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().filename().equals(filename)) {
+                bytes -= entry.getValue().bytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Очищає кеш (наприклад, після імпорту, що замінює директорію обкладинок).
+     */
+    synchronized void clear() {
+        images.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return Знімок лічильників кешу.
+     */
+    synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, bytes);
+    }
+
+    private void put(Key key, Entry entry) {
+        Entry previous = images.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.bytes();
+        }
+        bytes += entry.bytes();
+        Iterator<Entry> eldest = images.values().iterator();
+        while (bytes > budgetBytes && images.size() > 1) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.bytes();
+            evictions++;
+        }
+    }
+}
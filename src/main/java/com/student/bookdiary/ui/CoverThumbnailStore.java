@@ -0,0 +1,229 @@
+package com.student.bookdiary.ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Сховище зменшених копій (мініатюр) обкладинок у піддиректорії {@value #THUMBNAILS_DIRECTORY_NAME}
+ * директорії обкладинок.
+ * <p>
+ * Для кожної обкладинки зберігаються варіанти під розміри плитки та детального вигляду
+ * ({@link Variant}), тому подання декодують невеликий PNG замість оригінальної фотографії
+ * на кілька мегабайт. Мініатюри створюються під час збереження обкладинки
+ * ({@link #createThumbnails(String)}), а відсутні або застарілі (старші за оригінал, наприклад
+ * після імпорту) - у фоновому потоці при першому зверненні ({@link #resolve(String, Variant)}).
+ * Мініатюри можна будь-коли видалити: вони будуть створені заново.
+ */
+final class CoverThumbnailStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverThumbnailStore.class);
+
+    /** Назва піддиректорії мініатюр у директорії обкладинок. */
+    static final String THUMBNAILS_DIRECTORY_NAME = ".thumbs";
+
+    private static final CoverThumbnailStore INSTANCE = new CoverThumbnailStore(
+            () -> Paths.get(App.COVERS_DIRECTORY_NAME),
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("cover-thumbnails").daemon().factory()));
+
+    /**
+     * Варіант мініатюри: найбільші розміри, в які вписується зменшене зображення.
+     */
+    enum Variant {
+        /** Плитка книги у списках. */
+        TILE(110, 170),
+        /** Детальний вигляд книги. */
+        DETAIL(400, 600);
+
+        final int width;
+        final int height;
+
+        Variant(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        private String fileSuffix() {
+            return "." + name().toLowerCase() + ".png";
+        }
+    }
+
+    private final Supplier<Path> coversDirectory;
+    private final Executor executor;
+    /** Обкладинки, мініатюри яких уже створюються у фоновому потоці. */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param coversDirectory Директорія оригінальних обкладинок (визначається під час кожного звернення).
+     * @param executor Виконавець фонового створення мініатюр.
+     */
+    CoverThumbnailStore(Supplier<Path> coversDirectory, Executor executor) {
+        this.coversDirectory = coversDirectory;
+        this.executor = executor;
+    }
+
+    /**
+     * @return Спільне сховище мініатюр програми.
+     */
+    static CoverThumbnailStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Визначає файл, з якого варто завантажувати обкладинку потрібного розміру.
+     * Якщо актуальної мініатюри ще немає, планує її фонове створення і повертає оригінал,
+     * тож подання не чекає на масштабування.
+     *
+     * @param filename Ім'я файлу обкладинки в директорії обкладинок.
+     * @param variant Потрібний розмір.
+     * @return Шлях до мініатюри або (поки її немає) до оригінальної обкладинки.
+     */
+    Path resolve(String filename, Variant variant) {
+        Path original = coversDirectory.get().resolve(filename);
+        Path thumbnail = thumbnailPath(filename, variant);
+        if (isFresh(thumbnail, original)) {
+            return thumbnail;
+        }
+        if (Files.isRegularFile(original) && pending.add(filename)) {
+            executor.execute(() -> {
+                try {
+                    createThumbnails(filename);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Не вдалося створити мініатюри обкладинки '{}': {}", filename, e.getMessage());
+                } finally {
+                    pending.remove(filename);
+                }
+            });
+        }
+        return original;
+    }
+
+    /**
+     * Створює (або оновлює) всі варіанти мініатюр обкладинки. Оригінал декодується один раз.
+     *
+     * @param filename Ім'я файлу обкладинки в директорії обкладинок.
+     * @throws IOException Якщо оригінал не вдалося прочитати або мініатюру - записати.
+     */
+    void createThumbnails(String filename) throws IOException {
+        Path original = coversDirectory.get().resolve(filename);
+        Variant largest = Variant.DETAIL;
+        BufferedImage source = read(original, largest.width, largest.height);
+        Files.createDirectories(thumbnailsDirectory());
+        for (Variant variant : Variant.values()) {
+            BufferedImage scaled = scale(source, variant.width, variant.height);
+            Path target = thumbnailPath(filename, variant);
+            Path temporary = Files.createTempFile(target.getParent(), "thumb", ".tmp");
+            try {
+                ImageIO.write(scaled, "png", temporary.toFile());
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        log.debug("Створено мініатюри обкладинки '{}' ({}x{}).", filename, source.getWidth(), source.getHeight());
+    }
+
+    /**
+     * Видаляє всі мініатюри обкладинки (разом з оригіналом їх видаляє код, що видаляє обкладинку).
+     *
+     * @param filename Ім'я файлу обкладинки.
+     */
+    void deleteThumbnails(String filename) {
+        for (Variant variant : Variant.values()) {
+            try {
+                Files.deleteIfExists(thumbnailPath(filename, variant));
+            } catch (IOException e) {
+                log.warn("Не вдалося видалити мініатюру обкладинки '{}': {}", filename, e.getMessage());
+            }
+        }
+    }
+
+    private Path thumbnailsDirectory() {
+        return coversDirectory.get().resolve(THUMBNAILS_DIRECTORY_NAME);
+    }
+
+    private Path thumbnailPath(String filename, Variant variant) {
+        return thumbnailsDirectory().resolve(filename + variant.fileSuffix());
+    }
+
+    private static boolean isFresh(Path thumbnail, Path original) {
+        try {
+            return Files.isRegularFile(thumbnail)
+                    && Files.getLastModifiedTime(thumbnail).compareTo(Files.getLastModifiedTime(original)) >= 0;
+        } catch (IOException e) {
+            return false; // Оригіналу немає або він недоступний
+        }
+    }
+
+    /**
+     * Читає зображення з проріджуванням пікселів, якщо оригінал значно більший за потрібний розмір,
+     * щоб не декодувати фотографію в повній роздільній здатності.
+     */
+    private static BufferedImage read(Path file, int width, int height) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new IOException("Не вдалося відкрити файл " + file);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Непідтримуваний формат зображення: " + file);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0) / (2 * width), reader.getHeight(0) / (2 * height)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Зменшує зображення зі збереженням пропорцій так, щоб воно вписувалося в задані розміри
+     * (менші зображення не збільшуються). Зменшення виконується кроками не більше ніж удвічі
+     * для якісного згладжування.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        double ratio = Math.min(1.0, Math.min((double) width / source.getWidth(), (double) height / source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        do {
+            int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+}
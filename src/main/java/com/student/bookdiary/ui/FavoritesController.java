@@ -1,8 +1,14 @@
 package com.student.bookdiary.ui;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
 import com.student.bookdiary.persistence.BookDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.persistence.BookRepository;
+import com.student.bookdiary.persistence.ChangeEvent;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -12,7 +18,6 @@ import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent; // Для обробки кліку на плитку
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -20,18 +25,18 @@ import javafx.scene.layout.VBox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class FavoritesController extends BaseController {
 
@@ -40,11 +45,14 @@ public class FavoritesController extends BaseController {
     // --- FXML Поля ---
     @FXML private TextField searchField; // Поле для пошуку книг
     @FXML private ComboBox<String> sortComboBox; // Випадаючий список для сортування
-    @FXML private FlowPane bookFlowPane; // Панель для відображення книг у вигляді плиток
+    @FXML private BookGridView bookGrid; // Віртуалізована сітка плиток книг
     @FXML private ComboBox<String> genreFilterComboBox; // Випадаючий список для фільтрації за жанром
 
     // --- DAO та інше ---
     private BookDao bookDao; // Об'єкт для доступу до даних книг
+    private AsyncBookDao asyncBookDao; // Асинхронний доступ до книг (запити поза потоком JavaFX)
+    /** Фонове завантаження, фільтрація та сортування списку книг */
+    private BookListLoader bookListLoader;
     private PrimaryController primaryController; // Контролер головного вікна для навігації
 
     // --- Константи ---
@@ -56,6 +64,9 @@ public class FavoritesController extends BaseController {
     private static final String SORT_BY_DATE_ADDED_DESC = "Дата додавання до улюблених (новіші)"; // Сортування за датою додавання до улюблених
     private static final String ALL_GENRES_OPTION = "Всі жанри"; // Опція для відображення всіх жанрів
 
+    /** Поля, зміна яких не впливає на склад і порядок списку: досить оновити одну плитку на місці */
+    private static final Set<BookField> TILE_ONLY_FIELDS = EnumSet.of(BookField.COMMENT, BookField.COVER_IMAGE);
+
     // Форматер для дати
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
@@ -74,7 +85,11 @@ public class FavoritesController extends BaseController {
     @FXML
     private void initialize() {
         log.info("Ініціалізація FavoritesController...");
-        this.bookDao = new SqliteBookDao();
+        this.bookDao = BookRepository.getInstance();
+        this.asyncBookDao = new AsyncBookDao(bookDao, Platform::runLater);
+        this.bookListLoader = new BookListLoader(asyncBookDao,
+                BookDao::getFavoriteBookSummaries, bookGrid); // Улюблені книги (без коментарів)
+        bookGrid.setTileFactory(this::createBookTile);
         setupSortComboBox();
         setupGenreFilterComboBox();
 
@@ -101,6 +116,7 @@ public class FavoritesController extends BaseController {
             }
         });
 
+        subscribeToChanges(this::onDataChanged); // Інкрементальне оновлення плиток за подіями змін
         loadBooks(); // Початкове завантаження списку улюблених книг
         log.info("FavoritesController успішно ініціалізовано.");
     }
@@ -124,79 +140,133 @@ public class FavoritesController extends BaseController {
 
     /**
      * Налаштовує випадаючий список для фільтрації улюблених книг за жанром.
-     * Завантажує унікальні жанри з бази даних та додає опцію "Всі жанри".
+     * Встановлює опцію "Всі жанри" та запускає фонове завантаження унікальних жанрів з бази даних.
      */
     private void setupGenreFilterComboBox() {
-        List<String> genres = bookDao.getDistinctGenres(); // Отримуємо список унікальних жанрів
-        genres.sort(String.CASE_INSENSITIVE_ORDER); // Сортуємо жанри за алфавітом
-        genres.addFirst(ALL_GENRES_OPTION); // Додаємо опцію "Всі жанри" на початок списку
-        genreFilterComboBox.setItems(FXCollections.observableArrayList(genres));
+        genreFilterComboBox.setItems(FXCollections.observableArrayList(ALL_GENRES_OPTION));
         genreFilterComboBox.setValue(ALL_GENRES_OPTION); // Встановлюємо "Всі жанри" як значення за замовчуванням
+        loadGenres();
         log.debug("Випадаючий список фільтрації за жанром налаштовано.");
     }
 
+    /**
+     * Завантажує жанри у фоновому потоці та оновлює список фільтра, зберігаючи вибраний жанр
+     * (якщо його більше немає - вибирається "Всі жанри").
+     */
+    private void loadGenres() {
+        track(asyncBookDao.getDistinctGenres()).whenComplete((genres, error) -> {
+            if (error == null) {
+                List<String> options = BookListQuery.genreOptions(genres, ALL_GENRES_OPTION);
+                if (options.equals(genreFilterComboBox.getItems())) return;
+                String selected = genreFilterComboBox.getValue();
+                genreFilterComboBox.setItems(FXCollections.observableArrayList(options));
+                genreFilterComboBox.setValue(options.contains(selected) ? selected : ALL_GENRES_OPTION);
+                log.debug("Список жанрів фільтра оновлено: {} жанрів.", options.size() - 1);
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Не вдалося завантажити жанри для фільтра.", AsyncDao.unwrap(error));
+            }
+        });
+    }
+
     /**
      * Завантажує список улюблених книг з бази даних, застосовує фільтрацію та сортування,
-     * та оновлює відображення книг у FlowPane.
+     * та оновлює відображення книг у сітці плиток. Запит, фільтрація та сортування виконуються
+     * у фоновому потоці ({@link BookListLoader}).
      */
     public void loadBooks() {
         log.debug("Завантаження та оновлення списку улюблених книг...");
-        try {
-            List<Book> books = bookDao.getFavoriteBooks(); // Отримуємо список всіх улюблених книг
-
-            // Фільтрація за пошуковим запитом
-            String searchTerm = searchField.getText().trim().toLowerCase();
-            if (!searchTerm.isEmpty()) {
-                log.debug("Застосування фільтра пошуку: '{}'", searchTerm);
-                books = books.stream()
-                        .filter(book -> book.getTitle().toLowerCase().contains(searchTerm) ||
-                                (book.getAuthor() != null && book.getAuthor().toLowerCase().contains(searchTerm)))
-                        .collect(Collectors.toList());
-            } else {
-                log.trace("Пошуковий запит порожній, фільтрація за пошуком не застосовується.");
-            }
+        track(bookListLoader.load(currentQuery(), this::displayBooks, this::showLoadError));
+    }
 
-            // Фільтрація за вибраним жанром
-            String selectedGenre = genreFilterComboBox.getValue();
-            if (selectedGenre != null && !selectedGenre.equals(ALL_GENRES_OPTION) && !selectedGenre.isBlank()) {
-                log.debug("Застосування фільтра за жанром: '{}'", selectedGenre);
-                books = books.stream()
-                        .filter(book -> selectedGenre.equalsIgnoreCase(book.getGenre()))
-                        .collect(Collectors.toList());
-            } else {
-                log.trace("Фільтр за жанром не вибрано або вибрано '{}', фільтрація за жанром не застосовується.", ALL_GENRES_OPTION);
-            }
+    /**
+     * Створює всі плитки заново (наприклад, після зміни теми, від якої залежать іконки плиток).
+     * Звичайне оновлення ({@link #loadBooks()}) повторно використовує плитки незмінених книг.
+     */
+    public void rebuildBooks() {
+        bookGrid.clearTiles();
+        loadBooks();
+    }
 
-            // Сортування списку книг
-            String sortOption = sortComboBox.getValue();
-            if (sortOption != null) {
-                log.debug("Застосування сортування: '{}'", sortOption);
-                Comparator<Book> comparator = switch (sortOption) {
-                    case SORT_BY_DATE_READ_ASC -> Comparator.comparing(Book::getDateRead, Comparator.nullsLast(Comparator.naturalOrder()));
-                    case SORT_BY_TITLE -> Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER);
-                    case SORT_BY_RATING_DESC -> Comparator.comparingInt(Book::getRating).reversed();
-                    case SORT_BY_RATING_ASC -> Comparator.comparingInt(Book::getRating);
-                    case SORT_BY_DATE_ADDED_DESC -> Comparator.comparing(Book::getDateAdded, Comparator.nullsLast(Comparator.reverseOrder()));
-                    default -> // За замовчуванням (SORT_BY_DATE_READ_DESC)
-                            Comparator.comparing(Book::getDateRead, Comparator.nullsLast(Comparator.reverseOrder()));
-                };
-                books.sort(comparator);
-            }
+    /**
+     * Застосовує подію зміни даних до списку улюблених: зняття позначки або видалення прибирає
+     * плитку, зміна коментаря чи обкладинки оновлює одну плитку, інші зміни книг
+     * (зокрема нова улюблена книга) перезавантажують список. Нова книга або зміна жанру
+     * оновлює список жанрів фільтра.
+     * @param event Подія зміни.
+     */
+    private void onDataChanged(ChangeEvent event) {
+        if (event instanceof ChangeEvent.BookAdded
+                || event instanceof ChangeEvent.BookUpdated updated && updated.changedFields().contains(BookField.GENRE)) {
+            loadGenres(); // Нова книга або зміна жанру може додати жанр до фільтра
+        }
+        switch (event) {
+            case ChangeEvent.BookUpdated updated when updated.changedFields().equals(Set.of(BookField.FAVORITE))
+                    && bookGrid.contains(updated.bookId()) -> bookGrid.remove(updated.bookId()); // Відображена книга могла лише втратити позначку
+            case ChangeEvent.BookUpdated updated when TILE_ONLY_FIELDS.containsAll(updated.changedFields()) ->
+                    refreshTile(updated.bookId());
+            case ChangeEvent.BookDeleted deleted -> bookGrid.remove(deleted.bookId());
+            case ChangeEvent.GoalChanged _ -> { }
+            default -> loadBooks();
+        }
+    }
 
-            // Оновлення FlowPane плитками книг
-            bookFlowPane.getChildren().clear();
-            for (Book book : books) {
-                Node bookTile = createBookTile(book);
-                bookFlowPane.getChildren().add(bookTile);
+    /**
+     * Оновлює плитку книги з актуальних даних, якщо книга відображається.
+     * Книга читається у фоновому потоці.
+     * @param bookId ID книги.
+     */
+    private void refreshTile(long bookId) {
+        if (!bookGrid.contains(bookId)) return;
+        track(asyncBookDao.getBookById(bookId)).whenComplete((book, error) -> {
+            if (error == null) {
+                book.map(BookSummary::of).ifPresentOrElse(
+                        bookGrid::update,
+                        () -> bookGrid.remove(bookId));
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Помилка оновлення плитки книги ID={}.", bookId, AsyncDao.unwrap(error));
             }
-            log.info("Список улюблених книг оновлено. Показано {} плиток.", books.size());
+        });
+    }
+
+    /**
+     * @return Критерії фільтрації та сортування з поточних значень елементів керування.
+     */
+    private BookListQuery currentQuery() {
+        String sortOption = sortComboBox.getValue();
+        Comparator<BookSummary> comparator = sortOption == null ? null : switch (sortOption) {
+            case SORT_BY_DATE_READ_ASC -> Comparator.comparing(BookSummary::dateRead, Comparator.nullsLast(Comparator.naturalOrder()));
+            case SORT_BY_TITLE -> Comparator.comparing(BookSummary::title, String.CASE_INSENSITIVE_ORDER);
+            case SORT_BY_RATING_DESC -> Comparator.comparingInt(BookSummary::rating).reversed();
+            case SORT_BY_RATING_ASC -> Comparator.comparingInt(BookSummary::rating);
+            case SORT_BY_DATE_ADDED_DESC -> Comparator.comparing(BookSummary::dateAdded, Comparator.nullsLast(Comparator.reverseOrder()));
+            default -> // За замовчуванням (SORT_BY_DATE_READ_DESC)
+                    Comparator.comparing(BookSummary::dateRead, Comparator.nullsLast(Comparator.reverseOrder()));
+        };
+        return BookListQuery.of(searchField.getText(), genreFilterComboBox.getValue(), ALL_GENRES_OPTION, comparator);
+    }
 
+    /**
+     * Оновлює сітку плитками відфільтрованих та відсортованих улюблених книг.
+     * @param books Улюблені книги в порядку відображення
+     */
+    private void displayBooks(List<BookSummary> books) {
+        try {
+            bookGrid.setBooks(books); // Плитки створюються лише для видимих рядків
+            log.info("Список улюблених книг оновлено. Показано {} книг.", books.size());
         } catch (Exception e) {
-            log.error("Помилка завантаження списку улюблених книг", e);
-            bookFlowPane.getChildren().clear(); // Очищаємо панель у разі помилки
-            if (primaryController != null) {
-                primaryController.showErrorAlert("Помилка Завантаження", "Не вдалося завантажити список улюблених книг.", e.getMessage());
-            }
+            showLoadError(e);
+        }
+    }
+
+    /**
+     * Очищає панель книг і повідомляє користувача про помилку завантаження.
+     * @param e Помилка завантаження або відображення списку
+     */
+    private void showLoadError(Throwable e) {
+        log.error("Помилка завантаження списку улюблених книг", e);
+        bookGrid.showMessage(new Label()); // Очищаємо сітку у разі помилки
+        if (primaryController != null) {
+            primaryController.showErrorAlert("Помилка Завантаження", "Не вдалося завантажити список улюблених книг.", e.getMessage());
         }
     }
 
@@ -206,7 +276,7 @@ public class FavoritesController extends BaseController {
      * @param book Книга для відображення.
      * @return Node, що представляє плитку книги.
      */
-    private Node createBookTile(Book book) {
+    private Node createBookTile(BookSummary book) {
         // Головний контейнер плитки
         VBox tileContainer = new VBox(5); // 5px вертикальний відступ між елементами
         tileContainer.getStyleClass().add("book-tile");
@@ -219,16 +289,16 @@ public class FavoritesController extends BaseController {
         coverImageView.setFitWidth(110);  // Ширина обкладинки
         coverImageView.setPreserveRatio(true); // Зберігати пропорції зображення
         coverImageView.getStyleClass().add("book-tile-cover");
-        loadTileCoverImage(book.getCoverImagePath(), coverImageView);
+        CoverImageCache.getInstance().show(coverImageView, book.coverImagePath(), CoverThumbnailStore.Variant.TILE); // Спільний кеш обкладинок
 
         // 2. Контейнер для назви та автора
         VBox mainContentBox = new VBox(4); // 4px вертикальний відступ
         mainContentBox.setAlignment(Pos.TOP_CENTER);
 
-        Label titleLabel = new Label(book.getTitle());
+        Label titleLabel = new Label(book.title());
         titleLabel.getStyleClass().add("book-tile-title");
 
-        Label authorLabel = new Label(book.getAuthor() != null ? book.getAuthor() : "");
+        Label authorLabel = new Label(book.author() != null ? book.author() : "");
         authorLabel.getStyleClass().add("book-tile-author");
 
         mainContentBox.getChildren().addAll(titleLabel, authorLabel);
@@ -242,10 +312,10 @@ public class FavoritesController extends BaseController {
         // 3.1. Рядок з рейтингом
         HBox ratingRow = new HBox();
         ratingRow.getStyleClass().add("book-tile-rating-box");
-        if (book.getRating() > 0) {
+        if (book.rating() > 0) {
             for (int i = 0; i < 5; i++) {
-                Label starLabel = new Label(i < book.getRating() ? "★" : "☆"); // Заповнена або порожня зірка
-                starLabel.getStyleClass().add(i < book.getRating() ? "book-tile-star-filled" : "book-tile-star-empty");
+                Label starLabel = new Label(i < book.rating() ? "★" : "☆"); // Заповнена або порожня зірка
+                starLabel.getStyleClass().add(i < book.rating() ? "book-tile-star-filled" : "book-tile-star-empty");
                 ratingRow.getChildren().add(starLabel);
             }
         } else {
@@ -260,7 +330,7 @@ public class FavoritesController extends BaseController {
         dateFavoriteRow.setSpacing(8); // 8px горизонтальний відступ між елементами
 
         // 3.2.1. Дата прочитання
-        Label dateReadLabel = new Label(book.getDateRead() != null ? book.getDateRead().format(DATE_FORMATTER) : "");
+        Label dateReadLabel = new Label(book.dateRead() != null ? book.dateRead().format(DATE_FORMATTER) : "");
         dateReadLabel.getStyleClass().add("book-tile-date");
 
         // 3.2.2. Розширювач для кнопки "улюблене" (щоб кнопка була справа)
@@ -286,7 +356,7 @@ public class FavoritesController extends BaseController {
         favoriteButton.setTooltip(new Tooltip("Прибрати з улюблених"));
 
         favoriteButton.setOnAction(event -> {
-            log.debug("Натиснуто кнопку 'Прибрати з улюблених' для книги: {}", book.getTitle());
+            log.debug("Натиснуто кнопку 'Прибрати з улюблених' для книги: {}", book.title());
             handleToggleFavorite(book);
         });
 
@@ -298,6 +368,15 @@ public class FavoritesController extends BaseController {
         // Додавання всіх основних частин до головного контейнера плитки
         tileContainer.getChildren().addAll(coverImageView, mainContentBox, overallBottomContainer);
 
+        // Обкладинка оновлюється в наявній плитці, інші зміни перебудовують її
+        BookGridView.setTilePatch(tileContainer, (updated, changed) -> {
+            if (!TILE_ONLY_FIELDS.containsAll(changed)) return false;
+            if (changed.contains(BookField.COVER_IMAGE)) {
+                CoverImageCache.getInstance().show(coverImageView, updated.coverImagePath(), CoverThumbnailStore.Variant.TILE);
+            }
+            return true;
+        });
+
         // Обробник подвійного кліку на плитку для переходу до деталей книги
         tileContainer.setOnMouseClicked(event -> {
             // Перевіряємо, чи клік не був на кнопці "улюблене"
@@ -313,8 +392,9 @@ public class FavoritesController extends BaseController {
 
             if (!clickedOnFavoriteButton && event.getClickCount() == 2) { // Подвійний клік
                 if (primaryController != null) {
-                    log.debug("Подвійний клік на плитку улюбленої книги: '{}'. Перехід до деталей.", book.getTitle());
-                    primaryController.showBookDetailView(book, "favorites_view.fxml"); // Передаємо назву поточного FXML для повернення
+                    log.debug("Подвійний клік на плитку улюбленої книги: '{}'. Перехід до деталей.", book.title());
+                    loadFullBook(book, fullBook ->
+                            primaryController.showBookDetailView(fullBook, "favorites_view.fxml")); // Передаємо назву поточного FXML для повернення
                 } else {
                     log.warn("PrimaryController не встановлено, неможливо показати деталі книги.");
                 }
@@ -323,59 +403,6 @@ public class FavoritesController extends BaseController {
         return tileContainer;
     }
 
-    /**
-     * Завантажує зображення обкладинки для плитки книги.
-     * Якщо файл обкладинки не знайдено або сталася помилка, встановлює зображення за замовчуванням.
-     * @param filename Ім'я файлу обкладинки.
-     * @param imageView ImageView, в який буде завантажено зображення.
-     */
-    private void loadTileCoverImage(String filename, ImageView imageView) {
-        imageView.setImage(null); // Скидаємо попереднє зображення
-        if (filename == null || filename.isBlank()) {
-            log.trace("Ім'я файлу обкладинки відсутнє, завантаження дефолтного зображення.");
-            imageView.setImage(loadDefaultImage());
-            return;
-        }
-        try {
-            Path fullImagePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
-            File imageFile = fullImagePath.toFile();
-            if (imageFile.exists() && imageFile.isFile()) {
-                // Завантажуємо зображення з кешуванням та фоновим завантаженням
-                Image image = new Image(imageFile.toURI().toString(), 100, 150, true, true, true);
-                if (image.isError()) {
-                    log.error("Помилка завантаження зображення обкладинки (плитка) [{}]: {}", fullImagePath, image.getException().getMessage());
-                    imageView.setImage(loadDefaultImage());
-                } else {
-                    imageView.setImage(image);
-                    log.trace("Обкладинку '{}' успішно завантажено для плитки.", filename);
-                }
-            } else {
-                log.warn("Файл обкладинки (плитка) '{}' не знайдено.", fullImagePath);
-                imageView.setImage(loadDefaultImage());
-            }
-        } catch (Exception e) {
-            log.error("Не вдалося завантажити зображення обкладинки (плитка) з файлу '{}': {}", filename, e.getMessage(), e);
-            imageView.setImage(loadDefaultImage());
-        }
-    }
-
-    /**
-     * Завантажує стандартне зображення-заглушку для обкладинки книги з ресурсів.
-     * @return Об'єкт Image з дефолтним зображенням або null, якщо завантаження не вдалося.
-     */
-    private Image loadDefaultImage() {
-        try (InputStream is = getClass().getResourceAsStream("/com/student/bookdiary/ui/icons/default_book_cover.png")) {
-            if (is == null) {
-                log.error("Не вдалося знайти ресурс з дефолтним зображенням обкладинки.");
-                return null;
-            }
-            return new Image(is);
-        } catch (Exception e) {
-            log.error("Помилка завантаження дефолтного зображення обкладинки: {}", e.getMessage(), e);
-            return null;
-        }
-    }
-
     /**
      * Обробляє подію пошуку (натискання Enter у полі пошуку або клік на кнопку "Пошук", якщо вона є).
      * @param event Подія дії.
@@ -388,25 +415,29 @@ public class FavoritesController extends BaseController {
 
     /**
      * Обробляє дію прибирання книги зі списку улюблених.
-     * Оновлює статус книги в базі даних та перезавантажує список улюблених.
+     * Оновлює статус книги в базі даних у фоновому потоці; плитку прибирає обробник події зміни.
+     * Запис не скасовується під час переходу до іншого подання, а про помилку користувач дізнається й тоді.
      * @param book Книга, яку потрібно прибрати з улюблених.
      */
-    private void handleToggleFavorite(Book book) {
+    private void handleToggleFavorite(BookSummary book) {
         if (book == null) {
             log.warn("Спроба прибрати з улюблених null книгу.");
             return;
         }
-        log.debug("Прибирання книги ID={} ('{}') з улюблених.", book.getId(), book.getTitle());
-        try {
-            book.setFavorite(false); // Знімаємо позначку "улюблене"
-            bookDao.updateBook(book);
-            log.info("Книгу ID={} ('{}') прибрано з улюблених.", book.getId(), book.getTitle());
-            loadBooks(); // Перезавантажуємо список, щоб книга зникла з нього
-        } catch (Exception e) {
-            log.error("Помилка під час прибирання книги ID={} ('{}') з улюблених.", book.getId(), book.getTitle(), e);
-            // Важливо повідомити користувача про помилку
-            showErrorAlertHelper("Помилка Оновлення", "Не вдалося оновити статус книги.", e.getMessage());
-        }
+        log.debug("Прибирання книги ID={} ('{}') з улюблених.", book.id(), book.title());
+        asyncBookDao.setFavorite(book.id(), false).whenComplete((changed, error) -> { // Знімаємо позначку "улюблене"
+            if (error != null) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка під час прибирання книги ID={} ('{}') з улюблених.", book.id(), book.title(), cause);
+                // Важливо повідомити користувача про помилку
+                showErrorAlertHelper("Помилка Оновлення", "Не вдалося оновити статус книги.", cause.getMessage());
+            } else if (changed) {
+                log.info("Книгу ID={} ('{}') прибрано з улюблених.", book.id(), book.title());
+            } else if (!isDisposed()) {
+                log.warn("Книгу ID={} не знайдено в БД; плитку прибрано.", book.id());
+                bookGrid.remove(book.id());
+            }
+        });
     }
 
     /**
@@ -414,27 +445,51 @@ public class FavoritesController extends BaseController {
      * Викликається, наприклад, з BookDetailController.
      * @param book Книга для редагування.
      */
-    private void handleEditBook(Book book) {
+    private void handleEditBook(BookSummary book) {
         if (book == null) {
             log.warn("Спроба редагувати null книгу.");
             return;
         }
-        log.debug("Запит на редагування улюбленої книги: {}", book.getTitle());
+        log.debug("Запит на редагування улюбленої книги: {}", book.title());
         if (primaryController != null) {
-            primaryController.showAddEditBookDialog(book);
+            loadFullBook(book, primaryController::showAddEditBookDialog);
         } else {
             log.error("PrimaryController не встановлено! Неможливо відкрити вікно редагування.");
             showErrorAlertHelper("Помилка", "Неможливо відкрити вікно редагування.", "PrimaryController не ініціалізовано.");
         }
     }
 
+    /**
+     * Завантажує повні дані книги (зокрема коментар) для детального вигляду чи вікна редагування
+     * у фоновому потоці. Плитки будуються зі скорочених представлень, тому повний об'єкт читається лише на вимогу.
+     * @param book Скорочене представлення книги.
+     * @param onLoaded Обробник повного об'єкта книги (викликається в потоці JavaFX); не викликається,
+     *                 якщо книгу не знайдено (список тоді оновлюється) чи сталася помилка.
+     */
+    private void loadFullBook(BookSummary book, Consumer<Book> onLoaded) {
+        track(asyncBookDao.getBookById(book.id())).whenComplete((fullBook, error) -> {
+            if (error == null) {
+                fullBook.ifPresentOrElse(onLoaded, () -> {
+                    log.warn("Улюблену книгу ID={} не знайдено в БД; список буде оновлено.", book.id());
+                    loadBooks();
+                });
+            } else if (!AsyncDao.isCancellation(error)) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка завантаження книги ID={} ('{}').", book.id(), book.title(), cause);
+                showErrorAlertHelper("Помилка Завантаження", "Не вдалося завантажити дані книги.", cause.getMessage());
+            }
+        });
+    }
+
     /**
      * Обробляє запит на повне видалення книги з системи.
      * Викликається, наприклад, з BookDetailController.
-     * Показує діалог підтвердження перед видаленням.
+     * Показує діалог підтвердження перед видаленням. Книга видаляється з бази даних у фоновому потоці,
+     * а файл обкладинки - після успішного видалення; видалення не скасовується під час переходу
+     * до іншого подання, а плитку прибирає обробник події зміни.
      * @param book Книга для видалення.
      */
-    private void handleDeleteBook(Book book) {
+    private void handleDeleteBook(BookSummary book) {
         if (book == null) {
             log.warn("Спроба видалити null книгу.");
             return;
@@ -442,26 +497,27 @@ public class FavoritesController extends BaseController {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.initOwner(getOwnerWindow());
         alert.setTitle("Підтвердження видалення");
-        alert.setHeaderText("Видалити книгу \"" + book.getTitle() + "\" повністю?");
+        alert.setHeaderText("Видалити книгу \"" + book.title() + "\" повністю?");
         alert.setContentText("Книга буде видалена з бази даних, включаючи всі списки (прочитані, бажані, улюлюблені). Цю дію неможливо скасувати.");
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK){
-            log.info("Підтверджено повне видалення улюбленої книги ID={} ('{}').", book.getId(), book.getTitle());
-            try {
-                // Видалення файлу обкладинки, якщо він існує
-                if (book.getCoverImagePath() != null && !book.getCoverImagePath().isBlank()) {
-                    deleteCoverFile(book.getCoverImagePath());
+            log.info("Підтверджено повне видалення улюбленої книги ID={} ('{}').", book.id(), book.title());
+            asyncBookDao.deleteBook(book.id()).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    // Видалення файлу обкладинки, якщо він існує
+                    if (book.coverImagePath() != null && !book.coverImagePath().isBlank()) {
+                        deleteCoverFile(book.coverImagePath());
+                    }
+                    log.info("Книгу ID={} ('{}') повністю видалено з БД.", book.id(), book.title());
+                } else {
+                    Throwable cause = AsyncDao.unwrap(error);
+                    log.error("Помилка під час повного видалення книги ID={} ('{}')", book.id(), book.title(), cause);
+                    showErrorAlertHelper("Помилка Видалення", "Не вдалося видалити книгу.", cause.getMessage());
                 }
-                bookDao.deleteBook(book.getId());
-                log.info("Книгу ID={} ('{}') повністю видалено з БД.", book.getId(), book.getTitle());
-                loadBooks(); // Оновлюємо список улюблених (книга зникне)
-            } catch (Exception e) {
-                log.error("Помилка під час повного видалення книги ID={} ('{}')", book.getId(), book.getTitle(), e);
-                showErrorAlertHelper("Помилка Видалення", "Не вдалося видалити книгу.", e.getMessage());
-            }
+            });
         } else {
-            log.debug("Повне видалення книги ID={} ('{}') скасовано користувачем.", book.getId(), book.getTitle());
+            log.debug("Повне видалення книги ID={} ('{}') скасовано користувачем.", book.id(), book.title());
         }
     }
 
@@ -476,6 +532,8 @@ public class FavoritesController extends BaseController {
         }
         try {
             Path filePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
+            CoverThumbnailStore.getInstance().deleteThumbnails(filename);
+            CoverImageCache.getInstance().invalidate(filename);
             if (Files.deleteIfExists(filePath)) {
                 log.info("Файл обкладинки '{}' успішно видалено.", filePath);
             } else {
@@ -508,9 +566,9 @@ public class FavoritesController extends BaseController {
      * @return Об'єкт Window, що є батьківським, або null, якщо визначити не вдалося.
      */
     private javafx.stage.Window getOwnerWindow() {
-        // Спроба отримати вікно через FlowPane або інший доступний елемент UI
-        if (bookFlowPane != null && bookFlowPane.getScene() != null) {
-            return bookFlowPane.getScene().getWindow();
+        // Спроба отримати вікно через сітку плиток або інший доступний елемент UI
+        if (bookGrid != null && bookGrid.getScene() != null) {
+            return bookGrid.getScene().getWindow();
         }
         if (searchField != null && searchField.getScene() != null) {
             return searchField.getScene().getWindow();
@@ -2,10 +2,14 @@ package com.student.bookdiary.ui;
 
 import com.student.bookdiary.model.Goal;
 import com.student.bookdiary.model.GoalType;
-import com.student.bookdiary.persistence.BookDao;
+import com.student.bookdiary.persistence.AsyncDao;
+import com.student.bookdiary.persistence.AsyncGoalDao;
+import com.student.bookdiary.persistence.ChangeEvent;
 import com.student.bookdiary.persistence.GoalDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
 import com.student.bookdiary.persistence.SqliteGoalDao;
+import com.student.bookdiary.service.GoalProgressService;
+import com.student.bookdiary.service.ReadingStatsService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -31,9 +35,11 @@ import java.time.format.TextStyle;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-public class GoalsController {
+public class GoalsController extends BaseController {
 
     private static final Logger log = LoggerFactory.getLogger(GoalsController.class);
 
@@ -45,8 +51,16 @@ public class GoalsController {
     private ComboBox<String> filterComboBox; // Випадаючий список для фільтрації цілей
 
     private GoalDao goalDao; // Об'єкт для доступу до даних цілей
-    private BookDao bookDao; // Об'єкт для доступу до даних книг (для розрахунку прогресу)
-    private PrimaryController primaryController; // Контролер головного вікна
+    private AsyncGoalDao asyncGoalDao; // Асинхронний доступ до цілей (завантаження поза потоком JavaFX)
+    private GoalProgressService goalProgressService; // Сервіс розрахунку прогресу цілей
+    private CompletableFuture<GoalsSnapshot> pendingLoad; // Незавершене завантаження (скасовується новішим)
+
+    /**
+     * Цілі, відсортовані для відображення, разом з їхнім прогресом.
+     * Готується у фоновому потоці, відображається в потоці JavaFX.
+     */
+    private record GoalsSnapshot(List<Goal> goals, Map<Goal, GoalProgressService.Progress> progressByGoal) {
+    }
 
     // Константи для фільтрації
     private static final String FILTER_ALL = "Всі цілі";
@@ -56,16 +70,17 @@ public class GoalsController {
 
     /**
      * Метод ініціалізації, викликається після завантаження FXML.
-     * Налаштовує DAO, фільтр та завантажує цілі.
+     * Налаштовує DAO, фільтр та підписку на події змін. Цілі завантажуються в {@link #refreshData()}.
      */
     @FXML
     private void initialize() {
         log.info("Ініціалізація GoalsController...");
         this.goalDao = new SqliteGoalDao();
-        this.bookDao = new SqliteBookDao();
+        this.asyncGoalDao = new AsyncGoalDao(goalDao, Platform::runLater);
+        this.goalProgressService = GoalProgressService.getInstance();
 
         setupFilterComboBox(); // Налаштування випадаючого списку фільтрації
-        loadAndDisplayGoals(); // Завантаження та відображення цілей
+        subscribeToChanges(this::onDataChanged);
 
         log.info("GoalsController успішно ініціалізовано.");
     }
@@ -91,11 +106,22 @@ public class GoalsController {
     }
 
     /**
-     * Встановлює посилання на головний контролер.
-     * @param primaryController головний контролер програми.
+     * Завантажує та відображає цілі. Викликається головним контролером після показу подання.
+     */
+    @Override
+    public void refreshData() {
+        loadAndDisplayGoals();
+    }
+
+    /**
+     * Перезавантажує цілі, якщо подія змінює цілі або прогрес їх виконання
+     * (зміни книг, що не впливають на статистику читання, ігноруються).
+     * @param event Подія зміни даних.
      */
-    public void setPrimaryController(PrimaryController primaryController) {
-        this.primaryController = primaryController;
+    private void onDataChanged(ChangeEvent event) {
+        if (event instanceof ChangeEvent.GoalChanged || ReadingStatsService.affectsStatistics(event)) {
+            loadAndDisplayGoals();
+        }
     }
 
     /**
@@ -114,28 +140,52 @@ public class GoalsController {
     }
 
     /**
-     * Завантажує цілі з бази даних, фільтрує та сортує їх,
-     * а потім відображає у вигляді карток на FlowPane.
+     * Завантажує цілі з бази даних та розраховує їхній прогрес у фоновому потоці,
+     * а потім фільтрує та відображає їх у вигляді карток на FlowPane.
      */
     public void loadAndDisplayGoals() {
         log.debug("Завантаження та відображення цілей...");
-        goalsFlowPane.getChildren().clear(); // Очищення попередніх карток
-
-        try {
-            List<Goal> goals = goalDao.getAllGoals();
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true); // Новіший запит замінює незавершений попередній
+        }
+        pendingLoad = track(asyncGoalDao.call(dao -> {
+            List<Goal> goals = dao.getAllGoals();
+            // Прогрес усіх цілей розраховується один раз, до сортування та відображення.
+            Map<Goal, GoalProgressService.Progress> progressByGoal = goalProgressService.evaluate(goals);
             // Сортування: спочатку активні, потім виконані.
             // В межах кожної групи сортування за датою додавання (новіші спочатку).
             goals.sort(Comparator
-                    .comparing((Goal g) -> calculateProgress(g) >= g.getTargetValue()) // true (виконані) йдуть пізніше
+                    .comparing((Goal g) -> progressByGoal.get(g).isAchieved()) // true (виконані) йдуть пізніше
                     .thenComparing(Goal::getDateAdded, Comparator.nullsLast(Comparator.reverseOrder()))); // Обробка можливого null для dateAdded
+            return new GoalsSnapshot(goals, progressByGoal);
+        }));
+        pendingLoad.whenComplete((snapshot, error) -> {
+            if (error == null) {
+                displayGoals(snapshot);
+            } else if (!AsyncDao.isCancellation(error)) {
+                showLoadError(AsyncDao.unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Відображає завантажені цілі, що відповідають вибраному фільтру, у вигляді карток.
+     * @param snapshot Відсортовані цілі з прогресом.
+     */
+    private void displayGoals(GoalsSnapshot snapshot) {
+        goalsFlowPane.getChildren().clear(); // Очищення попередніх карток
+        List<Goal> goals = snapshot.goals();
+        Map<Goal, GoalProgressService.Progress> progressByGoal = snapshot.progressByGoal();
 
+        try {
             String selectedFilter = filterComboBox.getValue();
             log.debug("Застосовується фільтр: {}", selectedFilter);
 
             int displayedGoalsCount = 0;
             for (Goal goal : goals) {
-                int currentProgress = calculateProgress(goal);
-                boolean isAchieved = goal.getTargetValue() > 0 && currentProgress >= goal.getTargetValue();
+                GoalProgressService.Progress progress = progressByGoal.get(goal);
+                int currentProgress = progress.current();
+                boolean isAchieved = progress.isAchieved();
 
                 boolean shouldDisplay = false;
                 if (FILTER_ALL.equals(selectedFilter)) {
@@ -154,50 +204,21 @@ public class GoalsController {
             }
             log.info("Цілі завантажено та відображено. Кількість показаних карток: {}", displayedGoalsCount);
         } catch (Exception e) {
-            log.error("Помилка при завантаженні або відображенні цілей", e);
-            Label errorLabel = new Label("Не вдалося завантажити цілі: " + e.getMessage());
-            errorLabel.setStyle("-fx-text-fill: red; -fx-padding: 10px;"); // Додано стиль для кращої видимості
-            goalsFlowPane.getChildren().add(errorLabel);
-            showErrorAlertHelper("Помилка завантаження", "Не вдалося завантажити список цілей.", e.getMessage());
+            showLoadError(e);
         }
     }
 
     /**
-     * Розраховує поточний прогрес для вказаної цілі.
-     * @param goal Ціль, для якої розраховується прогрес.
-     * @return Кількість прочитаних книг, що відповідають критеріям цілі.
+     * Показує повідомлення про помилку замість карток цілей.
+     * @param e Помилка завантаження або відображення.
      */
-    private int calculateProgress(Goal goal) {
-        if (goal == null || goal.getType() == null) {
-            log.warn("Спроба розрахувати прогрес для некоректної цілі (null або тип null): {}", goal != null ? goal.getId() : "ID невідомий");
-            return 0;
-        }
-
-        int currentProgress = 0;
-        switch (goal.getType()) {
-            case MONTHLY:
-                if (goal.getYear() != null && goal.getMonth() != null) {
-                    currentProgress = bookDao.getBooksReadCountByMonthAndYear(goal.getYear(), goal.getMonth());
-                } else {
-                    log.warn("Для місячної цілі ID {} не вказано рік або місяць.", goal.getId());
-                }
-                break;
-            case YEARLY:
-                if (goal.getYear() != null) {
-                    currentProgress = bookDao.getBooksReadCountByYear(goal.getYear());
-                } else {
-                    log.warn("Для річної цілі ID {} не вказано рік.", goal.getId());
-                }
-                break;
-            case TOTAL:
-                currentProgress = bookDao.getTotalBooksReadCount();
-                break;
-            default:
-                // Цей випадок не повинен виникати, якщо GoalType є enum
-                log.warn("Невідомий тип цілі: {} для цілі ID {}", goal.getType(), goal.getId());
-        }
-        log.trace("Розрахований прогрес для цілі ID {}: {}", goal.getId(), currentProgress);
-        return currentProgress;
+    private void showLoadError(Throwable e) {
+        log.error("Помилка при завантаженні або відображенні цілей", e);
+        goalsFlowPane.getChildren().clear();
+        Label errorLabel = new Label("Не вдалося завантажити цілі: " + e.getMessage());
+        errorLabel.setStyle("-fx-text-fill: red; -fx-padding: 10px;"); // Додано стиль для кращої видимості
+        goalsFlowPane.getChildren().add(errorLabel);
+        showErrorAlertHelper("Помилка завантаження", "Не вдалося завантажити список цілей.", e.getMessage());
     }
 
     /**
@@ -278,8 +299,7 @@ public class GoalsController {
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 try {
                     goalDao.deleteGoal(goal.getId());
-                    log.info("Ціль ID={} успішно видалено.", goal.getId());
-                    loadAndDisplayGoals(); // Оновити відображення списку цілей
+                    log.info("Ціль ID={} успішно видалено.", goal.getId()); // Список оновить обробник події зміни
                 } catch (Exception e) {
                     log.error("Помилка видалення цілі ID={}", goal.getId(), e);
                     showErrorAlertHelper("Помилка видалення", "Не вдалося видалити ціль.", e.getMessage());
@@ -1,5 +1,9 @@
 package com.student.bookdiary.ui;
 
+import com.student.bookdiary.persistence.BookRepository;
+import com.student.bookdiary.persistence.DataAccessException;
+import com.student.bookdiary.persistence.DatabaseManager;
+import com.student.bookdiary.service.ReadingStatsService;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -98,6 +102,8 @@ public class ImportExportController {
         try (FileOutputStream fos = new FileOutputStream(selectedZipFile);
              ZipOutputStream zos = new ZipOutputStream(fos)) {
 
+            // У режимі WAL останні зміни можуть бути лише у файлі журналу, тому переносимо їх в основний файл.
+            DatabaseManager.checkpoint();
             log.info("Додавання файлу {} до архіву...", dbFile.getName());
             addFileToZip(dbFile, dbFile.getName(), zos);
 
@@ -113,7 +119,7 @@ public class ImportExportController {
             showInfoAlert("Експорт Завершено", "Резервну копію успішно створено!",
                     "Файл збережено як: " + selectedZipFile.getAbsolutePath());
 
-        } catch (IOException e) {
+        } catch (IOException | DataAccessException e) {
             log.error("Помилка під час експорту даних у файл {}", selectedZipFile.getAbsolutePath(), e);
             statusLabel.setText("Помилка експорту: " + e.getMessage());
             showErrorAlert("Помилка Експорту", "Не вдалося створити резервну копію.",
@@ -185,8 +191,17 @@ public class ImportExportController {
             Path targetDbPath = Paths.get(DB_FILENAME);
             Path sourceDbPath = importedDbFile.toPath();
             log.warn("Спроба замінити файл БД. Програма може потребувати перезапуску для коректної роботи з новими даними.");
+            // Пул тримає відкриті з'єднання з поточним файлом, тому закриваємо його перед заміною.
+            // Наступне звернення до БД створить новий пул з'єднань вже з імпортованим файлом.
+            DatabaseManager.closeConnection();
             Files.copy(sourceDbPath, targetDbPath, StandardCopyOption.REPLACE_EXISTING);
             log.info("Файл бази даних {} успішно замінено.", DB_FILENAME);
+            // Резервна копія могла бути створена старішою версією програми - оновлюємо її схему.
+            DatabaseManager.initializeDatabase();
+            // Книги змінилися в обхід DAO, тому закешовані книги та статистика застаріли.
+            BookRepository.getInstance().invalidate();
+            ReadingStatsService.getInstance().invalidate();
+            CoverImageCache.getInstance().clear(); // Обкладинки буде замінено вмістом архіву
 
             // Обробка папки з обкладинками
             File importedCoversDir = new File(tempUnpackDir, COVERS_DIR_NAME);
@@ -217,7 +232,7 @@ public class ImportExportController {
                     "Будь ласка, перезапустіть програму, щоб зміни вступили в силу.");
             log.info("Імпорт даних успішно завершено. Користувачу рекомендовано перезапустити програму.");
 
-        } catch (IOException e) {
+        } catch (IOException | DataAccessException e) {
             log.error("Помилка під час імпорту даних з файлу {}", selectedZipFile.getName(), e);
             statusLabel.setText("Помилка імпорту: " + e.getMessage());
             showErrorAlert("Помилка Імпорту", "Не вдалося імпортувати дані.",
@@ -313,6 +328,9 @@ public class ImportExportController {
             return;
         }
         for (File file : files) {
+            if (file.isDirectory() && file.getName().equals(CoverThumbnailStore.THUMBNAILS_DIRECTORY_NAME)) {
+                continue; // Мініатюри обкладинок не експортуються: після імпорту вони створюються заново
+            }
             String entryName = parentEntryName + "/" + file.getName(); // Формування повного шляху запису в архіві
             log.debug("Обробка {} для додавання в архів як {}", file.getPath(), entryName);
             if (file.isDirectory()) {
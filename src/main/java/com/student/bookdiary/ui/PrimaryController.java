@@ -4,7 +4,7 @@ import com.student.bookdiary.model.Book;
 import com.student.bookdiary.model.Goal;
 import com.student.bookdiary.persistence.BookDao;
 import com.student.bookdiary.persistence.GoalDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.persistence.BookRepository;
 import com.student.bookdiary.persistence.SqliteGoalDao;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -79,7 +79,7 @@ public class PrimaryController {
     @FXML
     private void initialize() {
         log.info("PrimaryController ініціалізація...");
-        this.bookDao = new SqliteBookDao();
+        this.bookDao = BookRepository.getInstance();
         this.goalDao = new SqliteGoalDao();
 
         // Налаштування теми перед завантаженням подання, щоб стилі застосувалися коректно
@@ -91,7 +91,7 @@ public class PrimaryController {
         if (initialController instanceof ReadBooksController rbc) {
             rbc.setPrimaryController(this);
             // Примусове оновлення списку книг після повного налаштування теми та сцени
-            rbc.loadBooks();
+            rbc.rebuildBooks();
         }
         setActiveNavigationButton(readBooksButton); // Встановлення активної кнопки навігації
         lastActiveMainButton = readBooksButton;     // Збереження початкової активної кнопки
@@ -330,6 +330,9 @@ public class PrimaryController {
             FXMLLoader loader = new FXMLLoader(fxmlUrl);
             Parent viewRoot = loader.load();
 
+            // Попереднє подання більше не показується: скасовуємо його незавершені завантаження
+            disposeCurrentView();
+
             // Очищення попереднього вмісту та встановлення нового
             contentPane.getChildren().setAll(viewRoot);
             AnchorPane.setTopAnchor(viewRoot, 0.0);
@@ -360,6 +363,21 @@ public class PrimaryController {
         }
     }
 
+    /**
+     * Звільняє ресурси поточного подання перед його заміною (скасовує незавершені завантаження)
+     * та записує в журнал показники кешу обкладинок.
+     */
+    private void disposeCurrentView() {
+        if (currentViewController instanceof BaseController previous) {
+            previous.dispose();
+        }
+        if (log.isDebugEnabled()) {
+            CoverImageCache.Stats covers = CoverImageCache.getInstance().stats();
+            log.debug("Кеш обкладинок: влучань {}%, звернень {}, витіснено {}, обсяг {} КБ",
+                    Math.round(covers.hitRate() * 100), covers.hits() + covers.misses(), covers.evictions(), covers.bytes() / 1024);
+        }
+    }
+
     /**
      * Оновлює виділення активної кнопки навігації на основі завантаженого FXML файлу.
      * @param fxmlPath Шлях до FXML файлу подання, яке було щойно завантажено.
@@ -494,8 +512,7 @@ public class PrimaryController {
             controller.setDialogStage(dialogStage);
             controller.setBookDao(this.bookDao);
             controller.setBookToEdit(bookToEdit);
-            // Встановлення callback-функції для оновлення списку книг після успішного збереження/редагування
-            controller.setRefreshCallback(this::refreshCurrentView);
+            // Подання оновлюються самі за подіями змін (ChangeEventBus), callback не потрібен
 
             dialogStage.showAndWait(); // Показуємо діалог і чекаємо на його закриття
             log.debug("Діалог роботи з книгою закрито.");
@@ -530,8 +547,7 @@ public class PrimaryController {
             controller.setDialogStage(dialogStage);
             controller.setGoalDao(this.goalDao);
             controller.setGoalToEdit(goalToEdit);
-            // Встановлення callback-функції для оновлення подання цілей
-            controller.setRefreshCallback(this::refreshCurrentView);
+            // Подання цілей оновлюється само за подіями змін (ChangeEventBus), callback не потрібен
 
             dialogStage.showAndWait();
             log.debug("Діалог роботи з ціллю закрито.");
@@ -576,8 +592,8 @@ public class PrimaryController {
 
     /**
      * Оновлює дані в поточному активному поданні (наприклад, список книг, цілей).
-     * Викликається після операцій додавання, редагування або видалення даних,
-     * щоб відобразити зміни.
+     * Викликається після зміни теми, щоб перебудувати елементи з новими стилями;
+     * зміни даних подання застосовують самі за подіями {@link com.student.bookdiary.persistence.ChangeEventBus}.
      */
     private void refreshCurrentView() {
         log.debug("Спроба оновити поточне подання. Активний контролер: {}",
@@ -591,13 +607,13 @@ public class PrimaryController {
         // Використання instanceof для безпечного виклику методів оновлення конкретних контролерів
         if (currentViewController instanceof ReadBooksController rbc) {
             log.info("Оновлення подання 'Прочитані книги'...");
-            rbc.loadBooks();
+            rbc.rebuildBooks();
         } else if (currentViewController instanceof WishlistController wlc) {
             log.info("Оновлення подання 'Хочу прочитати'...");
-            wlc.loadBooks();
+            wlc.rebuildBooks();
         } else if (currentViewController instanceof FavoritesController fc) {
             log.info("Оновлення подання 'Улюблені'...");
-            fc.loadBooks();
+            fc.rebuildBooks();
         } else if (currentViewController instanceof GoalsController gc) {
             log.info("Оновлення подання 'Цілі'...");
             gc.refreshGoalsDisplay();
@@ -649,6 +665,7 @@ public class PrimaryController {
     public void showBookDetailView(Book book, String returnViewFxml) {
         log.info("Перехід до детального перегляду книги ID={}, назва: '{}'. Шлях повернення: {}",
                 book.getId(), book.getTitle(), returnViewFxml);
+        disposeCurrentView();
         currentViewController = null; // Скидаємо поточний контролер перед завантаженням нового
         final String fxmlPath = "/com/student/bookdiary/ui/book_detail_view.fxml";
         try {
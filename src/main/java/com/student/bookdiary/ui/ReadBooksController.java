@@ -1,19 +1,25 @@
 package com.student.bookdiary.ui;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
 import com.student.bookdiary.model.ReadingStatus;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
 import com.student.bookdiary.persistence.BookDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.persistence.BookRepository;
+import com.student.bookdiary.persistence.ChangeEvent;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.Region;
@@ -21,15 +27,13 @@ import javafx.scene.layout.Priority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.net.URL;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Контролер для відображення списку прочитаних книг.
@@ -42,11 +46,15 @@ public class ReadBooksController extends BaseController {
     /** FXML елементи інтерфейсу */
     @FXML private TextField searchField;
     @FXML private ComboBox<String> sortComboBox;
-    @FXML private FlowPane bookFlowPane;
+    @FXML private BookGridView bookGrid;
     @FXML private ComboBox<String> genreFilterComboBox;
 
     /** Об'єкт для роботи з даними книг */
     private BookDao bookDao;
+    /** Асинхронний доступ до книг (запити поза потоком JavaFX) */
+    private AsyncBookDao asyncBookDao;
+    /** Фонове завантаження, фільтрація та сортування списку книг */
+    private BookListLoader bookListLoader;
     private PrimaryController primaryController;
 
     /** Константи для опцій сортування */
@@ -57,6 +65,9 @@ public class ReadBooksController extends BaseController {
     private static final String SORT_BY_RATING_ASC = "Рейтинг (зростання)";
     private static final String ALL_GENRES_OPTION = "Всі жанри";
 
+    /** Поля, зміна яких не впливає на склад і порядок списку: досить оновити одну плитку на місці */
+    private static final Set<BookField> TILE_ONLY_FIELDS = EnumSet.of(BookField.FAVORITE, BookField.COMMENT, BookField.COVER_IMAGE);
+
     /** Форматувач для відображення дат */
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
@@ -75,7 +86,11 @@ public class ReadBooksController extends BaseController {
     @FXML
     private void initialize() {
         log.info("Ініціалізація ReadBooksController...");
-        this.bookDao = new SqliteBookDao();
+        this.bookDao = BookRepository.getInstance();
+        this.asyncBookDao = new AsyncBookDao(bookDao, Platform::runLater);
+        this.bookListLoader = new BookListLoader(asyncBookDao,
+                dao -> dao.getBookSummariesByStatus(ReadingStatus.READ), bookGrid);
+        bookGrid.setTileFactory(this::createBookTile);
 
         setupSortComboBox();
         setupGenreFilterComboBox();
@@ -89,11 +104,7 @@ public class ReadBooksController extends BaseController {
             if (newVal != null) loadBooks();
         });
 
-        // Налаштування відступів для FlowPane
-        bookFlowPane.setHgap(15);
-        bookFlowPane.setVgap(15);
-        bookFlowPane.setPadding(new Insets(15));
-
+        subscribeToChanges(this::onDataChanged);
         loadBooks();
         log.info("ReadBooksController успішно ініціалізовано");
     }
@@ -111,61 +122,100 @@ public class ReadBooksController extends BaseController {
 
     /**
      * Завантажує та відображає список прочитаних книг з урахуванням фільтрів та сортування.
+     * Запит, фільтрація та сортування виконуються у фоновому потоці ({@link BookListLoader}).
      */
     public void loadBooks() {
         log.debug("Завантаження списку прочитаних книг...");
-        try {
-            List<Book> books = bookDao.getBooksByStatus(ReadingStatus.READ);
-
-            // Застосування фільтра пошуку
-            String searchTerm = searchField.getText().trim().toLowerCase();
-            if (!searchTerm.isEmpty()) {
-                books = books.stream()
-                        .filter(book -> book.getTitle().toLowerCase().contains(searchTerm) ||
-                                (book.getAuthor() != null && book.getAuthor().toLowerCase().contains(searchTerm)))
-                        .collect(Collectors.toList());
-            }
+        track(bookListLoader.load(currentQuery(), this::displayBooks, this::showLoadError));
+    }
 
-            // Застосування фільтра за жанром
-            String selectedGenre = genreFilterComboBox.getValue();
-            if (selectedGenre != null && !selectedGenre.equals(ALL_GENRES_OPTION) && !selectedGenre.isBlank()) {
-                books = books.stream()
-                        .filter(book -> selectedGenre.equalsIgnoreCase(book.getGenre()))
-                        .collect(Collectors.toList());
-            }
+    /**
+     * Створює всі плитки заново (наприклад, після зміни теми, від якої залежать іконки плиток).
+     * Звичайне оновлення ({@link #loadBooks()}) повторно використовує плитки незмінених книг.
+     */
+    public void rebuildBooks() {
+        bookGrid.clearTiles();
+        loadBooks();
+    }
 
-            // Застосування сортування
-            String sortOption = sortComboBox.getValue();
-            if (sortOption != null) {
-                Comparator<Book> comparator = switch (sortOption) {
-                    case SORT_BY_DATE_READ_ASC -> Comparator.comparing(Book::getDateRead, Comparator.nullsLast(Comparator.naturalOrder()));
-                    case SORT_BY_TITLE -> Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER);
-                    case SORT_BY_RATING_DESC -> Comparator.comparingInt(Book::getRating).reversed();
-                    case SORT_BY_RATING_ASC -> Comparator.comparingInt(Book::getRating);
-                    default -> Comparator.comparing(Book::getDateRead, Comparator.nullsLast(Comparator.reverseOrder()));
-                };
-                books.sort(comparator);
-            }
+    /**
+     * Застосовує подію зміни даних до списку: зміна полів, що не впливають на склад і порядок списку,
+     * оновлює одну плитку, видалення прибирає плитку, інші зміни книг перезавантажують список.
+     * Нова книга або зміна жанру оновлює список жанрів фільтра.
+     * @param event Подія зміни
+     */
+    private void onDataChanged(ChangeEvent event) {
+        if (event instanceof ChangeEvent.BookAdded
+                || event instanceof ChangeEvent.BookUpdated updated && updated.changedFields().contains(BookField.GENRE)) {
+            loadGenres();
+        }
+        switch (event) {
+            case ChangeEvent.BookUpdated updated when TILE_ONLY_FIELDS.containsAll(updated.changedFields()) ->
+                    refreshTile(updated.bookId());
+            case ChangeEvent.BookDeleted deleted -> bookGrid.remove(deleted.bookId());
+            case ChangeEvent.GoalChanged _ -> { }
+            default -> loadBooks();
+        }
+    }
 
-            // Оновлення відображення
-            bookFlowPane.getChildren().clear();
-            for (Book book : books) {
-                Node bookTileNode = createBookTile(book);
-                if (bookTileNode != null) {
-                    bookFlowPane.getChildren().add(bookTileNode);
-                }
+    /**
+     * Оновлює плитку книги з актуальних даних, якщо книга відображається.
+     * Книга читається у фоновому потоці.
+     * @param bookId ID книги
+     */
+    private void refreshTile(long bookId) {
+        if (!bookGrid.contains(bookId)) return;
+        track(asyncBookDao.getBookById(bookId)).whenComplete((book, error) -> {
+            if (error == null) {
+                book.map(BookSummary::of).ifPresentOrElse(
+                        bookGrid::update,
+                        () -> bookGrid.remove(bookId));
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Помилка оновлення плитки книги ID={}", bookId, AsyncDao.unwrap(error));
             }
-            log.info("Список прочитаних книг оновлено. Відображено {} книг", bookFlowPane.getChildren().size());
+        });
+    }
 
+    /**
+     * @return Критерії фільтрації та сортування з поточних значень елементів керування.
+     */
+    private BookListQuery currentQuery() {
+        String sortOption = sortComboBox.getValue();
+        Comparator<BookSummary> comparator = sortOption == null ? null : switch (sortOption) {
+            case SORT_BY_DATE_READ_ASC -> Comparator.comparing(BookSummary::dateRead, Comparator.nullsLast(Comparator.naturalOrder()));
+            case SORT_BY_TITLE -> Comparator.comparing(BookSummary::title, String.CASE_INSENSITIVE_ORDER);
+            case SORT_BY_RATING_DESC -> Comparator.comparingInt(BookSummary::rating).reversed();
+            case SORT_BY_RATING_ASC -> Comparator.comparingInt(BookSummary::rating);
+            default -> Comparator.comparing(BookSummary::dateRead, Comparator.nullsLast(Comparator.reverseOrder()));
+        };
+        return BookListQuery.of(searchField.getText(), genreFilterComboBox.getValue(), ALL_GENRES_OPTION, comparator);
+    }
+
+    /**
+     * Відображає відфільтровані та відсортовані книги у віртуалізованій сітці плиток
+     * ({@link BookGridView}), яка повторно використовує плитки незмінених книг.
+     * @param books Книги в порядку відображення
+     */
+    private void displayBooks(List<BookSummary> books) {
+        try {
+            bookGrid.setBooks(books);
+            log.info("Список прочитаних книг оновлено. Відображено {} книг", books.size());
         } catch (Exception e) {
-            log.error("Помилка завантаження списку прочитаних книг", e);
-            bookFlowPane.getChildren().clear();
-            Label errorLabel = new Label("Не вдалося завантажити книги.");
-            errorLabel.getStyleClass().add("error-text");
-            bookFlowPane.getChildren().add(errorLabel);
-            if (primaryController != null) {
-                primaryController.showErrorAlert("Помилка", "Не вдалося завантажити список книг.", e.getMessage());
-            }
+            showLoadError(e);
+        }
+    }
+
+    /**
+     * Показує повідомлення про помилку замість списку книг.
+     * @param e Помилка завантаження або відображення
+     */
+    private void showLoadError(Throwable e) {
+        log.error("Помилка завантаження списку прочитаних книг", e);
+        Label errorLabel = new Label("Не вдалося завантажити книги.");
+        errorLabel.getStyleClass().add("error-text");
+        bookGrid.showMessage(errorLabel);
+        if (primaryController != null) {
+            primaryController.showErrorAlert("Помилка", "Не вдалося завантажити список книг.", e.getMessage());
         }
     }
 
@@ -174,7 +224,7 @@ public class ReadBooksController extends BaseController {
      * @param book Книга для відображення
      * @return Node, що представляє плитку книги, або null у разі помилки
      */
-    private Node createBookTile(Book book) {
+    private Node createBookTile(BookSummary book) {
         if (book == null) {
             log.warn("Спроба створити плитку для null книги");
             return null;
@@ -192,16 +242,16 @@ public class ReadBooksController extends BaseController {
         coverImageView.setFitHeight(170);
         coverImageView.setFitWidth(110);
         coverImageView.setPreserveRatio(true);
-        loadTileCoverImage(book.getCoverImagePath(), coverImageView);
+        CoverImageCache.getInstance().show(coverImageView, book.coverImagePath(), CoverThumbnailStore.Variant.TILE); // Спільний кеш обкладинок
 
         // Контейнер для назви та автора
         VBox mainContentBox = new VBox(4);
         mainContentBox.setAlignment(Pos.TOP_CENTER);
 
-        Label titleLabel = new Label(book.getTitle());
+        Label titleLabel = new Label(book.title());
         titleLabel.getStyleClass().add("book-tile-title");
 
-        Label authorLabel = new Label(book.getAuthor() != null ? book.getAuthor() : "");
+        Label authorLabel = new Label(book.author() != null ? book.author() : "");
         authorLabel.getStyleClass().add("book-tile-author");
 
         mainContentBox.getChildren().addAll(titleLabel, authorLabel);
@@ -215,10 +265,10 @@ public class ReadBooksController extends BaseController {
         // Рейтинг
         HBox ratingRow = new HBox();
         ratingRow.getStyleClass().add("book-tile-rating-box");
-        if (book.getRating() > 0) {
+        if (book.rating() > 0) {
             for (int i = 0; i < 5; i++) {
-                Label starLabel = new Label(i < book.getRating() ? "★" : "☆");
-                starLabel.getStyleClass().add(i < book.getRating() ? "book-tile-star-filled" : "book-tile-star-empty");
+                Label starLabel = new Label(i < book.rating() ? "★" : "☆");
+                starLabel.getStyleClass().add(i < book.rating() ? "book-tile-star-filled" : "book-tile-star-empty");
                 ratingRow.getChildren().add(starLabel);
             }
         } else {
@@ -232,7 +282,7 @@ public class ReadBooksController extends BaseController {
         dateFavoriteRow.setAlignment(Pos.CENTER_LEFT);
         dateFavoriteRow.setSpacing(8);
 
-        Label dateReadLabel = new Label(book.getDateRead() != null ? book.getDateRead().format(DATE_FORMATTER) : "");
+        Label dateReadLabel = new Label(book.dateRead() != null ? book.dateRead().format(DATE_FORMATTER) : "");
         dateReadLabel.getStyleClass().add("book-tile-date");
 
         Region spacer = new Region();
@@ -243,9 +293,22 @@ public class ReadBooksController extends BaseController {
         ImageView favoriteIconView = new ImageView();
         favoriteButton.setGraphic(favoriteIconView);
         
-        updateFavoriteButtonStyle(favoriteButton, book.isFavorite(), favoriteIconView);
-
-        favoriteButton.setOnAction(event -> handleToggleFavorite(book, favoriteButton, favoriteIconView));
+        // Поточний стан позначки зберігається в плитці, бо BookSummary незмінний.
+        BooleanProperty favorite = new SimpleBooleanProperty(book.favorite());
+        updateFavoriteButtonStyle(favoriteButton, favorite.get(), favoriteIconView);
+        favorite.addListener((obs, oldVal, newVal) -> updateFavoriteButtonStyle(favoriteButton, newVal, favoriteIconView));
+
+        favoriteButton.setOnAction(event -> handleToggleFavorite(book, favorite, favoriteButton));
+
+        // Позначка "улюблене" та обкладинка оновлюються в наявній плитці, інші зміни перебудовують її
+        BookGridView.setTilePatch(tileContainer, (updated, changed) -> {
+            if (!TILE_ONLY_FIELDS.containsAll(changed)) return false;
+            favorite.set(updated.favorite());
+            if (changed.contains(BookField.COVER_IMAGE)) {
+                CoverImageCache.getInstance().show(coverImageView, updated.coverImagePath(), CoverThumbnailStore.Variant.TILE);
+            }
+            return true;
+        });
 
         dateFavoriteRow.getChildren().addAll(dateReadLabel, spacer, favoriteButton);
 
@@ -267,8 +330,9 @@ public class ReadBooksController extends BaseController {
 
             if (!clickedOnFavoriteButton && event.getClickCount() == 2) {
                 if (primaryController != null) {
-                    log.debug("Відкриття деталей книги: {}", book.getTitle());
-                    primaryController.showBookDetailView(book, "read_books_view.fxml");
+                    log.debug("Відкриття деталей книги: {}", book.title());
+                    loadFullBook(book, fullBook ->
+                            primaryController.showBookDetailView(fullBook, "read_books_view.fxml"));
                 }
             }
         });
@@ -321,89 +385,86 @@ public class ReadBooksController extends BaseController {
     }
 
     /**
-     * Завантажує зображення обкладинки для плитки книги.
+     * Завантажує повні дані книги (зокрема коментар) для детального вигляду у фоновому потоці.
+     * Плитки будуються зі скорочених представлень, тому повний об'єкт читається лише на вимогу.
+     * Якщо книгу не знайдено, список оновлюється; про помилку повідомляється користувачу.
+     * @param book Скорочене представлення книги.
+     * @param onLoaded Обробник повного об'єкта книги (викликається в потоці JavaFX).
      */
-    private void loadTileCoverImage(String filename, ImageView imageView) {
-        imageView.setImage(null);
-
-        // Завантаження зображення-заглушки
-        URL defaultCoverUrl = getClass().getResource("/com/student/bookdiary/ui/icons/default_book_cover.png");
-        if (defaultCoverUrl == null) {
-            log.error("Не вдалося знайти зображення-заглушку для обкладинки книги");
-            return;
-        }
-        Image defaultImage = new Image(defaultCoverUrl.toString());
-
-        if (filename == null || filename.isBlank()) {
-            imageView.setImage(defaultImage);
-            return;
-        }
-
-        try {
-            Path fullImagePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
-            File imageFile = fullImagePath.toFile();
-
-            if (imageFile.exists() && imageFile.isFile()) {
-                Image image = new Image(imageFile.toURI().toString(), 110, 170, true, true, true);
-                if (image.isError()) {
-                    log.error("Помилка завантаження зображення для плитки [{}]: {}", fullImagePath, image.getException().getMessage());
-                    imageView.setImage(defaultImage);
-                } else {
-                    imageView.setImage(image);
-                }
-            } else {
-                log.warn("Файл обкладинки для плитки не знайдено: {}", fullImagePath);
-                imageView.setImage(defaultImage);
+    private void loadFullBook(BookSummary book, Consumer<Book> onLoaded) {
+        track(asyncBookDao.getBookById(book.id())).whenComplete((fullBook, error) -> {
+            if (error == null) {
+                fullBook.ifPresentOrElse(onLoaded, () -> {
+                    log.warn("Книгу ID={} не знайдено в БД; список буде оновлено.", book.id());
+                    loadBooks();
+                });
+            } else if (!AsyncDao.isCancellation(error)) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка завантаження книги ID={}", book.id(), cause);
+                primaryController.showErrorAlert("Помилка", "Не вдалося завантажити дані книги.", cause.getMessage());
             }
-        } catch (Exception e) {
-            log.error("Не вдалося завантажити зображення для плитки з файлу '{}': {}", filename, e.getMessage());
-            imageView.setImage(defaultImage);
-        }
+        });
     }
 
     /**
-     * Обробляє зміну статусу "Улюблене" для книги.
+     * Обробляє зміну статусу "Улюблене" для книги. Зміна записується у фоновому потоці;
+     * доки вона не завершиться, кнопка недоступна. Запис не скасовується під час переходу
+     * до іншого подання, а про помилку користувач дізнається й тоді.
      */
-    private void handleToggleFavorite(Book book, Button favoriteButton, ImageView favoriteIconView) {
+    private void handleToggleFavorite(BookSummary book, BooleanProperty favorite, Button favoriteButton) {
         if (book == null) return;
-        boolean oldStatus = book.isFavorite();
-        try {
-            book.setFavorite(!oldStatus);
-            bookDao.updateBook(book);
-            log.info("Статус 'Улюблене' для книги ID={} змінено на {}", book.getId(), book.isFavorite());
-
-            updateFavoriteButtonStyle(favoriteButton, book.isFavorite(), favoriteIconView);
-
-        } catch (Exception e) {
-            book.setFavorite(oldStatus);
-            log.error("Помилка під час оновлення статусу 'Улюблене' для книги ID={}", book.getId(), e);
-            if (primaryController != null) {
-                primaryController.showErrorAlert("Помилка", "Не вдалося оновити статус книги.", e.getMessage());
+        boolean newStatus = !favorite.get();
+        favoriteButton.setDisable(true);
+        asyncBookDao.setFavorite(book.id(), newStatus).whenComplete((changed, error) -> {
+            if (error != null) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка під час оновлення статусу 'Улюблене' для книги ID={}", book.id(), cause);
+                if (primaryController != null) {
+                    primaryController.showErrorAlert("Помилка", "Не вдалося оновити статус книги.", cause.getMessage());
+                }
+            } else if (changed) {
+                log.info("Статус 'Улюблене' для книги ID={} змінено на {}", book.id(), newStatus);
             }
-        }
+            if (isDisposed()) {
+                return; // Подання вже замінено іншим
+            }
+            favoriteButton.setDisable(false);
+            if (error == null) {
+                if (changed) {
+                    favorite.set(newStatus);
+                } else {
+                    log.warn("Книгу ID={} не знайдено в БД; список буде оновлено.", book.id());
+                    loadBooks();
+                }
+            }
+        });
     }
 
     /**
-     * Налаштовує ComboBox для фільтрації за жанрами.
+     * Налаштовує ComboBox для фільтрації за жанрами. До завантаження жанрів доступна лише опція "Всі жанри".
      */
     private void setupGenreFilterComboBox() {
-        try {
-            List<String> genres = bookDao.getDistinctGenres();
-            List<String> genreOptionsList = new java.util.ArrayList<>();
-            genreOptionsList.add(ALL_GENRES_OPTION);
-            genres.stream()
-                    .filter(g -> g != null && !g.isBlank())
-                    .distinct()
-                    .sorted(String.CASE_INSENSITIVE_ORDER)
-                    .forEach(genreOptionsList::add);
-
-            genreFilterComboBox.setItems(FXCollections.observableArrayList(genreOptionsList));
-            genreFilterComboBox.setValue(ALL_GENRES_OPTION);
-        } catch (Exception e) {
-            log.error("Не вдалося завантажити жанри для фільтра", e);
-            genreFilterComboBox.setItems(FXCollections.observableArrayList(ALL_GENRES_OPTION));
-            genreFilterComboBox.setValue(ALL_GENRES_OPTION);
-        }
+        genreFilterComboBox.setItems(FXCollections.observableArrayList(ALL_GENRES_OPTION));
+        genreFilterComboBox.setValue(ALL_GENRES_OPTION);
+        loadGenres();
+    }
+
+    /**
+     * Завантажує жанри у фоновому потоці та оновлює список фільтра, зберігаючи вибраний жанр
+     * (якщо його більше немає - вибирається "Всі жанри").
+     */
+    private void loadGenres() {
+        track(asyncBookDao.getDistinctGenres()).whenComplete((genres, error) -> {
+            if (error == null) {
+                List<String> options = BookListQuery.genreOptions(genres, ALL_GENRES_OPTION);
+                if (options.equals(genreFilterComboBox.getItems())) return;
+                String selected = genreFilterComboBox.getValue();
+                genreFilterComboBox.setItems(FXCollections.observableArrayList(options));
+                genreFilterComboBox.setValue(options.contains(selected) ? selected : ALL_GENRES_OPTION);
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Не вдалося завантажити жанри для фільтра", AsyncDao.unwrap(error));
+            }
+        });
     }
 
     @Override
@@ -1,7 +1,11 @@
 package com.student.bookdiary.ui;
 
-import com.student.bookdiary.persistence.BookDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
+import com.student.bookdiary.persistence.BookRepository;
+import com.student.bookdiary.service.ReadingStatsService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
@@ -43,19 +47,26 @@ public class StatsController {
     @FXML
     private Label booksReadInMonthLabel;
 
-    /** Об'єкт доступу до даних про книжки */
-    private BookDao bookDao;
+    /** Сервіс статистики, що кешує гістограму прочитаних книжок */
+    private ReadingStatsService statsService;
+
+    /** Виконує читання гістограми поза потоком JavaFX */
+    private AsyncBookDao asyncBookDao;
+
+    /** Гістограма прочитаних книжок; {@code null}, поки її не завантажено */
+    private ReadingHistogram histogram;
 
     /** Список українських назв місяців */
     private final List<String> monthNamesUkrainian = new ArrayList<>();
 
     /**
      * Ініціалізує контролер після завантаження FXML.
-     * Налаштовує компоненти інтерфейсу та завантажує початкові дані.
+     * Налаштовує компоненти інтерфейсу та запускає фонове завантаження гістограми.
      */
     @FXML
     private void initialize() {
-        this.bookDao = new SqliteBookDao();
+        this.statsService = ReadingStatsService.getInstance();
+        this.asyncBookDao = new AsyncBookDao(BookRepository.getInstance(), Platform::runLater);
 
         setupMonthComboBox();
         setupYearComboBox();
@@ -75,7 +86,27 @@ public class StatsController {
             }
         });
 
-        loadAndDisplayStats();
+        clearStats();
+        loadHistogram();
+    }
+
+    /**
+     * Завантажує гістограму прочитаних книжок у фоновому потоці (один раз на відкриття подання)
+     * і після цього відображає статистику для обраного періоду.
+     * Запит не скасовується під час переходу до іншого подання: він лише читає гістограму,
+     * а оновлення міток закритого подання нічого не змінює на екрані.
+     */
+    private void loadHistogram() {
+        asyncBookDao.call(dao -> statsService.getHistogram()).whenComplete((loaded, error) -> {
+            if (error != null) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка при завантаженні статистики: {}", cause.getMessage(), cause);
+                clearStats();
+                return;
+            }
+            histogram = loaded;
+            loadAndDisplayStats();
+        });
     }
 
     /**
@@ -116,6 +147,10 @@ public class StatsController {
         String selectedMonthName = monthComboBox.getValue();
         Integer selectedYear = yearComboBox.getValue();
 
+        if (histogram == null) {
+            log.debug("Гістограму ще не завантажено; статистику буде показано після завантаження.");
+            return;
+        }
         if (selectedMonthName == null || selectedYear == null) {
             log.warn("Не вдалося завантажити статистику: місяць або рік не обрано");
             clearStats();
@@ -132,23 +167,23 @@ public class StatsController {
 
     /**
      * Оновлює статистику для всіх періодів.
+     * Усі значення беруться з однієї вже завантаженої гістограми,
+     * тому зміна року чи місяця не виконує запитів до бази даних.
      *
      * @param selectedYear обраний рік
      * @param selectedMonthName назва обраного місяця
      */
     private void updateTotalStats(int selectedYear, String selectedMonthName) {
         // Загальна статистика
-        int totalBooksRead = bookDao.getTotalBooksReadCount();
-        totalBooksReadLabel.setText(String.valueOf(totalBooksRead));
+        totalBooksReadLabel.setText(String.valueOf(histogram.totalRead()));
 
         // Статистика за рік
-        int booksInYear = bookDao.getBooksReadCountByYear(selectedYear);
-        booksReadInYearLabel.setText(String.valueOf(booksInYear));
+        booksReadInYearLabel.setText(String.valueOf(histogram.countForYear(selectedYear)));
 
         // Статистика за місяць
         int monthNumber = monthNamesUkrainian.indexOf(selectedMonthName) + 1;
         if (monthNumber > 0) {
-            int booksInMonth = bookDao.getBooksReadCountByMonthAndYear(selectedYear, monthNumber);
+            int booksInMonth = histogram.countForMonth(selectedYear, monthNumber);
             booksReadInMonthLabel.setText(String.valueOf(booksInMonth));
         } else {
             log.error("Некоректний місяць: {}", selectedMonthName);
@@ -0,0 +1,146 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Кеш плиток книг {@link BookGridView} за ID книги з обмеженим розміром (витісняється найдавніше
+ * використана плитка).
+ * <p>
+ * Кожна плитка належить щонайбільше одному рядку сітки. Під час прокручування {@code VirtualFlow}
+ * передає рядки іншим коміркам у довільному порядку, тому нова комірка може запитати плитку,
+ * яку ще містить попередня: плитка від'єднується від попереднього рядка і передається новому,
+ * а не створюється заново (і не декодує обкладинку повторно). Комірка, що спорожніла або отримала
+ * інший рядок, звільняє свої плитки ({@link #release}).
+ * <p>
+ * Якщо стан книги змінився, плитка спершу оновлюється на місці ({@link Patcher}): наприклад,
+ * зміна позначки "улюблене" перемикає лише кнопку. Нова плитка створюється лише тоді, коли
+ * змінені поля не можна оновити на місці.
+ * Використовується лише в потоці JavaFX.
+ *
+ * @param <O> Рядок сітки, що містить плитки.
+ * @param <N> Плитка.
+ */
+final class TileCache<O, N> {
+
+    /**
+     * Оновлює наявну плитку відповідно до нового стану книги.
+     */
+    @FunctionalInterface
+    interface Patcher<N> {
+        /**
+         * @param tile Плитка, побудована з попереднього стану книги.
+         * @param book Новий стан книги.
+         * @param changed Поля, що змінилися (не порожня множина).
+         * @return {@code true}, якщо плитку оновлено; {@code false}, якщо її потрібно створити заново.
+         */
+        boolean patch(N tile, BookSummary book, Set<BookField> changed);
+    }
+
+    /** Плитка разом зі станом книги, з якого її побудовано, та рядком, що її містить. */
+    private static final class Entry<O, N> {
+        BookSummary summary;
+        final N node;
+        O owner;
+
+        Entry(BookSummary summary, N node) {
+            this.summary = summary;
+            this.node = node;
+        }
+    }
+
+    private final Function<BookSummary, N> factory;
+    private final Patcher<N> patcher;
+    private final BiConsumer<O, N> detacher;
+    private final Map<Long, Entry<O, N>> entries;
+
+    /**
+     * @param maxTiles Найбільша кількість плиток у кеші.
+     * @param factory Створює плитку книги ({@code null}, якщо плитку створити не вдалося).
+     * @param patcher Оновлює наявну плитку на місці.
+     * @param detacher Від'єднує плитку від рядка, що її містить.
+     */
+    TileCache(int maxTiles, Function<BookSummary, N> factory, Patcher<N> patcher, BiConsumer<O, N> detacher) {
+        this.factory = factory;
+        this.patcher = patcher;
+        this.detacher = detacher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<O, N>> eldest) {
+                return size() > maxTiles;
+            }
+        };
+    }
+
+    /**
+     * Повертає плитку книги для рядка: закешовану (від'єднавши її від іншого рядка, якщо потрібно
+     * та оновивши на місці, якщо стан книги змінився) або нову, якщо плитки немає чи її не вдалося оновити.
+     *
+     * @param book Книга.
+     * @param owner Рядок, у якому буде показано плитку.
+     * @return Плитка або {@code null}, якщо фабрика її не створила.
+     */
+    N acquire(BookSummary book, O owner) {
+        Entry<O, N> entry = entries.get(book.id());
+        if (entry != null && !entry.summary.equals(book)) {
+            if (patcher.patch(entry.node, book, BookField.changedBetween(entry.summary, book))) {
+                entry.summary = book;
+            } else {
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            N node = factory.apply(book);
+            if (node == null) {
+                entries.remove(book.id());
+                return null;
+            }
+            entry = new Entry<>(book, node);
+            entries.put(book.id(), entry);
+        } else if (entry.owner != null && entry.owner != owner) {
+            detacher.accept(entry.owner, entry.node);
+        }
+        entry.owner = owner;
+        return entry.node;
+    }
+
+    /**
+     * Звільняє плитки рядка (комірка спорожніла або показуватиме інший рядок).
+     *
+     * @param owner Рядок.
+     */
+    void release(O owner) {
+        for (Entry<O, N> entry : entries.values()) {
+            if (entry.owner == owner) {
+                entry.owner = null;
+            }
+        }
+    }
+
+    /**
+     * @param bookId ID книги, плитку якої потрібно забути.
+     */
+    void remove(long bookId) {
+        entries.remove(bookId);
+    }
+
+    /**
+     * Забуває всі плитки.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return Кількість закешованих плиток.
+     */
+    int size() {
+        return entries.size();
+    }
+}
@@ -1,9 +1,15 @@
 package com.student.bookdiary.ui;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
 import com.student.bookdiary.model.ReadingStatus;
+import com.student.bookdiary.persistence.AsyncBookDao;
+import com.student.bookdiary.persistence.AsyncDao;
 import com.student.bookdiary.persistence.BookDao;
-import com.student.bookdiary.persistence.SqliteBookDao;
+import com.student.bookdiary.persistence.BookRepository;
+import com.student.bookdiary.persistence.ChangeEvent;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -11,7 +17,6 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent; // Необхідний для обробки кліку на плитці книги
 import javafx.scene.layout.*;
@@ -20,39 +25,39 @@ import javafx.scene.text.FontWeight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional; // Необхідний для діалогу підтвердження видалення
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Контролер для управління списком бажаних книг ("Хочу прочитати").
  * Відповідає за відображення, фільтрацію, сортування та керування книгами,
- * які користувач планує прочитати. Використовує {@link FlowPane} для гнучкого
+ * які користувач планує прочитати. Використовує {@link BookGridView} для гнучкого
  * відображення книг у вигляді плиток.
  */
 public class WishlistController extends BaseController {
 
     private static final Logger log = LoggerFactory.getLogger(WishlistController.class);
 
-    /** Шлях до стандартного зображення-заглушки для обкладинки книги. */
-    private static final String DEFAULT_COVER_PATH = "/com/student/bookdiary/ui/icons/default_book_cover.png";
-
     /** Компоненти інтерфейсу, що автоматично ін'єктуються з FXML-файлу. */
     @FXML private TextField searchField;            // Поле для пошуку книг
     @FXML private ComboBox<String> sortComboBox;    // Випадаючий список для вибору критерію сортування
-    @FXML private FlowPane bookFlowPane;            // Контейнер для відображення книг у вигляді плиток
+    @FXML private BookGridView bookGrid;        // Віртуалізована сітка плиток книг
     @FXML private ComboBox<String> genreFilterComboBox; // Випадаючий список для фільтрації за жанром
 
     /** Сервіси та залежності. */
     private BookDao bookDao;                        // Об'єкт доступу до даних (DAO) для книг
+    private AsyncBookDao asyncBookDao;              // Асинхронний доступ до книг (запити поза потоком JavaFX)
+    /** Фонове завантаження, фільтрація та сортування списку книг */
+    private BookListLoader bookListLoader;
     private PrimaryController primaryController;    // Головний контролер програми
     private boolean isInitialized = false;          // Прапорець, що вказує на завершення ініціалізації контролера
 
@@ -65,6 +70,9 @@ public class WishlistController extends BaseController {
     /** Константи для опцій фільтрації. */
     private static final String ALL_GENRES_OPTION = "Всі жанри";
 
+    /** Поля, зміна яких не впливає на склад і порядок списку: досить оновити одну плитку на місці. */
+    private static final Set<BookField> TILE_ONLY_FIELDS = EnumSet.of(BookField.FAVORITE, BookField.COMMENT, BookField.COVER_IMAGE);
+
     /** Форматер для дати. */
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
@@ -95,8 +103,12 @@ public class WishlistController extends BaseController {
      */
     @FXML
     private void initialize() {
-        log.info("Ініціалізація WishlistController (використовується FlowPane для відображення книг)...");
-        this.bookDao = new SqliteBookDao();
+        log.info("Ініціалізація WishlistController (використовується BookGridView для відображення книг)...");
+        this.bookDao = BookRepository.getInstance();
+        this.asyncBookDao = new AsyncBookDao(bookDao, Platform::runLater);
+        this.bookListLoader = new BookListLoader(asyncBookDao,
+                dao -> dao.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ), bookGrid);
+        bookGrid.setTileFactory(this::createBookTile);
         setupSortComboBox();
         setupGenreFilterComboBox();
 
@@ -106,10 +118,11 @@ public class WishlistController extends BaseController {
         genreFilterComboBox.getStyleClass().add("filter-combo-box");
 
         setupEventListeners();
+        subscribeToChanges(this::onDataChanged); // Інкрементальне оновлення плиток за подіями змін
 
         isInitialized = true;
         // Завантаження книг відбудеться після встановлення primaryController або через refreshData()
-        log.info("WishlistController (з FlowPane) успішно ініціалізовано. Очікування PrimaryController для завантаження книг.");
+        log.info("WishlistController (з BookGridView) успішно ініціалізовано. Очікування PrimaryController для завантаження книг.");
     }
 
     /**
@@ -153,25 +166,41 @@ public class WishlistController extends BaseController {
 
     /**
      * Налаштовує випадаючий список (ComboBox) для фільтрації книг за жанром.
-     * Завантажує унікальні жанри з бази даних, сортує їх та додає опцію "Всі жанри".
+     * Встановлює опцію "Всі жанри" та запускає фонове завантаження унікальних жанрів з бази даних.
      */
     private void setupGenreFilterComboBox() {
-        List<String> genres = bookDao.getDistinctGenres();
-        log.debug("Завантажено {} унікальних жанрів з БД.", genres.size());
-        genres.sort(String.CASE_INSENSITIVE_ORDER); // Сортування жанрів за алфавітом
-        genres.add(0, ALL_GENRES_OPTION); // Додавання опції "Всі жанри" на початок списку
-        genreFilterComboBox.setItems(FXCollections.observableArrayList(genres));
+        genreFilterComboBox.setItems(FXCollections.observableArrayList(ALL_GENRES_OPTION));
         genreFilterComboBox.setValue(ALL_GENRES_OPTION); // Встановлення значення за замовчуванням
+        loadGenres();
         log.debug("Комбо-бокс фільтрації за жанром налаштовано. Значення за замовчуванням: {}", ALL_GENRES_OPTION);
     }
 
+    /**
+     * Завантажує жанри у фоновому потоці та оновлює список фільтра, зберігаючи вибраний жанр
+     * (якщо його більше немає - вибирається "Всі жанри").
+     */
+    private void loadGenres() {
+        track(asyncBookDao.getDistinctGenres()).whenComplete((genres, error) -> {
+            if (error == null) {
+                List<String> options = BookListQuery.genreOptions(genres, ALL_GENRES_OPTION);
+                if (options.equals(genreFilterComboBox.getItems())) return;
+                String selected = genreFilterComboBox.getValue();
+                genreFilterComboBox.setItems(FXCollections.observableArrayList(options));
+                genreFilterComboBox.setValue(options.contains(selected) ? selected : ALL_GENRES_OPTION);
+                log.debug("Список жанрів фільтра оновлено: {} жанрів.", options.size() - 1);
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Не вдалося завантажити жанри для фільтра.", AsyncDao.unwrap(error));
+            }
+        });
+    }
+
     /**
      * Завантажує та відображає список книг зі статусом "Хочу прочитати".
-     * Перед відображенням застосовує вибрані фільтри та сортування.
+     * Перед відображенням застосовує вибрані фільтри та сортування (у фоновому потоці, {@link BookListLoader}).
      * Якщо {@link PrimaryController} не встановлено, завантаження відкладається.
      */
     public void loadBooks() {
-        log.debug("Спроба завантаження та оновлення списку бажаних книг для FlowPane...");
+        log.debug("Спроба завантаження та оновлення списку бажаних книг для сітки плиток...");
 
         if (primaryController == null) {
             log.warn("PrimaryController не встановлено. Завантаження списку бажаних книг відкладено.");
@@ -184,104 +213,132 @@ public class WishlistController extends BaseController {
             return;
         }
 
+        track(bookListLoader.load(currentQuery(), this::showBooks, this::showLoadError));
+    }
 
+    /**
+     * Створює всі плитки заново (наприклад, після зміни теми, від якої залежать іконки плиток).
+     * Звичайне оновлення ({@link #loadBooks()}) повторно використовує плитки незмінених книг.
+     */
+    public void rebuildBooks() {
+        bookGrid.clearTiles();
+        loadBooks();
+    }
+
+    /**
+     * Відображає відфільтровані та відсортовані книги.
+     * Викликається в потоці JavaFX, коли список підготовлено у фоновому потоці.
+     * @param books Книги зі статусом "Хочу прочитати" в порядку відображення
+     */
+    private void showBooks(List<BookSummary> books) {
         try {
-            List<Book> books = bookDao.getBooksByStatus(ReadingStatus.WANT_TO_READ);
-            log.info("Завантажено {} книг зі статусом 'Хочу прочитати' з БД.", books.size());
-            applyFiltersAndSorting(books); // Застосування фільтрів та сортування
             displayBooks(books); // Відображення книг
             log.info("Список бажаних книг оновлено та відображено: {} книг відповідають критеріям.", books.size());
         } catch (Exception e) {
-            log.error("Помилка під час завантаження або обробки списку бажаних книг.", e);
-            if (bookFlowPane != null) {
-                bookFlowPane.getChildren().clear(); // Очищення панелі у разі помилки
-            }
-            primaryController.showErrorAlert("Помилка Завантаження", "Не вдалося завантажити список бажаних книг.", e.getMessage());
+            showLoadError(e);
         }
     }
 
     /**
-     * Застосовує поточні фільтри (пошуковий запит, жанр) та сортування до наданого списку книг.
-     * Модифікує переданий список книг.
-     * @param books Список книг, до якого потрібно застосувати фільтри та сортування.
+     * Очищає панель книг і повідомляє користувача про помилку завантаження.
+     * @param e Помилка завантаження або обробки списку
      */
-    private void applyFiltersAndSorting(List<Book> books) {
-        // Фільтрація за пошуковим запитом
-        String searchTerm = searchField.getText().trim().toLowerCase();
-        if (!searchTerm.isEmpty()) {
-            log.debug("Застосування фільтра пошуку: '{}'", searchTerm);
-            books.removeIf(book -> !matchesSearchTerm(book, searchTerm));
+    private void showLoadError(Throwable e) {
+        log.error("Помилка під час завантаження або обробки списку бажаних книг.", e);
+        if (bookGrid != null) {
+            bookGrid.showMessage(new Label()); // Очищення сітки у разі помилки
         }
+        primaryController.showErrorAlert("Помилка Завантаження", "Не вдалося завантажити список бажаних книг.", e.getMessage());
+    }
 
-        // Фільтрація за жанром
-        String selectedGenre = genreFilterComboBox.getValue();
-        if (selectedGenre != null && !selectedGenre.equals(ALL_GENRES_OPTION)) {
-            log.debug("Застосування фільтра за жанром: '{}'", selectedGenre);
-            books.removeIf(book -> !selectedGenre.equalsIgnoreCase(book.getGenre()));
+    /**
+     * Застосовує подію зміни даних до списку бажаних книг: зміна полів, що не впливають на склад
+     * і порядок списку, оновлює одну плитку, видалення прибирає плитку (або перезавантажує
+     * список, якщо він спорожнів), інші зміни книг перезавантажують список.
+     * Нова книга або зміна жанру оновлює список жанрів фільтра.
+     * @param event Подія зміни.
+     */
+    private void onDataChanged(ChangeEvent event) {
+        if (event instanceof ChangeEvent.BookAdded
+                || event instanceof ChangeEvent.BookUpdated updated && updated.changedFields().contains(BookField.GENRE)) {
+            loadGenres(); // Нова книга або зміна жанру може додати жанр до фільтра
+        }
+        if (primaryController == null) {
+            return; // Список ще не завантажувався
+        }
+        switch (event) {
+            case ChangeEvent.BookUpdated updated when TILE_ONLY_FIELDS.containsAll(updated.changedFields()) ->
+                    refreshTile(updated.bookId());
+            case ChangeEvent.BookDeleted deleted -> {
+                if (bookGrid.remove(deleted.bookId()) && bookGrid.getBooks().isEmpty()) {
+                    loadBooks(); // Показати повідомлення про порожній список
+                }
+            }
+            case ChangeEvent.GoalChanged _ -> { }
+            default -> loadBooks();
         }
-
-        // Застосування сортування
-        applySorting(books);
     }
 
     /**
-     * Перевіряє, чи відповідає книга заданому пошуковому запиту.
-     * Пошук здійснюється за назвою та автором книги (без урахування регістру).
-     * @param book Книга для перевірки.
-     * @param searchTerm Пошуковий запит (в нижньому регістрі).
-     * @return {@code true}, якщо книга відповідає запиту, інакше {@code false}.
+     * Оновлює плитку книги з актуальних даних, якщо книга відображається.
+     * Книга читається у фоновому потоці.
+     * @param bookId ID книги.
      */
-    private boolean matchesSearchTerm(Book book, String searchTerm) {
-        boolean titleMatches = book.getTitle().toLowerCase().contains(searchTerm);
-        boolean authorMatches = book.getAuthor() != null && book.getAuthor().toLowerCase().contains(searchTerm);
-        return titleMatches || authorMatches;
+    private void refreshTile(long bookId) {
+        if (!bookGrid.contains(bookId)) return;
+        track(asyncBookDao.getBookById(bookId)).whenComplete((book, error) -> {
+            if (error == null) {
+                book.map(BookSummary::of).ifPresentOrElse(
+                        bookGrid::update,
+                        () -> bookGrid.remove(bookId));
+            } else if (!AsyncDao.isCancellation(error)) {
+                log.error("Помилка оновлення плитки книги ID={}.", bookId, AsyncDao.unwrap(error));
+            }
+        });
     }
 
     /**
-     * Застосовує вибраний критерій сортування до списку книг.
-     * Модифікує переданий список книг.
-     * @param books Список книг для сортування.
+     * Створює критерії фільтрації (пошуковий запит, жанр) та сортування з поточних значень
+     * елементів керування. Самі фільтрація та сортування виконуються у фоновому потоці.
+     * @return Критерії відображення списку.
      */
-    private void applySorting(List<Book> books) {
+    private BookListQuery currentQuery() {
         String sortOption = sortComboBox.getValue();
         if (sortOption == null) {
             log.warn("Критерій сортування не вибрано (null). Сортування не буде застосовано.");
-            return;
         }
-        log.debug("Застосування сортування: '{}'", sortOption);
-
-        Comparator<Book> comparator = switch (sortOption) {
-            case SORT_BY_DATE_ADDED_ASC -> Comparator.comparing(Book::getDateAdded,
+        Comparator<BookSummary> comparator = sortOption == null ? null : switch (sortOption) {
+            case SORT_BY_DATE_ADDED_ASC -> Comparator.comparing(BookSummary::dateAdded,
                     Comparator.nullsLast(Comparator.naturalOrder()));
-            case SORT_BY_TITLE -> Comparator.comparing(Book::getTitle,
+            case SORT_BY_TITLE -> Comparator.comparing(BookSummary::title,
                     String.CASE_INSENSITIVE_ORDER);
-            case SORT_BY_AUTHOR -> Comparator.comparing(Book::getAuthor,
+            case SORT_BY_AUTHOR -> Comparator.comparing(BookSummary::author,
                     Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
-            default -> Comparator.comparing(Book::getDateAdded, // SORT_BY_DATE_ADDED_DESC або невідомий
+            default -> Comparator.comparing(BookSummary::dateAdded, // SORT_BY_DATE_ADDED_DESC або невідомий
                     Comparator.nullsLast(Comparator.reverseOrder()));
         };
-        books.sort(comparator);
+        return BookListQuery.of(searchField.getText(), genreFilterComboBox.getValue(), ALL_GENRES_OPTION, comparator);
     }
 
     /**
-     * Відображає відфільтрований та відсортований список книг у {@link FlowPane}.
-     * Кожна книга представляється у вигляді окремої плитки.
+     * Відображає відфільтрований та відсортований список книг у віртуалізованій сітці
+     * ({@link BookGridView}). Кожна книга представляється у вигляді окремої плитки; плитки
+     * створюються лише для видимих рядків, а плитки незмінених книг використовуються повторно.
      * @param books Список книг для відображення.
      */
-    private void displayBooks(List<Book> books) {
-        if (bookFlowPane == null) {
-            log.error("bookFlowPane не ініціалізовано. Неможливо відобразити книги.");
+    private void displayBooks(List<BookSummary> books) {
+        if (bookGrid == null) {
+            log.error("bookGrid не ініціалізовано. Неможливо відобразити книги.");
             return;
         }
-        bookFlowPane.getChildren().clear(); // Очищення попередніх плиток
         if (books.isEmpty()) {
             log.info("Список книг для відображення порожній.");
             Label emptyLabel = new Label("Немає книг у списку бажань, що відповідають вашим критеріям.");
             emptyLabel.getStyleClass().add("empty-list-label");
-            bookFlowPane.getChildren().add(emptyLabel);
+            bookGrid.showMessage(emptyLabel);
         } else {
-            books.forEach(book -> bookFlowPane.getChildren().add(createBookTile(book)));
-            log.debug("Відображено {} плиток книг у FlowPane.", books.size());
+            bookGrid.setBooks(books);
+            log.debug("Відображено {} книг у сітці плиток.", books.size());
         }
     }
 
@@ -291,7 +348,7 @@ public class WishlistController extends BaseController {
      * @param book Книга, для якої створюється плитка.
      * @return {@link Node}, що представляє плитку книги.
      */
-    private Node createBookTile(Book book) {
+    private Node createBookTile(BookSummary book) {
         VBox tileContainer = new VBox(5); // Вертикальний контейнер з відступом 5px між елементами
         tileContainer.getStyleClass().add("book-tile"); // CSS клас для стилізації
         tileContainer.setPadding(new Insets(10)); // Внутрішні відступи
@@ -300,10 +357,10 @@ public class WishlistController extends BaseController {
         tileContainer.setMinWidth(170); // Мінімальна ширина плитки
 
         ImageView coverImageView = createCoverImageView(); // Створення ImageView для обкладинки
-        loadTileCoverImage(book.getCoverImagePath(), coverImageView); // Завантаження зображення обкладинки
+        CoverImageCache.getInstance().show(coverImageView, book.coverImagePath(), CoverThumbnailStore.Variant.TILE); // Спільний кеш обкладинок
 
-        Label titleLabel = createTitleLabel(book.getTitle()); // Мітка для назви
-        Label authorLabel = createAuthorLabel(book.getAuthor()); // Мітка для автора
+        Label titleLabel = createTitleLabel(book.title()); // Мітка для назви
+        Label authorLabel = createAuthorLabel(book.author()); // Мітка для автора
 
         Region spacer = new Region(); // Розпірка для заповнення простору
         VBox.setVgrow(spacer, Priority.ALWAYS); // Дозволяє розпірці розтягуватися
@@ -313,6 +370,15 @@ public class WishlistController extends BaseController {
         tileContainer.getChildren().addAll(coverImageView, titleLabel, authorLabel, spacer, bottomDetails);
         setupTileClickHandler(tileContainer, book); // Налаштування обробника кліку по плитці
 
+        // Обкладинка оновлюється в наявній плитці (позначку "улюблене" плитка не показує), інші зміни перебудовують її
+        BookGridView.setTilePatch(tileContainer, (updated, changed) -> {
+            if (!TILE_ONLY_FIELDS.containsAll(changed)) return false;
+            if (changed.contains(BookField.COVER_IMAGE)) {
+                CoverImageCache.getInstance().show(coverImageView, updated.coverImagePath(), CoverThumbnailStore.Variant.TILE);
+            }
+            return true;
+        });
+
         return tileContainer;
     }
 
@@ -366,14 +432,14 @@ public class WishlistController extends BaseController {
      * @param book Книга, для якої створюється ця частина плитки.
      * @return {@link VBox} контейнер з елементами нижньої частини плитки.
      */
-    private VBox createBottomDetails(Book book) {
+    private VBox createBottomDetails(BookSummary book) {
         VBox container = new VBox(5); // Вертикальний контейнер з відступом
         container.setAlignment(Pos.CENTER_LEFT); // Вирівнювання
         VBox.setMargin(container, new Insets(5, 0, 0, 0)); // Зовнішній відступ зверху
 
         // Мітка для дати додавання
         Label dateLabel = new Label("Додано: " +
-                (book.getDateAdded() != null ? book.getDateAdded().format(DATE_FORMATTER) : "N/A"));
+                (book.dateAdded() != null ? book.dateAdded().format(DATE_FORMATTER) : "N/A"));
         dateLabel.getStyleClass().add("book-tile-date");
         dateLabel.setFont(Font.font("System", 10));
         dateLabel.setMaxWidth(Double.MAX_VALUE);
@@ -395,83 +461,26 @@ public class WishlistController extends BaseController {
      * @param tileContainer Контейнер плитки (VBox).
      * @param book Книга, що асоційована з плиткою.
      */
-    private void setupTileClickHandler(VBox tileContainer, Book book) {
+    private void setupTileClickHandler(VBox tileContainer, BookSummary book) {
         tileContainer.setOnMouseClicked(event -> {
             // Перевірка, чи клік був не по кнопці "Прочитано!" або її дочірніх елементах
             if (!(event.getTarget() instanceof Button ||
                     (event.getTarget() instanceof Node && ((Node) event.getTarget()).getParent() instanceof Button))) {
 
                 if (primaryController == null) {
-                    log.warn("Неможливо показати деталі книги '{}': PrimaryController не встановлено.", book.getTitle());
+                    log.warn("Неможливо показати деталі книги '{}': PrimaryController не встановлено.", book.title());
                     showErrorDialog("Помилка відображення", "Неможливо відкрити деталі книги.",
                             "Основний контролер програми не доступний. Будь ласка, спробуйте перезавантажити програму.");
                     return;
                 }
 
-                log.debug("Клік по плитці книги: '{}'. Відкриття детального вигляду.", book.getTitle());
-                primaryController.showBookDetailView(book, "wishlist_view.fxml"); // Передача шляху для повернення
+                log.debug("Клік по плитці книги: '{}'. Відкриття детального вигляду.", book.title());
+                loadFullBook(book, fullBook ->
+                        primaryController.showBookDetailView(fullBook, "wishlist_view.fxml")); // Передача шляху для повернення
             }
         });
     }
 
-    /**
-     * Завантажує зображення обкладинки для плитки книги.
-     * Якщо файл обкладинки не знайдено або виникає помилка, встановлюється зображення-заглушка.
-     * @param filename Ім'я файлу обкладинки.
-     * @param imageView Компонент {@link ImageView} для відображення обкладинки.
-     */
-    private void loadTileCoverImage(String filename, ImageView imageView) {
-        imageView.setImage(null); // Очищення попереднього зображення
-
-        Image defaultImage = getDefaultCoverImage(); // Отримання зображення-заглушки
-
-        if (filename == null || filename.isBlank()) {
-            log.warn("Ім'я файлу обкладинки не вказано. Використовується стандартна обкладинка.");
-            imageView.setImage(defaultImage);
-            return;
-        }
-
-        try {
-            Path fullImagePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
-            File imageFile = fullImagePath.toFile();
-            if (imageFile.exists() && imageFile.isFile()) {
-                // Завантаження зображення з оптимізацією розміру та фоновим завантаженням
-                Image image = new Image(imageFile.toURI().toString(), 110, 170, true, true, true);
-                if (image.isError()) {
-                    log.error("Помилка під час завантаження зображення з файлу [{}]: {}",
-                            fullImagePath, image.getException() != null ? image.getException().getMessage() : "Невідома помилка зображення");
-                    imageView.setImage(defaultImage);
-                } else {
-                    imageView.setImage(image);
-                    log.debug("Зображення обкладинки '{}' успішно завантажено.", filename);
-                }
-            } else {
-                log.warn("Файл обкладинки не знайдено за шляхом: {}. Використовується стандартна обкладинка.", fullImagePath);
-                imageView.setImage(defaultImage);
-            }
-        } catch (Exception e) {
-            log.error("Непередбачена помилка під час завантаження зображення обкладинки з файлу '{}': {}", filename, e.getMessage(), e);
-            imageView.setImage(defaultImage);
-        }
-    }
-
-    /**
-     * Отримує стандартне зображення-заглушку для обкладинки книги.
-     * @return Об'єкт {@link Image}, що представляє заглушку, або {@code null} у разі помилки.
-     */
-    private Image getDefaultCoverImage() {
-        try (InputStream is = getClass().getResourceAsStream(DEFAULT_COVER_PATH)) {
-            if (is == null) {
-                log.error("Не вдалося знайти ресурс стандартної обкладинки: {}", DEFAULT_COVER_PATH);
-                return null; // Або створити порожнє зображення, якщо потрібно
-            }
-            return new Image(is);
-        } catch (IOException e) {
-            log.error("Помилка під час завантаження стандартної обкладинки з ресурсів: {}", e.getMessage(), e);
-            return null;
-        }
-    }
-
     /**
      * Обробник події для кнопки пошуку або натискання Enter у полі пошуку.
      * Викликає метод {@link #loadBooks()} для оновлення списку книг.
@@ -490,54 +499,78 @@ public class WishlistController extends BaseController {
      * для зміни її статусу та інших деталей.
      * @param book Книга, яку потрібно позначити як прочитану.
      */
-    private void handleMarkAsRead(Book book) {
+    private void handleMarkAsRead(BookSummary book) {
         if (primaryController == null) {
-            log.warn("Неможливо позначити книгу '{}' як прочитану: PrimaryController не встановлено.", book.getTitle());
+            log.warn("Неможливо позначити книгу '{}' як прочитану: PrimaryController не встановлено.", book.title());
             showErrorDialog("Помилка операції", "Неможливо відкрити вікно для позначки книги прочитаною.",
                     "Основний контролер програми не доступний.");
             return;
         }
-        log.debug("Ініціювання позначення книги '{}' (ID: {}) як прочитаної. Відкриття діалогу редагування.", book.getTitle(), book.getId());
+        log.debug("Ініціювання позначення книги '{}' (ID: {}) як прочитаної. Відкриття діалогу редагування.", book.title(), book.id());
         // Передача книги в діалог редагування дозволить змінити статус та, за потреби, дату прочитання.
-        primaryController.showAddEditBookDialog(book);
+        loadFullBook(book, primaryController::showAddEditBookDialog);
+    }
+
+    /**
+     * Завантажує повні дані книги (зокрема коментар) для детального вигляду чи діалогу редагування
+     * у фоновому потоці. Плитки будуються зі скорочених представлень, тому повний об'єкт читається лише на вимогу.
+     * Якщо книгу вже видалено, список оновлюється; про помилку повідомляється користувачу.
+     * @param book Скорочене представлення книги.
+     * @param onLoaded Обробник повного об'єкта {@link Book} (викликається в потоці JavaFX).
+     */
+    private void loadFullBook(BookSummary book, Consumer<Book> onLoaded) {
+        track(asyncBookDao.getBookById(book.id())).whenComplete((fullBook, error) -> {
+            if (error == null) {
+                fullBook.ifPresentOrElse(onLoaded, () -> {
+                    log.warn("Книгу ID={} не знайдено в БД; список буде оновлено.", book.id());
+                    loadBooks();
+                });
+            } else if (!AsyncDao.isCancellation(error)) {
+                Throwable cause = AsyncDao.unwrap(error);
+                log.error("Помилка завантаження книги ID={}: {}", book.id(), cause.getMessage(), cause);
+                showErrorDialog("Помилка Завантаження", "Не вдалося завантажити дані книги \"" + book.title() + "\".", cause.getMessage());
+            }
+        });
     }
 
     /**
      * Обробляє видалення книги зі списку бажань.
      * Показує діалог підтвердження перед видаленням. Якщо користувач підтверджує,
-     * книга видаляється з бази даних, а також видаляється пов'язаний файл обкладинки.
+     * книга видаляється з бази даних у фоновому потоці, а після цього видаляється пов'язаний файл обкладинки.
+     * Видалення не скасовується під час переходу до іншого подання; плитку прибирає обробник події зміни.
      * Цей метод може бути викликаний, наприклад, з контекстного меню плитки або з детального вигляду книги.
      * @param book Книга, яку потрібно видалити.
      */
-    private void handleDeleteBook(Book book) {
+    private void handleDeleteBook(BookSummary book) {
         if (book == null) {
             log.warn("Спроба видалити null книгу.");
             return;
         }
-        log.debug("Ініціювання видалення книги '{}' (ID: {}) зі списку бажань.", book.getTitle(), book.getId());
+        log.debug("Ініціювання видалення книги '{}' (ID: {}) зі списку бажань.", book.title(), book.id());
 
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.initOwner(getOwnerWindow());
         alert.setTitle("Підтвердження видалення");
-        alert.setHeaderText("Ви дійсно хочете видалити книгу \"" + book.getTitle() + "\" зі списку бажань?");
+        alert.setHeaderText("Ви дійсно хочете видалити книгу \"" + book.title() + "\" зі списку бажань?");
         alert.setContentText("Цю дію неможливо буде скасувати. Файл обкладинки (якщо існує) також буде видалено.");
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            log.info("Користувач підтвердив видалення книги ID={}", book.getId());
-            try {
-                if (book.getCoverImagePath() != null && !book.getCoverImagePath().isBlank()) {
-                    deleteCoverFile(book.getCoverImagePath()); // Видалення файлу обкладинки
+            log.info("Користувач підтвердив видалення книги ID={}", book.id());
+            asyncBookDao.deleteBook(book.id()).whenComplete((ignored, error) -> { // Видалення книги з БД
+                if (error == null) {
+                    if (book.coverImagePath() != null && !book.coverImagePath().isBlank()) {
+                        deleteCoverFile(book.coverImagePath()); // Видалення файлу обкладинки
+                    }
+                    log.info("Книгу ID={} успішно видалено з БД та файлової системи (обкладинка).", book.id());
+                } else {
+                    Throwable cause = AsyncDao.unwrap(error);
+                    log.error("Помилка під час видалення книги ID={}: {}", book.id(), cause.getMessage(), cause);
+                    showErrorDialog("Помилка Видалення", "Не вдалося видалити книгу \"" + book.title() + "\".", cause.getMessage());
                 }
-                bookDao.deleteBook(book.getId()); // Видалення книги з БД
-                log.info("Книгу ID={} успішно видалено з БД та файлової системи (обкладинка).", book.getId());
-                loadBooks(); // Оновлення списку плиток для відображення змін
-            } catch (Exception e) {
-                log.error("Помилка під час видалення книги ID={}: {}", book.getId(), e.getMessage(), e);
-                showErrorDialog("Помилка Видалення", "Не вдалося видалити книгу \"" + book.getTitle() + "\".", e.getMessage());
-            }
+            });
         } else {
-            log.debug("Видалення книги ID={} скасовано користувачем.", book.getId());
+            log.debug("Видалення книги ID={} скасовано користувачем.", book.id());
         }
     }
 
@@ -552,6 +585,8 @@ public class WishlistController extends BaseController {
         }
         try {
             Path filePath = Paths.get(App.COVERS_DIRECTORY_NAME, filename);
+            CoverThumbnailStore.getInstance().deleteThumbnails(filename);
+            CoverImageCache.getInstance().invalidate(filename);
             if (Files.deleteIfExists(filePath)) {
                 log.info("Файл обкладинки '{}' успішно видалено з файлової системи.", filePath);
             } else {
@@ -584,10 +619,10 @@ public class WishlistController extends BaseController {
      * @return Об'єкт {@link javafx.stage.Window}, що представляє батьківське вікно, або {@code null}.
      */
     private javafx.stage.Window getOwnerWindow() {
-        if (bookFlowPane != null && bookFlowPane.getScene() != null) {
-            return bookFlowPane.getScene().getWindow();
+        if (bookGrid != null && bookGrid.getScene() != null) {
+            return bookGrid.getScene().getWindow();
         }
-        // Резервний варіант, якщо bookFlowPane ще не має сцени (наприклад, на ранніх етапах ініціалізації)
+        // Резервний варіант, якщо bookGrid ще не має сцени (наприклад, на ранніх етапах ініціалізації)
         if (searchField != null && searchField.getScene() != null) {
             return searchField.getScene().getWindow();
         }
@@ -0,0 +1,131 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовий клас для {@link AsyncBookDao}.
+ * Перевіряє передачу результатів і помилок через виконавець зворотних викликів
+ * та скасування операцій до початку і під час виконання.
+ */
+class AsyncBookDaoTest {
+
+    private BookDao bookDao;
+    private ExecutorService workers;
+    private AtomicInteger callbacks;
+    private AsyncBookDao asyncBookDao;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = mock(BookDao.class);
+        workers = Executors.newSingleThreadExecutor();
+        callbacks = new AtomicInteger();
+        asyncBookDao = new AsyncBookDao(bookDao, workers, task -> {
+            callbacks.incrementAndGet();
+            task.run();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Перевіряє, що результат DAO повертається через виконавець зворотних викликів.
+     */
+    @Test
+    void testResultIsDeliveredThroughCallbackExecutor() throws Exception {
+        List<BookSummary> books = List.of(new BookSummary(1, "Кобзар", "Тарас Шевченко", null,
+                ReadingStatus.READ, null, null, 5, null, false));
+        when(bookDao.getBookSummariesByStatus(ReadingStatus.READ)).thenReturn(books);
+
+        List<BookSummary> result = asyncBookDao.getBookSummariesByStatus(ReadingStatus.READ).get(5, TimeUnit.SECONDS);
+
+        assertEquals(books, result, "Повинен повертатися результат DAO.");
+        assertEquals(1, callbacks.get(), "Результат повинен передаватися через виконавець зворотних викликів.");
+    }
+
+    /**
+     * Перевіряє, що виняток DAO передається як причина помилки та розпізнається як не скасування.
+     */
+    @Test
+    void testExceptionIsPropagated() {
+        DataAccessException failure = new DataAccessException("Помилка БД", null);
+        doThrow(failure).when(bookDao).deleteBook(7);
+
+        CompletableFuture<Void> future = asyncBookDao.deleteBook(7);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+
+        assertSame(failure, e.getCause(), "Причиною повинен бути виняток DAO.");
+        assertFalse(AsyncDao.isCancellation(e.getCause()), "Помилка DAO не є скасуванням.");
+        assertEquals(1, callbacks.get(), "Помилка повинна передаватися через виконавець зворотних викликів.");
+    }
+
+    /**
+     * Перевіряє, що операція, скасована до початку виконання, не звертається до DAO
+     * і не викликає зворотних викликів.
+     */
+    @Test
+    void testCancelBeforeStartSkipsOperation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        workers.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        CompletableFuture<List<String>> future = asyncBookDao.getDistinctGenres();
+        assertTrue(future.cancel(true), "Незавершену операцію повинно бути скасовано.");
+        release.countDown();
+        workers.submit(() -> null).get(5, TimeUnit.SECONDS); // Дочекатися обробки черги
+
+        assertTrue(AsyncDao.isCancellation(assertThrows(Exception.class, future::join)),
+                "Скасування повинно розпізнаватися.");
+        verify(bookDao, never()).getDistinctGenres();
+        assertEquals(0, callbacks.get(), "Скасована операція не повинна викликати зворотних викликів.");
+    }
+
+    /**
+     * Перевіряє, що скасування перериває потік операції, що виконується.
+     */
+    @Test
+    void testCancelInterruptsRunningOperation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean finishedNormally = new AtomicBoolean();
+        when(bookDao.getFavoriteBookSummaries()).thenAnswer(_ -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+                finishedNormally.set(true);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+
+        CompletableFuture<List<BookSummary>> future = asyncBookDao.getFavoriteBookSummaries();
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Операція повинна почати виконання.");
+        future.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Потік операції повинен бути перерваний.");
+        assertFalse(finishedNormally.get(), "Операція не повинна завершитися без переривання.");
+        assertTrue(future.isCancelled(), "Операцію повинно бути позначено скасованою.");
+    }
+}
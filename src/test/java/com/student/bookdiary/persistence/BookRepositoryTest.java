@@ -0,0 +1,187 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовий клас для {@link BookRepository}.
+ * Перевіряє, що повторні читання обслуговуються з кешу, зміни оновлюють кеш на місці
+ * лише після підтвердження транзакції, назовні повертаються копії, а розмір кешу обмежений.
+ */
+class BookRepositoryTest {
+
+    private BookDao bookDao;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = mock(BookDao.class);
+    }
+
+    private static Book book(long id, ReadingStatus status, LocalDate dateAdded, boolean favorite) {
+        return new Book(id, "Книга " + id, "Автор", "Жанр", status, dateAdded,
+                status == ReadingStatus.READ ? dateAdded : null, 0, "Коментар", null, favorite);
+    }
+
+    private static List<BookSummary> summaries(Book... books) {
+        List<BookSummary> summaries = new ArrayList<>();
+        for (Book book : books) {
+            summaries.add(BookSummary.of(book));
+        }
+        return summaries;
+    }
+
+    private static List<Long> ids(List<BookSummary> summaries) {
+        return summaries.stream().map(BookSummary::id).toList();
+    }
+
+    /**
+     * Перевіряє, що книга за ID читається з DAO один раз, а назовні повертаються копії,
+     * зміна яких не впливає на кеш.
+     */
+    @Test
+    void testGetBookByIdIsCachedAndReturnsCopies() {
+        when(bookDao.getBookById(1)).thenReturn(Optional.of(book(1, ReadingStatus.READ, LocalDate.of(2024, 1, 1), false)));
+        BookRepository repository = new BookRepository(bookDao, 10);
+
+        Book first = repository.getBookById(1).orElseThrow();
+        first.setTitle("Змінена назва");
+        Book second = repository.getBookById(1).orElseThrow();
+
+        assertEquals("Книга 1", second.getTitle(), "Зміна повернутої копії не повинна впливати на кеш.");
+        assertNotSame(first, second, "Кожен виклик повинен повертати нову копію.");
+        verify(bookDao, times(1)).getBookById(1);
+    }
+
+    /**
+     * Перевіряє, що списки статусів кешуються, а додавання, оновлення зі зміною статусу,
+     * позначка "улюблене" та видалення оновлюють їх на місці без повторних запитів до DAO.
+     */
+    @Test
+    void testWritesUpdateCachedListsInPlace() {
+        Book older = book(1, ReadingStatus.WANT_TO_READ, LocalDate.of(2024, 1, 1), false);
+        Book newer = book(2, ReadingStatus.WANT_TO_READ, LocalDate.of(2024, 3, 1), false);
+        when(bookDao.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ)).thenReturn(summaries(newer, older));
+        when(bookDao.getBookSummariesByStatus(ReadingStatus.READ)).thenReturn(summaries());
+        when(bookDao.getFavoriteBookSummaries()).thenReturn(summaries());
+        when(bookDao.setFavorite(1, true)).thenReturn(true);
+        when(bookDao.deleteBook(1)).thenReturn(true);
+        BookRepository repository = new BookRepository(bookDao, 10);
+
+        assertEquals(List.of(2L, 1L), ids(repository.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ)));
+        assertEquals(List.of(), ids(repository.getBookSummariesByStatus(ReadingStatus.READ)));
+        assertEquals(List.of(), ids(repository.getFavoriteBookSummaries()));
+
+        Book added = book(3, ReadingStatus.WANT_TO_READ, LocalDate.of(2024, 2, 1), false);
+        repository.addBook(added);
+        assertEquals(List.of(2L, 3L, 1L), ids(repository.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ)),
+                "Нова книга повинна стати на своє місце за датою додавання.");
+
+        Book read = book(2, ReadingStatus.READ, LocalDate.of(2024, 3, 1), false);
+        repository.updateBook(read);
+        assertEquals(List.of(3L, 1L), ids(repository.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ)),
+                "Книга зі зміненим статусом повинна зникнути зі старого списку.");
+        assertEquals(List.of(2L), ids(repository.getBookSummariesByStatus(ReadingStatus.READ)),
+                "Книга зі зміненим статусом повинна з'явитися в новому списку.");
+
+        repository.setFavorite(1, true);
+        assertEquals(List.of(1L), ids(repository.getFavoriteBookSummaries()), "Улюблена книга повинна бути в списку.");
+        assertTrue(repository.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ).get(1).favorite(),
+                "Позначка повинна оновитися в закешованому списку статусу.");
+
+        repository.deleteBook(1);
+        assertEquals(List.of(3L), ids(repository.getBookSummariesByStatus(ReadingStatus.WANT_TO_READ)));
+        assertEquals(List.of(), ids(repository.getFavoriteBookSummaries()), "Видалена книга не повинна бути улюбленою.");
+
+        verify(bookDao, times(1)).getBookSummariesByStatus(ReadingStatus.WANT_TO_READ);
+        verify(bookDao, times(1)).getBookSummariesByStatus(ReadingStatus.READ);
+        verify(bookDao, times(1)).getFavoriteBookSummaries();
+        verify(bookDao, never()).getBookById(anyLong());
+        verify(bookDao, never()).getBooksByStatus(any());
+        verify(bookDao, never()).getFavoriteBooks();
+    }
+
+    /**
+     * Перевіряє, що книга, додана того самого дня, що й інші, стає в закешованому списку першою,
+     * як і в порядку DAO (дата додавання, потім ID за спаданням).
+     */
+    @Test
+    void testSameDayBooksKeepDaoOrder() {
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        Book first = book(1, ReadingStatus.READ, day, false);
+        Book second = book(2, ReadingStatus.READ, day, false);
+        Book older = book(3, ReadingStatus.READ, day.minusDays(1), false);
+        when(bookDao.getBookSummariesByStatus(ReadingStatus.READ)).thenReturn(summaries(second, first, older));
+        BookRepository repository = new BookRepository(bookDao, 10);
+        repository.getBookSummariesByStatus(ReadingStatus.READ);
+
+        repository.addBook(book(4, ReadingStatus.READ, day, false));
+        assertEquals(List.of(4L, 2L, 1L, 3L), ids(repository.getBookSummariesByStatus(ReadingStatus.READ)),
+                "Книга, додана пізніше того самого дня, повинна бути першою.");
+
+        repository.updateBook(book(1, ReadingStatus.READ, day, false));
+        assertEquals(List.of(4L, 2L, 1L, 3L), ids(repository.getBookSummariesByStatus(ReadingStatus.READ)),
+                "Оновлення не повинно змінювати позицію книги серед доданих того самого дня.");
+    }
+
+    /**
+     * Перевіряє, що зміна у відкоченій транзакції не потрапляє до кешу.
+     */
+    @Test
+    void testRolledBackWriteDoesNotChangeCache() {
+        when(bookDao.getBookById(1)).thenReturn(Optional.of(book(1, ReadingStatus.READ, LocalDate.of(2024, 1, 1), false)));
+        BookRepository repository = new BookRepository(bookDao, 10);
+        repository.getBookById(1);
+
+        Book changed = book(1, ReadingStatus.READ, LocalDate.of(2024, 1, 1), false);
+        changed.setTitle("Нова назва");
+        assertThrows(IllegalStateException.class, () -> DatabaseManager.inTransaction(conn -> {
+            repository.updateBook(changed);
+            throw new IllegalStateException("Відкат");
+        }));
+
+        assertEquals("Книга 1", repository.getBookById(1).orElseThrow().getTitle(),
+                "Відкочена зміна не повинна потрапити до кешу.");
+    }
+
+    /**
+     * Перевіряє обмеження розміру кешу: найдавніше використана книга витісняється, не скидаючи
+     * закешованих списків, а список, довший за межу, не кешується.
+     */
+    @Test
+    void testCacheIsBounded() {
+        Book first = book(1, ReadingStatus.READ, LocalDate.of(2024, 1, 1), false);
+        Book second = book(2, ReadingStatus.READ, LocalDate.of(2024, 2, 1), false);
+        Book third = book(3, ReadingStatus.WANT_TO_READ, LocalDate.of(2024, 3, 1), false);
+        when(bookDao.getBookSummariesByStatus(ReadingStatus.READ)).thenReturn(summaries(second, first));
+        when(bookDao.getBookById(anyLong())).thenAnswer(invocation -> Optional.of(
+                List.of(first, second, third).get(invocation.<Long>getArgument(0).intValue() - 1)));
+        when(bookDao.getFavoriteBookSummaries()).thenReturn(summaries(first, second, third));
+        BookRepository repository = new BookRepository(bookDao, 2);
+
+        repository.getBookSummariesByStatus(ReadingStatus.READ);
+        repository.getBookById(1);
+        repository.getBookById(2);
+        repository.getBookById(3); // Витісняє книгу 1 (найдавніше використану)
+        assertEquals(2, repository.size(), "Кількість закешованих книг не повинна перевищувати межу.");
+        repository.getBookById(1);
+        verify(bookDao, times(2)).getBookById(1);
+        assertEquals(List.of(2L, 1L), ids(repository.getBookSummariesByStatus(ReadingStatus.READ)));
+        verify(bookDao, times(1)).getBookSummariesByStatus(ReadingStatus.READ);
+
+        repository.getFavoriteBookSummaries();
+        repository.getFavoriteBookSummaries();
+        verify(bookDao, times(2)).getFavoriteBookSummaries();
+        verify(bookDao, never()).getFavoriteBooks();
+    }
+}
@@ -0,0 +1,72 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link BookRowMapper}.
+ * Перевіряє розбір статусів та читання рядків за номерами стовпців,
+ * визначеними з метаданих результату, незалежно від порядку стовпців у запиті.
+ */
+class BookRowMapperTest {
+
+    /**
+     * Перевіряє розбір статусу читання та помилку для невідомого значення.
+     */
+    @Test
+    void testParseStatus() {
+        assertEquals(ReadingStatus.READ, BookRowMapper.parseStatus("READ"));
+        assertEquals(ReadingStatus.WANT_TO_READ, BookRowMapper.parseStatus("WANT_TO_READ"));
+        assertThrows(IllegalArgumentException.class, () -> BookRowMapper.parseStatus("read"),
+                "Невідомий статус повинен відхилятися.");
+    }
+
+    /**
+     * Перевіряє, що рядок читається правильно за будь-якого порядку стовпців,
+     * а для повної книги без стовпця коментаря повідомляється помилка.
+     */
+    @Test
+    void testMapsColumnsByResolvedOrdinals() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement()) {
+            String row = "SELECT 'Кобзар' AS title, 1 AS favorite, 7 AS id, NULL AS dateRead, 'READ' AS status, " +
+                    "'Тарас Шевченко' AS author, 5 AS rating, NULL AS genre, 19783 AS dateAdded, " +
+                    "'kobzar.jpg' AS coverImagePath";
+
+            try (ResultSet rs = stmt.executeQuery(row + ", 'Коментар' AS comment")) {
+                BookRowMapper mapper = new BookRowMapper(rs);
+                assertTrue(rs.next());
+                Book book = mapper.toBook(rs);
+                assertEquals(7, book.getId(), "Неправильний ID.");
+                assertEquals("Кобзар", book.getTitle(), "Неправильна назва.");
+                assertEquals("Тарас Шевченко", book.getAuthor(), "Неправильний автор.");
+                assertEquals(LocalDate.of(2024, 3, 1), book.getDateAdded(), "Неправильна дата додавання.");
+                assertNull(book.getDateRead(), "Дата прочитання повинна бути null.");
+                assertEquals("Коментар", book.getComment(), "Неправильний коментар.");
+                assertTrue(book.isFavorite(), "Книга повинна бути улюбленою.");
+            }
+
+            try (ResultSet rs = stmt.executeQuery(row)) {
+                BookRowMapper mapper = new BookRowMapper(rs);
+                assertTrue(rs.next());
+                BookSummary summary = mapper.toSummary(rs);
+                assertEquals(new BookSummary(7, "Кобзар", "Тарас Шевченко", null, ReadingStatus.READ,
+                        LocalDate.of(2024, 3, 1), null, 5, "kobzar.jpg", true), summary,
+                        "Скорочене представлення не потребує стовпця коментаря.");
+                assertThrows(SQLException.class, () -> mapper.toBook(rs),
+                        "Повна книга без стовпця коментаря повинна відхилятися.");
+            }
+        }
+    }
+}
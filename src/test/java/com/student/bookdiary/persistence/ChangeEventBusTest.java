@@ -0,0 +1,125 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.ReadingStatus;
+import com.student.bookdiary.service.ReadingStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовий клас для {@link ChangeEventBus}.
+ * Перевіряє доставку подій підписникам, скасування підписки, публікацію лише після
+ * підтвердження транзакції та події, які публікує {@link BookRepository}.
+ */
+class ChangeEventBusTest {
+
+    private ChangeEventBus bus;
+    private List<ChangeEvent> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ChangeEventBus();
+        received = new ArrayList<>();
+    }
+
+    private static Book book(long id) {
+        return new Book(id, "Книга " + id, "Автор", "Жанр", ReadingStatus.READ, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 1), 3, "Коментар", null, false);
+    }
+
+    /**
+     * Перевіряє, що підписник отримує події, доки підписку не закрито.
+     */
+    @Test
+    void testSubscriberReceivesEventsUntilClosed() {
+        ChangeEventBus.Subscription subscription = bus.subscribe(received::add);
+
+        bus.publishAfterCommit(new ChangeEvent.BookAdded(1));
+        subscription.close();
+        bus.publishAfterCommit(new ChangeEvent.BookDeleted(1));
+
+        assertEquals(List.of(new ChangeEvent.BookAdded(1)), received,
+                "Після закриття підписки події не повинні доставлятися.");
+    }
+
+    /**
+     * Перевіряє, що подія з відкоченої транзакції не публікується.
+     */
+    @Test
+    void testRolledBackEventIsNotPublished() {
+        bus.subscribe(received::add);
+
+        assertThrows(IllegalStateException.class, () -> DatabaseManager.inTransaction(conn -> {
+            bus.publishAfterCommit(new ChangeEvent.GoalChanged(1));
+            assertTrue(received.isEmpty(), "Подія не повинна публікуватися до підтвердження транзакції.");
+            throw new IllegalStateException("Відкат");
+        }));
+
+        assertTrue(received.isEmpty(), "Подія з відкоченої транзакції не повинна публікуватися.");
+    }
+
+    /**
+     * Перевіряє, що репозиторій книг публікує події з точним переліком змінених полів.
+     */
+    @Test
+    void testBookRepositoryPublishesChangedFields() {
+        BookDao bookDao = mock(BookDao.class);
+        when(bookDao.getBookById(1)).thenReturn(Optional.of(book(1)));
+        when(bookDao.setFavorite(1, true)).thenReturn(true);
+        when(bookDao.deleteBook(1)).thenReturn(true);
+        BookRepository repository = new BookRepository(bookDao, 10, bus);
+        bus.subscribe(received::add);
+
+        repository.getBookById(1);
+        Book changed = book(1);
+        changed.setTitle("Нова назва");
+        changed.setRating(5);
+        repository.updateBook(changed);
+        repository.setFavorite(1, true);
+        repository.deleteBook(1);
+
+        assertEquals(List.of(
+                new ChangeEvent.BookUpdated(1, Set.of(BookField.TITLE, BookField.RATING)),
+                new ChangeEvent.BookUpdated(1, Set.of(BookField.FAVORITE)),
+                new ChangeEvent.BookDeleted(1)), received);
+    }
+
+    /**
+     * Перевіряє, що зміни книги, якої немає в базі даних, не публікують подій і не потрапляють до кешу.
+     */
+    @Test
+    void testBookRepositoryIgnoresWritesToMissingBooks() {
+        BookDao bookDao = mock(BookDao.class);
+        when(bookDao.getBookById(1)).thenReturn(Optional.empty());
+        BookRepository repository = new BookRepository(bookDao, 10, bus);
+        bus.subscribe(received::add);
+
+        assertFalse(repository.setFavorite(1, true), "Позначку неіснуючої книги не повинно бути змінено.");
+        assertFalse(repository.deleteBook(1), "Неіснуючу книгу не повинно бути видалено.");
+
+        assertTrue(received.isEmpty(), "Для неіснуючої книги не повинно бути подій.");
+        assertTrue(repository.getBookById(1).isEmpty(), "Неіснуюча книга не повинна з'явитися в кеші.");
+    }
+
+    /**
+     * Перевіряє, що статистику скидають лише зміни, які на неї впливають.
+     */
+    @Test
+    void testAffectsStatistics() {
+        assertTrue(ReadingStatsService.affectsStatistics(new ChangeEvent.BookAdded(1)));
+        assertTrue(ReadingStatsService.affectsStatistics(new ChangeEvent.BookUpdated(1, Set.of(BookField.DATE_READ))));
+        assertFalse(ReadingStatsService.affectsStatistics(new ChangeEvent.BookUpdated(1, Set.of(BookField.FAVORITE))),
+                "Позначка \"улюблене\" не впливає на статистику.");
+        assertFalse(ReadingStatsService.affectsStatistics(new ChangeEvent.GoalChanged(1)));
+    }
+}
@@ -0,0 +1,227 @@
+package com.student.bookdiary.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link ConnectionPool}.
+ * Перевіряє повторне використання фізичних з'єднань, відкат незавершених транзакцій
+ * при поверненні з'єднання до пулу, кешування підготовлених запитів та коректне закриття пулу.
+ * Тести використовують тимчасовий файл бази даних, оскільки in-memory база
+ * існує лише в межах одного з'єднання і не підходить для пулу.
+ */
+class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private ConnectionPool pool;
+    private AtomicInteger createdConnections;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:sqlite:" + tempDir.resolve("pool_test.db");
+        createdConnections = new AtomicInteger();
+        pool = new ConnectionPool(url, 2, () -> {
+            createdConnections.incrementAndGet();
+            return DriverManager.getConnection(url);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Перевіряє, що закриття позиченого з'єднання повертає його до пулу,
+     * і наступне запозичення не відкриває новий файл бази даних.
+     */
+    @Test
+    void testClosedConnectionIsReused() throws SQLException {
+        Connection first = pool.borrow();
+        first.close();
+        assertTrue(first.isClosed(), "Обгортка з'єднання повинна вважатися закритою після повернення до пулу.");
+        assertEquals(1, pool.getIdleCount(), "Повернуте з'єднання повинно очікувати в пулі.");
+
+        try (Connection second = pool.borrow()) {
+            assertFalse(second.isClosed(), "Повторно видане з'єднання повинно бути відкритим.");
+        }
+        assertEquals(1, createdConnections.get(), "Фізичне з'єднання повинно створюватися лише один раз.");
+        assertEquals(1, pool.getPhysicalConnectionCount(), "У пулі повинно бути одне фізичне з'єднання.");
+    }
+
+    /**
+     * Перевіряє, що використання обгортки після її повернення до пулу призводить до помилки.
+     */
+    @Test
+    void testUseAfterCloseThrows() throws SQLException {
+        Connection connection = pool.borrow();
+        connection.close();
+        assertThrows(SQLException.class, connection::createStatement,
+                "Використання з'єднання після повернення до пулу повинно генерувати SQLException.");
+    }
+
+    /**
+     * Перевіряє, що незавершена транзакція відкочується при поверненні з'єднання,
+     * а наступний користувач отримує з'єднання в режимі автоматичного підтвердження.
+     */
+    @Test
+    void testUncommittedTransactionIsRolledBackOnRelease() throws SQLException {
+        try (Connection connection = pool.borrow(); Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+        }
+
+        try (Connection connection = pool.borrow()) {
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate("INSERT INTO items(id) VALUES (1)");
+            }
+            // З'єднання повертається без commit()
+        }
+
+        try (Connection connection = pool.borrow();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            assertTrue(connection.getAutoCommit(), "З'єднання з пулу повинно бути в режимі autoCommit.");
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1), "Непідтверджений запис не повинен зберегтися.");
+        }
+    }
+
+    /**
+     * Перевіряє, що після закриття пулу вільні з'єднання закриваються,
+     * а нові з'єднання не видаються.
+     */
+    @Test
+    void testShutdownClosesIdleConnections() throws SQLException {
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        first.close();
+        second.close();
+        assertEquals(2, pool.getPhysicalConnectionCount());
+
+        pool.shutdown();
+
+        assertEquals(0, pool.getPhysicalConnectionCount(), "Після закриття пулу не повинно залишитися відкритих з'єднань.");
+        assertThrows(DataAccessException.class, pool::borrow,
+                "Закритий пул не повинен видавати з'єднання.");
+    }
+
+    /**
+     * Перевіряє, що запит, підготовлений під час попереднього запозичення з'єднання,
+     * береться з кешу, а закриття обгортки запиту закриває його результат і очищає параметри.
+     */
+    @Test
+    void testPreparedStatementIsReusedAcrossBorrows() throws SQLException {
+        createItems(pool, 1, 2);
+        String sql = "SELECT id FROM items WHERE id = ?";
+        StatementCacheStats before = pool.getStatementCacheStats();
+
+        ResultSet leftOpen;
+        try (Connection connection = pool.borrow()) {
+            PreparedStatement pstmt = connection.prepareStatement(sql);
+            assertSame(connection, pstmt.getConnection(), "Запит повинен повертати обгортку з'єднання.");
+            pstmt.setInt(1, 1);
+            leftOpen = pstmt.executeQuery();
+            assertTrue(leftOpen.next());
+            pstmt.close();
+            assertTrue(pstmt.isClosed(), "Обгортка запиту повинна вважатися закритою.");
+            assertTrue(leftOpen.isClosed(), "Закриття запиту повинно закривати його результат.");
+            assertThrows(SQLException.class, pstmt::executeQuery, "Використання закритого запиту повинно генерувати SQLException.");
+        }
+
+        try (Connection connection = pool.borrow();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertFalse(rs.next(), "Параметри повинні очищатися перед повторним використанням.");
+            }
+            pstmt.setInt(1, 2);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+        }
+
+        StatementCacheStats after = pool.getStatementCacheStats();
+        assertEquals(1, after.misses() - before.misses(), "Запит повинен готуватися лише один раз.");
+        assertEquals(1, after.hits() - before.hits(), "Повторний запит повинен братися з кешу.");
+        assertEquals(1, createdConnections.get(), "Обидва запозичення повинні використовувати одне фізичне з'єднання.");
+    }
+
+    /**
+     * Перевіряє, що кеш обмежений за розміром і витісняє найдавніше використаний запит,
+     * а вкладене приготування того самого SQL отримує окремий запит.
+     */
+    @Test
+    void testStatementCacheEvictsLeastRecentlyUsed() throws SQLException {
+        ConnectionPool smallPool = new ConnectionPool(url, 1, 2, () -> DriverManager.getConnection(url));
+        try (Connection connection = smallPool.borrow()) {
+            for (String sql : List.of("SELECT 1", "SELECT 2", "SELECT 1", "SELECT 3", "SELECT 1", "SELECT 2")) {
+                connection.prepareStatement(sql).close();
+            }
+            // "SELECT 2" витіснено запитом "SELECT 3", бо "SELECT 1" використовувався пізніше.
+            assertEquals(new StatementCacheStats(2, 4, 2), smallPool.getStatementCacheStats(),
+                    "Неправильні лічильники кешу після витіснення.");
+
+            try (PreparedStatement outer = connection.prepareStatement("SELECT 1");
+                 PreparedStatement inner = connection.prepareStatement("SELECT 1");
+                 ResultSet outerRs = outer.executeQuery();
+                 ResultSet innerRs = inner.executeQuery()) {
+                assertTrue(outerRs.next() && innerRs.next(), "Обидва екземпляри запиту повинні виконуватися незалежно.");
+            }
+        } finally {
+            smallPool.shutdown();
+        }
+    }
+
+    /**
+     * Перевіряє, що після {@link ConnectionPool#invalidateStatementCaches()} запити готуються заново
+     * і бачать змінену структуру таблиці.
+     */
+    @Test
+    void testInvalidatedStatementCacheIsPreparedAgain() throws SQLException {
+        createItems(pool, 1);
+        String sql = "SELECT * FROM items";
+        try (Connection connection = pool.borrow()) {
+            connection.prepareStatement(sql).close();
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE items ADD COLUMN name TEXT");
+            }
+        }
+        pool.invalidateStatementCaches();
+        long missesBefore = pool.getStatementCacheStats().misses();
+
+        try (Connection connection = pool.borrow();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            assertEquals(2, rs.getMetaData().getColumnCount(), "Запит повинен бачити новий стовпець.");
+        }
+        assertEquals(missesBefore + 1, pool.getStatementCacheStats().misses(),
+                "Після скидання кешу запит повинен готуватися заново.");
+    }
+
+    private static void createItems(ConnectionPool pool, int... ids) throws SQLException {
+        try (Connection connection = pool.borrow(); Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+            for (int id : ids) {
+                stmt.executeUpdate("INSERT INTO items(id) VALUES (" + id + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.student.bookdiary.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link DatabaseProfile}.
+ * Перевіряє вибір профілю та перевизначення через системні властивості,
+ * а також те, що PRAGMA профілю фактично застосовуються до нового з'єднання.
+ */
+class DatabaseProfileTest {
+
+    private static final List<String> PROPERTIES = List.of("db.profile", "db.journal_mode", "db.synchronous",
+            "db.mmap_size", "db.cache_size", "db.temp_store", "db.busy_timeout");
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        PROPERTIES.forEach(System::clearProperty);
+    }
+
+    /**
+     * Перевіряє, що без системних властивостей використовується профіль BALANCED,
+     * а невідома назва профілю не призводить до помилки.
+     */
+    @Test
+    void testDefaultProfileIsBalanced() {
+        assertEquals(DatabaseProfile.BALANCED, DatabaseProfile.fromSystemProperties(),
+                "За замовчуванням повинен використовуватися профіль BALANCED.");
+
+        System.setProperty("db.profile", "unknown");
+        assertEquals(DatabaseProfile.BALANCED, DatabaseProfile.fromSystemProperties(),
+                "Невідомий профіль повинен замінюватися на BALANCED.");
+    }
+
+    /**
+     * Перевіряє вибір профілю за назвою та перевизначення окремих параметрів,
+     * зокрема ігнорування некоректних значень.
+     */
+    @Test
+    void testProfileOverridesFromSystemProperties() {
+        System.setProperty("db.profile", "compatible");
+        System.setProperty("db.cache_size", "-4000");
+        System.setProperty("db.synchronous", "normal");
+        System.setProperty("db.mmap_size", "not-a-number");
+
+        DatabaseProfile profile = DatabaseProfile.fromSystemProperties();
+
+        assertEquals("COMPATIBLE", profile.name());
+        assertEquals(SQLiteConfig.JournalMode.DELETE, profile.journalMode(), "Режим журналу береться з профілю.");
+        assertEquals(SQLiteConfig.SynchronousMode.NORMAL, profile.synchronous(), "Перевизначення synchronous не застосовано.");
+        assertEquals(-4000, profile.cacheSize(), "Перевизначення cache_size не застосовано.");
+        assertEquals(DatabaseProfile.COMPATIBLE.mmapSize(), profile.mmapSize(),
+                "Некоректне значення mmap_size повинно ігноруватися.");
+    }
+
+    /**
+     * Перевіряє, що з'єднання, відкрите з конфігурацією профілю BALANCED,
+     * працює в режимі WAL з налаштованими synchronous, cache_size та busy_timeout.
+     */
+    @Test
+    void testBalancedProfileIsAppliedToConnection() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("profile_test.db");
+        try (Connection conn = DriverManager.getConnection(url, DatabaseProfile.BALANCED.toSqliteConfig().toProperties())) {
+            Map<String, String> settings = DatabaseProfile.readActiveSettings(conn);
+
+            assertEquals("wal", settings.get("journal_mode"), "База даних повинна працювати в режимі WAL.");
+            assertEquals("1", settings.get("synchronous"), "synchronous повинен бути NORMAL (1).");
+            assertEquals("-16000", settings.get("cache_size"), "Розмір кешу сторінок не застосовано.");
+            assertEquals("2", settings.get("temp_store"), "Тимчасові дані повинні зберігатися в пам'яті (2).");
+            assertEquals("5000", settings.get("busy_timeout"), "Час очікування блокування не застосовано.");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.student.bookdiary.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Регресійні тести плану запитів DAO.
+ * Для кожної SQL-інструкції {@link SqliteBookDao} та {@link SqliteGoalDao} виконується
+ * {@code EXPLAIN QUERY PLAN} на схемі, створеній {@link SchemaMigrator}, і перевіряється,
+ * що запит не повертається до повного сканування таблиці ({@code SCAN books})
+ * та не сортує результат у тимчасовому B-дереві ({@code USE TEMP B-TREE}).
+ * Якщо до DAO додається новий запит, його слід додати і сюди.
+ */
+class QueryPlanTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("query_plan.db"));
+        new SchemaMigrator().migrate(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Перевіряє, що запити з умовою WHERE знаходять рядки через індекс (SEARCH),
+     * а не скануванням усієї таблиці, і не потребують окремого сортування.
+     */
+    @Test
+    void testFilteredQueriesUseIndexSearch() throws SQLException {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("SqliteBookDao.UPDATE_BOOK_SQL", SqliteBookDao.UPDATE_BOOK_SQL);
+        queries.put("SqliteBookDao.DELETE_BOOK_SQL", SqliteBookDao.DELETE_BOOK_SQL);
+        queries.put("SqliteBookDao.SELECT_BOOK_BY_ID_SQL", SqliteBookDao.SELECT_BOOK_BY_ID_SQL);
+        queries.put("SqliteBookDao.SELECT_BOOKS_BY_STATUS_SQL", SqliteBookDao.SELECT_BOOKS_BY_STATUS_SQL);
+        queries.put("SqliteBookDao.SELECT_FAVORITE_BOOKS_SQL", SqliteBookDao.SELECT_FAVORITE_BOOKS_SQL);
+        queries.put("SqliteBookDao.SELECT_BOOK_SUMMARIES_BY_STATUS_SQL", SqliteBookDao.SELECT_BOOK_SUMMARIES_BY_STATUS_SQL);
+        queries.put("SqliteBookDao.SELECT_FAVORITE_BOOK_SUMMARIES_SQL", SqliteBookDao.SELECT_FAVORITE_BOOK_SUMMARIES_SQL);
+        queries.put("SqliteBookDao.SET_FAVORITE_SQL", SqliteBookDao.SET_FAVORITE_SQL);
+        queries.put("SqliteBookDao.COUNT_BOOKS_READ_BETWEEN_SQL", SqliteBookDao.COUNT_BOOKS_READ_BETWEEN_SQL);
+        queries.put("SqliteBookDao.SUM_READING_SUMMARY_BY_YEAR_SQL", SqliteBookDao.SUM_READING_SUMMARY_BY_YEAR_SQL);
+        queries.put("SqliteBookDao.SELECT_READING_SUMMARY_MONTH_SQL", SqliteBookDao.SELECT_READING_SUMMARY_MONTH_SQL);
+        queries.put("SqliteGoalDao.UPDATE_GOAL_SQL", SqliteGoalDao.UPDATE_GOAL_SQL);
+        queries.put("SqliteGoalDao.DELETE_GOAL_SQL", SqliteGoalDao.DELETE_GOAL_SQL);
+        queries.put("SqliteGoalDao.SELECT_GOAL_BY_ID_SQL", SqliteGoalDao.SELECT_GOAL_BY_ID_SQL);
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            assertUsesIndexSearch(query.getKey(), explain(query.getValue()));
+        }
+    }
+
+    /**
+     * Перевіряє, що повні списки читаються в порядку індексу стовпця сортування
+     * (SCAN ... USING INDEX), без тимчасового B-дерева.
+     */
+    @Test
+    void testFullListingsAreReadInIndexOrder() throws SQLException {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("SqliteBookDao.SELECT_ALL_BOOKS_SQL", SqliteBookDao.SELECT_ALL_BOOKS_SQL);
+        queries.put("SqliteBookDao.SELECT_DISTINCT_GENRES_SQL", SqliteBookDao.SELECT_DISTINCT_GENRES_SQL);
+        queries.put("SqliteGoalDao.SELECT_ALL_GOALS_SQL", SqliteGoalDao.SELECT_ALL_GOALS_SQL);
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            assertNoFullScanOrTempSort(query.getKey(), explain(query.getValue()));
+        }
+    }
+
+    /**
+     * Перевіряє запити сторінок для всіх умов відбору та ключів сортування: перша сторінка
+     * читається в порядку індексу, а продовження знаходить позицію в індексі діапазонним
+     * пошуком (SEARCH), тож вартість сторінки не залежить від її номера.
+     */
+    @Test
+    void testPageQueriesSeekInIndexOrder() throws SQLException {
+        for (SqliteBookDao.PageFilter filter : SqliteBookDao.PageFilter.values()) {
+            for (BookSortKey sortKey : BookSortKey.values()) {
+                String name = "Сторінка " + filter + "/" + sortKey;
+                assertNoFullScanOrTempSort(name, explain(SqliteBookDao.buildPageSql(filter, sortKey, false)));
+                assertUsesIndexSearch(name + " (продовження)", explain(SqliteBookDao.buildPageSql(filter, sortKey, true)));
+            }
+        }
+    }
+
+    /**
+     * Перевіряє, що повний прохід по книгах ({@link SqliteBookDao#forEachBook}) читає таблицю
+     * в порядку первинного ключа: повне сканування тут очікуване, але сортування результату
+     * змусило б SQLite прочитати весь каталог до повернення першого рядка.
+     */
+    @Test
+    void testFullCatalogPassIsStreamedInPrimaryKeyOrder() throws SQLException {
+        List<String> plan = explain(SqliteBookDao.SELECT_ALL_BOOKS_BY_ID_SQL);
+        assertTrue(plan.stream().noneMatch(step -> step.contains("USE TEMP B-TREE")),
+                "Повний прохід не повинен сортувати результат, план: " + plan);
+    }
+
+    /**
+     * Перевіряє, що пошук книг використовує повнотекстовий індекс і читає знайдені книги
+     * за первинним ключем. Тимчасове B-дерево тут допустиме: сортування за релевантністю
+     * виконується лише для знайдених рядків, а не для всієї таблиці.
+     */
+    @Test
+    void testSearchUsesFullTextIndex() throws SQLException {
+        List<String> plan = explain(SqliteBookDao.SEARCH_BOOKS_SQL);
+
+        assertTrue(plan.stream().anyMatch(step -> step.startsWith("SCAN books_fts VIRTUAL TABLE INDEX")),
+                "Пошук повинен використовувати індекс FTS5, план: " + plan);
+        assertTrue(plan.stream().anyMatch(step -> step.startsWith("SEARCH b USING INTEGER PRIMARY KEY")),
+                "Знайдені книги повинні читатися за первинним ключем, план: " + plan);
+    }
+
+    /**
+     * Перевіряє саму перевірку: запит з функцією над стовпцем (як попередня версія
+     * лічильників статистики) не може використати індекс і повинен бути виявлений.
+     */
+    @Test
+    void testNonSargablePredicateIsDetected() throws SQLException {
+        List<String> plan = explain("SELECT COUNT(*) FROM books WHERE strftime('%Y', dateRead) = ?");
+        assertThrows(AssertionError.class, () -> assertUsesIndexSearch("strftime", plan),
+                "Повне сканування таблиці повинно виявлятися перевіркою плану.");
+    }
+
+    private void assertUsesIndexSearch(String name, List<String> plan) {
+        assertNoFullScanOrTempSort(name, plan);
+        assertTrue(plan.stream().anyMatch(step -> step.startsWith("SEARCH ")),
+                name + " повинен шукати рядки через індекс, план: " + plan);
+    }
+
+    private void assertNoFullScanOrTempSort(String name, List<String> plan) {
+        for (String step : plan) {
+            assertFalse(step.startsWith("SCAN ") && !step.contains(" USING "),
+                    name + " сканує всю таблицю без індексу: " + plan);
+            assertFalse(step.contains("USE TEMP B-TREE"),
+                    name + " сортує результат у тимчасовому B-дереві: " + plan);
+        }
+    }
+
+    private List<String> explain(String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+}
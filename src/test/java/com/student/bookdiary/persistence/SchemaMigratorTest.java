@@ -0,0 +1,224 @@
+package com.student.bookdiary.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link SchemaMigrator}.
+ * Перевіряє застосування міграцій до нової та до старої (неверсіонованої) бази даних,
+ * ідемпотентність повторного запуску та відкат кроку, що завершився помилкою.
+ */
+class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("migrations.db"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Перевіряє, що нова база даних отримує всі таблиці та останню версію схеми,
+     * а повторний запуск не застосовує жодного кроку.
+     */
+    @Test
+    void testMigrateFreshDatabaseIsIdempotent() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+
+        int applied = migrator.migrate(connection);
+
+        assertEquals(SchemaMigrator.MIGRATIONS.size(), applied, "Для нової БД повинні застосуватися всі кроки.");
+        assertEquals(migrator.getLatestVersion(), SchemaMigrator.getCurrentVersion(connection),
+                "Версія схеми повинна дорівнювати останній версії мігратора.");
+        assertTrue(tableExists("books"), "Таблиця 'books' повинна існувати після міграції.");
+        assertTrue(tableExists("goals"), "Таблиця 'goals' повинна існувати після міграції.");
+
+        assertEquals(0, migrator.migrate(connection), "Повторний запуск не повинен застосовувати кроки.");
+    }
+
+    /**
+     * Перевіряє, що база даних, створена до появи міграцій (з таблицями, але з user_version = 0),
+     * приймається під версіонування без втрати даних.
+     */
+    @Test
+    void testMigrateLegacyDatabaseKeepsData() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, author TEXT, " +
+                    "genre TEXT, status TEXT NOT NULL, dateAdded TEXT NOT NULL, dateRead TEXT, rating INTEGER, " +
+                    "comment TEXT, coverImagePath TEXT, favorite INTEGER NOT NULL DEFAULT 0)");
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded) VALUES ('Кобзар', 'READ', '2024-01-15')");
+        }
+
+        new SchemaMigrator().migrate(connection);
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT title FROM books")) {
+            assertTrue(rs.next(), "Існуючі книги повинні зберегтися після міграції.");
+            assertEquals("Кобзар", rs.getString("title"));
+        }
+        assertTrue(tableExists("goals"), "Відсутня таблиця 'goals' повинна бути створена.");
+    }
+
+    /**
+     * Перевіряє, що міграція до дат у вигляді кількості днів переносить книги з тими самими ID,
+     * перетворює дати ISO на цілі числа (порожня дата прочитання стає NULL), зберігає лічильник
+     * AUTOINCREMENT та відновлює повнотекстовий пошук.
+     */
+    @Test
+    void testMigrateTextDatesToEpochDays() throws SQLException {
+        new SchemaMigrator(SchemaMigrator.MIGRATIONS.subList(0, 4)).migrate(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("INSERT INTO books(title, author, status, dateAdded, dateRead) " +
+                    "VALUES ('Кобзар', 'Тарас Шевченко', 'READ', '2024-01-15', '2024-02-29')");
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded, dateRead) VALUES ('Тимчасова', 'READ', '2024-01-16', NULL)");
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded, dateRead) VALUES ('Лісова пісня', 'WANT_TO_READ', '1969-12-31', '')");
+            stmt.executeUpdate("DELETE FROM books WHERE title = 'Тимчасова'");
+        }
+
+        new SchemaMigrator().migrate(connection);
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, dateAdded, typeof(dateAdded), dateRead FROM books ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getLong("id"), "ID книги повинен зберегтися.");
+            assertEquals("integer", rs.getString(3), "Дата додавання повинна зберігатися як ціле число.");
+            assertEquals(LocalDate.of(2024, 1, 15).toEpochDay(), rs.getLong("dateAdded"), "Неправильна дата додавання.");
+            assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), rs.getLong("dateRead"), "Неправильна дата прочитання.");
+            assertTrue(rs.next());
+            assertEquals(3, rs.getLong("id"), "ID книги повинен зберегтися.");
+            assertEquals(-1, rs.getLong("dateAdded"), "Дати до 1970 року повинні ставати від'ємними числами.");
+            rs.getLong("dateRead");
+            assertTrue(rs.wasNull(), "Порожня дата прочитання повинна стати NULL.");
+            assertFalse(rs.next());
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded) VALUES ('Нова', 'READ', 0)");
+            try (ResultSet rs = stmt.executeQuery("SELECT max(id) FROM books")) {
+                assertEquals(4, rs.getLong(1), "ID видалених до міграції книг не повинні використовуватися повторно.");
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT rowid FROM books_fts WHERE books_fts MATCH 'шевч*'")) {
+                assertTrue(rs.next(), "Повнотекстовий пошук повинен знаходити перенесені книги.");
+                assertEquals(1, rs.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * Перевіряє, що схема не посилається на правила порівняння чи функції програми: інше з'єднання
+     * може змінювати книги та читати сторінки за назвою, а узгодження ключів сортування заповнює
+     * ключі книг, що були до міграції, і виправляє ключі книг, змінених іншим клієнтом.
+     */
+    @Test
+    void testSortKeysNeedNoCustomCollation() throws SQLException {
+        new SchemaMigrator(SchemaMigrator.MIGRATIONS.subList(0, 3)).migrate(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("INSERT INTO books(title, author, status, dateAdded) VALUES ('Кобзар', 'Тарас Шевченко', 'READ', '2024-01-15')");
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded) VALUES ('АБЕТКА', 'READ', '2024-01-16')");
+        }
+        new SchemaMigrator().migrate(connection);
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM sqlite_master WHERE sql LIKE '%COLLATE%'")) {
+            assertEquals(0, rs.getInt(1), "Схема не повинна посилатися на правила порівняння.");
+        }
+
+        assertEquals(2, SqliteBookDao.refreshSortKeys(connection), "Ключі наявних книг повинні заповнитися.");
+        assertEquals(List.of("кобзар|тарас шевченко", "абетка|"), readSortKeys());
+        assertEquals(0, SqliteBookDao.refreshSortKeys(connection), "Актуальні ключі не повинні перезаписуватися.");
+
+        try (Connection other = DriverManager.getConnection("jdbc:sqlite:" + tempDir.resolve("migrations.db"));
+             Statement stmt = other.createStatement()) {
+            stmt.executeUpdate("INSERT INTO books(title, status, dateAdded) VALUES ('Лісова пісня', 'READ', 1)");
+            stmt.executeUpdate("UPDATE books SET title = 'Ярмарок' WHERE id = 2");
+            stmt.executeUpdate("DELETE FROM books WHERE id = 1");
+        }
+        assertEquals(2, SqliteBookDao.refreshSortKeys(connection), "Ключі книг іншого клієнта повинні виправитися.");
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                SqliteBookDao.buildPageSql(SqliteBookDao.PageFilter.ALL, BookSortKey.TITLE, false))) {
+            pstmt.setInt(1, 10);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals("Лісова пісня", rs.getString("title"), "Неправильний порядок за назвою.");
+                assertTrue(rs.next());
+                assertEquals("Ярмарок", rs.getString("title"), "Неправильний порядок за назвою.");
+                assertFalse(rs.next());
+            }
+        }
+    }
+
+    private List<String> readSortKeys() throws SQLException {
+        List<String> keys = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT titleSortKey, authorSortKey FROM books ORDER BY id")) {
+            while (rs.next()) {
+                keys.add(rs.getString(1) + "|" + rs.getString(2));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Перевіряє, що крок міграції з помилкою повністю відкочується,
+     * а версія схеми залишається на попередньому успішному кроці.
+     */
+    @Test
+    void testFailedMigrationIsRolledBack() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(List.of(
+                new SchemaMigrator.Migration(1, "Таблиця items", List.of("CREATE TABLE items (id INTEGER PRIMARY KEY)")),
+                new SchemaMigrator.Migration(2, "Помилковий крок", List.of(
+                        "CREATE TABLE extra (id INTEGER PRIMARY KEY)",
+                        "INSERT INTO missing_table VALUES (1)"))
+        ));
+
+        assertThrows(SQLException.class, () -> migrator.migrate(connection),
+                "Помилка в SQL кроку повинна перериватися SQLException.");
+
+        assertEquals(1, SchemaMigrator.getCurrentVersion(connection), "Версія схеми повинна залишитися 1.");
+        assertTrue(tableExists("items"), "Результат успішного кроку повинен зберегтися.");
+        assertFalse(tableExists("extra"), "Зміни помилкового кроку повинні бути відкочені.");
+        assertTrue(connection.getAutoCommit(), "Після міграції з'єднання повинно повернутися в режим autoCommit.");
+    }
+
+    /**
+     * Перевіряє, що програма відмовляється працювати з базою даних новішої версії схеми.
+     */
+    @Test
+    void testNewerDatabaseVersionIsRejected() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA user_version = 999");
+        }
+        assertThrows(SQLException.class, () -> new SchemaMigrator().migrate(connection),
+                "База даних новішої версії не повинна мігруватися.");
+    }
+
+    private boolean tableExists(String tableName) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT name FROM sqlite_master WHERE type = 'table' AND name = '" + tableName + "'")) {
+            return rs.next();
+        }
+    }
+}
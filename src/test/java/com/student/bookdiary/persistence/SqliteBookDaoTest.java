@@ -1,12 +1,15 @@
 package com.student.bookdiary.persistence;
 
 import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingHistogram;
 import com.student.bookdiary.model.ReadingStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -352,6 +355,279 @@ class SqliteBookDaoTest extends BaseDaoTest {
         assertTrue(noResults.isEmpty(), "Пошук за неіснуючим рядком повинен повертати порожній список.");
     }
 
+    /**
+     * Тестує синхронізацію повнотекстового індексу {@code books_fts} з таблицею {@code books}:
+     * після оновлення книга знаходиться за новою назвою, а не за старою, після видалення -
+     * не знаходиться взагалі. Також перевіряє пошук за кількома словами та ігнорування
+     * символів синтаксису FTS5 у запиті.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testSearchBooksIndexFollowsUpdatesAndDeletes() throws Exception {
+        // Given
+        bookDao.addBook(testBook);
+
+        // When & Then: кілька слів (префікси) та символи синтаксису FTS5 у запиті
+        assertEquals(1, bookDao.searchBooks("тар шевч").size(), "Книга повинна знаходитися за префіксами кількох слів.");
+        assertEquals(1, bookDao.searchBooks("\"Кобзар\" (-*:").size(), "Лапки та оператори FTS5 не повинні ламати пошук.");
+        assertTrue(bookDao.searchBooks("Чудова").isEmpty(), "Пошук повинен виконуватися лише за назвою та автором.");
+
+        // When: Оновлюємо назву книги
+        testBook.setTitle("Гайдамаки");
+        bookDao.updateBook(testBook);
+
+        // Then
+        assertTrue(bookDao.searchBooks("кобзар").isEmpty(), "Книга не повинна знаходитися за старою назвою.");
+        assertEquals(1, bookDao.searchBooks("гайдамаки").size(), "Книга повинна знаходитися за новою назвою.");
+
+        // When: Видаляємо книгу
+        bookDao.deleteBook(testBook.getId());
+
+        // Then
+        assertTrue(bookDao.searchBooks("гайдамаки").isEmpty(), "Видалена книга не повинна знаходитися пошуком.");
+    }
+
+    /**
+     * Тестує метод {@link SqliteBookDao#addBooks(List)}.
+     * Перевіряє, що книги додаються однією транзакцією та отримують ID,
+     * а книга з помилкою (null title) пропускається і описується в результаті, не скасовуючи решту.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testAddBooks_skipsFailedRowAndKeepsOthers() throws Exception {
+        // Given
+        Book invalidBook = new Book(null, "Автор", "Проза", ReadingStatus.READ, null);
+        Book secondBook = new Book("Лісова пісня", "Леся Українка", "Драма", ReadingStatus.WANT_TO_READ, null);
+
+        // When
+        BatchResult result = bookDao.addBooks(List.of(testBook, invalidBook, secondBook));
+
+        // Then
+        assertFalse(result.isSuccessful(), "Результат повинен містити помилку для книги без назви.");
+        assertEquals(1, result.failures().size(), "Повинна бути рівно одна помилка.");
+        assertEquals(1, result.failures().get(0).index(), "Помилка повинна вказувати на позицію книги без назви.");
+        assertEquals(2, result.successCount(), "Дві книги повинні бути додані.");
+        assertEquals(List.of(testBook.getId(), secondBook.getId()), result.generatedIds(),
+                "Згенеровані ID повинні відповідати доданим книгам у порядку списку.");
+        assertEquals(2, getTableRowCount("books"), "У БД повинні зберегтися лише дві коректні книги.");
+    }
+
+    /**
+     * Тестує методи {@link SqliteBookDao#updateBooks(List)} та {@link SqliteBookDao#deleteBooks(List)}.
+     * Перевіряє, що рядок з помилкою в пакеті оновлення не скасовує оновлення інших книг,
+     * а пакетне видалення видаляє всі вказані книги.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testUpdateAndDeleteBooksInBatch() throws Exception {
+        // Given
+        Book secondBook = new Book("Лісова пісня", "Леся Українка", "Драма", ReadingStatus.WANT_TO_READ, null);
+        Book thirdBook = new Book("Тіні забутих предків", "Михайло Коцюбинський", "Повість", ReadingStatus.READ, null);
+        bookDao.addBooks(List.of(testBook, secondBook, thirdBook));
+
+        // When: друга книга отримує некоректну назву (NOT NULL)
+        testBook.setRating(3);
+        secondBook.setTitle(null);
+        thirdBook.setRating(4);
+        BatchResult updateResult = bookDao.updateBooks(List.of(testBook, secondBook, thirdBook));
+
+        // Then
+        assertEquals(2, updateResult.successCount(), "Дві книги повинні бути оновлені.");
+        assertEquals(1, updateResult.failures().size(), "Повинна бути рівно одна помилка.");
+        assertEquals(1, updateResult.failures().get(0).index(), "Помилка повинна вказувати на другу книгу.");
+        assertEquals(3, bookDao.getBookById(testBook.getId()).orElseThrow().getRating(), "Оновлення першої книги не збережено.");
+        assertEquals(4, bookDao.getBookById(thirdBook.getId()).orElseThrow().getRating(), "Оновлення третьої книги не збережено.");
+        assertEquals("Лісова пісня", bookDao.getBookById(secondBook.getId()).orElseThrow().getTitle(),
+                "Книга з помилкою повинна залишитися без змін.");
+
+        // When
+        BatchResult deleteResult = bookDao.deleteBooks(List.of(testBook.getId(), secondBook.getId(), thirdBook.getId()));
+
+        // Then
+        assertTrue(deleteResult.isSuccessful(), "Пакетне видалення повинно завершитися без помилок.");
+        assertEquals(0, getTableRowCount("books"), "Після пакетного видалення таблиця повинна бути порожньою.");
+    }
+
+    /**
+     * Тестує порядок списків книг, доданих того самого дня: спочатку додані пізніше (більший ID),
+     * однаково для повних та скорочених списків.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testSameDayBooksAreOrderedByIdDescending() throws Exception {
+        // Given
+        Book second = new Book("Лісова пісня", "Леся Українка", "Драма", ReadingStatus.READ, null);
+        Book third = new Book("Тіні забутих предків", "Михайло Коцюбинський", "Повість", ReadingStatus.READ, null);
+        bookDao.addBooks(List.of(testBook, second, third));
+        List<Long> expected = List.of(third.getId(), second.getId(), testBook.getId());
+
+        // Then
+        assertEquals(expected, bookDao.getBooksByStatus(ReadingStatus.READ).stream().map(Book::getId).toList(),
+                "Книги одного дня повинні йти за спаданням ID.");
+        assertEquals(expected, bookDao.getBookSummariesByStatus(ReadingStatus.READ).stream().map(BookSummary::id).toList());
+        assertEquals(expected, bookDao.getAllBooks().stream().map(Book::getId).toList());
+    }
+
+    /**
+     * Тестує обробку книг, яких немає в базі даних, у пакетних методах та їхніх обгортках.
+     * Рядки, що не змінили жодного запису, не вважаються успішними і перелічуються як не знайдені.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testWritesToMissingBooksAreReportedAsNotFound() throws Exception {
+        // Given
+        bookDao.addBook(testBook);
+        Book missingBook = new Book(999L, "Неіснуюча", "Автор", "Проза", ReadingStatus.READ,
+                TODAY, null, 0, null, null, false);
+
+        // When
+        testBook.setRating(2);
+        BatchResult updateResult = bookDao.updateBooks(List.of(missingBook, testBook));
+        BatchResult deleteResult = bookDao.deleteBooks(List.of(998L, 999L));
+
+        // Then
+        assertEquals(1, updateResult.successCount(), "Успішним повинне бути лише оновлення існуючої книги.");
+        assertEquals(List.of(0), updateResult.notFound(), "Неіснуюча книга повинна бути позначена як не знайдена.");
+        assertEquals(0, deleteResult.successCount(), "Видалення неіснуючих книг не повинно бути успішним.");
+        assertEquals(List.of(0, 1), deleteResult.notFound());
+        assertThrows(DataAccessException.class, () -> bookDao.updateBook(missingBook),
+                "Оновлення неіснуючої книги повинно завершитися помилкою.");
+        assertFalse(bookDao.deleteBook(999L), "Видалення неіснуючої книги повинно повертати false.");
+        assertFalse(bookDao.setFavorite(999L, true), "Зміна позначки неіснуючої книги повинна повертати false.");
+        assertTrue(bookDao.setFavorite(testBook.getId(), false));
+        assertTrue(bookDao.deleteBook(testBook.getId()));
+    }
+
+    /**
+     * Тестує посторінкові методи {@link SqliteBookDao#getAllBooksPage} та {@link SqliteBookDao#getBooksByStatusPage}.
+     * Перевіряє, що сторінки разом містять усі книги в порядку ключа без пропусків і повторів,
+     * зокрема для книг з однаковою датою додавання чи назвою, що різняться лише регістром.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testBookPagesFollowSortKeyWithoutGapsOrDuplicates() throws Exception {
+        // Given
+        Book first = pagingBook("в", null, ReadingStatus.READ, TODAY.minusDays(2));
+        Book second = pagingBook("Б", "Автор", ReadingStatus.WANT_TO_READ, TODAY);
+        Book third = pagingBook("б", "автор", ReadingStatus.READ, TODAY);
+        Book fourth = pagingBook("а", "Ґ", ReadingStatus.READ, TODAY);
+        Book fifth = pagingBook("Г", "", ReadingStatus.READ, TODAY.minusDays(1));
+        bookDao.addBooks(List.of(first, second, third, fourth, fifth));
+
+        // Then
+        assertEquals(List.of(fourth.getId(), third.getId(), second.getId(), fifth.getId(), first.getId()),
+                readAllPages(null, BookSortKey.DATE_ADDED, 2), "Неправильний порядок за датою додавання.");
+        assertEquals(List.of(fourth.getId(), second.getId(), third.getId(), first.getId(), fifth.getId()),
+                readAllPages(null, BookSortKey.TITLE, 2), "Неправильний порядок за назвою.");
+        assertEquals(List.of(first.getId(), fifth.getId(), second.getId(), third.getId(), fourth.getId()),
+                readAllPages(null, BookSortKey.AUTHOR, 3), "Неправильний порядок за автором.");
+        assertEquals(List.of(fourth.getId(), third.getId(), first.getId(), fifth.getId()),
+                readAllPages(ReadingStatus.READ, BookSortKey.TITLE, 1), "Неправильна сторінка книг зі статусом READ.");
+
+        BookPage page = bookDao.getAllBooksPage(BookSortKey.TITLE, null, 5);
+        assertFalse(page.hasNext(), "Сторінка з усіма книгами повинна бути останньою.");
+        assertThrows(IllegalArgumentException.class,
+                () -> bookDao.getAllBooksPage(BookSortKey.AUTHOR, BookPage.Cursor.after(BookSortKey.TITLE, first), 5),
+                "Позиція іншого ключа сортування повинна відхилятися.");
+    }
+
+    /**
+     * Читає всі сторінки книг і повертає ID книг у порядку сторінок.
+     */
+    private List<Long> readAllPages(ReadingStatus status, BookSortKey sortKey, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        BookPage.Cursor cursor = null;
+        do {
+            BookPage page = status == null
+                    ? bookDao.getAllBooksPage(sortKey, cursor, pageSize)
+                    : bookDao.getBooksByStatusPage(status, sortKey, cursor, pageSize);
+            assertTrue(page.books().size() <= pageSize, "Сторінка не повинна перевищувати заданий розмір.");
+            page.books().forEach(book -> ids.add(book.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Book pagingBook(String title, String author, ReadingStatus status, LocalDate dateAdded) {
+        Book book = new Book(title, author, null, status, null);
+        book.setDateAdded(dateAdded);
+        return book;
+    }
+
+    /**
+     * Тестує методи {@link SqliteBookDao#getBookSummariesByStatus(ReadingStatus)},
+     * {@link SqliteBookDao#getFavoriteBookSummaries()} та {@link SqliteBookDao#setFavorite(long, boolean)}.
+     * Перевіряє, що скорочене представлення містить усі поля плитки, а зміна позначки
+     * "улюблене" не зачіпає інших полів книги.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testBookSummariesAndSetFavorite() throws Exception {
+        // Given
+        Book wishBook = new Book("Лісова пісня", "Леся Українка", "Драма", ReadingStatus.WANT_TO_READ, null);
+        bookDao.addBooks(List.of(testBook, wishBook));
+
+        // When
+        List<BookSummary> readSummaries = bookDao.getBookSummariesByStatus(ReadingStatus.READ);
+
+        // Then
+        assertEquals(List.of(BookSummary.of(testBook)), readSummaries,
+                "Скорочене представлення повинно відповідати полям збереженої книги.");
+        assertEquals(List.of(testBook.getId()), bookDao.getFavoriteBookSummaries().stream().map(BookSummary::id).toList(),
+                "Список улюблених повинен містити лише улюблену книгу.");
+
+        // When
+        bookDao.setFavorite(wishBook.getId(), true);
+        bookDao.setFavorite(testBook.getId(), false);
+
+        // Then
+        assertEquals(List.of(wishBook.getId()), bookDao.getFavoriteBookSummaries().stream().map(BookSummary::id).toList(),
+                "Позначка 'улюблене' повинна змінитися для обох книг.");
+        Book reloaded = bookDao.getBookById(testBook.getId()).orElseThrow();
+        assertEquals("Чудова книга", reloaded.getComment(), "Зміна позначки не повинна змінювати коментар.");
+        assertEquals(5, reloaded.getRating(), "Зміна позначки не повинна змінювати оцінку.");
+    }
+
+    /**
+     * Тестує метод {@link SqliteBookDao#forEachBook(int, java.util.function.Consumer)}.
+     * Перевіряє, що кожна книга передається дії один раз у порядку ID, а виняток дії
+     * зупиняє прохід і передається викликачу.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testForEachBookVisitsEveryBookOnce() throws Exception {
+        // Given
+        Book secondBook = new Book("Лісова пісня", "Леся Українка", "Драма", ReadingStatus.WANT_TO_READ, null);
+        Book thirdBook = new Book("Тіні забутих предків", "Михайло Коцюбинський", "Повість", ReadingStatus.READ, null);
+        bookDao.addBooks(List.of(testBook, secondBook, thirdBook));
+
+        // When
+        List<Long> visited = new ArrayList<>();
+        int count = bookDao.forEachBook(2, book -> visited.add(book.getId()));
+
+        // Then
+        assertEquals(3, count, "Кількість оброблених книг повинна дорівнювати кількості книг у БД.");
+        assertEquals(List.of(testBook.getId(), secondBook.getId(), thirdBook.getId()), visited,
+                "Книги повинні передаватися дії по одній у порядку ID.");
+
+        List<String> titles = new ArrayList<>();
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> bookDao.forEachBook(book -> {
+            titles.add(book.getTitle());
+            throw new IllegalStateException("зупинка");
+        }), "Виняток дії повинен передаватися викликачу.");
+        assertEquals("зупинка", thrown.getMessage());
+        assertEquals(1, titles.size(), "Після винятку прохід повинен зупинитися.");
+        assertEquals(3, bookDao.getAllBooks().size(), "Після перерваного проходу з'єднання повинно залишатися робочим.");
+    }
+
     /**
      * Тестує метод {@link SqliteBookDao#getDistinctGenres()}.
      * Перевіряє, чи метод коректно повертає список унікальних жанрів з бази даних,
@@ -460,6 +736,120 @@ class SqliteBookDaoTest extends BaseDaoTest {
         assertEquals(1, readInJan2023, "Неправильна кількість книг, прочитаних у січні 2023 року.");
     }
 
+    /**
+     * Тестує метод {@link SqliteBookDao#countReadBetween(LocalDate, LocalDate)}.
+     * Перевіряє, що період є півінтервалом: початкова дата входить, кінцева - ні,
+     * а межі, передані в неправильному порядку, відхиляються.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testCountReadBetweenUsesHalfOpenPeriod() throws Exception {
+        // Given
+        Book readFirstOfMarch = new Book("Перше березня", "Автор 1", "Проза", ReadingStatus.READ, null);
+        readFirstOfMarch.setDateRead(LocalDate.of(2024, 3, 1));
+        Book readLastOfMarch = new Book("Останнє березня", "Автор 2", "Проза", ReadingStatus.READ, null);
+        readLastOfMarch.setDateRead(LocalDate.of(2024, 3, 31));
+        Book readFirstOfApril = new Book("Перше квітня", "Автор 3", "Проза", ReadingStatus.READ, null);
+        readFirstOfApril.setDateRead(LocalDate.of(2024, 4, 1));
+        bookDao.addBooks(List.of(readFirstOfMarch, readLastOfMarch, readFirstOfApril));
+
+        LocalDate march = LocalDate.of(2024, 3, 1);
+        LocalDate april = LocalDate.of(2024, 4, 1);
+
+        // When & Then
+        assertEquals(2, bookDao.countReadBetween(march, april), "Березень повинен включати 1 та 31 березня, але не 1 квітня.");
+        assertEquals(1, bookDao.countReadBetween(april, april.plusMonths(1)), "Неправильна кількість за квітень.");
+        assertEquals(3, bookDao.countReadBetween(march, april.plusDays(1)), "Неправильна кількість за довший період.");
+        assertEquals(0, bookDao.countReadBetween(march, march), "Порожній період не повинен містити книг.");
+        assertThrows(IllegalArgumentException.class, () -> bookDao.countReadBetween(april, march),
+                "Кінець періоду раніше за початок повинен відхилятися.");
+    }
+
+    /**
+     * Тестує метод {@link SqliteBookDao#getReadingHistogram()}.
+     * Перевіряє, що гістограма збігається з окремими лічильниками статистики,
+     * а лічильник змін збільшується після запису книг.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testGetReadingHistogram() throws Exception {
+        // Given
+        Book bookReadJan2024 = new Book("Книга Січень 2024", "Автор 1", "Проза", ReadingStatus.READ, null);
+        bookReadJan2024.setDateRead(LocalDate.of(2024, 1, 15));
+        Book secondReadJan2024 = new Book("Ще одна книга", "Автор 2", "Проза", ReadingStatus.READ, null);
+        secondReadJan2024.setDateRead(LocalDate.of(2024, 1, 31));
+        Book bookReadWithoutDate = new Book("Без дати", "Автор 3", "Проза", ReadingStatus.READ, null);
+        Book bookWantToRead = new Book("Хочу прочитати", "Автор 4", "Проза", ReadingStatus.WANT_TO_READ, null);
+        long modificationsBefore = bookDao.getModificationCount();
+
+        // When
+        bookDao.addBooks(List.of(bookReadJan2024, secondReadJan2024, bookReadWithoutDate, bookWantToRead));
+        ReadingHistogram histogram = bookDao.getReadingHistogram();
+
+        // Then
+        assertTrue(bookDao.getModificationCount() > modificationsBefore, "Лічильник змін повинен збільшитися після запису.");
+        assertEquals(bookDao.getTotalBooksReadCount(), histogram.totalRead(), "Загальна кількість не збігається.");
+        assertEquals(3, histogram.totalRead(), "Книга без дати прочитання повинна входити в загальну кількість.");
+        assertEquals(2, histogram.countForMonth(2024, 1), "Неправильна кількість за січень 2024 року.");
+        assertEquals(bookDao.getBooksReadCountByYear(2024), histogram.countForYear(2024), "Кількість за рік не збігається.");
+        assertEquals(1, histogram.readByMonth().size(), "Гістограма повинна містити лише місяці з прочитаними книгами.");
+    }
+
+    /**
+     * Перевіряє, що таблиця підсумків {@code reading_summary}, яку підтримують тригери,
+     * відповідає даним книг після додавання, зміни дати чи статусу та видалення,
+     * а {@link SqliteBookDao#rebuildReadingSummary()} відновлює її після пошкодження.
+     *
+     * @throws Exception якщо виникає помилка під час виконання тесту.
+     */
+    @Test
+    void testReadingSummaryFollowsBookChanges() throws Exception {
+        // Given
+        Book readInMarch = new Book("Березень", "Автор 1", "Проза", ReadingStatus.READ, null);
+        readInMarch.setDateRead(LocalDate.of(2024, 3, 10));
+        Book movedToApril = new Book("Квітень", "Автор 2", "Проза", ReadingStatus.READ, null);
+        movedToApril.setDateRead(LocalDate.of(2024, 3, 20));
+        Book readWithoutDate = new Book("Без дати", "Автор 3", "Проза", ReadingStatus.READ, null);
+        Book unread = new Book("Хочу прочитати", "Автор 4", "Проза", ReadingStatus.WANT_TO_READ, null);
+        Book deleted = new Book("Видалена", "Автор 5", "Проза", ReadingStatus.READ, null);
+        deleted.setDateRead(LocalDate.of(2023, 12, 31));
+        bookDao.addBooks(List.of(readInMarch, movedToApril, readWithoutDate, unread, deleted));
+
+        // When
+        movedToApril.setDateRead(LocalDate.of(2024, 4, 1));
+        unread.setStatus(ReadingStatus.READ);
+        unread.setDateRead(LocalDate.of(2024, 4, 2));
+        readInMarch.setComment("Зміна без впливу на підсумки");
+        bookDao.updateBooks(List.of(movedToApril, unread, readInMarch));
+        bookDao.deleteBook(deleted.getId());
+
+        // Then
+        assertEquals(4, bookDao.getTotalBooksReadCount(), "Неправильна загальна кількість прочитаних книг.");
+        assertEquals(1, bookDao.getBooksReadCountByMonthAndYear(2024, 3), "Неправильна кількість за березень 2024 року.");
+        assertEquals(2, bookDao.getBooksReadCountByMonthAndYear(2024, 4), "Неправильна кількість за квітень 2024 року.");
+        assertEquals(3, bookDao.getBooksReadCountByYear(2024), "Неправильна кількість за 2024 рік.");
+        assertEquals(0, bookDao.getBooksReadCountByYear(2023), "Видалена книга не повинна враховуватися.");
+        assertEquals(bookDao.countReadBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)),
+                bookDao.getBooksReadCountByYear(2024), "Підсумки не збігаються з даними книг.");
+        ReadingHistogram histogram = bookDao.getReadingHistogram();
+        assertEquals(4, histogram.totalRead(), "Гістограма повинна враховувати книгу без дати прочитання.");
+        assertEquals(2, histogram.readByMonth().size(), "Гістограма повинна містити лише березень і квітень.");
+        assertEquals(0, bookDao.getBooksReadCountByMonthAndYear(2024, 0),
+                "Для некоректного номера місяця повинен повертатися 0.");
+        assertEquals(0, bookDao.getBooksReadCountByMonthAndYear(2024, 13),
+                "Для некоректного номера місяця повинен повертатися 0.");
+
+        // When: підсумки пошкоджено в обхід програми
+        clearTable("reading_summary");
+        assertEquals(0, bookDao.getTotalBooksReadCount());
+        bookDao.rebuildReadingSummary();
+
+        // Then
+        assertEquals(histogram, bookDao.getReadingHistogram(), "Перерахунок повинен відновити підсумки.");
+    }
+
     /**
      * Тестує поведінку методу {@link SqliteBookDao#addBook(Book)} при спробі додати книгу
      * з полем {@code title}, що дорівнює {@code null}.
@@ -0,0 +1,100 @@
+package com.student.bookdiary.persistence;
+
+import com.student.bookdiary.model.Book;
+import com.student.bookdiary.model.Goal;
+import com.student.bookdiary.model.GoalType;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link DatabaseManager#inTransaction(DatabaseManager.TransactionCallback)}.
+ * Перевіряє, що операції різних DAO в межах однієї транзакції підтверджуються та відкочуються
+ * разом, а вкладені блоки працюють як точки збереження.
+ */
+class TransactionTest extends BaseDaoTest {
+
+    private SqliteBookDao bookDao;
+    private SqliteGoalDao goalDao;
+
+    @BeforeEach
+    void setUpDaos() throws SQLException {
+        bookDao = new SqliteBookDao();
+        goalDao = new SqliteGoalDao();
+        clearTable("books");
+        clearTable("goals");
+    }
+
+    /**
+     * Перевіряє, що DAO всередині транзакції отримують одне з'єднання,
+     * а їх зміни зберігаються після підтвердження.
+     */
+    @Test
+    void testOperationsOfBothDaosAreCommittedTogether() throws SQLException {
+        DatabaseManager.inTransaction(conn -> {
+            assertSame(conn, DatabaseManager.getConnection(), "DAO повинні отримувати з'єднання транзакції.");
+            bookDao.addBook(new Book("Кобзар", "Тарас Шевченко", "Поезія", ReadingStatus.READ, null));
+            goalDao.addGoal(new Goal("Прочитати 10 книг", GoalType.YEARLY, 10, 2024, null));
+            return null;
+        });
+
+        assertEquals(1, getTableRowCount("books"), "Книга повинна зберегтися після підтвердження транзакції.");
+        assertEquals(1, getTableRowCount("goals"), "Ціль повинна зберегтися після підтвердження транзакції.");
+        assertTrue(getConnection().getAutoCommit(), "Після транзакції з'єднання повинно повернутися в режим autoCommit.");
+    }
+
+    /**
+     * Перевіряє, що {@link DataAccessException} з DAO відкочує всі зміни транзакції
+     * і передається викликачу без змін.
+     */
+    @Test
+    void testDataAccessExceptionRollsBackWholeTransaction() throws SQLException {
+        DataAccessException exception = assertThrows(DataAccessException.class, () ->
+                DatabaseManager.inTransaction(conn -> {
+                    goalDao.addGoal(new Goal("Прочитати 10 книг", GoalType.YEARLY, 10, 2024, null));
+                    bookDao.addBook(new Book(null, "Автор", "Проза", ReadingStatus.READ, null));
+                    return null;
+                }), "Помилка DAO повинна переривати транзакцію.");
+
+        assertInstanceOf(SQLException.class, exception.getCause(), "Причиною повинна залишитися помилка SQL.");
+        assertEquals(0, getTableRowCount("goals"), "Ціль повинна бути відкочена разом з транзакцією.");
+        assertEquals(0, getTableRowCount("books"), "Книга не повинна зберегтися.");
+    }
+
+    /**
+     * Перевіряє, що помилка у вкладеному блоці відкочує лише його зміни,
+     * а зовнішня транзакція може продовжити роботу та підтвердити свої зміни.
+     */
+    @Test
+    void testNestedBlockRollsBackToSavepoint() throws SQLException {
+        DatabaseManager.inTransaction(outer -> {
+            bookDao.addBook(new Book("Кобзар", "Тарас Шевченко", "Поезія", ReadingStatus.READ, null));
+            assertThrows(IllegalStateException.class, () -> DatabaseManager.inTransaction(inner -> {
+                goalDao.addGoal(new Goal("Вкладена ціль", GoalType.TOTAL, 5, null, null));
+                throw new IllegalStateException("Помилка у вкладеному блоці");
+            }));
+            goalDao.addGoal(new Goal("Зовнішня ціль", GoalType.TOTAL, 20, null, null));
+            return null;
+        });
+
+        assertEquals(1, getTableRowCount("books"), "Зміни зовнішнього блоку повинні зберегтися.");
+        assertEquals(1, getTableRowCount("goals"), "Зберегтися повинна лише ціль із зовнішнього блоку.");
+        assertEquals("Зовнішня ціль", goalDao.getAllGoals().get(0).getDescription());
+    }
+
+    /**
+     * Перевіряє, що керування транзакцією через її з'єднання в обхід inTransaction заборонене.
+     */
+    @Test
+    void testManualCommitInsideTransactionIsRejected() {
+        assertThrows(DataAccessException.class, () -> DatabaseManager.inTransaction(conn -> {
+                    conn.commit();
+                    return null;
+                }),
+                "Прямий commit усередині inTransaction повинен бути заборонений.");
+    }
+}
@@ -0,0 +1,82 @@
+package com.student.bookdiary.service;
+
+import com.student.bookdiary.model.Goal;
+import com.student.bookdiary.model.GoalType;
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.persistence.BookDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовий клас для {@link GoalProgressService}.
+ * Перевіряє розрахунок прогресу цілей усіх типів з однієї гістограми
+ * та те, що для будь-якої кількості цілей дані завантажуються один раз.
+ */
+class GoalProgressServiceTest {
+
+    private BookDao bookDao;
+    private GoalProgressService goalProgressService;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = mock(BookDao.class);
+        when(bookDao.getReadingHistogram()).thenReturn(new ReadingHistogram(10, Map.of(
+                YearMonth.of(2024, 1), 3,
+                YearMonth.of(2024, 5), 2,
+                YearMonth.of(2023, 7), 4)));
+        goalProgressService = new GoalProgressService(new ReadingStatsService(bookDao));
+    }
+
+    /**
+     * Перевіряє прогрес місячної, річної та загальної цілей і ознаку досягнення.
+     */
+    @Test
+    void testProgressForEachGoalType() {
+        Goal monthly = goal(1, GoalType.MONTHLY, 3, 2024, 1);
+        Goal yearly = goal(2, GoalType.YEARLY, 12, 2024, null);
+        Goal total = goal(3, GoalType.TOTAL, 10, null, null);
+        Goal monthlyWithoutYear = goal(4, GoalType.MONTHLY, 1, null, 1);
+
+        Map<Goal, GoalProgressService.Progress> progress =
+                goalProgressService.evaluate(List.of(monthly, yearly, total, monthlyWithoutYear));
+
+        assertEquals(3, progress.get(monthly).current(), "Неправильний прогрес місячної цілі.");
+        assertTrue(progress.get(monthly).isAchieved(), "Місячна ціль повинна бути досягнута.");
+        assertEquals(5, progress.get(yearly).current(), "Неправильний прогрес річної цілі.");
+        assertFalse(progress.get(yearly).isAchieved(), "Річна ціль не повинна бути досягнута.");
+        assertEquals(10, progress.get(total).current(), "Неправильний прогрес загальної цілі.");
+        assertEquals(1.0, progress.get(total).fraction(), "Частка виконання досягнутої цілі повинна бути 1.0.");
+        assertEquals(0, progress.get(monthlyWithoutYear).current(), "Ціль без року повинна мати нульовий прогрес.");
+    }
+
+    /**
+     * Перевіряє, що для багатьох цілей гістограма завантажується з DAO лише один раз.
+     */
+    @Test
+    void testManyGoalsUseSingleQuery() {
+        List<Goal> goals = List.of(
+                goal(1, GoalType.YEARLY, 5, 2024, null),
+                goal(2, GoalType.YEARLY, 10, 2024, null),
+                goal(3, GoalType.MONTHLY, 2, 2023, 7),
+                goal(4, GoalType.TOTAL, 50, null, null));
+
+        Map<Goal, GoalProgressService.Progress> progress = goalProgressService.evaluate(goals);
+
+        assertEquals(goals, List.copyOf(progress.keySet()), "Порядок результату повинен відповідати порядку цілей.");
+        verify(bookDao, times(1)).getReadingHistogram();
+        verify(bookDao, never()).getBooksReadCountByYear(anyInt());
+        verify(bookDao, never()).getBooksReadCountByMonthAndYear(anyInt(), anyInt());
+    }
+
+    private Goal goal(long id, GoalType type, int target, Integer year, Integer month) {
+        return new Goal(id, null, type, target, year, month, LocalDate.of(2024, 1, 1));
+    }
+}
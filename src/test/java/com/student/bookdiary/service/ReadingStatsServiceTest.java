@@ -0,0 +1,74 @@
+package com.student.bookdiary.service;
+
+import com.student.bookdiary.model.ReadingHistogram;
+import com.student.bookdiary.persistence.BookDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовий клас для {@link ReadingStatsService}.
+ * Перевіряє відповіді за рік та місяць з гістограми і те, що гістограма завантажується
+ * з DAO лише один раз, доки книги не змінилися.
+ */
+class ReadingStatsServiceTest {
+
+    private BookDao bookDao;
+    private ReadingStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        bookDao = mock(BookDao.class);
+        when(bookDao.getModificationCount()).thenReturn(1L);
+        when(bookDao.getReadingHistogram()).thenReturn(new ReadingHistogram(6, Map.of(
+                YearMonth.of(2024, 1), 2,
+                YearMonth.of(2024, 3), 1,
+                YearMonth.of(2023, 12), 2)));
+        statsService = new ReadingStatsService(bookDao);
+    }
+
+    /**
+     * Перевіряє підрахунок загальної кількості, кількості за рік та за місяць.
+     * Книга без дати прочитання враховується лише в загальній кількості.
+     */
+    @Test
+    void testCountsAreAnsweredFromHistogram() {
+        assertEquals(6, statsService.getTotalBooksRead(), "Загальна кількість повинна включати книги без дати.");
+        assertEquals(3, statsService.getBooksReadInYear(2024), "Неправильна кількість за 2024 рік.");
+        assertEquals(2, statsService.getBooksReadInYear(2023), "Неправильна кількість за 2023 рік.");
+        assertEquals(2, statsService.getBooksReadInMonth(2024, 1), "Неправильна кількість за січень 2024.");
+        assertEquals(0, statsService.getBooksReadInMonth(2024, 2), "Місяць без книг повинен давати 0.");
+    }
+
+    /**
+     * Перевіряє, що повторні запити не звертаються до DAO, доки не змінився лічильник змін книг.
+     */
+    @Test
+    void testHistogramIsCachedUntilBooksChange() {
+        statsService.getTotalBooksRead();
+        statsService.getBooksReadInYear(2024);
+        statsService.getBooksReadInMonth(2024, 3);
+        verify(bookDao, times(1)).getReadingHistogram();
+
+        when(bookDao.getModificationCount()).thenReturn(2L);
+        statsService.getTotalBooksRead();
+        statsService.getBooksReadInYear(2024);
+        verify(bookDao, times(2)).getReadingHistogram();
+    }
+
+    /**
+     * Перевіряє, що явне скидання кешу призводить до повторного завантаження гістограми.
+     */
+    @Test
+    void testInvalidateForcesReload() {
+        statsService.getTotalBooksRead();
+        statsService.invalidate();
+        statsService.getTotalBooksRead();
+        verify(bookDao, times(2)).getReadingHistogram();
+    }
+}
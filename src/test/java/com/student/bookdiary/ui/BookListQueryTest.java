@@ -0,0 +1,74 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link BookListQuery}.
+ * Перевіряє створення критеріїв зі значень елементів керування, фільтрацію за пошуковим
+ * запитом і жанром, сортування без зміни вихідного списку та варіанти списку жанрів.
+ */
+class BookListQueryTest {
+
+    private static final String ALL_GENRES = "Всі жанри";
+
+    private static BookSummary book(long id, String title, String author, String genre) {
+        return new BookSummary(id, title, author, genre, ReadingStatus.READ, null, null, 0, null, false);
+    }
+
+    /**
+     * Перевіряє нормалізацію пошукового запиту та відсутність фільтра для опції "Всі жанри".
+     */
+    @Test
+    void testOfNormalizesControlValues() {
+        BookListQuery query = BookListQuery.of("  КобЗар ", ALL_GENRES, ALL_GENRES, null);
+        assertEquals("кобзар", query.searchTerm(), "Запит повинен обрізатися та переводитися в нижній регістр.");
+        assertNull(query.genre(), "Опція 'Всі жанри' не повинна фільтрувати.");
+
+        BookListQuery empty = BookListQuery.of(null, " ", ALL_GENRES, null);
+        assertEquals("", empty.searchTerm(), "Відсутній текст пошуку дає порожній запит.");
+        assertNull(empty.genre(), "Порожній жанр не повинен фільтрувати.");
+    }
+
+    /**
+     * Перевіряє фільтрацію за назвою або автором і жанром (без урахування регістру) та сортування.
+     */
+    @Test
+    void testApplyFiltersAndSorts() {
+        List<BookSummary> books = new ArrayList<>(List.of(
+                book(1, "Кобзар", "Тарас Шевченко", "Поезія"),
+                book(2, "Лісова пісня", "Леся Українка", "Драма"),
+                book(3, "Contra spem spero", "Леся Українка", "поезія"),
+                book(4, "Без автора", null, "Поезія")));
+        List<BookSummary> original = List.copyOf(books);
+
+        BookListQuery query = BookListQuery.of("леся", "Поезія", ALL_GENRES,
+                Comparator.comparing(BookSummary::title, String.CASE_INSENSITIVE_ORDER));
+        assertEquals(List.of(books.get(2)), query.apply(books), "Неправильний результат фільтрації за автором і жанром.");
+
+        BookListQuery byTitle = BookListQuery.of("", null, ALL_GENRES,
+                Comparator.comparing(BookSummary::title, String.CASE_INSENSITIVE_ORDER));
+        assertEquals(List.of(3L, 4L, 1L, 2L), byTitle.apply(books).stream().map(BookSummary::id).toList(),
+                "Без фільтрів повинні повертатися всі книги у порядку сортування.");
+
+        assertEquals(original, books, "Вихідний список не повинен змінюватися.");
+    }
+
+    /**
+     * Перевіряє, що варіанти жанрів починаються з опції "Всі жанри", а порожні жанри та повтори відкидаються.
+     */
+    @Test
+    void testGenreOptions() {
+        List<String> genres = Arrays.asList("Поезія", null, "драма", " ", "Поезія", "Антиутопія");
+        assertEquals(List.of(ALL_GENRES, "Антиутопія", "драма", "Поезія"), BookListQuery.genreOptions(genres, ALL_GENRES),
+                "Неправильні варіанти списку жанрів.");
+    }
+}
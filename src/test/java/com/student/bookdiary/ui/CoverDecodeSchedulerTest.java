@@ -0,0 +1,143 @@
+package com.student.bookdiary.ui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link CoverDecodeScheduler}.
+ * Перевіряє обмеження кількості одночасних декодувань, порядок за пріоритетом,
+ * об'єднання повторних запитів та скасування.
+ */
+class CoverDecodeSchedulerTest {
+
+    private List<Runnable> workers;
+    private List<String> decoded;
+    private CoverDecodeScheduler<String, String> scheduler;
+
+    @BeforeEach
+    void setUp() {
+        workers = new ArrayList<>();
+        decoded = new ArrayList<>();
+        scheduler = new CoverDecodeScheduler<>(1, workers::add, key -> {
+            decoded.add(key);
+            return "image:" + key;
+        }, Runnable::run);
+    }
+
+    /** Виконує наступне декодування, передане в пул потоків. */
+    private void runNext() {
+        workers.removeFirst().run();
+    }
+
+    /**
+     * Перевіряє, що одночасно виконується не більше дозволеної кількості декодувань,
+     * а решта виконується за пріоритетом і в порядку надходження.
+     */
+    @Test
+    void testRunsByPriorityWithinConcurrencyLimit() {
+        scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, _ -> { }, _ -> { });
+        scheduler.submit("b", CoverDecodeScheduler.Priority.VISIBLE, _ -> { }, _ -> { });
+        scheduler.submit("c", CoverDecodeScheduler.Priority.VISIBLE, _ -> { }, _ -> { });
+        scheduler.submit("detail", CoverDecodeScheduler.Priority.FOREGROUND, _ -> { }, _ -> { });
+        assertEquals(1, workers.size(), "Кількість одночасних декодувань повинна бути обмежена.");
+        assertEquals(3, scheduler.queuedCount());
+
+        while (!workers.isEmpty()) {
+            runNext();
+        }
+        assertEquals(List.of("a", "detail", "b", "c"), decoded,
+                "Детальний вигляд повинен декодуватися раніше за плитки, плитки - в порядку запитів.");
+    }
+
+    /**
+     * Перевіряє, що повторні запити того самого зображення об'єднуються в одне декодування,
+     * а результат отримують усі, хто його запитав.
+     */
+    @Test
+    void testCoalescesDuplicateRequests() {
+        scheduler.submit("busy", CoverDecodeScheduler.Priority.VISIBLE, _ -> { }, _ -> { });
+        List<String> received = new ArrayList<>();
+        scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, received::add, _ -> { });
+        scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, received::add, _ -> { });
+        assertEquals(1, scheduler.queuedCount(), "Повторний запит не повинен додавати нове декодування.");
+
+        runNext();
+        runNext();
+        assertEquals(List.of("busy", "a"), decoded);
+        assertEquals(List.of("image:a", "image:a"), received);
+    }
+
+    /**
+     * Перевіряє, що скасований запит прибирається з черги без декодування,
+     * а скасований під час декодування не отримує результату.
+     */
+    @Test
+    void testCancelledRequestsAreSkipped() {
+        List<String> received = new ArrayList<>();
+        CoverDecodeScheduler.Ticket running = scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, received::add, _ -> { });
+        CoverDecodeScheduler.Ticket queued = scheduler.submit("b", CoverDecodeScheduler.Priority.VISIBLE, received::add, _ -> { });
+        scheduler.submit("c", CoverDecodeScheduler.Priority.VISIBLE, received::add, _ -> { });
+
+        queued.cancel();
+        running.cancel();
+        assertEquals(1, scheduler.queuedCount(), "Скасований запит повинен прибиратися з черги.");
+
+        runNext();
+        runNext();
+        assertEquals(List.of("a", "c"), decoded, "Скасоване до початку декодування не повинно виконуватися.");
+        assertEquals(List.of("image:c"), received, "Скасований запит не повинен отримувати результат.");
+        assertTrue(workers.isEmpty());
+    }
+
+    /**
+     * Перевіряє, що помилка декодування передається обробнику помилок і не блокує чергу.
+     */
+    @Test
+    void testDecodeErrorIsReported() {
+        scheduler = new CoverDecodeScheduler<>(1, workers::add, key -> {
+            if (key.equals("broken")) {
+                throw new IllegalStateException("пошкоджений файл");
+            }
+            return "image:" + key;
+        }, Runnable::run);
+        List<Throwable> errors = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+        scheduler.submit("broken", CoverDecodeScheduler.Priority.VISIBLE, received::add, errors::add);
+        scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, received::add, errors::add);
+
+        runNext();
+        runNext();
+        assertEquals(1, errors.size());
+        assertEquals(List.of("image:a"), received, "Після помилки черга повинна виконуватися далі.");
+    }
+
+    /**
+     * Перевіряє, що Error під час декодування (наприклад, нестача пам'яті) також передається
+     * обробнику помилок і звільняє місце декодування.
+     */
+    @Test
+    void testDecodeErrorDoesNotLoseSlot() {
+        scheduler = new CoverDecodeScheduler<>(1, workers::add, key -> {
+            if (key.equals("huge")) {
+                throw new OutOfMemoryError("Java heap space");
+            }
+            return "image:" + key;
+        }, Runnable::run);
+        List<Throwable> errors = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+        scheduler.submit("huge", CoverDecodeScheduler.Priority.VISIBLE, received::add, errors::add);
+        scheduler.submit("a", CoverDecodeScheduler.Priority.VISIBLE, received::add, errors::add);
+
+        runNext();
+        assertEquals(1, errors.size(), "Error повинна передаватися обробнику помилок.");
+        assertInstanceOf(OutOfMemoryError.class, errors.getFirst());
+        assertEquals(1, workers.size(), "Після Error місце декодування повинно звільнитися.");
+        runNext();
+        assertEquals(List.of("image:a"), received);
+    }
+}
@@ -0,0 +1,81 @@
+package com.student.bookdiary.ui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link CoverThumbnailStore}.
+ * Перевіряє розміри створених мініатюр, вибір файлу для завантаження
+ * та фонове створення відсутніх або застарілих мініатюр.
+ */
+class CoverThumbnailStoreTest {
+
+    @TempDir
+    Path coversDir;
+
+    private List<Runnable> scheduled;
+    private CoverThumbnailStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scheduled = new ArrayList<>();
+        store = new CoverThumbnailStore(() -> coversDir, scheduled::add);
+        ImageIO.write(new BufferedImage(1200, 1800, BufferedImage.TYPE_INT_RGB), "png", coversDir.resolve("cover.png").toFile());
+    }
+
+    private static BufferedImage readImage(Path path) throws IOException {
+        return ImageIO.read(path.toFile());
+    }
+
+    /**
+     * Перевіряє, що мініатюри вписуються в розміри варіантів зі збереженням пропорцій.
+     */
+    @Test
+    void testCreatesScaledVariants() throws IOException {
+        store.createThumbnails("cover.png");
+
+        BufferedImage tile = readImage(store.resolve("cover.png", CoverThumbnailStore.Variant.TILE));
+        assertEquals(110, tile.getWidth());
+        assertEquals(165, tile.getHeight(), "Пропорції оригіналу повинні зберегтися.");
+        BufferedImage detail = readImage(store.resolve("cover.png", CoverThumbnailStore.Variant.DETAIL));
+        assertEquals(400, detail.getWidth());
+        assertEquals(600, detail.getHeight());
+        assertTrue(scheduled.isEmpty(), "Для актуальних мініатюр фонове створення не потрібне.");
+    }
+
+    /**
+     * Перевіряє, що без мініатюри повертається оригінал, а мініатюра створюється у фоні один раз;
+     * мініатюра, старша за оригінал, вважається застарілою.
+     */
+    @Test
+    void testMissingOrStaleThumbnailIsCreatedInBackground() throws IOException {
+        Path original = coversDir.resolve("cover.png");
+        assertEquals(original, store.resolve("cover.png", CoverThumbnailStore.Variant.TILE));
+        assertEquals(original, store.resolve("cover.png", CoverThumbnailStore.Variant.DETAIL));
+        assertEquals(1, scheduled.size(), "Мініатюри однієї обкладинки повинні створюватися одним завданням.");
+
+        scheduled.removeFirst().run();
+        Path thumbnail = store.resolve("cover.png", CoverThumbnailStore.Variant.TILE);
+        assertNotEquals(original, thumbnail, "Після фонового створення повинна використовуватися мініатюра.");
+
+        Files.setLastModifiedTime(original, FileTime.fromMillis(Files.getLastModifiedTime(thumbnail).toMillis() + 60_000));
+        assertEquals(original, store.resolve("cover.png", CoverThumbnailStore.Variant.TILE),
+                "Мініатюра, старша за оригінал, не повинна використовуватися.");
+        assertEquals(1, scheduled.size());
+
+        store.deleteThumbnails("cover.png");
+        assertFalse(Files.exists(thumbnail), "Мініатюри повинні видалятися разом з обкладинкою.");
+    }
+}
@@ -0,0 +1,166 @@
+package com.student.bookdiary.ui;
+
+import com.student.bookdiary.model.BookField;
+import com.student.bookdiary.model.BookSummary;
+import com.student.bookdiary.model.ReadingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовий клас для {@link TileCache}.
+ * Перевіряє, що прокручування сітки вперед і назад не створює плиток повторно, навіть коли комірка
+ * запитує плитку, яку ще містить інша комірка, оновлення плиток на місці та обмеження розміру кешу.
+ */
+class TileCacheTest {
+
+    /** Плиток у рядку сітки. */
+    private static final int COLUMNS = 2;
+    /** Видимих комірок (рядків) сітки. */
+    private static final int CELLS = 3;
+
+    private List<String> created;
+    private TileCache<List<String>, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        created = new ArrayList<>();
+        cache = new TileCache<>(100, book -> {
+            String tile = "tile-" + book.id() + "#" + created.size();
+            created.add(tile);
+            return tile;
+        }, (tile, book, changed) -> false, List::remove);
+    }
+
+    private static BookSummary book(long id) {
+        return new BookSummary(id, "Книга " + id, "Автор", "Жанр", ReadingStatus.READ, null, null, 0, null, false);
+    }
+
+    private static List<BookSummary> books(int count) {
+        List<BookSummary> books = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            books.add(book(i));
+        }
+        return books;
+    }
+
+    /** Показує рядок сітки в комірці так само, як {@code BookGridView.RowCell#updateItem}. */
+    private void show(List<String> cell, List<BookSummary> row) {
+        cache.release(cell);
+        List<String> tiles = new ArrayList<>();
+        for (BookSummary book : row) {
+            tiles.add(cache.acquire(book, cell));
+        }
+        cell.clear();
+        cell.addAll(tiles);
+    }
+
+    /** Показує рядки, починаючи з {@code firstRow}, у комірках по черзі, як під час прокручування. */
+    private void scrollTo(List<List<String>> cells, List<BookSummary> books, int firstRow) {
+        for (int i = 0; i < cells.size(); i++) {
+            int from = (firstRow + i) * COLUMNS;
+            show(cells.get(i), books.subList(from, from + COLUMNS));
+        }
+    }
+
+    /**
+     * Перевіряє, що під час прокручування вперед і назад кожна плитка створюється один раз:
+     * комірка, що отримує рядок попередньої комірки, забирає його плитки, а не створює копії,
+     * і жодна плитка не показується у двох комірках одночасно.
+     */
+    @Test
+    void testScrollingBackAndForthReusesTiles() {
+        List<BookSummary> books = books(12); // 6 рядків
+        List<List<String>> cells = new ArrayList<>();
+        for (int i = 0; i < CELLS; i++) {
+            cells.add(new ArrayList<>());
+        }
+
+        for (int pass = 0; pass < 3; pass++) {
+            for (int firstRow = 0; firstRow <= 3; firstRow++) {
+                scrollTo(cells, books, firstRow);
+                assertNoTileInTwoCells(cells);
+            }
+            for (int firstRow = 3; firstRow >= 0; firstRow--) {
+                scrollTo(cells, books, firstRow);
+                assertNoTileInTwoCells(cells);
+            }
+        }
+
+        assertEquals(12, created.size(), "Кожна плитка повинна створюватися лише один раз.");
+        assertEquals(12, cache.size(), "У кеші повинно бути по одній плитці на книгу.");
+        assertEquals(List.of("tile-1#0", "tile-2#1"), cells.getFirst(), "Перша комірка повинна показувати плитки першого рядка.");
+    }
+
+    /**
+     * Перевіряє, що плитка зміненої книги створюється заново, а найдавніше використана
+     * плитка витісняється, коли кеш переповнено.
+     */
+    @Test
+    void testChangedBookAndEvictedTilesAreRecreated() {
+        cache = new TileCache<>(2, book -> {
+            String tile = "tile-" + book.id() + "#" + created.size();
+            created.add(tile);
+            return tile;
+        }, (tile, book, changed) -> false, List::remove);
+        List<String> cell = new ArrayList<>();
+
+        show(cell, List.of(book(1), book(2)));
+        show(cell, List.of(book(1), book(2)));
+        assertEquals(2, created.size(), "Незмінені книги не повинні отримувати нових плиток.");
+
+        BookSummary renamed = new BookSummary(1, "Нова назва", "Автор", "Жанр", ReadingStatus.READ, null, null, 0, null, false);
+        show(cell, List.of(renamed, book(2)));
+        assertEquals(3, created.size(), "Для зміненої книги повинна створюватися нова плитка.");
+
+        show(cell, List.of(book(3)));
+        assertEquals(2, cache.size(), "Кількість закешованих плиток не повинна перевищувати межу.");
+        show(cell, List.of(renamed));
+        assertEquals(5, created.size(), "Витіснена плитка повинна створюватися заново.");
+    }
+
+    /**
+     * Перевіряє, що плитка, яку вдалося оновити на місці, залишається тією самою (і в тій самій комірці),
+     * а плитка зі змінами, яких не можна оновити на місці, створюється заново.
+     */
+    @Test
+    void testChangedTilesArePatchedInPlace() {
+        List<Set<BookField>> patched = new ArrayList<>();
+        cache = new TileCache<>(100, book -> {
+            String tile = "tile-" + book.id() + "#" + created.size();
+            created.add(tile);
+            return tile;
+        }, (tile, book, changed) -> {
+            patched.add(changed);
+            return Set.of(BookField.FAVORITE, BookField.COVER_IMAGE).containsAll(changed);
+        }, List::remove);
+        List<String> cell = new ArrayList<>();
+        show(cell, List.of(book(1)));
+
+        show(cell, List.of(book(1).withFavorite(true)));
+        assertEquals(List.of("tile-1#0"), cell, "Зміна позначки повинна оновлювати наявну плитку.");
+        show(cell, List.of(book(1).withFavorite(true)));
+        assertEquals(List.of(Set.of(BookField.FAVORITE)), patched, "Оновлена плитка повинна запам'ятати новий стан книги.");
+
+        BookSummary rated = new BookSummary(1, "Книга 1", "Автор", "Жанр", ReadingStatus.READ, null, null, 5, null, true);
+        show(cell, List.of(rated));
+        assertEquals(List.of("tile-1#1"), cell, "Зміна оцінки повинна створювати нову плитку.");
+        assertEquals(2, created.size());
+        assertEquals(1, cache.size());
+    }
+
+    private static void assertNoTileInTwoCells(List<List<String>> cells) {
+        Set<String> seen = new HashSet<>();
+        for (List<String> cell : cells) {
+            for (String tile : cell) {
+                assertTrue(seen.add(tile), "Плитка " + tile + " показується у двох комірках.");
+            }
+        }
+    }
+}